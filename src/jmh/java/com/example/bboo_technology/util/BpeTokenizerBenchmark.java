@@ -0,0 +1,92 @@
+package com.example.bboo_technology.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (추가) BpeTokenizer 처리 속도 측정 - 입력 1KB(UTF-8) 당 평균 시간(µs).
+ *
+ * - 실행: ./gradlew jmh -PdownloadTokenizer (병합 테이블 tokenizer/{encoding}.tiktoken 은 downloadTokenizerTables 가 받아 둔다)
+ * - text: korean (OCR 상품 기술서 형태) / english / mixed (성분표처럼 한글 + 영문 + 숫자)
+ * - estimate: 테이블이 없을 때 쓰는 UTF-8 바이트 / 3 추정 (비교 기준)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BpeTokenizerBenchmark {
+
+    private static final String KOREAN =
+            "본 제품은 비타민 C와 아연을 함유한 건강기능식품으로, 정상적인 면역기능에 필요합니다.\n"
+                    + "섭취 방법: 1일 1회, 1회 1정을 물과 함께 섭취하십시오.\n"
+                    + "주의사항: 특이체질, 알레르기 체질의 경우 성분을 확인 후 섭취하십시오.\n\n";
+
+    private static final String ENGLISH =
+            "This product contains vitamin C and zinc, which are necessary for normal immune function.\n"
+                    + "Directions: take one tablet daily with water.\n"
+                    + "Caution: check the ingredients if you have allergies or a special constitution.\n\n";
+
+    private static final String MIXED =
+            "영양성분 (1정 1,200mg 당) 비타민C 100mg(100%) / Zinc 8.5mg(100%) / Vitamin D3 10μg(100%)\n"
+                    + "원재료명: L-아스코르빈산, 산화아연, 결정셀룰로스, 스테아린산마그네슘(Magnesium stearate)\n\n";
+
+    @Param({"o200k_base"})
+    public String encoding;
+
+    @Param({"korean", "english", "mixed"})
+    public String text;
+
+    private BpeTokenizer tokenizer;
+    private String input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String resource = "tokenizer/" + encoding + ".tiktoken";
+        try (InputStream in = BpeTokenizerBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException(resource + " 가 없습니다. -PdownloadTokenizer 로 빌드해 주세요. (build.gradle 의 downloadTokenizerTables)");
+            }
+            tokenizer = BpeTokenizer.load(encoding, in);
+        }
+        input = oneKilobyte(switch (text) {
+            case "english" -> ENGLISH;
+            case "mixed" -> MIXED;
+            default -> KOREAN;
+        });
+    }
+
+    @Benchmark
+    public int countTokensPerKilobyte() {
+        return tokenizer.countTokens(input);
+    }
+
+    @Benchmark
+    public int estimatePerKilobyte() {
+        return (input.getBytes(StandardCharsets.UTF_8).length + 2) / 3;
+    }
+
+    /**
+     * 샘플 문단을 반복해서 UTF-8 1024 바이트 이하로 자른 입력 (글자 중간에서 자르지 않음)
+     */
+    private static String oneKilobyte(String sample) {
+        StringBuilder sb = new StringBuilder();
+        while (sb.toString().getBytes(StandardCharsets.UTF_8).length < 1024) {
+            sb.append(sample);
+        }
+        String text = sb.toString();
+        while (text.getBytes(StandardCharsets.UTF_8).length > 1024) {
+            text = text.substring(0, text.length() - 1);
+        }
+        return text;
+    }
+}
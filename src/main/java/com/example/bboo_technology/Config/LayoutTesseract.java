@@ -0,0 +1,143 @@
+package com.example.bboo_technology.Config;
+
+import com.sun.jna.Pointer;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.TessAPI;
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+import net.sourceforge.tess4j.Word;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * (추가) 엔진 초기화 1회로 여러 결과를 뽑는 Tesseract.
+ *
+ * - Tess4J 의 getWords / getSegmentedRegions 는 호출마다 init → 인식 → dispose 를 반복한다.
+ *   (학습 데이터 로딩이 인식보다 오래 걸리는 경우도 있다)
+ * - recognizeLayout : 인식 1회 결과에서 줄(RIL_TEXTLINE) + 문단(RIL_PARA) 영역을 함께 읽는다.
+ * - recognizeLines  : 줄 영역 여러 개를 같은 엔진으로 차례로 인식한다.
+ * - 스레드 안전하지 않다. (TesseractEngineFactory 로 작업마다 새로 만든다)
+ */
+public class LayoutTesseract extends Tesseract {
+
+    /**
+     * 줄 인식 결과 + 문단 영역 (같은 이미지 좌표계)
+     */
+    public record PageLayout(List<Word> lines, List<Rectangle> paragraphs) {
+    }
+
+    /**
+     * 인식 1회로 줄 + 문단 영역
+     *
+     * @throws TesseractException 이미지 설정 / 인식 실패
+     */
+    public PageLayout recognizeLayout(BufferedImage image) throws TesseractException {
+        init();
+        setVariables();
+        try {
+            setImage(image, null);
+            getAPI().TessBaseAPIRecognize(getHandle(), null);
+            return new PageLayout(readLines(), readBoxes(ITessAPI.TessPageIteratorLevel.RIL_PARA));
+        } catch (IOException e) {
+            throw new TesseractException(e);
+        } finally {
+            dispose();
+        }
+    }
+
+    /**
+     * 이미지 여러 장(줄 영역)을 엔진 초기화 1회로 인식 - 이미지마다 줄 목록 1개
+     *
+     * @throws TesseractException 이미지 설정 / 인식 실패
+     */
+    public List<List<Word>> recognizeLines(List<BufferedImage> images) throws TesseractException {
+        List<List<Word>> results = new ArrayList<>(images.size());
+        if (images.isEmpty()) {
+            return results;
+        }
+        init();
+        setVariables();
+        try {
+            for (BufferedImage image : images) {
+                setImage(image, null);
+                getAPI().TessBaseAPIRecognize(getHandle(), null);
+                results.add(readLines());
+            }
+            return results;
+        } catch (IOException e) {
+            throw new TesseractException(e);
+        } finally {
+            dispose();
+        }
+    }
+
+    // =========================
+    // 결과 읽기 (Recognize 이후)
+    // =========================
+
+    private List<Word> readLines() {
+        TessAPI api = getAPI();
+        int level = ITessAPI.TessPageIteratorLevel.RIL_TEXTLINE;
+        List<Word> lines = new ArrayList<>();
+
+        ITessAPI.TessResultIterator ri = api.TessBaseAPIGetIterator(getHandle());
+        if (ri == null) {
+            return lines;
+        }
+        try {
+            ITessAPI.TessPageIterator pi = api.TessResultIteratorGetPageIterator(ri);
+            api.TessPageIteratorBegin(pi);
+            do {
+                Pointer ptr = api.TessResultIteratorGetUTF8Text(ri, level);
+                if (ptr == null) {
+                    continue;
+                }
+                String text = ptr.getString(0, StandardCharsets.UTF_8.name());
+                api.TessDeleteText(ptr);
+                float confidence = api.TessResultIteratorConfidence(ri, level);
+                lines.add(new Word(text, confidence, boundingBox(api, pi, level)));
+            } while (api.TessPageIteratorNext(pi, level) == ITessAPI.TRUE);
+        } finally {
+            api.TessResultIteratorDelete(ri);
+        }
+        return lines;
+    }
+
+    private List<Rectangle> readBoxes(int level) {
+        TessAPI api = getAPI();
+        List<Rectangle> boxes = new ArrayList<>();
+
+        ITessAPI.TessResultIterator ri = api.TessBaseAPIGetIterator(getHandle());
+        if (ri == null) {
+            return boxes;
+        }
+        try {
+            ITessAPI.TessPageIterator pi = api.TessResultIteratorGetPageIterator(ri);
+            api.TessPageIteratorBegin(pi);
+            do {
+                Rectangle box = boundingBox(api, pi, level);
+                if (box.width > 0 && box.height > 0) {
+                    boxes.add(box);
+                }
+            } while (api.TessPageIteratorNext(pi, level) == ITessAPI.TRUE);
+        } finally {
+            api.TessResultIteratorDelete(ri);
+        }
+        return boxes;
+    }
+
+    private Rectangle boundingBox(TessAPI api, ITessAPI.TessPageIterator pi, int level) {
+        IntBuffer left = IntBuffer.allocate(1);
+        IntBuffer top = IntBuffer.allocate(1);
+        IntBuffer right = IntBuffer.allocate(1);
+        IntBuffer bottom = IntBuffer.allocate(1);
+        api.TessPageIteratorBoundingBox(pi, level, left, top, right, bottom);
+        return new Rectangle(left.get(0), top.get(0), right.get(0) - left.get(0), bottom.get(0) - top.get(0));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * (추가) 요약 / 쇼호스트 멘트 / 마케팅 포인트 통합 생성 설정 값 바인딩
+ *
+ * - prefix: openai.combined
+ *   - model                    : 통합 생성 모델 (비어 있으면 openai.models.summary) - json_schema 응답 지원 모델이어야 함
+ *   - timeout-ms               : 통합 호출 타임아웃 (출력이 3개라서 단일 호출보다 길게)
+ *   - fallback-to-separate     : 통합 응답이 비었거나 JSON 파싱 실패 / 잘림이면 기존 3회 호출로 다시 생성
+ *   - input-price-per-million  : 입력 토큰 100만 개당 비용(USD) - 비교/지표용 예상 비용 계산에만 사용
+ *   - output-price-per-million : 출력 토큰 100만 개당 비용(USD)
+ *   - (추가) model-prices      : 모델명 접두사 → 입력/출력 단가 (가장 긴 접두사 우선, 없는 모델은 위 기본 단가)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "openai.combined")
+public class OcrAiCombinedProperties {
+
+    private String model;
+
+    private long timeoutMs = 120_000;
+
+    private boolean fallbackToSeparate = true;
+
+    private double inputPricePerMillion = 0.40;
+
+    private double outputPricePerMillion = 1.60;
+
+    private Map<String, ModelPrice> modelPrices = new LinkedHashMap<>();
+
+    /**
+     * (추가) 모델 1개의 토큰 100만 개당 비용(USD)
+     */
+    @Getter
+    @Setter
+    public static class ModelPrice {
+
+        private double inputPricePerMillion;
+
+        private double outputPricePerMillion;
+    }
+}
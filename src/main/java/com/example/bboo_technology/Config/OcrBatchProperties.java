@@ -0,0 +1,36 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 배치 OCR(다중 파일 / ZIP) 설정 값 바인딩
+ *
+ * - prefix: ocr.batch
+ *   - concurrency       : 동시에 OCR 할 파일 수 (Tesseract 는 CPU 바운드이므로 코어 수 이하 권장)
+ *   - max-in-flight     : 대기 포함 동시에 잡고 있는 파일 수 (ZIP 임시 파일 디스크 사용량 상한)
+ *   - save-batch-size   : 몇 건마다 DB 에 일괄 저장할지
+ *   - max-zip-entries   : ZIP 1개에서 처리할 최대 파일 수
+ *   - max-entry-bytes   : ZIP 엔트리 1개 최대 크기 (압축 해제 기준)
+ *   - zip-charset       : ZIP 파일명 인코딩 (윈도우 탐색기로 만든 ZIP 은 MS949)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ocr.batch")
+public class OcrBatchProperties {
+
+    private int concurrency = 2;
+
+    private int maxInFlight = 4;
+
+    private int saveBatchSize = 20;
+
+    private int maxZipEntries = 500;
+
+    private long maxEntryBytes = 50L * 1024 * 1024;
+
+    private String zipCharset = "UTF-8";
+}
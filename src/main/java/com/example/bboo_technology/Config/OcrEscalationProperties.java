@@ -0,0 +1,41 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 2단계(FAST → ACCURATE) OCR 설정 값 바인딩
+ *
+ * - prefix: tesseract.escalation
+ *   - enabled                   : 2단계 모드 사용 여부 (false 면 항상 ACCURATE 1회)
+ *   - fast-datapath             : tessdata_fast 경로 (TesseractConfig 에서 사용)
+ *   - fast-page-seg-mode        : FAST 단계 PSM (예: 6 = 단일 텍스트 블록)
+ *   - fast-dpi / accurate-dpi   : PDF 렌더링 DPI
+ *   - page-confidence-threshold : 페이지 평균 신뢰도가 이 값 미만이면 페이지 전체를 ACCURATE 로 재실행
+ *   - line-confidence-threshold : 줄 신뢰도가 이 값 미만인 줄만 ACCURATE 로 재실행
+ *   - max-line-retries          : 저신뢰 줄이 이 개수를 넘으면 줄 단위 대신 페이지 전체 재실행
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tesseract.escalation")
+public class OcrEscalationProperties {
+
+    private boolean enabled = true;
+
+    private String fastDatapath;
+
+    private int fastPageSegMode = 6;
+
+    private int fastDpi = 150;
+
+    private int accurateDpi = 300;
+
+    private double pageConfidenceThreshold = 75.0;
+
+    private double lineConfidenceThreshold = 60.0;
+
+    private int maxLineRetries = 15;
+}
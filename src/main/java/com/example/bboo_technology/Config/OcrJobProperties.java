@@ -0,0 +1,27 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 체크포인트 OCR 작업 설정 값 바인딩
+ *
+ * - prefix: ocr.job
+ *   - concurrency       : 동시에 실행할 작업(문서) 수
+ *   - resume-on-startup : 애플리케이션 시작 시 RUNNING 상태 작업 자동 재개 여부
+ *   - storage-dir       : (추가) 작업 원본 PDF 보관 디렉터리 (필수 - 재시작 후에도 남는 경로, 완료된 작업 파일만 삭제)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ocr.job")
+public class OcrJobProperties {
+
+    private int concurrency = 1;
+
+    private boolean resumeOnStartup = true;
+
+    private String storageDir;
+}
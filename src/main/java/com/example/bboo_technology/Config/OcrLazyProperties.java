@@ -0,0 +1,27 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 지연(On-demand) OCR 설정 값 바인딩
+ *
+ * - prefix: ocr.lazy
+ *   - storage-dir      : 업로드 문서를 보관할 디렉터리 (비어 있으면 시스템 임시 디렉터리/ocr-documents)
+ *   - max-documents    : 보관할 최대 문서 수 (초과 시 가장 오래 안 쓴 문서 파일 삭제)
+ *   - max-cached-pages : 메모리에 캐시할 최대 페이지 OCR 결과 수
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ocr.lazy")
+public class OcrLazyProperties {
+
+    private String storageDir;
+
+    private int maxDocuments = 200;
+
+    private int maxCachedPages = 5000;
+}
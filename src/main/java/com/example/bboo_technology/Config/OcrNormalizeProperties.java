@@ -0,0 +1,42 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) GPT / 번역 호출 전 OCR 텍스트 정리 설정 값 바인딩
+ *
+ * - prefix: ocr.normalize
+ *   - enabled                        : false 면 OCR 텍스트를 그대로 전송
+ *   - header-footer-zone-lines       : 페이지 위/아래에서 머리말/꼬리말 후보로 볼 줄 수
+ *   - header-footer-min-pages        : 이 페이지 수 이상인 문서에서만 머리말/꼬리말 판별
+ *   - header-footer-page-ratio       : 전체 페이지 중 이 비율 이상에서 반복되면 머리말/꼬리말 (숫자는 무시하고 비교)
+ *   - min-line-chars                 : 글자/숫자가 이보다 적은 줄은 버림
+ *   - min-line-content-ratio         : 줄 길이 대비 글자/숫자 비율이 이보다 낮으면 버림 (----, |||| 같은 표 선 / 잡음)
+ *   - min-duplicate-paragraph-chars  : 글자/숫자가 이 수 이상인 문단만 중복 제거 (문단 전체가 같을 때만, 짧은 소제목 반복은 유지)
+ *   - recent-reports                 : /api/ocr/metrics/normalization 에 보여줄 최근 문서 수
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ocr.normalize")
+public class OcrNormalizeProperties {
+
+    private boolean enabled = true;
+
+    private int headerFooterZoneLines = 3;
+
+    private int headerFooterMinPages = 3;
+
+    private double headerFooterPageRatio = 0.5;
+
+    private int minLineChars = 2;
+
+    private double minLineContentRatio = 0.3;
+
+    private int minDuplicateParagraphChars = 20;
+
+    private int recentReports = 50;
+}
@@ -0,0 +1,67 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 페이지별 OCR 언어 라우팅 설정 값 바인딩
+ *
+ * - prefix: tesseract.routing
+ *   - enabled            : 라우팅 사용 여부 (false 면 항상 tesseract.language 사용)
+ *   - probe-language     : 스크립트 판별용 1차 샘플 OCR 언어 (예: kor)
+ *   - sample-max-width   : 샘플 OCR 시 축소할 최대 가로 픽셀
+ *   - hangul-ratio       : 한글 비율이 이 값 이상이면 kor+eng 로 라우팅
+ *   - min-hangul-chars   : 비율과 무관하게 한글이 이 개수 이상이면 kor+eng 로 라우팅
+ *   - latin-language     : 영문 전용 페이지에 사용할 언어 (예: eng)
+ *   - mixed-language     : 한글 포함 페이지에 사용할 언어 (예: kor+eng)
+ *   - min-text-chars     : (추가) 1차 OCR 결과에 한글/영문이 이 개수 이상이면 샘플 OCR 없이 그 결과로 판별
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tesseract.routing")
+public class OcrRoutingProperties {
+
+    /**
+     * 라우팅 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 샘플 OCR 에 사용할 언어
+     * - 한글 모델(kor)은 영문자도 함께 인식하므로 한 번의 샘플로 두 스크립트를 모두 셀 수 있다.
+     */
+    private String probeLanguage = "kor";
+
+    /**
+     * 샘플 OCR 이미지 최대 가로 픽셀 (이보다 크면 비율 유지 축소)
+     */
+    private int sampleMaxWidth = 1000;
+
+    /**
+     * 전체 문자 중 한글 비율 임계값
+     */
+    private double hangulRatio = 0.05;
+
+    /**
+     * 한글 최소 문자 수 임계값
+     */
+    private int minHangulChars = 3;
+
+    /**
+     * 영문 전용 페이지 언어
+     */
+    private String latinLanguage = "eng";
+
+    /**
+     * 한글 포함 페이지 언어
+     */
+    private String mixedLanguage = "kor+eng";
+
+    /**
+     * (추가) 1차 OCR 결과만으로 판별할 최소 글자 수 (미만이면 샘플 OCR)
+     */
+    private int minTextChars = 20;
+}
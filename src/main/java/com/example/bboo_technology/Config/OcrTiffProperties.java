@@ -0,0 +1,25 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 멀티 프레임 TIFF OCR 설정 값 바인딩
+ *
+ * - prefix: ocr.tiff
+ *   - concurrency       : 동시에 OCR 할 프레임 수
+ *   - max-frames-in-memory : 디코딩 완료 후 OCR 대기/진행 중으로 메모리에 잡아 둘 수 있는 최대 프레임 수
+ *                         (A4 300DPI 컬러 프레임 1장 ≈ 25MB 이므로 작게 유지)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ocr.tiff")
+public class OcrTiffProperties {
+
+    private int concurrency = 2;
+
+    private int maxFramesInMemory = 3;
+}
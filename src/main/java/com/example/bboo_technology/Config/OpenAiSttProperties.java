@@ -32,4 +32,15 @@ public class OpenAiSttProperties {
      * STT 요청 타임아웃(ms)
      */
     private Integer timeoutMs;
+
+    /**
+     * (추가) 허용 최대 오디오 길이(초) - 초과 시 엔진 호출 전에 AUDIO_TOO_LONG 반환 (0/미설정이면 제한 없음)
+     */
+    private Integer maxAudioSeconds;
+
+    /**
+     * (추가) 응답 포맷 - verbose_json 이면 문장 단위 타임스탬프(segments)까지 받는다
+     *  - verbose_json 을 지원하지 않는 모델(gpt-4o-transcribe 등)은 json 으로 지정 (segments 없음)
+     */
+    private String responseFormat = "verbose_json";
 }
@@ -0,0 +1,47 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * (추가) 로컬 BPE 토큰 카운터 설정 값 바인딩
+ *
+ * - prefix: openai.tokenizer
+ *   - resource-pattern   : 병합 테이블 위치 (%s = 인코딩 이름) - 없으면 UTF-8 바이트 / 3 추정으로 대체
+ *   - default-encoding   : model-encodings 에 없는 모델의 인코딩
+ *   - model-encodings    : 모델명 접두사 → 인코딩 (가장 긴 접두사 우선)
+ *   - max-prompt-tokens  : 요청 1건 입력 토큰 상한 - 넘으면 OpenAI 호출 전에 실패 처리 (0 이하면 검사 안 함)
+ *                          (변경) 병합 테이블로 정확히 센 경우만 실패 처리 - 바이트 추정치는 경고 로그만
+ *                          (변경) 0 보다 크면 기동 시 테이블이 있는지 확인 (없으면 기동 실패) - 기본값 0
+ *   - chunk-tokens       : 긴 문서를 나눠 보낼 때 조각 1개의 입력 토큰 상한 (문서 번역)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "openai.tokenizer")
+public class OpenAiTokenizerProperties {
+
+    private String resourcePattern = "classpath:tokenizer/%s.tiktoken";
+
+    private String defaultEncoding = "o200k_base";
+
+    private Map<String, String> modelEncodings = new LinkedHashMap<>(Map.of(
+            "gpt-4o", "o200k_base",
+            "gpt-4.1", "o200k_base",
+            "gpt-5", "o200k_base",
+            "o1", "o200k_base",
+            "o3", "o200k_base",
+            "o4", "o200k_base",
+            "gpt-4", "cl100k_base",
+            "gpt-3.5", "cl100k_base"
+    ));
+
+    private int maxPromptTokens = 0;
+
+    private int chunkTokens = 6_000;
+}
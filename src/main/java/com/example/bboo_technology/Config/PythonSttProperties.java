@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * (추가) 로컬 Python STT 서버 설정 값 바인딩
  *
@@ -14,6 +17,10 @@ import org.springframework.stereotype.Component;
  *   - connect-timeout-ms : 연결 타임아웃(ms)
  *   - read-timeout-ms    : 읽기 타임아웃(ms)
  *   - enabled            : 사용 여부 플래그
+ *   - (추가) base-urls   : 여러 대의 Python STT 서버 (있으면 base-url 대신 사용, 최소 대기 요청 수 기준 분산)
+ *   - (추가) health-*    : 주기적 헬스체크 / 비정상 서버 제외 / 복귀 기준
+ *   - (추가) batch-*     : 동시 요청을 모아 배치 엔드포인트로 한 번에 전송 (faster-whisper 배치 추론)
+ *   - (추가) stream-*    : 실시간 자막용 WebSocket 스트리밍 채널 (PCM 프레임 전송 / 중간 결과 수신)
  */
 @Getter
 @Setter
@@ -48,4 +55,108 @@ public class PythonSttProperties {
      *  - false 로 두면 엔진에서 곧바로 NOT_ENABLED 에러를 반환하도록 확장 가능
      */
     private boolean enabled = true;
+
+    /**
+     * (추가) 로컬 STT 서버 목록
+     * 예) [http://10.0.0.11:5000, http://10.0.0.12:5000]
+     *  - 비어 있으면 baseUrl 하나만 사용
+     */
+    private List<String> baseUrls = new ArrayList<>();
+
+    /**
+     * (추가) 헬스체크 경로 (GET, 응답이 오고 5xx 가 아니면 정상 - 경로가 없는 서버도 살아 있으면 404 로 응답)
+     *  - 비워 두면 주기적 헬스체크를 하지 않고, 요청 실패만으로 제외/복귀를 판단한다
+     *    (복귀: 제외 후 ejectCooldownMs 가 지나면 요청 1건을 시험으로 보내고, 성공하면 다시 포함)
+     */
+    private String healthPath = "/health";
+
+    /**
+     * (추가) 헬스체크 주기 (ms)
+     */
+    private long healthCheckIntervalMs = 10000;
+
+    /**
+     * (추가) 헬스체크 응답 대기 시간 (ms)
+     */
+    private int healthCheckTimeoutMs = 2000;
+
+    /**
+     * (추가) 연속 실패 N회(헬스체크 + 실제 요청의 연결 실패/5xx) 시 분산 대상에서 제외
+     */
+    private int unhealthyThreshold = 2;
+
+    /**
+     * (추가) 제외된 서버가 헬스체크를 연속 N회 통과하면 다시 분산 대상에 포함
+     */
+    private int healthyThreshold = 2;
+
+    /**
+     * (추가) 헬스체크를 끈 경우(healthPath 비움) 제외된 서버에 시험 요청을 보내기까지 기다리는 시간 (ms)
+     */
+    private long ejectCooldownMs = 10000;
+
+    /**
+     * (추가) 마이크로 배치 사용 여부 (Python 서버에 batch-path 가 있어야 함)
+     */
+    private boolean batchEnabled = false;
+
+    /**
+     * (추가) 배치 엔드포인트 경로
+     */
+    private String batchPath = "/api/stt/batch";
+
+    /**
+     * (추가) 배치 1회 최대 건수 (K)
+     */
+    private int batchMaxSize = 8;
+
+    /**
+     * (추가) 첫 요청 도착 후 배치를 채우려고 기다리는 최대 시간 (N ms, 요청당 추가 지연 상한)
+     */
+    private int batchMaxWaitMs = 50;
+
+    /**
+     * (추가) 스트리밍 WebSocket 경로 (ws:// 는 서버 baseUrl 에서 자동 변환)
+     */
+    private String streamPath = "/api/stt/stream";
+
+    /**
+     * (추가) 스트리밍 PCM 샘플레이트 (16bit 모노 little-endian)
+     */
+    private int streamSampleRate = 16000;
+
+    /**
+     * (추가) 전송 대기 프레임 상한 - 연결이 끊겼거나 느릴 때 넘으면 가장 오래된 프레임부터 버림
+     */
+    private int streamMaxBufferedFrames = 200;
+
+    /**
+     * (추가) 재연결 대기 시간 (지수 증가, ms)
+     */
+    private long streamReconnectMinMs = 500;
+
+    private long streamReconnectMaxMs = 10000;
+
+    /**
+     * (추가) 연속 재연결 실패 상한 - 넘으면 스트림을 닫고 error 이벤트 (0 이하 = 무제한)
+     */
+    private int streamMaxReconnectAttempts = 8;
+
+    /**
+     * (추가) 실제 사용할 서버 목록 (baseUrls 우선, 없으면 baseUrl)
+     */
+    public List<String> resolveBaseUrls() {
+        List<String> urls = new ArrayList<>();
+        if (baseUrls != null) {
+            baseUrls.stream()
+                    .filter(url -> url != null && !url.isBlank())
+                    .map(String::trim)
+                    .distinct()
+                    .forEach(urls::add);
+        }
+        if (urls.isEmpty() && baseUrl != null && !baseUrl.isBlank()) {
+            urls.add(baseUrl.trim());
+        }
+        return urls;
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * (추가) 동시 중복 요청 합치기(RequestCoalescer) 설정 값 바인딩
+ *
+ * - prefix: coalescing
+ *   - follower-timeout-ms       : 진행 중인 같은 요청을 기다리는 최대 시간 (0 이하 = 제한 없음)
+ *   - group-follower-timeout-ms : 그룹별 대기 시간 (openai-chat / translation / ocr-extract, 없으면 위 기본값)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "coalescing")
+public class RequestCoalescingProperties {
+
+    private long followerTimeoutMs = 300000;
+
+    private Map<String, Long> groupFollowerTimeoutMs = new HashMap<>();
+
+    public long followerTimeoutMs(String group) {
+        Long timeoutMs = groupFollowerTimeoutMs.get(group);
+        return (timeoutMs != null) ? timeoutMs : followerTimeoutMs;
+    }
+}
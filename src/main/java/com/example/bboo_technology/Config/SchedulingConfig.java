@@ -0,0 +1,14 @@
+package com.example.bboo_technology.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * (추가) @Scheduled 작업 활성화
+ *
+ * - PythonSttEndpointPool 의 주기적 헬스체크 등에서 사용
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
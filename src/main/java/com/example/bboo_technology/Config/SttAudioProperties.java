@@ -0,0 +1,28 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) STT 업로드 전 오디오 정규화 설정 값 바인딩
+ *
+ * - prefix: stt.audio
+ *   - normalize          : WAV 를 모노 / target-sample-rate / 16bit PCM 으로 변환해서 전송
+ *   - target-sample-rate : 목표 샘플레이트 (Whisper / faster-whisper 내부 처리 기준 16000)
+ *                          원본이 이보다 낮으면 업샘플링하지 않는다
+ *   - filter-zero-crossings : 리샘플링 저역통과 필터 한쪽 영교차 수 (클수록 정확, 느림)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.audio")
+public class SttAudioProperties {
+
+    private boolean normalize = true;
+
+    private int targetSampleRate = 16000;
+
+    private int filterZeroCrossings = 8;
+}
@@ -0,0 +1,42 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) STT 일괄 변환 작업 설정 값 바인딩
+ *
+ * - prefix: stt.batch
+ *   - max-concurrency    : 일괄 작업이 동시에 엔진에 보낼 파일 수 상한 (전체 작업 합계)
+ *   - interactive-reserve: 엔진 수용량 중 단건 요청(/api/stt/file, 라이브)용으로 남겨둘 슬롯 수
+ *   - poll-interval-ms   : 수용량이 없을 때 다시 확인하는 주기
+ *   - storage-dir        : 업로드 파일 보관 경로 (비우면 시스템 임시 디렉터리/stt-batch)
+ *   - max-zip-entries    : ZIP 1개당 최대 파일 수
+ *   - max-entry-bytes    : ZIP 엔트리 1개 최대 크기
+ *   - zip-charset        : ZIP 파일명 인코딩 (윈도우 압축이면 MS949)
+ *   - resume-on-startup  : 애플리케이션 시작 시 RUNNING 상태 작업 자동 재개 여부
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.batch")
+public class SttBatchProperties {
+
+    private int maxConcurrency = 4;
+
+    private int interactiveReserve = 1;
+
+    private long pollIntervalMs = 200;
+
+    private String storageDir;
+
+    private int maxZipEntries = 2000;
+
+    private long maxEntryBytes = 200L * 1024 * 1024;
+
+    private String zipCharset = "UTF-8";
+
+    private boolean resumeOnStartup = true;
+}
@@ -0,0 +1,27 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) STT 결과 캐시 설정 값 바인딩
+ *
+ * - prefix: stt.cache
+ *   - enabled     : 사용 여부
+ *   - max-entries : 메모리 LRU 최대 건수
+ *   - persistent  : DB(stt_transcript_cache) 에도 저장 (재시작 후에도 재사용)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.cache")
+public class SttCacheProperties {
+
+    private boolean enabled = true;
+
+    private int maxEntries = 1000;
+
+    private boolean persistent = true;
+}
@@ -0,0 +1,47 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 반복 구간(광고/징글) 오디오 지문 설정 값 바인딩
+ *
+ * - prefix: stt.fingerprint
+ *   - enabled            : 사용 여부 (16kHz 로 정규화된 WAV 만 대상)
+ *   - min-seconds        : 이보다 짧은 오디오는 지문을 만들지 않음 (짧으면 오매칭 위험)
+ *   - max-seconds        : 이보다 긴 오디오는 지문을 만들지 않음 (광고/징글 길이 기준)
+ *   - max-clips          : 보관할 지문(클립) 수 상한 (넘으면 오래된 것부터 삭제)
+ *   - min-matches        : 같은 시간 차이로 일치해야 하는 랜드마크 수
+ *   - min-match-ratio    : 입력 랜드마크 중 일치 비율
+ *   - duration-tolerance : 길이 차이 허용 비율 (클립 전체 결과를 재사용하므로 길이가 거의 같아야 함)
+ *   - max-offset-seconds : 시작 위치 차이 허용(초)
+ *   - (추가) live-min-match-ratio / live-duration-tolerance : 라이브 청크 조회 기준 (오매칭이면 실제 말이 광고 문구로 바뀌므로 더 엄격하게)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.fingerprint")
+public class SttFingerprintProperties {
+
+    private boolean enabled = true;
+
+    private double minSeconds = 3.0;
+
+    private double maxSeconds = 120.0;
+
+    private int maxClips = 2000;
+
+    private int minMatches = 20;
+
+    private double minMatchRatio = 0.05;
+
+    private double durationTolerance = 0.1;
+
+    private double maxOffsetSeconds = 1.0;
+
+    private double liveMinMatchRatio = 0.3;
+
+    private double liveDurationTolerance = 0.03;
+}
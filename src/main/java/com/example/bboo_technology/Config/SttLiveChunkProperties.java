@@ -0,0 +1,52 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 라이브 자막 청크 모드 설정 값 바인딩
+ *  - Python 스트림을 열 수 없을 때(서버 없음 / 비활성화) PCM 을 청크로 잘라 SttEngine(라우터)으로 보낸다.
+ *
+ * - prefix: stt.live.chunk
+ *   - enabled             : 청크 모드 사용 여부 (false 면 Python 스트림이 없을 때 세션 시작 실패)
+ *   - min-seconds         : 청크 길이 하한 (너무 짧으면 문맥이 없어 인식률 하락 + 요청 수 증가)
+ *   - max-seconds         : 청크 길이 상한
+ *   - initial-seconds     : 측정값이 없을 때 청크 길이
+ *   - target-latency-ms   : 자막 지연 목표 (청크 첫 단어 기준: 청크 길이 + 대기 + 엔진 처리)
+ *   - default-overhead-ms : 측정 전 요청당 고정 비용(업로드/모델 준비) 추정값
+ *   - ewma-alpha          : 엔진 처리 시간 / 대기 지연 이동평균 가중치
+ *   - throughput-headroom : 세션 1개가 엔진 처리 시간으로 쓸 수 있는 실시간 대비 비율 (넘으면 대기가 계속 쌓임)
+ *   - max-step-ratio      : 청크 길이를 한 번에 바꿀 수 있는 배율 (출렁임 방지)
+ *   - cut-search-ms       : 청크 끝에서 가장 조용한 지점을 찾는 범위 (단어 중간 자르기 방지)
+ *   - min-tail-seconds    : 종료 시 이보다 짧은 남은 오디오는 버림
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.live.chunk")
+public class SttLiveChunkProperties {
+
+    private boolean enabled = true;
+
+    private double minSeconds = 2.0;
+
+    private double maxSeconds = 15.0;
+
+    private double initialSeconds = 5.0;
+
+    private long targetLatencyMs = 6000;
+
+    private double defaultOverheadMs = 500;
+
+    private double ewmaAlpha = 0.2;
+
+    private double throughputHeadroom = 0.8;
+
+    private double maxStepRatio = 1.5;
+
+    private int cutSearchMs = 800;
+
+    private double minTailSeconds = 0.3;
+}
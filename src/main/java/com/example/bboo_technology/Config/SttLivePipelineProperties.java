@@ -0,0 +1,43 @@
+package com.example.bboo_technology.Config;
+
+import com.example.bboo_technology.Service.Sttservice.live.LivePipelineStage;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * (추가) 라이브 파이프라인 단계별 대기열 설정 값 바인딩
+ *
+ * - prefix: stt.live.pipeline
+ *   - stages.{단계}.capacity         : 대기 항목 수 상한
+ *   - stages.{단계}.policy           : DROP_OLDEST / COALESCE (생산자는 기다리지 않음)
+ *   - 단계 이름: summary, translation (설정이 없으면 기본값 사용)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.live.pipeline")
+public class SttLivePipelineProperties {
+
+    private Map<String, Stage> stages = new LinkedHashMap<>();
+
+    /**
+     * 단계 설정 (없으면 기본값)
+     */
+    public Stage stage(String name) {
+        return stages.getOrDefault(name, new Stage());
+    }
+
+    @Getter
+    @Setter
+    public static class Stage {
+
+        private int capacity = 50;
+
+        private LivePipelineStage.OverflowPolicy policy = LivePipelineStage.OverflowPolicy.COALESCE;
+    }
+}
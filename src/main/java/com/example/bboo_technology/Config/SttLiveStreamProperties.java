@@ -0,0 +1,24 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 라이브 세션 구독 응답(SSE / 자막 파일 스트리밍) 설정 값 바인딩
+ *
+ * - prefix: stt.live.stream
+ *   - timeout-ms   : 응답 최대 유지 시간 (세션 길이 상한, 서블릿 기본 async 타임아웃 대신 사용)
+ *   - heartbeat-ms : SSE heartbeat 주석 전송 주기 (0 이하 = 보내지 않음)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.live.stream")
+public class SttLiveStreamProperties {
+
+    private long timeoutMs = 6 * 60 * 60 * 1000L;
+
+    private long heartbeatMs = 15000;
+}
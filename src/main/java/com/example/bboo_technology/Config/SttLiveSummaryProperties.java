@@ -0,0 +1,49 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 라이브 자막 롤링 요약 설정 값 바인딩
+ *
+ * - prefix: stt.live.summary
+ *   - enabled          : 사용 여부
+ *   - model            : 요약 모델 (비우면 openai.models.summary)
+ *   - debounce-ms      : 마지막 확정 구간 이후 이 시간 동안 새 구간이 없으면 갱신
+ *   - max-interval-ms  : 계속 말하는 중이어도 이 간격마다 갱신
+ *   - min-new-chars    : 새 구간이 이보다 짧으면 debounce 만으로는 갱신하지 않음 (max-interval 은 예외)
+ *   - max-batch-chars  : 한 번에 넣는 새 구간 상한 (넘는 부분은 다음 갱신으로)
+ *   - max-summary-chars: 요약 길이 상한 (다음 호출 입력 크기가 일정하게 유지됨)
+ *   - max-tokens-per-audio-minute : 오디오 1분당 사용 토큰 상한 (넘으면 다음 갱신까지 구간을 모아 둠)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.live.summary")
+public class SttLiveSummaryProperties {
+
+    private boolean enabled = true;
+
+    private String model;
+
+    private double temperature = 0.2;
+
+    private long debounceMs = 4000;
+
+    private long maxIntervalMs = 30000;
+
+    private int minNewChars = 120;
+
+    private int maxBatchChars = 4000;
+
+    private int maxSummaryChars = 1200;
+
+    private int maxTokensPerAudioMinute = 2000;
+
+    /**
+     * 동시에 요약을 갱신하는 세션 수 (OpenAI 호출 스레드 수)
+     */
+    private int concurrency = 2;
+}
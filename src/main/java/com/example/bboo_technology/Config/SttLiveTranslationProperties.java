@@ -0,0 +1,34 @@
+package com.example.bboo_technology.Config;
+
+import com.example.bboo_technology.enums.TranslationLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) 라이브 자막 번역 설정 값 바인딩
+ *
+ * - prefix: stt.live.translation
+ *   - enabled            : 사용 여부 (세션에 target 언어가 있을 때만 번역)
+ *   - level              : 번역 모델 레벨 (openai.models.translation-*)
+ *   - batch-max-segments : 한 번에 묶는 확정 구간 수 상한
+ *   - batch-max-wait-ms  : 첫 구간이 들어온 뒤 최대 대기 시간 (자막 지연 상한)
+ *   - context-segments   : 일관성 유지를 위해 같이 넘기는 직전 번역 수
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.live.translation")
+public class SttLiveTranslationProperties {
+
+    private boolean enabled = true;
+
+    private TranslationLevel level = TranslationLevel.ECONOMY;
+
+    private int batchMaxSegments = 6;
+
+    private long batchMaxWaitMs = 800;
+
+    private int contextSegments = 3;
+}
@@ -0,0 +1,42 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) STT 엔진 라우팅 설정 값 바인딩
+ *
+ * - prefix: stt.routing
+ *   - prefer-local        : 점수가 비슷하면 로컬 Python 엔진 우선 (비용 0)
+ *   - local-bias-ms       : 로컬 우선을 위해 OpenAI 예상 지연에 더하는 가산치(ms)
+ *   - ewma-alpha          : 지연/오류율 이동평균 가중치 (0~1, 클수록 최근 값 반영)
+ *   - local-max-in-flight : 로컬 서버 1대당 동시 처리 상한 (넘으면 포화로 보고 다른 엔진으로)
+ *   - openai-max-in-flight: OpenAI 엔진 동시 처리 상한
+ *   - failure-threshold   : 연속 실패가 이 횟수 이상이면 해당 엔진을 잠시 제외
+ *   - cooldown-ms         : 제외 기간(ms), 지나면 다시 시도
+ *   - failover            : 실패 시 다음 엔진으로 재시도 여부
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.routing")
+public class SttRoutingProperties {
+
+    private boolean preferLocal = true;
+
+    private long localBiasMs = 2000;
+
+    private double ewmaAlpha = 0.2;
+
+    private int localMaxInFlight = 2;
+
+    private int openaiMaxInFlight = 8;
+
+    private int failureThreshold = 3;
+
+    private long cooldownMs = 30000;
+
+    private boolean failover = true;
+}
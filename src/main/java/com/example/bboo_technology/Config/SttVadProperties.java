@@ -0,0 +1,48 @@
+package com.example.bboo_technology.Config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * (추가) STT 전 무음 제거(VAD) 설정 값 바인딩
+ *
+ * - prefix: stt.vad
+ *   - enabled           : 사용 여부 (WAV 입력에만 적용, 그 외 포맷은 그대로 전송)
+ *   - frame-ms          : 분석 프레임 길이(ms)
+ *   - energy-margin-db  : 잡음 바닥(하위 10% 에너지)보다 이 값 이상 크면 음성 후보
+ *   - min-speech-dbfs   : 절대 최소 에너지(dBFS) - 이보다 작으면 무조건 무음
+ *   - unvoiced-zcr      : 에너지가 조금 모자라도 영교차율이 이 값 이상이면 무성음(ㅅ, ㅎ 등)으로 보고 음성 처리
+ *   - hangover-ms       : 음성 프레임 뒤로 이 시간만큼은 음성으로 유지 (말끝 잘림 방지)
+ *   - min-speech-ms     : 이보다 짧은 음성 구간은 잡음으로 보고 버림
+ *   - padding-ms        : 음성 구간 앞뒤 여유
+ *   - merge-gap-ms      : 구간 사이 간격이 이보다 짧으면 하나로 합침
+ *   - min-trim-ratio    : 잘라낼 비율이 이보다 작으면 원본 그대로 전송 (파일 재작성 생략)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stt.vad")
+public class SttVadProperties {
+
+    private boolean enabled = true;
+
+    private int frameMs = 30;
+
+    private double energyMarginDb = 10.0;
+
+    private double minSpeechDbfs = -50.0;
+
+    private double unvoicedZcr = 0.25;
+
+    private int hangoverMs = 300;
+
+    private int minSpeechMs = 250;
+
+    private int paddingMs = 200;
+
+    private int mergeGapMs = 500;
+
+    private double minTrimRatio = 0.05;
+}
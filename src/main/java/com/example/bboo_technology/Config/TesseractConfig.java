@@ -33,6 +33,14 @@ public class TesseractConfig {
     @Value("${tesseract.language:kor+eng}")
     private String language;
 
+    /**
+     * (추가) 빠른 1차 OCR 용 학습 데이터 폴더 (tessdata_fast).
+     * - 비어 있으면 tesseract.datapath 를 그대로 사용한다.
+     * 예) C:/Program Files/Tesseract-OCR/tessdata_fast
+     */
+    @Value("${tesseract.escalation.fast-datapath:}")
+    private String fastDataPath;
+
     @Bean
     public ITesseract tesseract() {
         Tesseract tesseract = new Tesseract();
@@ -49,5 +57,17 @@ public class TesseractConfig {
         return tesseract;
     }
 
+    /**
+     * (추가) 페이지 단위 OCR 용 Tesseract 팩토리.
+     * - 언어 라우팅(kor+eng / eng)처럼 페이지마다 설정이 달라지는 경우 사용한다.
+     * - 위 tesseract() Bean 은 기존 호환용으로 그대로 둔다.
+     */
+    @Bean
+    public TesseractEngineFactory tesseractEngineFactory() {
+        String effectiveFastPath = (fastDataPath != null && !fastDataPath.isBlank()) ? fastDataPath : dataPath;
+        log.info("Initialized TesseractEngineFactory with fastDatapath='{}'", effectiveFastPath);
+        return new TesseractEngineFactory(dataPath, effectiveFastPath, language);
+    }
+
 
 }
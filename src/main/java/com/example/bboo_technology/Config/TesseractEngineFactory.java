@@ -0,0 +1,95 @@
+package com.example.bboo_technology.Config;
+
+import net.sourceforge.tess4j.ITesseract;
+
+/**
+ * (추가) 언어/옵션별 Tesseract 인스턴스를 만들어 주는 팩토리.
+ *
+ * - Tess4J 의 Tesseract 객체는 "설정 보관용" 가벼운 객체이고,
+ *   실제 네이티브 핸들은 doOCR 호출 때마다 init/dispose 된다.
+ * - 대신 스레드 안전하지 않으므로 싱글톤 Bean 하나를 여러 스레드가 공유하지 말고,
+ *   페이지 단위 OCR 마다 이 팩토리로 새 인스턴스를 만들어 사용한다.
+ * - FAST 프로필은 tessdata_fast 학습 데이터를, ACCURATE 프로필은 기본 tessdata 를 사용한다.
+ */
+public class TesseractEngineFactory {
+
+    /**
+     * 엔진 프로필
+     * - FAST     : 빠른 1차 OCR (tessdata_fast)
+     * - ACCURATE : 정확도 우선 OCR (tessdata, 기본)
+     */
+    public enum Profile {
+        FAST,
+        ACCURATE
+    }
+
+    private final String dataPath;
+    private final String fastDataPath;
+    private final String defaultLanguage;
+
+    public TesseractEngineFactory(String dataPath, String fastDataPath, String defaultLanguage) {
+        this.dataPath = dataPath;
+        this.fastDataPath = fastDataPath;
+        this.defaultLanguage = defaultLanguage;
+    }
+
+    /**
+     * 지정 언어로 Tesseract 인스턴스 생성 (ACCURATE 프로필, PSM 기본값)
+     *
+     * @param language 예) eng, kor, kor+eng (null/blank 면 기본 언어)
+     */
+    public ITesseract create(String language) {
+        return create(language, -1);
+    }
+
+    /**
+     * 지정 언어 + 페이지 분할 모드(PSM)로 Tesseract 인스턴스 생성 (ACCURATE 프로필)
+     *
+     * @param language     예) eng, kor, kor+eng (null/blank 면 기본 언어)
+     * @param pageSegMode  PSM 값 (음수면 Tesseract 기본값 유지)
+     */
+    public ITesseract create(String language, int pageSegMode) {
+        return create(language, pageSegMode, Profile.ACCURATE);
+    }
+
+    /**
+     * 지정 언어 + PSM + 프로필로 Tesseract 인스턴스 생성
+     *
+     * @param language     예) eng, kor, kor+eng (null/blank 면 기본 언어)
+     * @param pageSegMode  PSM 값 (음수면 Tesseract 기본값 유지)
+     * @param profile      FAST / ACCURATE
+     */
+    public ITesseract create(String language, int pageSegMode, Profile profile) {
+        return createLayout(language, pageSegMode, profile);
+    }
+
+    /**
+     * (추가) create(...) 와 같은 설정의 LayoutTesseract - 엔진 초기화 1회로 줄 + 문단 영역 / 여러 줄 영역 인식
+     */
+    public LayoutTesseract createLayout(String language, int pageSegMode, Profile profile) {
+        LayoutTesseract tesseract = new LayoutTesseract();
+        tesseract.setDatapath(profile == Profile.FAST ? fastDataPath : dataPath);
+        tesseract.setLanguage(resolveLanguage(language));
+
+        if (pageSegMode >= 0) {
+            tesseract.setPageSegMode(pageSegMode);
+        }
+        return tesseract;
+    }
+
+    public String getDefaultLanguage() {
+        return defaultLanguage;
+    }
+
+    public String getDataPath() {
+        return dataPath;
+    }
+
+    public String getFastDataPath() {
+        return fastDataPath;
+    }
+
+    private String resolveLanguage(String language) {
+        return (language != null && !language.isBlank()) ? language : defaultLanguage;
+    }
+}
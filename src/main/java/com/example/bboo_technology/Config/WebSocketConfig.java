@@ -0,0 +1,26 @@
+package com.example.bboo_technology.Config;
+
+import com.example.bboo_technology.Controller.SttLiveWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * (추가) WebSocket 엔드포인트 등록.
+ *
+ * - /ws/stt/live : 브라우저 마이크 PCM → 라이브 자막 (SttLiveWebSocketHandler)
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final SttLiveWebSocketHandler sttLiveWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(sttLiveWebSocketHandler, "/ws/stt/live");
+    }
+}
@@ -5,12 +5,22 @@ import com.example.bboo_technology.Config.OpenAiConfig;
 //DTO import 부분
 import com.example.bboo_technology.DTO.OcrResultDto;
 import com.example.bboo_technology.DTO.OcrGptResultDto;
+import com.example.bboo_technology.DTO.OcrAiBenchmarkDto;
+import com.example.bboo_technology.DTO.OcrAiEstimateDto;
+import com.example.bboo_technology.DTO.OcrAiGenerationDto;
 
 import com.example.bboo_technology.DTO.TranslationDto;
+import com.example.bboo_technology.DTO.OcrBatchResultDto;
+import com.example.bboo_technology.DTO.OcrLazyDocumentDto;
+import com.example.bboo_technology.DTO.OcrPageResultDto;
+import com.example.bboo_technology.Service.Ocrservice.LazyOcrService;
 import com.example.bboo_technology.Service.Ocrservice.OcrAiGptService;
+import com.example.bboo_technology.Service.Ocrservice.OcrBatchService;
 import com.example.bboo_technology.Service.Ocrservice.OcrFacadeService;
 import com.example.bboo_technology.Service.Ocrservice.OcrGptResultService;
+import com.example.bboo_technology.Service.Ocrservice.OcrProcessingException;
 import com.example.bboo_technology.Service.Ocrservice.OcrResultService;
+import com.example.bboo_technology.Service.Ocrservice.OcrTextNormalizer;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,13 +35,20 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * OCR 콘솔 페이지에 대한 메인 컨트롤러.
  * - GET /ocr           : OCR 콘솔 화면 진입
  * - POST /ocr/upload   : 파일 업로드 + OCR 수행 요청
+ * - POST /ocr/batch    : (추가) 다중 파일 / ZIP 일괄 OCR + 저장
+ * - /ocr/lazy/**       : (추가) 지연 OCR (문서 보관 → 페이지 열람 시 OCR → 선택 페이지 조립)
  * - POST /ocr/save     : 제목 + 수정된 텍스트를 DB에 저장
+ * - POST /ocr/ai/all   : (추가) 요약 / 쇼호스트 멘트 / 마케팅 포인트 1회 통합 생성 (+ 3행 저장)
+ * - POST /ocr/ai/benchmark : (추가) 3회 호출 vs 1회 통합 호출 토큰 / 비용 / 지연 비교
+ * - GET /ocr/ai/normalized : (추가) GPT / 번역에 실제로 보내는 정리된 OCR 텍스트 + 토큰 절감 리포트
+ * - GET /ocr/ai/estimate   : (추가) 호출 전 입력 토큰 / 입력 비용 / 요청당 상한 통과 여부
  * - POST /ocr/translate: (향후) 텍스트 번역 요청 처리
  * <p>
  * 중요한 포인트:
@@ -75,6 +92,15 @@ public class OcrController {
 
     /**Ocr용 인터페이스*/
     private final OcrResultService ocrResultService;
+
+    /** (추가) 다중 파일 / ZIP 배치 OCR */
+    private final OcrBatchService ocrBatchService;
+
+    /** (추가) 지연(On-demand) 페이지 OCR */
+    private final LazyOcrService lazyOcrService;
+
+    /** (추가) GPT / 번역 전 OCR 텍스트 정리 */
+    private final OcrTextNormalizer ocrTextNormalizer;
     // private final TranslationService translationService; // 번역 연동 시 주입 예정
 
     /**
@@ -126,6 +152,7 @@ public class OcrController {
      */
     @PostMapping("/upload")
     public String uploadAndOcr(@RequestParam("file") MultipartFile file,
+                               @RequestParam(value = "pageRange", required = false) String pageRange,
                                Model model,
                                HttpSession session,
                                RedirectAttributes redirectAttributes) {
@@ -140,7 +167,8 @@ public class OcrController {
         try {
             // 2. OcrFacadeService 를 통해 파일 타입 분기 + OCR 수행
             //    (구체 구현은 다음 단계에서 진행)
-            OcrResultDto ocrResultDto = ocrFacadeService.extractText(file);
+            //    (추가) pageRange 가 있으면 PDF 의 해당 페이지만 OCR (예: "1-3,7")
+            OcrResultDto ocrResultDto = ocrFacadeService.extractText(file, pageRange);
 
             // 3. 세션에 OCR 결과 저장
             //    - 이후 "저장하기", "번역" 등에서 재사용할 수 있게 한다.
@@ -164,6 +192,116 @@ public class OcrController {
         return "ocr/ocr_drstyle";
     }
 
+    /**
+     * 2-1) (추가) 다중 파일 / ZIP 배치 OCR
+     *
+     * - 여러 파일(이미지, PDF) 또는 ZIP 을 한 번에 업로드하면 병렬로 OCR 후 ocr_result 에 바로 저장한다.
+     * - 세션(OCR_RESULT)은 건드리지 않는다. (단건 콘솔 작업과 독립)
+     * - 응답: { success, batch: { totalFiles, successCount, ..., pagesPerMinute, items: [...] } }
+     */
+    @PostMapping("/batch")
+    @ResponseBody
+    public Map<String, Object> uploadBatch(@RequestParam("files") List<MultipartFile> files) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (files == null || files.stream().allMatch(MultipartFile::isEmpty)) {
+            response.put("success", false);
+            response.put("message", "업로드할 파일을 선택해 주세요.");
+            return response;
+        }
+
+        try {
+            OcrBatchResultDto batch = ocrBatchService.processBatch(files);
+
+            response.put("success", true);
+            response.put("batch", batch);
+
+        } catch (Exception e) {
+            log.error("배치 OCR 처리 중 오류 발생", e);
+            response.put("success", false);
+            response.put("message", "배치 OCR 처리 중 오류가 발생했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        return response;
+    }
+
+    /**
+     * 2-2) (추가) 지연 OCR - 문서 업로드
+     *
+     * - OCR 없이 문서를 보관하고 페이지 수만 바로 반환한다.
+     * - 응답: { success, document: { documentId, pageCount, cachedPages, ... } }
+     */
+    @PostMapping("/lazy/open")
+    @ResponseBody
+    public Map<String, Object> openLazyDocument(@RequestParam("file") MultipartFile file) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            OcrLazyDocumentDto document = lazyOcrService.open(file);
+            response.put("success", true);
+            response.put("document", document);
+
+        } catch (Exception e) {
+            log.error("지연 OCR 문서 업로드 중 오류 발생", e);
+            response.put("success", false);
+            response.put("message", (e instanceof OcrProcessingException) ? e.getMessage() : "문서 업로드 중 오류가 발생했습니다.");
+        }
+
+        return response;
+    }
+
+    /**
+     * 2-3) (추가) 지연 OCR - 페이지 1장 OCR (처음 열람 시에만 OCR, 이후 캐시)
+     */
+    @GetMapping("/lazy/{documentId}/pages/{pageNumber}")
+    @ResponseBody
+    public Map<String, Object> getLazyPage(@PathVariable("documentId") String documentId,
+                                           @PathVariable("pageNumber") int pageNumber) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            OcrPageResultDto page = lazyOcrService.getPage(documentId, pageNumber);
+            response.put("success", true);
+            response.put("page", page);
+
+        } catch (Exception e) {
+            log.error("지연 OCR 페이지 처리 중 오류 발생 - documentId={}, page={}", documentId, pageNumber, e);
+            response.put("success", false);
+            response.put("message", (e instanceof OcrProcessingException) ? e.getMessage() : "페이지 OCR 처리 중 오류가 발생했습니다.");
+        }
+
+        return response;
+    }
+
+    /**
+     * 2-4) (추가) 지연 OCR - 선택 페이지 조립
+     *
+     * - 선택한 페이지(캐시 우선)를 합쳐 OcrResultDto 를 만들고 세션(OCR_RESULT)에 올린다.
+     * - 이후 저장/번역/AI 생성은 기존 업로드 OCR 과 같은 흐름으로 진행된다.
+     */
+    @PostMapping("/lazy/{documentId}/assemble")
+    @ResponseBody
+    public Map<String, Object> assembleLazyDocument(@PathVariable("documentId") String documentId,
+                                                    @RequestParam(value = "pageRange", required = false) String pageRange,
+                                                    HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            OcrResultDto ocrResultDto = lazyOcrService.assemble(documentId, pageRange);
+            session.setAttribute(SESSION_KEY_OCR_RESULT, ocrResultDto);
+
+            response.put("success", true);
+            response.put("ocrResult", ocrResultDto);
+
+        } catch (Exception e) {
+            log.error("지연 OCR 조립 중 오류 발생 - documentId={}, pageRange={}", documentId, pageRange, e);
+            response.put("success", false);
+            response.put("message", (e instanceof OcrProcessingException) ? e.getMessage() : "OCR 결과 조립 중 오류가 발생했습니다.");
+        }
+
+        return response;
+    }
+
     /**
      * 3) OCR 결과 저장 요청
      *
@@ -571,6 +709,165 @@ public class OcrController {
     }
 
 
+    /**
+     * 6-4) (추가) 요약 / 쇼호스트 멘트 / 마케팅 포인트 통합 생성
+     *
+     * - POST /ocr/ai/all
+     * - 파라미터:
+     *   - id   : 선택된 OcrResult의 PK
+     *   - save : true 면 결과 3개를 ocr_gpt_result 에 바로 저장 (기본 true)
+     * - 응답: { success, mode, summary, hostScript, marketingPoints, promptTokens, ..., savedIds }
+     *
+     *  ※ OCR 텍스트를 한 번만 보내므로 6-1 ~ 6-3 을 각각 호출할 때보다 입력 토큰이 약 1/3
+     */
+    @PostMapping("/ai/all")
+    @ResponseBody
+    public Map<String, Object> generateAll(@RequestParam("id") Long ocrResultId,
+                                           @RequestParam(value = "save", defaultValue = "true") boolean save) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            OcrResultDto dto = ocrResultService.findById(ocrResultId);
+            if (dto == null) {
+                response.put("success", false);
+                response.put("message", "해당 ID의 OCR 문서를 찾을 수 없습니다.");
+                return response;
+            }
+
+            OcrAiGenerationDto generation = ocrAiGptService.generateAll(dto);
+
+            if (save) {
+                List<OcrGptResultDto> saved = ocrGptResultService.saveGeneration(
+                        ocrResultId, generation, openAiConfig.getDefaultTemperature());
+                generation.setSavedIds(saved.stream().map(OcrGptResultDto::getId).toList());
+            }
+
+            response.put("success", true);
+            response.put("generation", generation);
+            response.put("summary", generation.getSummary());
+            response.put("hostScript", generation.getHostScript());
+            response.put("marketingPoints", generation.getMarketingPoints());
+
+        } catch (OcrProcessingException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        } catch (Exception e) {
+            log.error("AI 통합 생성 중 오류 발생 - ocrResultId={}", ocrResultId, e);
+            response.put("success", false);
+            response.put("message", "AI 통합 생성 중 오류가 발생했습니다.");
+        }
+
+        return response;
+    }
+
+    /**
+     * 6-5) (추가) 3회 호출 vs 1회 통합 호출 비교
+     *
+     * - POST /ocr/ai/benchmark
+     * - 같은 문서로 두 방식을 모두 실행 (OpenAI 호출 4회, 결과는 저장하지 않음)
+     * - 응답: { success, benchmark: { separate, combined, promptTokenSavingRatio, costSavingRatio, latencySavingRatio } }
+     */
+    @PostMapping("/ai/benchmark")
+    @ResponseBody
+    public Map<String, Object> benchmarkGeneration(@RequestParam("id") Long ocrResultId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            OcrResultDto dto = ocrResultService.findById(ocrResultId);
+            if (dto == null) {
+                response.put("success", false);
+                response.put("message", "해당 ID의 OCR 문서를 찾을 수 없습니다.");
+                return response;
+            }
+
+            OcrAiBenchmarkDto benchmark = ocrAiGptService.benchmark(dto);
+
+            response.put("success", true);
+            response.put("benchmark", benchmark);
+
+        } catch (OcrProcessingException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        } catch (Exception e) {
+            log.error("AI 생성 방식 비교 중 오류 발생 - ocrResultId={}", ocrResultId, e);
+            response.put("success", false);
+            response.put("message", "AI 생성 방식 비교 중 오류가 발생했습니다.");
+        }
+
+        return response;
+    }
+
+
+    /**
+     * 6-6) (추가) 정리된 OCR 텍스트 미리보기
+     *
+     * - GET /ocr/ai/normalized?id=
+     * - GPT / 번역 호출 때 프롬프트에 들어가는 텍스트와 단계별 제거 건수, 토큰 추정치(원문 → 정리 후)를 반환
+     */
+    @GetMapping("/ai/normalized")
+    @ResponseBody
+    public Map<String, Object> previewNormalizedText(@RequestParam("id") Long ocrResultId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            OcrResultDto dto = ocrResultService.findById(ocrResultId);
+            if (dto == null) {
+                response.put("success", false);
+                response.put("message", "해당 ID의 OCR 문서를 찾을 수 없습니다.");
+                return response;
+            }
+
+            OcrTextNormalizer.NormalizedText normalized =
+                    ocrTextNormalizer.normalize(dto.getEditedText(), "preview:ocr:" + ocrResultId);
+
+            response.put("success", true);
+            response.put("text", normalized.text());
+            response.put("report", normalized.report());
+
+        } catch (Exception e) {
+            log.error("OCR 텍스트 정리 미리보기 중 오류 발생 - ocrResultId={}", ocrResultId, e);
+            response.put("success", false);
+            response.put("message", "OCR 텍스트 정리 중 오류가 발생했습니다.");
+        }
+
+        return response;
+    }
+
+
+    /**
+     * 6-7) (추가) 호출 전 입력 토큰 / 비용 미리 계산
+     *
+     * - GET /ocr/ai/estimate?id=
+     * - 로컬 BPE 토크나이저로 3회 호출 / 1회 통합 호출의 입력 토큰과 입력 비용, 요청당 상한 통과 여부를 반환 (OpenAI 호출 없음)
+     */
+    @GetMapping("/ai/estimate")
+    @ResponseBody
+    public Map<String, Object> estimateGeneration(@RequestParam("id") Long ocrResultId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            OcrResultDto dto = ocrResultService.findById(ocrResultId);
+            if (dto == null) {
+                response.put("success", false);
+                response.put("message", "해당 ID의 OCR 문서를 찾을 수 없습니다.");
+                return response;
+            }
+
+            OcrAiEstimateDto estimate = ocrAiGptService.estimate(dto);
+
+            response.put("success", true);
+            response.put("estimate", estimate);
+
+        } catch (Exception e) {
+            log.error("AI 입력 토큰 계산 중 오류 발생 - ocrResultId={}", ocrResultId, e);
+            response.put("success", false);
+            response.put("message", "입력 토큰을 계산하는 중 오류가 발생했습니다.");
+        }
+
+        return response;
+    }
+
+
     /**
      * 7) AI 결과 저장 엔드포인트
      *
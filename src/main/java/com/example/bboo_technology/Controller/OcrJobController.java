@@ -0,0 +1,78 @@
+package com.example.bboo_technology.Controller;
+
+import com.example.bboo_technology.Service.Ocrservice.OcrJobService;
+import com.example.bboo_technology.Service.Ocrservice.OcrProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * (추가) 체크포인트 기반 PDF OCR 작업 API.
+ *
+ * - POST /api/ocr/jobs               : PDF 업로드 → 작업 등록 (같은 파일이면 남은 페이지만 이어서 처리)
+ * - GET  /api/ocr/jobs               : 작업 목록
+ * - GET  /api/ocr/jobs/{id}          : 작업 상태 (완료 페이지 수 등)
+ * - POST /api/ocr/jobs/{id}/retry    : 실패한 작업 재시도 (체크포인트 없는 페이지만)
+ * - GET  /api/ocr/jobs/{id}/result   : 완료된 작업의 전체 OCR 결과
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ocr/jobs")
+public class OcrJobController {
+
+    private final OcrJobService ocrJobService;
+
+    @PostMapping
+    public Map<String, Object> submit(@RequestParam("file") MultipartFile file) {
+        return respond("job", () -> ocrJobService.submit(file), "OCR 작업 등록 중 오류가 발생했습니다.");
+    }
+
+    @GetMapping
+    public Map<String, Object> list() {
+        return respond("jobs", ocrJobService::findAll, "OCR 작업 목록 조회 중 오류가 발생했습니다.");
+    }
+
+    @GetMapping("/{id}")
+    public Map<String, Object> get(@PathVariable("id") Long id) {
+        return respond("job", () -> ocrJobService.getJob(id), "OCR 작업 조회 중 오류가 발생했습니다.");
+    }
+
+    @PostMapping("/{id}/retry")
+    public Map<String, Object> retry(@PathVariable("id") Long id) {
+        return respond("job", () -> ocrJobService.retry(id), "OCR 작업 재시도 중 오류가 발생했습니다.");
+    }
+
+    @GetMapping("/{id}/result")
+    public Map<String, Object> result(@PathVariable("id") Long id) {
+        return respond("ocrResult", () -> ocrJobService.getResult(id), "OCR 결과 조회 중 오류가 발생했습니다.");
+    }
+
+    /**
+     * { success, <key>: 결과 } / { success: false, message } 형태로 응답
+     */
+    private Map<String, Object> respond(String key, ResultSupplier supplier, String errorMessage) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put(key, supplier.get());
+            response.put("success", true);
+        } catch (OcrProcessingException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        } catch (Exception e) {
+            log.error(errorMessage, e);
+            response.put("success", false);
+            response.put("message", errorMessage);
+        }
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface ResultSupplier {
+        Object get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.bboo_technology.Controller;
+
+import com.example.bboo_technology.Service.Ocrservice.OcrAiGenerationStats;
+import com.example.bboo_technology.Service.Ocrservice.OcrNormalizationStats;
+import com.example.bboo_technology.Service.Ocrservice.OcrThroughputStats;
+import com.example.bboo_technology.Service.RequestCoalescer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * (추가) OCR 처리량/성능 지표 조회용 API.
+ *
+ * - GET /api/ocr/metrics/languages  : 언어 조합별(eng / kor+eng 등) 페이지 처리량
+ * - GET /api/ocr/metrics/escalation : FAST / ACCURATE 처리 경로별 페이지 수
+ * - GET /api/ocr/metrics/ai-generation : (추가) GPT 생성 방식별(3회 호출 / 1회 통합) 결과물 1개당 토큰 / 비용 / 지연
+ * - GET /api/ocr/metrics/normalization : (추가) GPT / 번역 전 OCR 텍스트 정리 토큰 절감 (누적 + 최근 문서별)
+ * - GET /api/ocr/metrics/coalescing : (추가) 동시 중복 요청 합치기 - 그룹별(OpenAI 호출 / 번역 / 업로드 OCR) 실행 수 / 합쳐진 요청 수
+ *
+ * ※ 메모리 집계이므로 애플리케이션 재시작 시 초기화된다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ocr/metrics")
+public class OcrMetricsController {
+
+    private final OcrThroughputStats throughputStats;
+    private final OcrAiGenerationStats generationStats;
+    private final OcrNormalizationStats normalizationStats;
+    private final RequestCoalescer requestCoalescer;
+
+    @GetMapping("/languages")
+    public List<OcrThroughputStats.LanguageThroughput> languageThroughput() {
+        return throughputStats.snapshot();
+    }
+
+    @GetMapping("/escalation")
+    public OcrThroughputStats.TierSummary escalation() {
+        return throughputStats.tierSnapshot();
+    }
+
+    @GetMapping("/ai-generation")
+    public List<OcrAiGenerationStats.ModeStats> aiGeneration() {
+        return generationStats.snapshot();
+    }
+
+    @GetMapping("/normalization")
+    public OcrNormalizationStats.Summary normalization() {
+        return normalizationStats.snapshot();
+    }
+
+    @GetMapping("/coalescing")
+    public List<RequestCoalescer.GroupStats> coalescing() {
+        return requestCoalescer.snapshot();
+    }
+}
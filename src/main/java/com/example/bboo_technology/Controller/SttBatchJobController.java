@@ -0,0 +1,80 @@
+package com.example.bboo_technology.Controller;
+
+import com.example.bboo_technology.Service.Sttservice.SttBatchJobService;
+import com.example.bboo_technology.Service.Sttservice.SttProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * (추가) STT 일괄 변환 작업 API (하루치 방송 클립 등).
+ *
+ * - POST /api/stt/batch-jobs              : 오디오 파일 여러 개 / ZIP 업로드 → 작업 등록 (files, language)
+ * - GET  /api/stt/batch-jobs              : 작업 목록
+ * - GET  /api/stt/batch-jobs/{id}         : 진행률 / 처리량(오디오 시간 / 경과 시간) / 남은 시간
+ * - GET  /api/stt/batch-jobs/{id}/items   : 파일별 자막 (끝난 파일부터 바로 조회 가능)
+ * - POST /api/stt/batch-jobs/{id}/cancel  : 대기 중인 파일 취소 (처리 중인 파일은 끝까지 저장)
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stt/batch-jobs")
+public class SttBatchJobController {
+
+    private final SttBatchJobService sttBatchJobService;
+
+    @PostMapping
+    public Map<String, Object> submit(@RequestParam("files") List<MultipartFile> files,
+                                      @RequestParam(value = "language", required = false) String languageHint) {
+        return respond("job", () -> sttBatchJobService.submit(files, languageHint), "STT 일괄 작업 등록 중 오류가 발생했습니다.");
+    }
+
+    @GetMapping
+    public Map<String, Object> list() {
+        return respond("jobs", sttBatchJobService::findAll, "STT 일괄 작업 목록 조회 중 오류가 발생했습니다.");
+    }
+
+    @GetMapping("/{id}")
+    public Map<String, Object> get(@PathVariable("id") Long id) {
+        return respond("job", () -> sttBatchJobService.getJob(id), "STT 일괄 작업 조회 중 오류가 발생했습니다.");
+    }
+
+    @GetMapping("/{id}/items")
+    public Map<String, Object> items(@PathVariable("id") Long id) {
+        return respond("items", () -> sttBatchJobService.getItems(id), "STT 일괄 작업 결과 조회 중 오류가 발생했습니다.");
+    }
+
+    @PostMapping("/{id}/cancel")
+    public Map<String, Object> cancel(@PathVariable("id") Long id) {
+        return respond("job", () -> sttBatchJobService.cancel(id), "STT 일괄 작업 취소 중 오류가 발생했습니다.");
+    }
+
+    /**
+     * { success, <key>: 결과 } / { success: false, message } 형태로 응답
+     */
+    private Map<String, Object> respond(String key, ResultSupplier supplier, String errorMessage) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put(key, supplier.get());
+            response.put("success", true);
+        } catch (SttProcessingException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        } catch (Exception e) {
+            log.error(errorMessage, e);
+            response.put("success", false);
+            response.put("message", errorMessage);
+        }
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface ResultSupplier {
+        Object get();
+    }
+}
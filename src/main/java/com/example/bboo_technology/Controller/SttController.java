@@ -2,9 +2,15 @@ package com.example.bboo_technology.Controller;
 
 import com.example.bboo_technology.Service.Sttservice.SttService;
 import com.example.bboo_technology.DTO.Stt.SttResponseDto;
+import com.example.bboo_technology.DTO.Stt.SttSegment;
 import com.example.bboo_technology.DTO.Stt.SttWebResponse;
+import com.example.bboo_technology.Service.Sttservice.subtitle.SubtitleFormat;
+import com.example.bboo_technology.Service.Sttservice.subtitle.SubtitleWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +18,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 // (추가) STT 파일 업로드/변환 컨트롤러
 @Slf4j
@@ -92,6 +105,66 @@ public class SttController {
         return new ResponseEntity<>(webResponse.getBody(), webResponse.getHttpStatus());
     }
 
+    /**
+     * (추가) 업로드된 오디오 파일 → 자막 파일 (SRT / VTT)
+     *
+     * - URL   : POST /api/stt/file/subtitles
+     * - Form  : file, sessionId, language (POST /api/stt/file 과 동일) + format (vtt | srt, 기본 vtt)
+     * - 응답  :
+     *      - 성공 : text/vtt 또는 application/x-subrip (첨부 파일), 자막 1개씩 써서 바로 전송
+     *      - 실패 : POST /api/stt/file 과 같은 SttResponseDto(JSON)
+     *      - 엔진이 문장 구간을 주지 않은 경우 (openai.stt.response-format=json 등) : 422 + 안내 메시지
+     */
+    @PostMapping("/file/subtitles")
+    public ResponseEntity<?> transcribeFileToSubtitles(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sessionId", required = false) String sessionId,
+            @RequestParam(value = "language", required = false) String languageHint,
+            @RequestParam(value = "format", required = false) String format
+    ) {
+        log.info("[STT-CTRL] /api/stt/file/subtitles 호출 - fileName={}, sessionId={}, language={}, format={}",
+                safeFileName(file),
+                sessionId,
+                languageHint,
+                format);
+
+        SubtitleFormat subtitleFormat;
+        try {
+            subtitleFormat = SubtitleFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+
+        SttWebResponse webResponse = sttService.transcribeFileForWeb(file, sessionId, languageHint);
+        SttResponseDto body = webResponse.getBody();
+        if (body == null || !body.isSuccess()) {
+            return new ResponseEntity<>(body, webResponse.getHttpStatus());
+        }
+
+        List<SttSegment> segments = body.getSegments();
+        if (segments == null) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(Map.of("message", "STT 엔진이 문장 구간(timestamps)을 반환하지 않아 자막을 만들 수 없습니다.",
+                            "engineName", String.valueOf(body.getEngineName())));
+        }
+
+        StreamingResponseBody subtitles = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            SubtitleWriter subtitleWriter = subtitleFormat.newWriter(writer);
+            for (SttSegment segment : segments) {
+                subtitleWriter.writeSegment(segment);
+            }
+            subtitleWriter.finish();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(subtitleFormat.getContentType() + ";charset=UTF-8"))
+                .headers(headers -> headers.setContentDisposition(ContentDisposition.attachment()
+                        .filename(subtitleFileName(file, subtitleFormat), StandardCharsets.UTF_8)
+                        .build()))
+                .body(subtitles);
+    }
+
     // =============================
     // [Private Helper Methods]
     //  - 가독성/유지보수용 공통 로직 분리
@@ -105,4 +178,12 @@ public class SttController {
         String name = file.getOriginalFilename();
         return (name != null) ? name : "unknown";
     }
+
+    // (추가) 원본 파일명 확장자만 자막 확장자로 교체 (한글 파일명은 ContentDisposition 이 filename* 로 인코딩)
+    private String subtitleFileName(MultipartFile file, SubtitleFormat format) {
+        String name = safeFileName(file);
+        int dot = name.lastIndexOf('.');
+        String base = (dot > 0) ? name.substring(0, dot) : name;
+        return base + "." + format.getExtension();
+    }
 }
@@ -0,0 +1,105 @@
+package com.example.bboo_technology.Controller;
+
+import com.example.bboo_technology.DTO.Stt.LiveCaptionUpdate;
+import com.example.bboo_technology.DTO.Stt.LiveSummaryUpdate;
+import com.example.bboo_technology.Service.Sttservice.live.LiveSttSession;
+import com.example.bboo_technology.Service.Sttservice.live.LiveSttSessionRegistry;
+import com.example.bboo_technology.Service.Sttservice.live.LiveStreamEmitters;
+import com.example.bboo_technology.Service.Sttservice.live.LiveSummaryService;
+import com.example.bboo_technology.Service.Sttservice.live.LiveTranslationService;
+import com.example.bboo_technology.Service.Sttservice.subtitle.LiveSubtitleStreamer;
+import com.example.bboo_technology.Service.Sttservice.subtitle.SubtitleFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * (추가) 라이브 자막 세션 조회 API. (오디오는 WebSocket /ws/stt/live 로 전송)
+ *
+ * - GET /api/stt/live/{sessionId}/segments       : 지금까지 확정된 자막 구간
+ * - GET /api/stt/live/{sessionId}/summary        : 최신 롤링 요약
+ * - GET /api/stt/live/{sessionId}/summary/stream : 요약 갱신 SSE (event: summary)
+ * - GET /api/stt/live/{sessionId}/captions/stream : (추가) 번역 자막 SSE (event: caption) - WebSocket 접속 시 target 지정 필요
+ * - GET /api/stt/live/{sessionId}/subtitles?format=vtt|srt : (추가) 원문 자막 파일 스트리밍 (구간이 확정될 때마다 자막 1개씩 전송)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stt/live")
+public class SttLiveController {
+
+    private final LiveSttSessionRegistry sessionRegistry;
+    private final LiveSummaryService liveSummaryService;
+    private final LiveTranslationService liveTranslationService;
+    private final LiveSubtitleStreamer liveSubtitleStreamer;
+    private final LiveStreamEmitters liveStreamEmitters;
+
+    @GetMapping("/{sessionId}/segments")
+    public Map<String, Object> segments(@PathVariable("sessionId") String sessionId) {
+        Map<String, Object> response = new HashMap<>();
+        LiveSttSession session = sessionRegistry.find(sessionId).orElse(null);
+        response.put("success", session != null);
+        response.put("segments", (session != null) ? session.getFinalSegments() : List.of());
+        return response;
+    }
+
+    @GetMapping("/{sessionId}/summary")
+    public Map<String, Object> summary(@PathVariable("sessionId") String sessionId) {
+        Map<String, Object> response = new HashMap<>();
+        LiveSummaryUpdate latest = liveSummaryService.latest(sessionId).orElse(null);
+        response.put("success", latest != null);
+        response.put("summary", latest);
+        return response;
+    }
+
+    // (변경) Flux 반환 → SseEmitter (기본 async 타임아웃 대신 세션 길이 상한 + heartbeat)
+    @GetMapping(value = "/{sessionId}/summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter summaryStream(@PathVariable("sessionId") String sessionId) {
+        return liveStreamEmitters.sse(sessionId, liveSummaryService.updates(sessionId),
+                (LiveSummaryUpdate update) -> SseEmitter.event()
+                        .id(String.valueOf(update.getRevision()))
+                        .name("summary")
+                        .data(update, MediaType.APPLICATION_JSON));
+    }
+
+    @GetMapping(value = "/{sessionId}/captions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter captionStream(@PathVariable("sessionId") String sessionId) {
+        return liveStreamEmitters.sse(sessionId, liveTranslationService.captions(sessionId),
+                (LiveCaptionUpdate caption) -> SseEmitter.event()
+                        .name("caption")
+                        .data(caption, MediaType.APPLICATION_JSON));
+    }
+
+    // (변경) StreamingResponseBody(요청 스레드 블로킹) → ResponseBodyEmitter (Flux 구독에서 전송)
+    @GetMapping("/{sessionId}/subtitles")
+    public ResponseEntity<ResponseBodyEmitter> subtitles(@PathVariable("sessionId") String sessionId,
+                                                           @RequestParam(value = "format", required = false) String format) {
+        LiveSttSession session = sessionRegistry.find(sessionId).orElse(null);
+        if (session == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SubtitleFormat subtitleFormat;
+        try {
+            subtitleFormat = SubtitleFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        MediaType mediaType = MediaType.parseMediaType(subtitleFormat.getContentType() + ";charset=UTF-8");
+        ResponseBodyEmitter body = liveStreamEmitters.body(sessionId,
+                liveSubtitleStreamer.stream(session, subtitleFormat), mediaType);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(body);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.bboo_technology.Controller;
+
+import com.example.bboo_technology.DTO.Stt.LiveCaptionUpdate;
+import com.example.bboo_technology.DTO.Stt.SttStreamEvent;
+import com.example.bboo_technology.Service.Sttservice.live.LiveSttSession;
+import com.example.bboo_technology.Service.Sttservice.live.LiveSttSessionRegistry;
+import com.example.bboo_technology.Service.Sttservice.live.LiveTranslationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * (추가) 라이브 자막 WebSocket (/ws/stt/live?language=ko&target=en).
+ *
+ * - 브라우저 → 서버
+ *   - binary : 16bit 모노 PCM 프레임 (stt.python.stream-sample-rate, 기본 16kHz)
+ *   - text   : {"type":"end"} → 남은 구간을 확정하고 종료
+ * - 서버 → 브라우저
+ *   - text   : SttStreamEvent JSON (partial / final / status / error)
+ *   - text   : (추가) target 이 있으면 번역 자막 JSON (type: translation)
+ * - 브라우저가 end 없이 연결을 끊으면 Python 스트림도 바로 닫는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SttLiveWebSocketHandler extends AbstractWebSocketHandler {
+
+    private static final String ATTR_LIVE_SESSION_ID = "liveSttSessionId";
+    private static final String ATTR_FINISHING = "liveSttFinishing";
+
+    // 브라우저 쪽 전송이 밀릴 때 허용하는 지연 / 버퍼
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
+    private final LiveSttSessionRegistry sessionRegistry;
+    private final LiveTranslationService liveTranslationService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String language = null;
+        String target = null;
+        if (session.getUri() != null) {
+            MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+            language = params.getFirst("language");
+            target = params.getFirst("target");
+        }
+
+        LiveSttSession liveSession = sessionRegistry.start(language, target).orElse(null);
+        if (liveSession == null) {
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("STT server unavailable"));
+            return;
+        }
+        session.getAttributes().put(ATTR_LIVE_SESSION_ID, liveSession.getSessionId());
+
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(
+                session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+
+        liveSession.events()
+                .doFinally(signal -> closeQuietly(outbound))
+                .subscribe(event -> push(outbound, event));
+
+        liveTranslationService.captions(liveSession.getSessionId())
+                .subscribe(caption -> pushCaption(outbound, caption));
+
+        log.info("[STT-LIVE] 세션 시작 - sessionId={}, language={}, target={}", liveSession.getSessionId(), language, target);
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        findLiveSession(session).ifPresent(liveSession -> {
+            ByteBuffer payload = message.getPayload();
+            byte[] pcm = new byte[payload.remaining()];
+            payload.get(pcm);
+            liveSession.sendAudio(pcm);
+        });
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        JsonNode node = objectMapper.readTree(message.getPayload());
+        if ("end".equals(node.path("type").asText())) {
+            session.getAttributes().put(ATTR_FINISHING, Boolean.TRUE);
+            findLiveSession(session).ifPresent(LiveSttSession::finish);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object liveSessionId = session.getAttributes().get(ATTR_LIVE_SESSION_ID);
+        if (liveSessionId != null && !Boolean.TRUE.equals(session.getAttributes().get(ATTR_FINISHING))) {
+            sessionRegistry.close(liveSessionId.toString());
+        }
+    }
+
+    @Override
+    public boolean supportsPartialMessages() {
+        return false;
+    }
+
+    private Optional<LiveSttSession> findLiveSession(WebSocketSession session) {
+        Object liveSessionId = session.getAttributes().get(ATTR_LIVE_SESSION_ID);
+        return (liveSessionId != null) ? sessionRegistry.find(liveSessionId.toString()) : Optional.empty();
+    }
+
+    private void push(WebSocketSession outbound, SttStreamEvent event) {
+        if (!outbound.isOpen()) {
+            return;
+        }
+        try {
+            outbound.sendMessage(new TextMessage(objectMapper.writeValueAsString(Map.of(
+                    "type", event.getType(),
+                    "text", (event.getText() != null) ? event.getText() : "",
+                    "start", (event.getStartSeconds() != null) ? event.getStartSeconds() : -1,
+                    "end", (event.getEndSeconds() != null) ? event.getEndSeconds() : -1,
+                    "seq", (event.getSequence() != null) ? event.getSequence() : -1))));
+        } catch (IOException e) {
+            log.debug("[STT-LIVE] 결과 전송 실패 - sessionId={}", event.getSessionId(), e);
+        }
+    }
+
+    private void pushCaption(WebSocketSession outbound, LiveCaptionUpdate caption) {
+        if (!outbound.isOpen()) {
+            return;
+        }
+        try {
+            outbound.sendMessage(new TextMessage(objectMapper.writeValueAsString(Map.of(
+                    "type", "translation",
+                    "seq", (caption.getSequence() != null) ? caption.getSequence() : -1,
+                    "source", caption.getSourceText(),
+                    "text", caption.getTranslatedText(),
+                    "latencyMs", caption.getLatencyMillis()))));
+        } catch (IOException e) {
+            log.debug("[STT-LIVE] 번역 자막 전송 실패 - sessionId={}", caption.getSessionId(), e);
+        }
+    }
+
+    private void closeQuietly(WebSocketSession outbound) {
+        try {
+            if (outbound.isOpen()) {
+                outbound.close(CloseStatus.NORMAL);
+            }
+        } catch (IOException ignored) {
+            // 이미 닫힌 연결
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.bboo_technology.Controller;
+
+import com.example.bboo_technology.Service.Sttservice.SttBatchJobServiceImpl;
+import com.example.bboo_technology.Service.Sttservice.SttFingerprintIndex;
+import com.example.bboo_technology.Service.Sttservice.SttTranscriptCache;
+import com.example.bboo_technology.Service.Sttservice.audio.SpeechTrimmer;
+import com.example.bboo_technology.Service.Sttservice.engine.PythonSttBatchDispatcher;
+import com.example.bboo_technology.Service.Sttservice.engine.PythonSttEndpointPool;
+import com.example.bboo_technology.Service.Sttservice.engine.PythonSttStream;
+import com.example.bboo_technology.Service.Sttservice.engine.PythonSttStreamClient;
+import com.example.bboo_technology.Service.Sttservice.engine.RoutingSttEngine;
+import com.example.bboo_technology.Service.Sttservice.live.AdaptiveChunkController;
+import com.example.bboo_technology.Service.Sttservice.live.LivePipelineMonitor;
+import com.example.bboo_technology.Service.Sttservice.live.LiveSummaryService;
+import com.example.bboo_technology.Service.Sttservice.live.LiveTranslationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * (추가) STT 엔진 라우팅 지표 조회용 API.
+ *
+ * - GET /api/stt/metrics/engines : 엔진별 EWMA 지연/오류율/RTF/in-flight + 라우팅 결정 횟수
+ * - GET /api/stt/metrics/python-servers : (추가) 로컬 Python STT 서버별 상태 (정상 여부, 처리 중 요청 수)
+ * - GET /api/stt/metrics/vad : (추가) 무음 제거로 잘라낸 오디오 누적(초)
+ * - GET /api/stt/metrics/cache : (추가) 결과 캐시 적중률
+ * - GET /api/stt/metrics/fingerprint : (추가) 반복 클립(광고/징글) 지문 일치율 / 절약한 오디오(초)
+ * - GET /api/stt/metrics/python-batch : (추가) 마이크로 배치 크기 / 요청당 추가 지연
+ * - GET /api/stt/metrics/python-streams : (추가) 라이브 스트림별 전송량 / 버린 프레임 / 재연결 횟수
+ * - GET /api/stt/metrics/live-summary : (추가) 롤링 요약 호출 수 / 누적 토큰 / 토큰 상한으로 미룬 횟수
+ * - GET /api/stt/metrics/live-translation : (추가) 자막 묶음 크기 / STT 확정 → 번역 자막 지연(p50/p95)
+ * - GET /api/stt/metrics/pipeline : (추가) 라이브 파이프라인 단계별 대기 깊이 / 지연 / 버림·합침 횟수
+ * - GET /api/stt/metrics/live-chunking : (추가) 청크 모드 엔진별 RTF / 고정 비용 추정, 세션별 청크 길이와 결정 이유
+ * - GET /api/stt/metrics/batch-jobs : (추가) 일괄 작업 동시 처리 수 / 엔진 수용량 / 수용량 부족으로 미룬 횟수
+ *
+ * ※ 메모리 집계이므로 애플리케이션 재시작 시 초기화된다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stt/metrics")
+public class SttMetricsController {
+
+    private final RoutingSttEngine routingSttEngine;
+    private final PythonSttEndpointPool pythonSttEndpointPool;
+    private final SpeechTrimmer speechTrimmer;
+    private final SttTranscriptCache transcriptCache;
+    private final SttFingerprintIndex fingerprintIndex;
+    private final PythonSttBatchDispatcher batchDispatcher;
+    private final PythonSttStreamClient streamClient;
+    private final LiveSummaryService liveSummaryService;
+    private final LiveTranslationService liveTranslationService;
+    private final LivePipelineMonitor livePipelineMonitor;
+    private final SttBatchJobServiceImpl sttBatchJobService;
+    private final AdaptiveChunkController adaptiveChunkController;
+
+    @GetMapping("/engines")
+    public RoutingSttEngine.RoutingSnapshot engines() {
+        return routingSttEngine.snapshot();
+    }
+
+    @GetMapping("/python-servers")
+    public List<PythonSttEndpointPool.EndpointSnapshot> pythonServers() {
+        return pythonSttEndpointPool.snapshot();
+    }
+
+    @GetMapping("/vad")
+    public SpeechTrimmer.VadSummary vad() {
+        return speechTrimmer.snapshot();
+    }
+
+    @GetMapping("/cache")
+    public SttTranscriptCache.CacheSummary cache() {
+        return transcriptCache.snapshot();
+    }
+
+    @GetMapping("/fingerprint")
+    public SttFingerprintIndex.FingerprintSummary fingerprint() {
+        return fingerprintIndex.snapshot();
+    }
+
+    @GetMapping("/python-batch")
+    public PythonSttBatchDispatcher.BatchSummary pythonBatch() {
+        return batchDispatcher.snapshot();
+    }
+
+    @GetMapping("/python-streams")
+    public List<PythonSttStream.StreamSnapshot> pythonStreams() {
+        return streamClient.snapshot();
+    }
+
+    @GetMapping("/live-summary")
+    public LiveSummaryService.SummaryMetrics liveSummary() {
+        return liveSummaryService.snapshot();
+    }
+
+    @GetMapping("/live-translation")
+    public LiveTranslationService.TranslationMetrics liveTranslation() {
+        return liveTranslationService.snapshot();
+    }
+
+    @GetMapping("/pipeline")
+    public LivePipelineMonitor.PipelineDashboard pipeline() {
+        return livePipelineMonitor.snapshot();
+    }
+
+    @GetMapping("/batch-jobs")
+    public SttBatchJobServiceImpl.DispatchSnapshot batchJobs() {
+        return sttBatchJobService.snapshot();
+    }
+
+    @GetMapping("/live-chunking")
+    public AdaptiveChunkController.ChunkingMetrics liveChunking() {
+        return adaptiveChunkController.snapshot();
+    }
+}
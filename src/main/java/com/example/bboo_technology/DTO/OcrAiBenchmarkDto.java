@@ -0,0 +1,38 @@
+package com.example.bboo_technology.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * (추가) 같은 OCR 문서에 대해 3회 호출 / 1회 통합 호출을 나란히 실행한 비교 결과.
+ *
+ * - 절감률 = 1 - (통합 / 3회), 음수면 통합이 더 비싸거나 느린 것
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrAiBenchmarkDto {
+
+    private Long ocrResultId;
+
+    /**
+     * 입력 OCR 텍스트 길이 (문자 수)
+     */
+    private int inputChars;
+
+    private OcrAiGenerationDto separate;
+
+    private OcrAiGenerationDto combined;
+
+    private double promptTokenSavingRatio;
+
+    private double costSavingRatio;
+
+    /**
+     * 순차 3회 합계 대비 지연 절감률
+     */
+    private double latencySavingRatio;
+}
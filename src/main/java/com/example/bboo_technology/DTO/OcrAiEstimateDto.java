@@ -0,0 +1,46 @@
+package com.example.bboo_technology.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * (추가) OpenAI 호출 전 입력 토큰 / 비용 미리 계산 결과.
+ *
+ * - 프롬프트 전체(system + user + 메시지 구조 토큰) 기준, 정리된 OCR 텍스트 사용
+ * - 출력 토큰은 호출 전에는 알 수 없으므로 입력 비용만 계산
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrAiEstimateDto {
+
+    private Long ocrResultId;
+
+    /**
+     * BPE 병합 테이블 기준 정확한 수인지 (false 면 UTF-8 바이트 / 3 추정)
+     */
+    private boolean exact;
+
+    /**
+     * 3회 호출 입력 토큰 합계 / 1회 통합 호출 입력 토큰
+     */
+    private int separatePromptTokens;
+    private int combinedPromptTokens;
+
+    private double separateInputCostUsd;
+    private double combinedInputCostUsd;
+
+    /**
+     * 요청당 입력 토큰 상한 (openai.tokenizer.max-prompt-tokens, 0 이하면 검사 안 함)
+     */
+    private int maxPromptTokens;
+
+    /**
+     * 호출 전 상한 검사에 걸리지 않는지 (exact=false 면 추정치라 검사하지 않으므로 항상 true)
+     */
+    private boolean separateWithinBudget;
+    private boolean combinedWithinBudget;
+}
@@ -0,0 +1,73 @@
+package com.example.bboo_technology.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * (추가) 요약 / 쇼호스트 멘트 / 마케팅 포인트 3종 생성 결과 + 비용/지연.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrAiGenerationDto {
+
+    /**
+     * 생성 방식
+     * - COMBINED : 1회 호출 (json_schema 응답)
+     * - SEPARATE : 기존 3회 호출 (통합 응답 실패 시 대체 포함)
+     */
+    private String mode;
+
+    private String summary;
+
+    private String hostScript;
+
+    private String marketingPoints;
+
+    /**
+     * 사용한 모델명 (SEPARATE 에서 모델이 서로 다르면 쉼표로 연결)
+     */
+    private String model;
+
+    /**
+     * OpenAI 호출 횟수 (COMBINED 1 / SEPARATE 3)
+     */
+    private int calls;
+
+    /**
+     * 토큰 사용량 합계 (usage 필드 기준)
+     */
+    private int promptTokens;
+    private int completionTokens;
+    private int totalTokens;
+
+    /**
+     * 전체 소요 시간(ms) - SEPARATE 는 순차 3회 합계
+     */
+    private long elapsedMillis;
+
+    /**
+     * 가장 오래 걸린 호출 1회(ms) - SEPARATE 를 병렬로 보냈을 때의 하한
+     */
+    private long longestCallMillis;
+
+    /**
+     * 예상 비용(USD) - (변경) 모델별 단가 openai.combined.model-prices 기준 (없으면 *-price-per-million)
+     */
+    private double estimatedCostUsd;
+
+    /**
+     * 통합 응답 실패로 3회 호출로 대체했는지 여부
+     */
+    private boolean fallback;
+
+    /**
+     * 저장된 ocr_gpt_result PK (SUMMARY, HOST_SCRIPT, MARKETING_POINTS 순) - 저장하지 않았으면 null
+     */
+    private List<Long> savedIds;
+}
@@ -0,0 +1,61 @@
+package com.example.bboo_technology.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * (추가) 배치 OCR 에서 파일 1건의 처리 결과.
+ * - ZIP 안의 파일은 엔트리 1개가 1건이다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrBatchItemDto {
+
+    public static final String STATUS_SUCCESS = "SUCCESS";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_SKIPPED = "SKIPPED";
+
+    /**
+     * 파일명 (ZIP 엔트리는 ZIP 내부 경로)
+     */
+    private String fileName;
+
+    /**
+     * ZIP 에서 나온 파일이면 ZIP 파일명, 아니면 null
+     */
+    private String archiveName;
+
+    /**
+     * 처리 상태 (SUCCESS / FAILED / SKIPPED)
+     */
+    private String status;
+
+    /**
+     * 파일 타입 (IMAGE / PDF)
+     */
+    private String fileType;
+
+    /**
+     * 페이지 수
+     */
+    private Integer pageCount;
+
+    /**
+     * OCR 소요 시간(ms)
+     */
+    private Long elapsedMillis;
+
+    /**
+     * 저장된 ocr_result PK (저장 성공 시)
+     */
+    private Long ocrResultId;
+
+    /**
+     * 실패/건너뜀 사유
+     */
+    private String errorMessage;
+}
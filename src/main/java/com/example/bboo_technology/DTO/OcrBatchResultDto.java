@@ -0,0 +1,31 @@
+package com.example.bboo_technology.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * (추가) 배치 OCR 전체 결과.
+ * - 파일별 상태(items) + 전체 처리량 요약
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrBatchResultDto {
+
+    private int totalFiles;         // 전체 파일 수 (ZIP 은 엔트리 기준)
+    private int successCount;       // 성공 건수
+    private int failedCount;        // 실패 건수
+    private int skippedCount;       // 건너뜀 건수 (지원하지 않는 형식 등)
+    private int totalPages;         // 성공한 파일의 총 페이지 수
+
+    private long elapsedMillis;     // 배치 전체 소요 시간(ms)
+    private double filesPerMinute;  // 분당 처리 파일 수 (성공 기준)
+    private double pagesPerMinute;  // 분당 처리 페이지 수
+
+    private List<OcrBatchItemDto> items;
+}
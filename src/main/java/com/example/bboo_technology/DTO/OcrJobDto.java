@@ -0,0 +1,48 @@
+package com.example.bboo_technology.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * (추가) 체크포인트 OCR 작업 상태 DTO.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrJobDto {
+
+    private Long id;
+
+    /**
+     * 원본 파일 콘텐츠 해시 (SHA-256)
+     */
+    private String contentHash;
+
+    private String originalFileName;
+
+    /**
+     * 전체 페이지 수
+     */
+    private Integer pageCount;
+
+    /**
+     * 체크포인트가 저장된 페이지 수
+     */
+    private Integer completedPages;
+
+    /**
+     * RUNNING / COMPLETED / FAILED
+     */
+    private String status;
+
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
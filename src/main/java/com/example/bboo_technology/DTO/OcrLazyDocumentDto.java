@@ -0,0 +1,41 @@
+package com.example.bboo_technology.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * (추가) 지연 OCR 문서 정보.
+ * - 업로드 직후 OCR 없이 바로 반환되며, 이후 페이지 단위로 OCR 을 요청할 때 documentId 를 사용한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrLazyDocumentDto {
+
+    /**
+     * 문서 ID (파일 내용 SHA-256)
+     */
+    private String documentId;
+
+    private String originalFileName;
+
+    /**
+     * PDF / TIFF / IMAGE
+     */
+    private String fileType;
+
+    /**
+     * 전체 페이지 수
+     */
+    private int pageCount;
+
+    /**
+     * 이미 OCR 되어 캐시에 있는 페이지 번호 (1부터)
+     */
+    private List<Integer> cachedPages;
+}
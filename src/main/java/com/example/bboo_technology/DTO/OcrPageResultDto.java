@@ -0,0 +1,50 @@
+package com.example.bboo_technology.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * (추가) 지연 OCR 페이지 1장 결과.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrPageResultDto {
+
+    private String documentId;
+
+    /**
+     * 페이지 번호 (1부터)
+     */
+    private int pageNumber;
+
+    private String text;
+
+    /**
+     * 문자 수 가중 평균 신뢰도 (0~100)
+     */
+    private double confidence;
+
+    /**
+     * 사용한 언어 조합 (eng / kor+eng 등)
+     */
+    private String language;
+
+    /**
+     * 처리 경로 (FAST / FAST+LINES / ACCURATE)
+     */
+    private String tier;
+
+    /**
+     * OCR 소요 시간(ms) - 캐시 적중이면 최초 OCR 당시 값
+     */
+    private long elapsedMillis;
+
+    /**
+     * 캐시에서 꺼낸 결과인지 여부
+     */
+    private boolean cached;
+}
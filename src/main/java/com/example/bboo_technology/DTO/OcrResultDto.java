@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * OCR 결과를 표현하는 DTO.
@@ -45,6 +46,20 @@ public class OcrResultDto {
      */
     private Integer pageCount;
 
+    /**
+     * (추가) 페이지별 OCR 평균 신뢰도 (0~100).
+     * - 페이지 순서대로 담기며, IMAGE 파일은 1개 값만 가진다.
+     * - 신뢰도가 낮은 페이지를 View 에서 표시하거나 재검수 대상으로 활용할 수 있다.
+     */
+    private List<Double> pageConfidences;
+
+    /**
+     * (추가) 페이지 범위를 지정해서 일부만 OCR 한 경우 그 범위 (예: "1-3,7").
+     * - 전체 페이지를 OCR 했으면 null.
+     * - pageCount 는 범위와 무관하게 문서 전체 페이지 수이다.
+     */
+    private String pageRange;
+
     /**
      * 저장할 제목.
      * - View 오른쪽 상단 "저장할 제목" 입력창과 매핑된다.
@@ -0,0 +1,38 @@
+package com.example.bboo_technology.DTO.Stt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// (추가) 라이브 번역 자막 1건 (확정 구간 1개 = 자막 1개)
+@Getter
+@Builder
+public class LiveCaptionUpdate {
+
+    private final String sessionId;
+
+    // 확정 구간 순번 (STT 서버 seq)
+    private final Long sequence;
+
+    private final String sourceText;
+
+    // 번역 실패 시 원문 그대로
+    private final String translatedText;
+
+    private final String targetLanguage;
+
+    private final Double startSeconds;
+    private final Double endSeconds;
+
+    // STT 확정 결과 수신 → 번역 자막 발행까지 걸린 시간(ms)
+    private final long latencyMillis;
+
+    // 같이 묶여서 번역된 구간 수
+    private final int batchSize;
+
+    // 번역 실패로 원문을 그대로 내보냈는지
+    private final boolean fallback;
+
+    private final Instant publishedAt;
+}
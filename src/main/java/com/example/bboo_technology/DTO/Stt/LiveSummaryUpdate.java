@@ -0,0 +1,38 @@
+package com.example.bboo_technology.DTO.Stt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// (추가) 라이브 자막 롤링 요약 갱신 결과 (SSE 로 구독자에게 전달)
+@Getter
+@Builder
+public class LiveSummaryUpdate {
+
+    private final String sessionId;
+
+    // 갱신 번호 (1부터)
+    private final long revision;
+
+    // 현재까지의 누적 요약
+    private final String summary;
+
+    // 요약에 반영된 마지막 구간의 끝 시각(초)
+    private final Double coveredSeconds;
+
+    // 이번 갱신에 반영한 확정 구간 수
+    private final int newSegments;
+
+    // 세션 누적 추정 토큰 (입력 / 출력)
+    private final long inputTokens;
+    private final long outputTokens;
+
+    // 오디오 1분당 토큰 (입력 + 출력)
+    private final double tokensPerAudioMinute;
+
+    // 세션 종료 후 마지막 갱신 여부
+    private final boolean finished;
+
+    private final Instant updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.example.bboo_technology.DTO.Stt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// (추가) STT 일괄 변환 작업의 파일별 결과 DTO
+@Getter
+@Builder
+public class SttBatchItemDto {
+
+    private final Long id;
+
+    // 처리 순서
+    private final int seq;
+
+    // 업로드 파일명 (ZIP 이면 엔트리 경로)
+    private final String fileName;
+
+    // PENDING / RUNNING / COMPLETED / FAILED / CANCELLED
+    private final String status;
+
+    private final String transcript;
+
+    private final String language;
+
+    private final String engineName;
+
+    // 오디오 길이(초)
+    private final Double durationSeconds;
+
+    // 엔진 호출 소요 시간(ms)
+    private final Long processingMillis;
+
+    // 결과 캐시/지문에서 가져왔는지
+    private final boolean cached;
+
+    private final String errorCode;
+    private final String errorMessage;
+}
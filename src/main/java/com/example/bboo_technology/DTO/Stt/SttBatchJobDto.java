@@ -0,0 +1,51 @@
+package com.example.bboo_technology.DTO.Stt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// (추가) STT 일괄 변환 작업 진행 상태 / 처리량 응답 DTO
+@Getter
+@Builder
+public class SttBatchJobDto {
+
+    private final Long id;
+
+    // 작업 이름 (첫 업로드 파일명)
+    private final String name;
+
+    // RUNNING / COMPLETED / CANCELLED / FAILED
+    private final String status;
+
+    private final String languageHint;
+
+    // 파일 상태별 개수
+    private final int totalItems;
+    private final long pendingItems;
+    private final long runningItems;
+    private final long completedItems;
+    private final long failedItems;
+    private final long cancelledItems;
+
+    // 진행률 (0~1) - 완료 + 실패 + 취소 / 전체
+    private final double progress;
+
+    // 인식이 끝난 오디오 길이 합(초)
+    private final double audioSeconds;
+
+    // 작업 시작 후 경과 시간(초) - 끝났으면 종료 시각까지
+    private final double wallSeconds;
+
+    // 처리량: 경과 1시간당 처리한 오디오 시간
+    private final double audioHoursPerWallHour;
+
+    // 남은 파일 예상 소요(초) - 아직 끝난 파일이 없으면 null
+    private final Double etaSeconds;
+
+    private final String errorMessage;
+
+    private final LocalDateTime createdAt;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+}
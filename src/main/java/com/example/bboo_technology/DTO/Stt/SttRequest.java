@@ -2,7 +2,12 @@ package com.example.bboo_technology.DTO.Stt;
 
 import lombok.Builder;
 import lombok.Getter;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 // (추가) STT 엔진에 전달할 요청 DTO
@@ -22,9 +27,54 @@ public class SttRequest {
     // 파일 크기(bytes)
     private final Long fileSize;
 
-    // 실제 오디오 데이터
+    // 실제 오디오 데이터 (메모리 오디오용, 업로드 파일은 audioFile 사용)
     private final byte[] audioData;
 
+    // (추가) 디스크에 스풀된 오디오 파일 경로 - 있으면 audioData 대신 파일에서 스트리밍 전송
+    private final Path audioFile;
+
+    // (추가) 오디오 콘텐츠 해시 (SHA-256, 스풀 시 함께 계산)
+    private final String contentHash;
+
+    // (추가) 엔진에 보내는 오디오 길이(초) - WAV 헤더 기준, 모르면 null
+    private final Double durationSeconds;
+
     // 추가 메타 정보 (옵션)
     private final Map<String, Object> meta;
+
+    /**
+     * (추가) 오디오 데이터가 있는지 (파일 또는 byte[])
+     */
+    public boolean hasAudio() {
+        if (audioFile != null) {
+            return Files.exists(audioFile);
+        }
+        return audioData != null && audioData.length > 0;
+    }
+
+    /**
+     * (추가) 엔진 multipart 전송용 Resource.
+     * - audioFile 이 있으면 FileSystemResource → WebClient 가 버퍼 단위로 읽어 스트리밍 전송 (힙에 통째로 올리지 않음)
+     * - 없으면 기존처럼 ByteArrayResource
+     *
+     * @param defaultFileName 파일명이 없을 때 사용할 이름
+     */
+    public Resource toResource(String defaultFileName) {
+        String name = (fileName != null && !fileName.isBlank()) ? fileName : defaultFileName;
+
+        if (audioFile != null) {
+            return new FileSystemResource(audioFile) {
+                @Override
+                public String getFilename() {
+                    return name;
+                }
+            };
+        }
+        return new ByteArrayResource(audioData) {
+            @Override
+            public String getFilename() {
+                return name;
+            }
+        };
+    }
 }
@@ -4,6 +4,8 @@ package com.example.bboo_technology.DTO.Stt;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.List;
+
 // (추가) 컨트롤러에서 JSON 응답으로 내려줄 DTO
 // (추가) STT 결과를 클라이언트(REST/뷰)에 내려줄 응답 DTO
 @Getter
@@ -31,5 +33,17 @@ public class SttResponseDto {
     // (디버깅용) 내부 에러 메시지를 보고 싶을 때 사용
     private final String errorMessage;
 
+    // (추가) 무음 제거로 잘라낸 오디오 길이(초)
+    private final Double trimmedSeconds;
+
+    // (추가) 원본 오디오 기준 음성 구간
+    private final List<SttTimeRange> speechRegions;
+
+    // (추가) 결과 캐시 적중 여부
+    private final boolean cached;
+
+    // (추가) 문장 단위 구간 (원본 오디오 기준) - 자막 생성용
+    private final List<SttSegment> segments;
+
     // (TODO) 필요 시 errorCode / errorMessage / durationSeconds 등 확장 가능  private final String engineName;
 }
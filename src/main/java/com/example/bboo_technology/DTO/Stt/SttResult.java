@@ -4,10 +4,11 @@ import lombok.Builder;
 import lombok.Getter;
 
 import java.time.Instant;
+import java.util.List;
 
 // (추가) STT 엔진 처리 결과 DTO
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class SttResult {
 
     private final String sessionId;
@@ -33,4 +34,19 @@ public class SttResult {
 
     // 결과 생성 시각
     private final Instant createdAt;
+
+    // (추가) 엔진 호출 소요 시간(ms) - 라우터가 채운다
+    private final Long processingMillis;
+
+    // (추가) 무음 제거(VAD)로 엔진에 보내지 않은 오디오 길이(초) - 분석하지 않았으면 null
+    private final Double trimmedSeconds;
+
+    // (추가) 원본 오디오 기준 음성 구간 - 분석하지 않았으면 null
+    private final List<SttTimeRange> speechRegions;
+
+    // (추가) 결과 캐시에서 가져왔는지 (true 면 엔진을 호출하지 않음)
+    private final boolean cached;
+
+    // (추가) 문장 단위 구간 (원본 오디오 기준) - 엔진이 타임스탬프를 주지 않았으면 null
+    private final List<SttSegment> segments;
 }
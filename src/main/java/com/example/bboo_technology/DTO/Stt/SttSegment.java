@@ -0,0 +1,21 @@
+package com.example.bboo_technology.DTO.Stt;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+// (추가) 엔진이 돌려준 문장 단위 구간 (원본 오디오 기준 초) - 자막(SRT/VTT) / 정렬용
+@Getter
+@Builder
+@Jacksonized
+public class SttSegment {
+
+    // 시작(초)
+    private final double startSeconds;
+
+    // 끝(초)
+    private final double endSeconds;
+
+    // 구간 텍스트
+    private final String text;
+}
@@ -0,0 +1,57 @@
+package com.example.bboo_technology.DTO.Stt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// (추가) 실시간 STT 스트리밍 이벤트 (중간 결과 / 확정 결과 / 상태)
+@Getter
+@Builder
+public class SttStreamEvent {
+
+    public static final String TYPE_PARTIAL = "partial";    // 중간 가설 (바뀔 수 있음)
+    public static final String TYPE_FINAL = "final";        // 확정 구간
+    public static final String TYPE_STATUS = "status";      // 연결/재연결 등 상태 알림
+    public static final String TYPE_ERROR = "error";
+
+    // 라이브 세션 ID
+    private final String sessionId;
+
+    // 이벤트 종류 (partial / final / status / error)
+    private final String type;
+
+    // 인식 텍스트 (status/error 는 메시지)
+    private final String text;
+
+    // 스트림 시작 기준 구간(초) - 모르면 null
+    private final Double startSeconds;
+    private final Double endSeconds;
+
+    // 서버가 붙인 순번 (확정 구간 순서)
+    private final Long sequence;
+
+    // Java 쪽 수신 시각
+    private final Instant receivedAt;
+
+    public boolean isFinal() {
+        return TYPE_FINAL.equals(type);
+    }
+
+    /**
+     * (추가) 인접한 뒤 구간과 합친 구간 (파이프라인 대기열이 넘칠 때 COALESCE 용)
+     *  - 구간은 앞 시작 ~ 뒤 끝, 수신 시각은 앞 구간 기준 (지연 측정용)
+     */
+    public SttStreamEvent merge(SttStreamEvent next) {
+        String joined = ((text != null) ? text.trim() : "") + " " + ((next.text != null) ? next.text.trim() : "");
+        return SttStreamEvent.builder()
+                .sessionId(sessionId)
+                .type(type)
+                .text(joined.trim())
+                .startSeconds((startSeconds != null) ? startSeconds : next.startSeconds)
+                .endSeconds((next.endSeconds != null) ? next.endSeconds : endSeconds)
+                .sequence((next.sequence != null) ? next.sequence : sequence)
+                .receivedAt((receivedAt != null) ? receivedAt : next.receivedAt)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.bboo_technology.DTO.Stt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// (추가) 원본 오디오 기준 시간 구간 (초) - 무음 제거 후 남긴 음성 구간 등
+@Getter
+@Builder
+public class SttTimeRange {
+
+    // 시작(초)
+    private final double startSeconds;
+
+    // 끝(초)
+    private final double endSeconds;
+}
@@ -0,0 +1,79 @@
+package com.example.bboo_technology.Entiry;
+
+import com.example.bboo_technology.enums.OcrJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * (추가) 체크포인트 기반 PDF OCR 작업.
+ *
+ * - 업로드 파일 콘텐츠 해시 1개당 작업 1개 (같은 파일을 다시 올리면 기존 작업을 이어서 처리)
+ * - 페이지 결과는 OcrPageCheckpoint 에 페이지마다 저장되고, 이 엔티티는 진행 상태만 관리한다.
+ * - 애플리케이션 재시작 시 RUNNING 상태 작업은 자동으로 다시 큐에 들어간다.
+ */
+@Entity
+@Table(name = "ocr_job",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ocr_job_content_hash", columnNames = "content_hash"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 원본 파일 콘텐츠 해시 (SHA-256) - OcrPageCheckpoint 와 연결되는 키
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "original_file_name", length = 255)
+    private String originalFileName;
+
+    /**
+     * 재개 시 다시 읽을 원본 파일 경로 (OcrJobFileStore 보관 위치, 완료 후 삭제)
+     */
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    @Column(name = "page_count", nullable = false)
+    private Integer pageCount;
+
+    /**
+     * 체크포인트가 저장된 페이지 수
+     */
+    @Column(name = "completed_pages", nullable = false)
+    private Integer completedPages;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OcrJobStatus status;
+
+    /**
+     * 마지막 실패 사유
+     */
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
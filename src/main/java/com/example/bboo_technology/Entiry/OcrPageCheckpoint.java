@@ -0,0 +1,88 @@
+package com.example.bboo_technology.Entiry;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * (추가) 페이지 단위 OCR 체크포인트.
+ *
+ * - 페이지 하나의 OCR 이 끝날 때마다 바로 저장된다.
+ * - 업로드 파일의 콘텐츠 해시(SHA-256) + 페이지 인덱스로 식별하므로,
+ *   같은 파일을 다시 처리하면 이미 끝난 페이지는 건너뛴다.
+ * - 지연 OCR 페이지 캐시(OcrPageCache)의 영속 계층으로도 사용된다.
+ * - (변경) OCR 설정 지문을 함께 저장해서, 언어 / DPI / 승격 기준 / 엔진 버전이 바뀐 뒤에는 예전 결과를 쓰지 않는다.
+ */
+@Entity
+@Table(name = "ocr_page_checkpoint",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ocr_page_checkpoint_hash_page",
+                columnNames = {"content_hash", "page_index"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrPageCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 원본 파일 콘텐츠 해시 (SHA-256, 16진수 64자)
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /**
+     * (추가) 만들 때의 OCR 설정 / 엔진 버전 지문 (OcrPageCache) - 현재 지문과 다르면 재사용하지 않는다
+     */
+    @Column(name = "settings_fingerprint", length = 64)
+    private String settingsFingerprint;
+
+    /**
+     * 0부터 시작하는 페이지 인덱스
+     */
+    @Column(name = "page_index", nullable = false)
+    private Integer pageIndex;
+
+    /**
+     * 페이지 OCR 텍스트
+     */
+    @Lob
+    @Column(name = "page_text", columnDefinition = "LONGTEXT")
+    private String pageText;
+
+    /**
+     * 문자 수 가중 평균 신뢰도 (0~100)
+     */
+    @Column(name = "confidence")
+    private Double confidence;
+
+    /**
+     * 사용한 언어 조합 (eng / kor+eng 등)
+     */
+    @Column(name = "language", length = 50)
+    private String language;
+
+    /**
+     * 처리 경로 (FAST / FAST+LINES / ACCURATE)
+     */
+    @Column(name = "tier", length = 20)
+    private String tier;
+
+    /**
+     * 페이지 OCR 소요 시간(ms)
+     */
+    @Column(name = "elapsed_millis")
+    private Long elapsedMillis;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
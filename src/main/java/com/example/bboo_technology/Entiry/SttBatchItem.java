@@ -0,0 +1,97 @@
+package com.example.bboo_technology.Entiry;
+
+import com.example.bboo_technology.enums.SttBatchItemStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * (추가) STT 일괄 변환 작업의 파일 1개 + 인식 결과.
+ *
+ * - 파일이 끝날 때마다 바로 저장한다. (작업 도중 중단돼도 끝난 파일은 다시 인식하지 않음)
+ * - 원본 파일은 처리가 끝나면(성공/실패 모두) 바로 삭제한다.
+ */
+@Entity
+@Table(name = "stt_batch_item",
+        indexes = @Index(name = "idx_stt_batch_item_job_status", columnList = "job_id, status"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SttBatchItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    /**
+     * 처리 순서 (업로드 / ZIP 엔트리 순서)
+     */
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    /**
+     * 표시용 파일명 (ZIP 이면 엔트리 경로)
+     */
+    @Column(name = "file_name", nullable = false, length = 500)
+    private String fileName;
+
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SttBatchItemStatus status;
+
+    @Lob
+    @Column(name = "transcript", columnDefinition = "LONGTEXT")
+    private String transcript;
+
+    @Column(name = "language", length = 20)
+    private String language;
+
+    @Column(name = "engine_name", length = 200)
+    private String engineName;
+
+    /**
+     * 오디오 길이(초) - 처리량(오디오 시간 / 경과 시간) 계산용
+     */
+    @Column(name = "duration_seconds")
+    private Double durationSeconds;
+
+    @Column(name = "processing_millis")
+    private Long processingMillis;
+
+    @Column(name = "cached")
+    private Boolean cached;
+
+    @Column(name = "error_code", length = 50)
+    private String errorCode;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
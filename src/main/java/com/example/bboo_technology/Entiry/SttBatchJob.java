@@ -0,0 +1,74 @@
+package com.example.bboo_technology.Entiry;
+
+import com.example.bboo_technology.enums.SttBatchJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * (추가) STT 일괄 변환 작업 (ZIP / 다중 파일).
+ *
+ * - 파일별 결과는 SttBatchItem 에 파일마다 바로 저장되고, 이 엔티티는 진행 상태만 관리한다.
+ * - 애플리케이션 재시작 시 RUNNING 상태 작업은 남은 파일부터 자동으로 다시 큐에 들어간다.
+ */
+@Entity
+@Table(name = "stt_batch_job")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SttBatchJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "name", length = 255)
+    private String name;
+
+    @Column(name = "language_hint", length = 20)
+    private String languageHint;
+
+    /**
+     * 업로드 파일 보관 디렉터리 (재개 시 다시 읽음)
+     */
+    @Column(name = "storage_dir", nullable = false, length = 500)
+    private String storageDir;
+
+    @Column(name = "total_items", nullable = false)
+    private Integer totalItems;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SttBatchJobStatus status;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    /**
+     * 처리 시작 / 종료 시각 (처리량 계산용)
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.bboo_technology.Entiry;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * (추가) STT 결과 캐시 (영속 계층).
+ *
+ * - 키: 정규화된 오디오 해시 + 엔진/모델 + 언어 힌트 를 다시 SHA-256 한 값
+ * - 같은 홍보 클립 / 징글이 다시 올라오면 엔진 호출 없이 이 텍스트를 돌려준다.
+ * - 메모리 LRU(SttTranscriptCache) 뒤에 있는 2차 저장소이다.
+ */
+@Entity
+@Table(name = "stt_transcript_cache",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stt_transcript_cache_key", columnNames = {"cache_key"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SttTranscriptCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 캐시 키 (SHA-256, 16진수 64자)
+     */
+    @Column(name = "cache_key", nullable = false, length = 64)
+    private String cacheKey;
+
+    /**
+     * 정규화된 오디오 콘텐츠 해시
+     */
+    @Column(name = "audio_hash", nullable = false, length = 64)
+    private String audioHash;
+
+    /**
+     * 엔진/모델 구성 (예: router[openai:whisper-1,local:faster-whisper])
+     */
+    @Column(name = "engine_key", length = 200)
+    private String engineKey;
+
+    /**
+     * 요청 시 언어 힌트 (없으면 null)
+     */
+    @Column(name = "language_hint", length = 20)
+    private String languageHint;
+
+    /**
+     * 변환된 텍스트
+     */
+    @Lob
+    @Column(name = "transcript", columnDefinition = "LONGTEXT")
+    private String transcript;
+
+    /**
+     * 인식된 언어 코드
+     */
+    @Column(name = "language", length = 20)
+    private String language;
+
+    /**
+     * 실제 처리한 엔진 이름
+     */
+    @Column(name = "engine_name", length = 200)
+    private String engineName;
+
+    /**
+     * (추가) 원본 기준 문장 구간 JSON ([{startSeconds, endSeconds, text}, ...]) - 엔진이 주지 않았으면 null
+     */
+    @Lob
+    @Column(name = "segments_json", columnDefinition = "LONGTEXT")
+    private String segmentsJson;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bboo_technology.Repository;
+
+import com.example.bboo_technology.Entiry.OcrJob;
+import com.example.bboo_technology.enums.OcrJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * (추가) 체크포인트 OCR 작업 Repository.
+ */
+@Repository
+public interface OcrJobRepository extends JpaRepository<OcrJob, Long> {
+
+    Optional<OcrJob> findByContentHash(String contentHash);
+
+    /**
+     * 상태별 작업 조회 (재시작 시 RUNNING 작업 재개용)
+     */
+    List<OcrJob> findAllByStatus(OcrJobStatus status);
+
+    List<OcrJob> findAllByOrderByCreatedAtDesc();
+}
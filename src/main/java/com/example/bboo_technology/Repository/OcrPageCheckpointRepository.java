@@ -0,0 +1,62 @@
+package com.example.bboo_technology.Repository;
+
+import com.example.bboo_technology.Entiry.OcrPageCheckpoint;
+import com.example.bboo_technology.enums.OcrJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * (추가) 페이지 OCR 체크포인트 Repository.
+ */
+@Repository
+public interface OcrPageCheckpointRepository extends JpaRepository<OcrPageCheckpoint, Long> {
+
+    Optional<OcrPageCheckpoint> findByContentHashAndPageIndex(String contentHash, Integer pageIndex);
+
+    boolean existsByContentHashAndPageIndex(String contentHash, Integer pageIndex);
+
+    /**
+     * 문서 1개의 체크포인트 전체 (페이지 순)
+     */
+    List<OcrPageCheckpoint> findAllByContentHashOrderByPageIndexAsc(String contentHash);
+
+    /**
+     * 체크포인트가 있는 페이지 인덱스만 조회 (텍스트 컬럼은 읽지 않음)
+     */
+    @Query("select c.pageIndex from OcrPageCheckpoint c where c.contentHash = :contentHash order by c.pageIndex")
+    List<Integer> findPageIndexesByContentHash(@Param("contentHash") String contentHash);
+
+    /**
+     * (추가) 지정한 설정 지문으로 만든 페이지 인덱스만 조회
+     */
+    @Query("select c.pageIndex from OcrPageCheckpoint c "
+            + "where c.contentHash = :contentHash and c.settingsFingerprint = :fingerprint order by c.pageIndex")
+    List<Integer> findPageIndexesByContentHashAndFingerprint(@Param("contentHash") String contentHash,
+                                                             @Param("fingerprint") String fingerprint);
+
+    /**
+     * (추가) 문서 1개의 다른 설정 지문 체크포인트 삭제 (같은 페이지를 현재 설정으로 다시 저장하기 전)
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from OcrPageCheckpoint c where c.contentHash = :contentHash "
+            + "and (c.settingsFingerprint is null or c.settingsFingerprint <> :fingerprint)")
+    int deleteStale(@Param("contentHash") String contentHash, @Param("fingerprint") String fingerprint);
+
+    /**
+     * (추가) 다른 설정 지문 체크포인트 일괄 삭제 - 완료된 OCR 작업의 결과(작업 결과 조회에 사용)는 남긴다
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from OcrPageCheckpoint c "
+            + "where (c.settingsFingerprint is null or c.settingsFingerprint <> :fingerprint) "
+            + "and c.contentHash not in (select j.contentHash from OcrJob j where j.status = :kept)")
+    int deleteAllStale(@Param("fingerprint") String fingerprint, @Param("kept") OcrJobStatus kept);
+}
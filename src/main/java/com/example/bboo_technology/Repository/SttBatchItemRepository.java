@@ -0,0 +1,51 @@
+package com.example.bboo_technology.Repository;
+
+import com.example.bboo_technology.Entiry.SttBatchItem;
+import com.example.bboo_technology.enums.SttBatchItemStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * (추가) STT 일괄 변환 파일 Repository.
+ */
+@Repository
+public interface SttBatchItemRepository extends JpaRepository<SttBatchItem, Long> {
+
+    List<SttBatchItem> findAllByJobIdOrderBySeqAsc(Long jobId);
+
+    List<SttBatchItem> findAllByJobIdAndStatusOrderBySeqAsc(Long jobId, SttBatchItemStatus status);
+
+    long countByJobIdAndStatus(Long jobId, SttBatchItemStatus status);
+
+    /**
+     * 완료된 파일의 오디오 길이 합(초)
+     */
+    @Query("select coalesce(sum(i.durationSeconds), 0) from SttBatchItem i where i.jobId = :jobId and i.status = :status")
+    double sumDurationSeconds(@Param("jobId") Long jobId, @Param("status") SttBatchItemStatus status);
+
+    /**
+     * 상태 일괄 변경 (취소 시 PENDING → CANCELLED, 재개 시 RUNNING → PENDING)
+     */
+    @Transactional
+    @Modifying
+    @Query("update SttBatchItem i set i.status = :to where i.jobId = :jobId and i.status = :from")
+    int updateStatus(@Param("jobId") Long jobId, @Param("from") SttBatchItemStatus from, @Param("to") SttBatchItemStatus to);
+
+    /**
+     * (추가) 파일 1개 상태 변경 - 현재 상태가 from 일 때만 (처리 시작 시 PENDING → RUNNING 선점)
+     *
+     * @return 변경된 행 수 (0 이면 그 사이 취소 등으로 상태가 바뀜)
+     */
+    @Transactional
+    @Modifying
+    @Query("update SttBatchItem i set i.status = :to, i.updatedAt = :now where i.id = :id and i.status = :from")
+    int updateStatusById(@Param("id") Long id, @Param("from") SttBatchItemStatus from, @Param("to") SttBatchItemStatus to,
+                         @Param("now") LocalDateTime now);
+}
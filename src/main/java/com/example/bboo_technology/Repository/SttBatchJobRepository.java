@@ -0,0 +1,47 @@
+package com.example.bboo_technology.Repository;
+
+import com.example.bboo_technology.Entiry.SttBatchJob;
+import com.example.bboo_technology.enums.SttBatchJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * (추가) STT 일괄 변환 작업 Repository.
+ */
+@Repository
+public interface SttBatchJobRepository extends JpaRepository<SttBatchJob, Long> {
+
+    /**
+     * 상태별 작업 조회 (재시작 시 RUNNING 작업 재개용)
+     */
+    List<SttBatchJob> findAllByStatus(SttBatchJobStatus status);
+
+    List<SttBatchJob> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * (추가) 상태 변경 - 현재 상태가 from 일 때만 (취소 RUNNING → CANCELLED / 완료 RUNNING → COMPLETED)
+     * - 읽고-바꾸고-저장하면 취소와 완료가 서로 덮어쓰므로 조건부 update 로 한쪽만 반영되게 한다.
+     *
+     * @return 변경된 행 수 (0 이면 이미 다른 상태)
+     */
+    @Transactional
+    @Modifying
+    @Query("update SttBatchJob j set j.status = :to, j.updatedAt = :now where j.id = :id and j.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") SttBatchJobStatus from, @Param("to") SttBatchJobStatus to,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * (추가) 종료 시각 기록 (처음 한 번만)
+     */
+    @Transactional
+    @Modifying
+    @Query("update SttBatchJob j set j.finishedAt = :now, j.updatedAt = :now where j.id = :id and j.finishedAt is null")
+    int markFinished(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,18 @@
+package com.example.bboo_technology.Repository;
+
+import com.example.bboo_technology.Entiry.SttTranscriptCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * (추가) STT 결과 캐시 Repository.
+ */
+@Repository
+public interface SttTranscriptCacheRepository extends JpaRepository<SttTranscriptCacheEntry, Long> {
+
+    Optional<SttTranscriptCacheEntry> findByCacheKey(String cacheKey);
+
+    boolean existsByCacheKey(String cacheKey);
+}
@@ -2,7 +2,9 @@ package com.example.bboo_technology.Service;
 
 import com.example.bboo_technology.DTO.TranslationDto;
 import com.example.bboo_technology.Service.Ocrservice.OcrAiGptServiceImpl;
+import com.example.bboo_technology.Service.Ocrservice.OcrTextNormalizer;
 import com.example.bboo_technology.enums.TranslationLevel;
+import com.example.bboo_technology.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.apache.catalina.mapper.Mapper;
 import org.modelmapper.ModelMapper;
@@ -10,11 +12,19 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * GPT 기반 번역 서비스.
  * - TranslationDto를 입력받아 번역 결과를 채워서 다시 반환한다.
  * - 실제 OpenAI 호출은 기존 GPT 모듈(OcrAiGptServiceImpl)의 callChatCompletion을 재사용한다.
+ * - (추가) translateSegments: 짧은 자막 여러 개를 [[n]] 구분자로 묶어 한 번에 번역 (라이브 자막용)
+ * - (추가) translate: OCR 원문은 OcrTextNormalizer 로 정리한 뒤 전송 (자막 묶음 번역은 OCR 텍스트가 아니라서 제외)
+ * - (추가) translate: 긴 문서는 TokenCounter 로 openai.tokenizer.chunk-tokens 이하 조각(문단 경계)으로 나눠 순서대로 번역
+ * - (추가) translate: 같은 번역(모델 + 언어 + 정리된 텍스트)이 동시에 들어오면 RequestCoalescer 로 한 번만 호출
  */
 @Service
 @RequiredArgsConstructor
@@ -60,6 +70,21 @@ public class GptTranslationService {
      */
     private final OcrAiGptServiceImpl ocrAiGptService;
 
+    /**
+     * (추가) OCR 원문 정리 (페이지 구분선 / 머리말·꼬리말 / 잡음 줄 / 중복 문단 제거)
+     */
+    private final OcrTextNormalizer textNormalizer;
+
+    /**
+     * (추가) 긴 문서 분할용 토큰 카운터
+     */
+    private final TokenCounter tokenCounter;
+
+    /**
+     * (추가) 같은 번역 동시 요청 합치기
+     */
+    private final RequestCoalescer requestCoalescer;
+
     // ===============================
     // 메인 번역 메서드
     // ===============================
@@ -86,16 +111,26 @@ public class GptTranslationService {
         // OCR로 번역된 원본 데이터 (null 방지: 없을 시 공백 처리)
         String sourceText = (request.getSourceText() != null) ? request.getSourceText() : "";
 
+        // (추가) 모델에는 정리된 텍스트만 전송 (응답 DTO 의 sourceText 는 원문 그대로)
+        String documentKey = (request.getOcrResultId() != null) ? "translation:ocr:" + request.getOcrResultId() : "translation";
+        String promptText = textNormalizer.normalize(sourceText, documentKey).text();
+
         // 4) 번역용 System Prompt 구성
         String systemPrompt = buildSystemPrompt(sourceLang, targetLang);
 
         // 5) GPT 호출 (실제 OpenAI API 호출은 OcrAiGptServiceImpl에 위임)
-        String translatedText = ocrAiGptService.callChatCompletion(
-                modelName,
-                translationTemperature,    // application.yml: openai.translation.temperature
-                systemPrompt,
-                sourceText
-        );
+        //    (변경) 긴 문서는 조각별로 호출해서 이어 붙임
+        //    (추가) 같은 문서·언어·모델 번역이 이미 진행 중이면 새로 호출하지 않고 그 결과를 같이 받는다
+        //           (키는 정리된 텍스트 기준 - 머리말/쪽 번호만 다른 원문도 같은 요청으로 본다)
+        String coalesceKey = RequestCoalescer.key(modelName, systemPrompt, promptText);
+        String translatedText;
+        try {
+            translatedText = requestCoalescer.execute(RequestCoalescer.GROUP_TRANSLATION, coalesceKey,
+                    () -> translateChunks(modelName, systemPrompt, promptText));
+        } catch (SingleFlight.WaitTimeoutException e) {
+            // (추가) 먼저 시작한 같은 번역이 오래 걸리면 기다리지 않고 실패 처리 (진행 중인 번역은 계속된다)
+            translatedText = "[오류] 같은 문서 번역이 아직 진행 중입니다. 잠시 후 다시 시도해 주세요.";
+        }
 
         // 6) 타임스탬프 계산
         LocalDateTime now = LocalDateTime.now();
@@ -124,10 +159,113 @@ public class GptTranslationService {
         return result;
     }
 
+    // ===============================
+    // (추가) 자막 구간 묶음 번역
+    // ===============================
+
+    // 응답에서 구간 번호를 찾는 패턴: [[1]] 번역문 [[2]] 번역문 ...
+    private static final Pattern SEGMENT_MARKER = Pattern.compile("\\[\\[(\\d+)]]");
+
+    /**
+     * 여러 자막 구간을 한 번의 호출로 번역.
+     *
+     * - 입력은 [[1]] ~ [[n]] 구분자로 묶고, 응답도 같은 구분자로 나눠 구간별로 돌려준다.
+     * - context 는 직전에 번역한 자막 (원문 → 번역) - 용어/말투 일관성용, 번역 대상 아님
+     * - 응답에서 찾지 못한 구간은 null (호출자가 단건 번역 등으로 처리)
+     *
+     * @return segments 와 같은 크기의 번역 목록, 호출 자체가 실패하면 null
+     */
+    public List<String> translateSegments(List<String> segments, List<String[]> context,
+                                          String sourceLang, String targetLang, TranslationLevel level) {
+
+        String modelName = resolveModelName((level != null) ? level : TranslationLevel.BASIC);
+
+        StringBuilder userPrompt = new StringBuilder();
+        if (context != null && !context.isEmpty()) {
+            userPrompt.append("=== 이전 자막 (참고용, 번역하지 말 것) ===\n");
+            for (String[] pair : context) {
+                userPrompt.append(pair[0]).append(" => ").append(pair[1]).append('\n');
+            }
+            userPrompt.append("\n=== 번역할 자막 ===\n");
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            userPrompt.append("[[").append(i + 1).append("]] ").append(segments.get(i).trim()).append('\n');
+        }
+
+        String response = ocrAiGptService.callChatCompletion(
+                modelName,
+                translationTemperature,
+                buildSegmentSystemPrompt(sourceLang, targetLang),
+                userPrompt.toString()
+        );
+        if (response.startsWith("[오류]")) {
+            return null;
+        }
+
+        return splitSegments(response, segments.size());
+    }
+
+    /**
+     * [[n]] 구분자 기준으로 응답 분리 (번호가 없거나 범위를 벗어난 부분은 무시)
+     */
+    static List<String> splitSegments(String response, int count) {
+        List<String> translated = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            translated.add(null);
+        }
+
+        Matcher matcher = SEGMENT_MARKER.matcher(response);
+        int index = -1;
+        int textStart = 0;
+        while (matcher.find()) {
+            if (index >= 0) {
+                translated.set(index, response.substring(textStart, matcher.start()).trim());
+            }
+            int number = Integer.parseInt(matcher.group(1));
+            index = (number >= 1 && number <= count) ? number - 1 : -1;
+            textStart = matcher.end();
+        }
+        if (index >= 0) {
+            translated.set(index, response.substring(textStart).trim());
+        }
+
+        // 빈 번역은 누락으로 처리
+        translated.replaceAll(text -> (text != null && !text.isEmpty()) ? text : null);
+        return translated;
+    }
+
     // ===============================
     // 내부 유틸 메서드
     // ===============================
 
+    /**
+     * (추가) 조각별 번역 후 빈 줄로 연결 - 한 조각이라도 실패하면 그 오류 메시지 반환
+     */
+    private String translateChunks(String modelName, String systemPrompt, String text) {
+        List<String> chunks = tokenCounter.split(modelName, text, tokenCounter.getChunkTokens());
+        if (chunks.size() <= 1) {
+            return ocrAiGptService.callChatCompletion(
+                    modelName,
+                    translationTemperature,    // application.yml: openai.translation.temperature
+                    systemPrompt,
+                    text
+            );
+        }
+
+        StringBuilder translated = new StringBuilder();
+        for (String chunk : chunks) {
+            String part = ocrAiGptService.callChatCompletion(modelName, translationTemperature, systemPrompt, chunk);
+            if (part.startsWith("[오류]")) {
+                return part;
+            }
+            if (translated.length() > 0) {
+                translated.append("\n\n");
+            }
+            translated.append(part);
+        }
+        return translated.toString();
+    }
+
     /**
      * TranslationLevel → yml에 정의된 모델명 매핑.
      */
@@ -166,4 +304,24 @@ public class GptTranslationService {
         return prompt;
     }
 
+    /**
+     * (추가) 자막 묶음 번역용 System Prompt.
+     * - 구분자 [[n]] 를 그대로 유지해야 구간별로 다시 나눌 수 있다.
+     */
+    private String buildSegmentSystemPrompt(String sourceLang, String targetLang) {
+        String src = (sourceLang != null) ? sourceLang : "the source language";
+        String tgt = (targetLang != null) ? targetLang : "the target language";
+
+        String template = """
+                You are a professional live-caption translator.
+                - Translate each numbered caption from %s to %s.
+                - Keep every marker exactly as given ([[1]], [[2]], ...), one marker per caption, in the same order.
+                - Translate each caption on its own; do not merge or split captions.
+                - Use the previous captions only for terminology and tone consistency. Do NOT translate them again.
+                - Respond with the markers and translated captions ONLY.
+                """;
+
+        return String.format(template, src, tgt);
+    }
+
 }
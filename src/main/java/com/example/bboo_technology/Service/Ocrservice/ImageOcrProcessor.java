@@ -3,13 +3,14 @@ package com.example.bboo_technology.Service.Ocrservice;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.ITesseract;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
 
 //todo:단일 이미지 처리 @Serbvice
 /**
@@ -23,7 +24,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class ImageOcrProcessor {
 
-    private final ITesseract tesseract;
+    private final PageOcrProcessor pageOcrProcessor;
 
     @PostConstruct
     void afterConstruct() {
@@ -34,25 +35,36 @@ public class ImageOcrProcessor {
      * 단일 이미지 파일에 대해 Tesseract 를 사용하여 텍스트를 추출한다.
      *
      * @param file 업로드된 이미지 파일
-     * @return 추출된 텍스트 (OCR 결과)
+     * @return 페이지 OCR 결과 (텍스트 + 신뢰도 등)
      * @throws OcrProcessingException OCR 처리 중 오류가 발생한 경우
      */
-    public String process(MultipartFile file) {
-        try {
-            // MultipartFile → BufferedImage 변환
-            BufferedImage image = ImageIO.read(file.getInputStream());
+    public PageOcrProcessor.PageOcrResult process(MultipartFile file) {
+        return process(file, file.getOriginalFilename());
+    }
+
+    /**
+     * (추가) 입력 스트림 소스 기준 이미지 OCR.
+     * - MultipartFile 뿐 아니라 ZIP 에서 풀어 둔 임시 파일(FileSystemResource) 등도 그대로 처리할 수 있다.
+     *
+     * @param source   이미지 입력 소스
+     * @param fileName 로그용 파일명
+     */
+    public PageOcrProcessor.PageOcrResult process(InputStreamSource source, String fileName) {
+        try (InputStream in = source.getInputStream()) {
+            // InputStream → BufferedImage 변환
+            BufferedImage image = ImageIO.read(in);
             if (image == null) {
                 // ImageIO.read 가 null 을 반환하는 경우: 이미지 포맷이 아니거나 깨진 파일일 때
                 throw new OcrProcessingException("이미지 파일을 읽을 수 없습니다. 파일 형식을 확인해 주세요.");
             }
 
-            // Tesseract 를 사용하여 실제 OCR 수행
-            String text = tesseract.doOCR(image);
+            // 페이지 OCR 공통 Processor 로 위임 (언어 라우팅 + FAST/ACCURATE 승격 포함)
+            PageOcrProcessor.PageOcrResult result = pageOcrProcessor.recognize(image);
 
-            log.debug("Image OCR 완료 - filename={}, length={}", file.getOriginalFilename(),
-                    (text != null ? text.length() : 0));
+            log.debug("Image OCR 완료 - filename={}, length={}, confidence={}", fileName,
+                    result.getText().length(), result.getConfidence());
 
-            return text;
+            return result;
 
         } catch (IOException e) {
             // 파일 I/O 관련 오류
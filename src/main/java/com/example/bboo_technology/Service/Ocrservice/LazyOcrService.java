@@ -0,0 +1,45 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.DTO.OcrLazyDocumentDto;
+import com.example.bboo_technology.DTO.OcrPageResultDto;
+import com.example.bboo_technology.DTO.OcrResultDto;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * (추가) 지연(On-demand) OCR 서비스.
+ *
+ * - 업로드 시에는 문서를 보관하고 페이지 수만 바로 돌려준다. (OCR 없음)
+ * - 페이지는 처음 요청/열람될 때 한 번만 OCR 하고, 결과는 페이지 캐시에 남겨 이후 단계에서 재사용한다.
+ */
+public interface LazyOcrService {
+
+    /**
+     * 문서 업로드 (OCR 없이 보관 + 페이지 수 계산)
+     *
+     * @param file 업로드 파일 (PDF / TIFF / 이미지)
+     * @return 문서 ID + 페이지 수
+     */
+    OcrLazyDocumentDto open(MultipartFile file);
+
+    /**
+     * 문서 정보 조회 (캐시된 페이지 목록 포함)
+     */
+    OcrLazyDocumentDto getDocument(String documentId);
+
+    /**
+     * 페이지 1장 OCR (캐시에 있으면 캐시 결과)
+     *
+     * @param documentId 문서 ID
+     * @param pageNumber 페이지 번호 (1부터)
+     */
+    OcrPageResultDto getPage(String documentId, int pageNumber);
+
+    /**
+     * 선택한 페이지들을 합쳐 OcrResultDto 로 조립한다. (캐시에 없는 페이지만 OCR)
+     * - 결과는 기존 업로드 OCR 과 같은 형식이므로 저장/번역/AI 생성 흐름에 그대로 넘길 수 있다.
+     *
+     * @param documentId 문서 ID
+     * @param pageRange  페이지 범위 (예: "1-3,7"), null/공백이면 전체
+     */
+    OcrResultDto assemble(String documentId, String pageRange);
+}
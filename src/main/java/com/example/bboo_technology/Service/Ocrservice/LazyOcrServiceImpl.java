@@ -0,0 +1,219 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.DTO.OcrLazyDocumentDto;
+import com.example.bboo_technology.DTO.OcrPageResultDto;
+import com.example.bboo_technology.DTO.OcrResultDto;
+import com.example.bboo_technology.util.PageRanges;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (추가) LazyOcrService 기본 구현체.
+ *
+ * - 문서 보관: OcrDocumentStore (디스크 + 콘텐츠 해시)
+ * - 페이지 캐시: OcrPageCache (콘텐츠 해시 + 페이지 인덱스)
+ * - 같은 페이지를 여러 요청이 동시에 열면 OCR 은 한 번만 수행하고 나머지는 그 결과를 기다린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LazyOcrServiceImpl implements LazyOcrService {
+
+    private final OcrFacadeService ocrFacadeService;
+    private final PdfOcrProcessor pdfOcrProcessor;
+    private final TiffOcrProcessor tiffOcrProcessor;
+    private final ImageOcrProcessor imageOcrProcessor;
+    private final OcrDocumentStore documentStore;
+    private final OcrPageCache pageCache;
+
+    // 진행 중인 페이지 OCR (문서ID#페이지 → 결과 대기용 Future)
+    private final Map<String, CompletableFuture<PageOcrProcessor.PageOcrResult>> inProgress = new ConcurrentHashMap<>();
+
+    @Override
+    public OcrLazyDocumentDto open(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new OcrProcessingException("업로드할 파일을 선택해 주세요.");
+        }
+
+        String fileName = (file.getOriginalFilename() != null) ? file.getOriginalFilename() : "unnamed";
+        String fileType = ocrFacadeService.detectFileType(fileName, file.getContentType());
+        if (fileType == null) {
+            throw new OcrProcessingException("지원하지 않는 파일 형식입니다. 이미지(JPG, PNG, TIFF) 또는 PDF만 업로드해 주세요.");
+        }
+
+        try {
+            OcrDocumentStore.StoredDocument document = documentStore.store(file, fileName, fileType, source -> switch (fileType) {
+                case OcrFacadeService.FILE_TYPE_PDF -> pdfOcrProcessor.countPages(source);
+                case OcrFacadeService.FILE_TYPE_TIFF -> tiffOcrProcessor.countFrames(source);
+                default -> 1;
+            });
+            return toDocumentDto(document);
+
+        } catch (IOException e) {
+            log.error("지연 OCR 문서 저장 중 오류 발생 - filename={}", fileName, e);
+            throw new OcrProcessingException("문서를 저장하는 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    @Override
+    public OcrLazyDocumentDto getDocument(String documentId) {
+        return toDocumentDto(findDocument(documentId));
+    }
+
+    @Override
+    public OcrPageResultDto getPage(String documentId, int pageNumber) {
+        OcrDocumentStore.StoredDocument document = findDocument(documentId);
+        if (pageNumber < 1 || pageNumber > document.pageCount()) {
+            throw new OcrProcessingException("존재하지 않는 페이지입니다: " + pageNumber);
+        }
+
+        int pageIndex = pageNumber - 1;
+        boolean cached = pageCache.contains(documentId, pageIndex);
+        PageOcrProcessor.PageOcrResult result = recognizePage(document, pageIndex);
+
+        return OcrPageResultDto.builder()
+                .documentId(documentId)
+                .pageNumber(pageNumber)
+                .text(result.getText())
+                .confidence(result.getConfidence())
+                .language(result.getLanguage())
+                .tier(result.getTier())
+                .elapsedMillis(result.getElapsedMillis())
+                .cached(cached)
+                .build();
+    }
+
+    @Override
+    public OcrResultDto assemble(String documentId, String pageRange) {
+        OcrDocumentStore.StoredDocument document = findDocument(documentId);
+
+        List<Integer> pageIndexes;
+        try {
+            pageIndexes = PageRanges.parse(pageRange, document.pageCount());
+        } catch (IllegalArgumentException e) {
+            throw new OcrProcessingException(e.getMessage(), e);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        List<Double> pageConfidences = new ArrayList<>();
+
+        for (int pageIndex : pageIndexes) {
+            PageOcrProcessor.PageOcrResult result = recognizePage(document, pageIndex);
+            pageConfidences.add(result.getConfidence());
+
+            // 기존 PDF OCR 결과와 같은 페이지 구분선 형식 (단일 이미지는 구분선 없이 그대로)
+            if (OcrFacadeService.FILE_TYPE_IMAGE.equals(document.fileType())) {
+                sb.append(result.getText() != null ? result.getText() : "");
+            } else {
+                sb.append("=== PAGE ").append(pageIndex + 1).append(" ===\n");
+                sb.append(result.getText() != null ? result.getText() : "").append("\n\n");
+            }
+        }
+
+        return OcrResultDto.builder()
+                .id(null)
+                .originalFileName(document.originalFileName())
+                .fileType(document.fileType())
+                .pageCount(document.pageCount())
+                .pageConfidences(pageConfidences)
+                .pageRange(PageRanges.isAll(pageRange) ? null : PageRanges.format(pageIndexes))
+                .title("")
+                .ocrText(sb.toString())
+                .editedText(null)
+                .translatedText(null)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(null)
+                .saved(false)
+                .build();
+    }
+
+    // =========================
+    // 내부 로직
+    // =========================
+
+    /**
+     * 캐시 확인 → 없으면 OCR (동시 요청은 한 번만 OCR)
+     */
+    private PageOcrProcessor.PageOcrResult recognizePage(OcrDocumentStore.StoredDocument document, int pageIndex) {
+        String documentId = document.documentId();
+
+        PageOcrProcessor.PageOcrResult cached = pageCache.get(documentId, pageIndex).orElse(null);
+        if (cached != null) {
+            return cached;
+        }
+
+        String key = documentId + "#" + pageIndex;
+        CompletableFuture<PageOcrProcessor.PageOcrResult> mine = new CompletableFuture<>();
+        CompletableFuture<PageOcrProcessor.PageOcrResult> running = inProgress.putIfAbsent(key, mine);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            // 캐시 확인 직후 다른 요청이 막 끝낸 경우
+            cached = pageCache.get(documentId, pageIndex).orElse(null);
+            if (cached != null) {
+                mine.complete(cached);
+                return cached;
+            }
+
+            PageOcrProcessor.PageOcrResult result = switch (document.fileType()) {
+                case OcrFacadeService.FILE_TYPE_PDF -> pdfOcrProcessor.processPage(document.resource(), pageIndex);
+                case OcrFacadeService.FILE_TYPE_TIFF -> tiffOcrProcessor.processFrame(document.resource(), pageIndex);
+                default -> imageOcrProcessor.process(document.resource(), document.originalFileName());
+            };
+            pageCache.put(documentId, pageIndex, result);
+            mine.complete(result);
+
+            log.debug("지연 OCR 페이지 완료 - documentId={}, page={}", documentId, pageIndex + 1);
+            return result;
+
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inProgress.remove(key, mine);
+        }
+    }
+
+    private PageOcrProcessor.PageOcrResult join(CompletableFuture<PageOcrProcessor.PageOcrResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof OcrProcessingException ocrException) {
+                throw ocrException;
+            }
+            throw new OcrProcessingException("페이지 OCR 처리 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+
+    private OcrDocumentStore.StoredDocument findDocument(String documentId) {
+        return documentStore.find(documentId)
+                .orElseThrow(() -> new OcrProcessingException("문서를 찾을 수 없습니다. 다시 업로드해 주세요."));
+    }
+
+    private OcrLazyDocumentDto toDocumentDto(OcrDocumentStore.StoredDocument document) {
+        List<Integer> cachedPages = pageCache.cachedPageIndexes(document.documentId()).stream()
+                .map(pageIndex -> pageIndex + 1)
+                .toList();
+
+        return OcrLazyDocumentDto.builder()
+                .documentId(document.documentId())
+                .originalFileName(document.originalFileName())
+                .fileType(document.fileType())
+                .pageCount(document.pageCount())
+                .cachedPages(cachedPages)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) GPT 생성 방식별(SEPARATE / COMBINED) 토큰 / 지연 / 비용 집계.
+ *
+ * - 호출 1건마다 record(...) 로 누적한다. (SEPARATE 는 결과물 1개, COMBINED 는 결과물 3개)
+ * - 결과물 1개당 입력 토큰 / 비용 / 지연을 나란히 보면 통합 생성의 절감 효과를 확인할 수 있다.
+ * - /api/ocr/metrics/ai-generation 에서 snapshot() 결과를 JSON 으로 확인할 수 있다.
+ * - 애플리케이션 재시작 시 초기화되는 메모리 집계이다.
+ */
+@Component
+public class OcrAiGenerationStats {
+
+    public static final String MODE_SEPARATE = "SEPARATE";
+    public static final String MODE_COMBINED = "COMBINED";
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 호출 1건 누적
+     *
+     * @param mode             SEPARATE / COMBINED
+     * @param outputs          이 호출로 만든 결과물 수
+     * @param promptTokens     입력 토큰
+     * @param completionTokens 출력 토큰
+     * @param elapsedMillis    소요 시간(ms)
+     * @param costUsd          예상 비용(USD)
+     */
+    public void record(String mode, int outputs, int promptTokens, int completionTokens, long elapsedMillis, double costUsd) {
+        Counter counter = counters.computeIfAbsent(mode, key -> new Counter());
+        counter.calls.increment();
+        counter.outputs.add(outputs);
+        counter.promptTokens.add(promptTokens);
+        counter.completionTokens.add(completionTokens);
+        counter.millis.add(elapsedMillis);
+        counter.costUsd.add(costUsd);
+    }
+
+    public List<ModeStats> snapshot() {
+        List<ModeStats> result = new ArrayList<>();
+        counters.forEach((mode, counter) -> {
+            long outputs = counter.outputs.sum();
+            double divisor = Math.max(1, outputs);
+            result.add(new ModeStats(
+                    mode,
+                    counter.calls.sum(),
+                    outputs,
+                    counter.promptTokens.sum(),
+                    counter.completionTokens.sum(),
+                    counter.costUsd.sum(),
+                    counter.promptTokens.sum() / divisor,
+                    counter.completionTokens.sum() / divisor,
+                    counter.millis.sum() / divisor,
+                    counter.costUsd.sum() / divisor
+            ));
+        });
+        result.sort(Comparator.comparing(ModeStats::mode));
+        return result;
+    }
+
+    private static class Counter {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder outputs = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder completionTokens = new LongAdder();
+        private final LongAdder millis = new LongAdder();
+        private final DoubleAdder costUsd = new DoubleAdder();
+    }
+
+    /**
+     * 생성 방식별 누적 + 결과물 1개당 평균
+     */
+    public record ModeStats(String mode,
+                            long calls,
+                            long outputs,
+                            long promptTokens,
+                            long completionTokens,
+                            double costUsd,
+                            double promptTokensPerOutput,
+                            double completionTokensPerOutput,
+                            double millisPerOutput,
+                            double costUsdPerOutput) {
+    }
+}
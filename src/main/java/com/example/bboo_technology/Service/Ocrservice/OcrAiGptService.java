@@ -1,5 +1,8 @@
 package com.example.bboo_technology.Service.Ocrservice;
 
+import com.example.bboo_technology.DTO.OcrAiBenchmarkDto;
+import com.example.bboo_technology.DTO.OcrAiEstimateDto;
+import com.example.bboo_technology.DTO.OcrAiGenerationDto;
 import com.example.bboo_technology.DTO.OcrResultDto;
 
 /**
@@ -9,6 +12,7 @@ import com.example.bboo_technology.DTO.OcrResultDto;
  *  - 3-1. 상품 정보 요약 생성
  *  - 3-2. 쇼호스트 멘트 생성
  *  - 3-3. 마케팅 포인트 & 자막 문구 생성
+ *  - (추가) 3가지를 1회 호출로 한 번에 생성 (OCR 텍스트 입력 토큰을 한 번만 지불)
  */
 public interface OcrAiGptService {
 
@@ -26,4 +30,21 @@ public interface OcrAiGptService {
      * 3-3. 마케팅 포인트 & 자막 문구 생성
      */
     String generateMarketingPoints(OcrResultDto ocr);
+
+    /**
+     * (추가) 3-1 ~ 3-3 통합 생성
+     * - OCR 텍스트를 한 번만 보내고 json_schema 응답으로 3가지를 한 번에 받는다.
+     * - 통합 응답이 실패하면 (설정 시) 기존 3회 호출로 대체한다.
+     */
+    OcrAiGenerationDto generateAll(OcrResultDto ocr);
+
+    /**
+     * (추가) 같은 문서로 3회 호출 / 1회 통합 호출을 모두 실행해서 토큰 / 비용 / 지연 비교
+     */
+    OcrAiBenchmarkDto benchmark(OcrResultDto ocr);
+
+    /**
+     * (추가) 호출 없이 입력 토큰 / 입력 비용 / 요청당 상한 통과 여부 미리 계산
+     */
+    OcrAiEstimateDto estimate(OcrResultDto ocr);
 }
@@ -1,15 +1,28 @@
 package com.example.bboo_technology.Service.Ocrservice;
 
+import com.example.bboo_technology.Config.OcrAiCombinedProperties;
 import com.example.bboo_technology.Config.OpenAiConfig;
+import com.example.bboo_technology.DTO.OcrAiBenchmarkDto;
+import com.example.bboo_technology.DTO.OcrAiEstimateDto;
+import com.example.bboo_technology.DTO.OcrAiGenerationDto;
 import com.example.bboo_technology.DTO.OcrResultDto;
+import com.example.bboo_technology.Service.RequestCoalescer;
+import com.example.bboo_technology.Service.TokenCounter;
+import com.example.bboo_technology.util.SingleFlight;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * OcrAiGptService 구현체.
@@ -17,6 +30,12 @@ import java.util.Map;
  * - OpenAiConfig 로부터 WebClient + 모델 이름들을 주입받는다.
  * - 공통 메서드 callChatCompletion(...) 에서 실제 OpenAI 호출을 처리하고,
  *   각 기능(요약/멘트/마케팅)은 프롬프트만 다르게 구성한다.
+ * - (추가) generateAll(...) 은 같은 작업 지시문을 한 프롬프트에 모아 1회 호출로 3가지를 받는다.
+ *   3회 호출은 같은 OCR 텍스트를 세 번 보내므로 입력 토큰 비용도 세 번 든다.
+ * - (추가) OCR 텍스트는 OcrTextNormalizer 로 정리한 뒤 프롬프트에 넣는다. (페이지 구분선 / 머리말·꼬리말 / 잡음 줄 제거)
+ * - (추가) 호출 전에 TokenCounter 로 입력 토큰을 세서 요청당 상한(openai.tokenizer.max-prompt-tokens)을 넘으면 보내지 않는다.
+ *   (변경) 병합 테이블이 있어 정확히 센 경우만 - 바이트 추정치로는 경고 로그만 남기고 보낸다.
+ * - (추가) 같은 프롬프트(모델/temperature/응답 형식 포함)가 이미 호출 중이면 RequestCoalescer 로 그 응답을 같이 받는다.
  */
 @Slf4j
 @Service
@@ -25,34 +44,61 @@ public class OcrAiGptServiceImpl implements OcrAiGptService {
 
     private final WebClient openAiWebClient;   // OpenAiConfig에서 생성한 WebClient Bean
     private final OpenAiConfig openAiConfig;   // 모델 이름, 기본 temperature 등 설정
+    private final OcrAiCombinedProperties combinedProperties;  // (추가) 통합 생성 설정
+    private final OcrAiGenerationStats generationStats;        // (추가) 방식별 토큰/비용 집계
+    private final OcrTextNormalizer textNormalizer;            // (추가) 프롬프트 전 OCR 텍스트 정리
+    private final TokenCounter tokenCounter;                   // (추가) 사전 토큰 계산 (예산 검사 / 비용 추정)
+    private final RequestCoalescer requestCoalescer;           // (추가) 같은 프롬프트 동시 호출 합치기
+    private final ObjectMapper objectMapper;
 
     // 공통 타임아웃(필요하면 yml로 빼도 됨)
     private static final Duration API_TIMEOUT = Duration.ofSeconds(60);
 
+    // (추가) 통합 응답 JSON 필드명
+    private static final String FIELD_SUMMARY = "summary";
+    private static final String FIELD_HOST_SCRIPT = "hostScript";
+    private static final String FIELD_MARKETING_POINTS = "marketingPoints";
+
     // =========================
-    // 3-1. 상품 정보 요약
+    // 작업 지시문 (단일 호출 / 통합 호출 공통)
     // =========================
-    @Override
-    public String generateSummary(OcrResultDto ocr) {
 
-        String model = openAiConfig.getSummaryModel();          // yml: openai.models.summary
-        double temperature = openAiConfig.getDefaultTemperature();
+    private static final String SUMMARY_SYSTEM =
+            "너는 상품 상세 설명서를 요약해 주는 전문가야. " +
+                    "입력으로 주어지는 텍스트는 홈쇼핑/온라인몰용 상품 기술서 OCR 결과다. " +
+                    "불필요한 잡음을 제거하고, 핵심 정보만 정리된 한국어 요약을 만들어 줘.";
 
-        String systemPrompt =
-                "너는 상품 상세 설명서를 요약해 주는 전문가야. " +
-                        "입력으로 주어지는 텍스트는 홈쇼핑/온라인몰용 상품 기술서 OCR 결과다. " +
-                        "불필요한 잡음을 제거하고, 핵심 정보만 정리된 한국어 요약을 만들어 줘.";
+    private static final String SUMMARY_RULES =
+            "- 항목별 Bullet 형태로 정리\n" +
+                    "- 주요 효능/특징, 사용 대상, 사용 방법, 주의사항 등을 포함\n" +
+                    "- 너무 과장되지 않게, 객관적인 설명 위주\n";
 
-        String userPrompt =
-                "다음 상품 기술서를 바탕으로, 홈쇼핑에서 사용할 수 있는 '상품 정보 요약'을 작성해 줘.\n" +
-                        "- 항목별 Bullet 형태로 정리\n" +
-                        "- 주요 효능/특징, 사용 대상, 사용 방법, 주의사항 등을 포함\n" +
-                        "- 너무 과장되지 않게, 객관적인 설명 위주\n\n" +
-                        "=== 상품 기술서 OCR 텍스트 시작 ===\n" +
-                        safeText(ocr.getEditedText()) +
-                        "\n=== 끝 ===";
+    private static final String HOST_SCRIPT_SYSTEM =
+            "너는 TV 홈쇼핑 쇼호스트 멘트를 작성하는 카피라이터야. " +
+                    "시청자가 이해하기 쉽고, 자연스럽게 구매를 유도하는 멘트를 만들어야 한다.";
+
+    private static final String HOST_SCRIPT_RULES =
+            "- 오프닝 인사, 문제 제기, 상품 소개, 혜택 강조, 마무리 멘트 순서\n" +
+                    "- 시간 기준 1~2분 길이 분량\n" +
+                    "- 과도한 의학적 효능 주장이나 허위/과장은 피하고, '도와줄 수 있습니다' 수준의 표현 사용\n";
+
+    private static final String MARKETING_SYSTEM =
+            "너는 TV 홈쇼핑/온라인몰용 마케팅 카피를 작성하는 전문가야. " +
+                    "짧고 임팩트 있는 문구를 만들어야 한다.";
+
+    private static final String MARKETING_RULES =
+            "- 1) 메인 카피 3개 (15자 내외)\n" +
+                    "- 2) 서브 카피 3개 (20~25자 내외)\n" +
+                    "- 3) 화면 하단 자막용 문구 5개 (15자 내외)\n" +
+                    "- 한국어로 작성\n" +
+                    "- 과장된 표현은 피하고, 사실 기반의 장점을 강조\n";
 
-        return callChatCompletion(model, temperature, systemPrompt, userPrompt);
+    // =========================
+    // 3-1. 상품 정보 요약
+    // =========================
+    @Override
+    public String generateSummary(OcrResultDto ocr) {
+        return complete(summaryPrompt(ocr, normalizedText(ocr)), 1).content();
     }
 
     // =========================
@@ -60,57 +106,291 @@ public class OcrAiGptServiceImpl implements OcrAiGptService {
     // =========================
     @Override
     public String generateHostScript(OcrResultDto ocr) {
+        return complete(hostScriptPrompt(ocr, normalizedText(ocr)), 1).content();
+    }
+
+    // =========================
+    // 3-3. 마케팅 포인트 & 자막 문구
+    // =========================
+    @Override
+    public String generateMarketingPoints(OcrResultDto ocr) {
+        return complete(marketingPointsPrompt(ocr, normalizedText(ocr)), 1).content();
+    }
 
-        String model = openAiConfig.getHostScriptModel();       // yml: openai.models.host-script
-        double temperature = openAiConfig.getDefaultTemperature();
+    // =========================
+    // (추가) 3-1 ~ 3-3 통합 생성
+    // =========================
+    @Override
+    public OcrAiGenerationDto generateAll(OcrResultDto ocr) {
+        String ocrText = normalizedText(ocr);
+        OcrAiGenerationDto combined = generateCombined(ocr, ocrText);
+        if (combined != null) {
+            return combined;
+        }
+        if (!combinedProperties.isFallbackToSeparate()) {
+            throw new OcrProcessingException("AI 통합 생성 응답을 해석하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
 
-        String title = ocr.getTitle() != null ? ocr.getTitle() : "(상품명 미지정)";
+        log.warn("AI 통합 생성 실패 → 3회 호출로 대체 - ocrResultId={}", ocr.getId());
+        OcrAiGenerationDto separate = generateSeparate(ocr, ocrText);
+        separate.setFallback(true);
+        return separate;
+    }
 
-        String systemPrompt =
-                "너는 TV 홈쇼핑 쇼호스트 멘트를 작성하는 카피라이터야. " +
-                        "시청자가 이해하기 쉽고, 자연스럽게 구매를 유도하는 멘트를 만들어야 한다.";
+    @Override
+    public OcrAiBenchmarkDto benchmark(OcrResultDto ocr) {
+        String ocrText = normalizedText(ocr);
+        OcrAiGenerationDto separate = generateSeparate(ocr, ocrText);
+        OcrAiGenerationDto combined = generateCombined(ocr, ocrText);
+        if (combined == null) {
+            throw new OcrProcessingException("AI 통합 생성 응답을 해석하지 못해 비교할 수 없습니다.");
+        }
 
-        String userPrompt =
-                "다음 상품 기술서를 바탕으로 TV 홈쇼핑 쇼호스트용 멘트를 작성해 줘.\n" +
-                        "- 상품명: " + title + "\n" +
-                        "- 오프닝 인사, 문제 제기, 상품 소개, 혜택 강조, 마무리 멘트 순서\n" +
-                        "- 시간 기준 1~2분 길이 분량\n" +
-                        "- 과도한 의학적 효능 주장이나 허위/과장은 피하고, '도와줄 수 있습니다' 수준의 표현 사용\n\n" +
-                        "=== 상품 기술서 OCR 텍스트 시작 ===\n" +
-                        safeText(ocr.getEditedText()) +
-                        "\n=== 끝 ===";
+        log.info("AI 생성 비교 - ocrResultId={}, promptTokens(separate/combined)={}/{}, ms={}/{}, cost={}/{}",
+                ocr.getId(),
+                separate.getPromptTokens(), combined.getPromptTokens(),
+                separate.getElapsedMillis(), combined.getElapsedMillis(),
+                separate.getEstimatedCostUsd(), combined.getEstimatedCostUsd());
+
+        return OcrAiBenchmarkDto.builder()
+                .ocrResultId(ocr.getId())
+                .inputChars(safeText(ocr.getEditedText()).length())
+                .separate(separate)
+                .combined(combined)
+                .promptTokenSavingRatio(savingRatio(separate.getPromptTokens(), combined.getPromptTokens()))
+                .costSavingRatio(savingRatio(separate.getEstimatedCostUsd(), combined.getEstimatedCostUsd()))
+                .latencySavingRatio(savingRatio(separate.getElapsedMillis(), combined.getElapsedMillis()))
+                .build();
+    }
 
-        return callChatCompletion(model, temperature, systemPrompt, userPrompt);
+    @Override
+    public OcrAiEstimateDto estimate(OcrResultDto ocr) {
+        String ocrText = normalizedText(ocr);
+        List<Prompt> separate = List.of(summaryPrompt(ocr, ocrText), hostScriptPrompt(ocr, ocrText), marketingPointsPrompt(ocr, ocrText));
+        Prompt combined = combinedPrompt(ocr, ocrText);
+
+        int separateTokens = separate.stream().mapToInt(this::countPromptTokens).sum();
+        int largestSeparate = separate.stream().mapToInt(this::countPromptTokens).max().orElse(0);
+        int combinedTokens = countPromptTokens(combined);
+        int maxPromptTokens = tokenCounter.getMaxPromptTokens();
+
+        return OcrAiEstimateDto.builder()
+                .ocrResultId(ocr.getId())
+                .exact(tokenCounter.isExact(combined.model()))
+                .separatePromptTokens(separateTokens)
+                .combinedPromptTokens(combinedTokens)
+                .separateInputCostUsd(separate.stream()
+                        .mapToDouble(prompt -> estimateCost(prompt.model(), countPromptTokens(prompt), 0))
+                        .sum())
+                .combinedInputCostUsd(estimateCost(combined.model(), combinedTokens, 0))
+                .maxPromptTokens(maxPromptTokens)
+                .separateWithinBudget(!exceedsBudget(combined.model(), largestSeparate))
+                .combinedWithinBudget(!exceedsBudget(combined.model(), combinedTokens))
+                .build();
+    }
+
+    /**
+     * (추가) 호출 전에 막을 만큼 상한을 넘는지
+     * - 병합 테이블 기준 정확한 수일 때만 (바이트 / 3 추정은 영문을 과대 추정해서 정상 입력까지 막게 된다)
+     */
+    private boolean exceedsBudget(String model, int promptTokens) {
+        int maxPromptTokens = tokenCounter.getMaxPromptTokens();
+        return maxPromptTokens > 0 && promptTokens > maxPromptTokens && tokenCounter.isExact(model);
+    }
+
+    /**
+     * 기존 3회 호출 (순차)
+     * - (변경) 하나라도 실패하면 OcrProcessingException - "[오류] ..." 문구가 결과로 저장/반환되지 않게
+     */
+    private OcrAiGenerationDto generateSeparate(OcrResultDto ocr, String ocrText) {
+        ChatCompletion summary = requireContent(complete(summaryPrompt(ocr, ocrText), 1));
+        ChatCompletion hostScript = requireContent(complete(hostScriptPrompt(ocr, ocrText), 1));
+        ChatCompletion marketing = requireContent(complete(marketingPointsPrompt(ocr, ocrText), 1));
+        List<ChatCompletion> calls = List.of(summary, hostScript, marketing);
+
+        int promptTokens = calls.stream().mapToInt(ChatCompletion::promptTokens).sum();
+        int completionTokens = calls.stream().mapToInt(ChatCompletion::completionTokens).sum();
+
+        return OcrAiGenerationDto.builder()
+                .mode(OcrAiGenerationStats.MODE_SEPARATE)
+                .summary(summary.content())
+                .hostScript(hostScript.content())
+                .marketingPoints(marketing.content())
+                .model(Stream.of(summary.model(), hostScript.model(), marketing.model())
+                        .distinct()
+                        .collect(Collectors.joining(",")))
+                .calls(calls.size())
+                .promptTokens(promptTokens)
+                .completionTokens(completionTokens)
+                .totalTokens(promptTokens + completionTokens)
+                .elapsedMillis(calls.stream().mapToLong(ChatCompletion::elapsedMillis).sum())
+                .longestCallMillis(calls.stream().mapToLong(ChatCompletion::elapsedMillis).max().orElse(0))
+                .estimatedCostUsd(calls.stream().mapToDouble(ChatCompletion::costUsd).sum())
+                .build();
+    }
+
+    /**
+     * 1회 통합 호출 (json_schema) - 응답이 비었거나 잘렸거나 파싱 실패면 null
+     * - (변경) 입력 토큰 상한 초과로 호출 전에 거절되면 OcrProcessingException (3회 호출로 대체해도 같은 입력이라 의미 없음)
+     */
+    private OcrAiGenerationDto generateCombined(OcrResultDto ocr, String ocrText) {
+        Prompt prompt = combinedPrompt(ocr, ocrText);
+        Map<String, Object> responseFormat = Map.of(
+                "type", "json_schema",
+                "json_schema", Map.of(
+                        "name", "ocr_ai_bundle",
+                        "strict", true,
+                        "schema", combinedSchema()
+                )
+        );
+
+        ChatCompletion completion = call(prompt, responseFormat,
+                Duration.ofMillis(Math.max(1000, combinedProperties.getTimeoutMs())), 3, OcrAiGenerationStats.MODE_COMBINED);
+        if (completion.overBudget()) {
+            throw new OcrProcessingException(errorMessageOf(completion));
+        }
+        if (completion.failed()) {
+            return null;
+        }
+        if ("length".equals(completion.finishReason())) {
+            log.warn("AI 통합 생성 응답이 최대 토큰에서 잘렸습니다. - completionTokens={}", completion.completionTokens());
+            return null;
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(completion.content());
+        } catch (Exception e) {
+            log.warn("AI 통합 생성 응답 JSON 파싱 실패 - {}", e.getMessage());
+            return null;
+        }
+
+        String summary = textField(root, FIELD_SUMMARY);
+        String hostScript = textField(root, FIELD_HOST_SCRIPT);
+        String marketing = textField(root, FIELD_MARKETING_POINTS);
+        if (summary == null || hostScript == null || marketing == null) {
+            log.warn("AI 통합 생성 응답에 빈 항목이 있습니다. - fields={}", root.size());
+            return null;
+        }
+
+        return OcrAiGenerationDto.builder()
+                .mode(OcrAiGenerationStats.MODE_COMBINED)
+                .summary(summary)
+                .hostScript(hostScript)
+                .marketingPoints(marketing)
+                .model(completion.model())
+                .calls(1)
+                .promptTokens(completion.promptTokens())
+                .completionTokens(completion.completionTokens())
+                .totalTokens(completion.promptTokens() + completion.completionTokens())
+                .elapsedMillis(completion.elapsedMillis())
+                .longestCallMillis(completion.elapsedMillis())
+                .estimatedCostUsd(completion.costUsd())
+                .build();
     }
 
     // =========================
-    // 3-3. 마케팅 포인트 & 자막 문구
+    // 프롬프트 구성
     // =========================
-    @Override
-    public String generateMarketingPoints(OcrResultDto ocr) {
 
-        String model = openAiConfig.getMarketingPointsModel();  // yml: openai.models.marketing-points
-        double temperature = openAiConfig.getDefaultTemperature();
+    private Prompt summaryPrompt(OcrResultDto ocr, String ocrText) {
+        String userPrompt =
+                "다음 상품 기술서를 바탕으로, 홈쇼핑에서 사용할 수 있는 '상품 정보 요약'을 작성해 줘.\n" +
+                        SUMMARY_RULES + "\n" +
+                        ocrTextBlock(ocrText);
 
-        String title = ocr.getTitle() != null ? ocr.getTitle() : "(상품명 미지정)";
+        // yml: openai.models.summary
+        return new Prompt(openAiConfig.getSummaryModel(), openAiConfig.getDefaultTemperature(), SUMMARY_SYSTEM, userPrompt);
+    }
 
-        String systemPrompt =
-                "너는 TV 홈쇼핑/온라인몰용 마케팅 카피를 작성하는 전문가야. " +
-                        "짧고 임팩트 있는 문구를 만들어야 한다.";
+    private Prompt hostScriptPrompt(OcrResultDto ocr, String ocrText) {
+        String userPrompt =
+                "다음 상품 기술서를 바탕으로 TV 홈쇼핑 쇼호스트용 멘트를 작성해 줘.\n" +
+                        "- 상품명: " + title(ocr) + "\n" +
+                        HOST_SCRIPT_RULES + "\n" +
+                        ocrTextBlock(ocrText);
+
+        // yml: openai.models.host-script
+        return new Prompt(openAiConfig.getHostScriptModel(), openAiConfig.getDefaultTemperature(), HOST_SCRIPT_SYSTEM, userPrompt);
+    }
 
+    private Prompt marketingPointsPrompt(OcrResultDto ocr, String ocrText) {
         String userPrompt =
                 "다음 상품 기술서를 바탕으로 TV 홈쇼핑 방송에서 사용할 수 있는 '마케팅 포인트 & 자막 문구'를 작성해 줘.\n" +
-                        "- 1) 메인 카피 3개 (15자 내외)\n" +
-                        "- 2) 서브 카피 3개 (20~25자 내외)\n" +
-                        "- 3) 화면 하단 자막용 문구 5개 (15자 내외)\n" +
-                        "- 한국어로 작성\n" +
-                        "- 과장된 표현은 피하고, 사실 기반의 장점을 강조\n\n" +
-                        "상품명: " + title + "\n\n" +
-                        "=== 상품 기술서 OCR 텍스트 시작 ===\n" +
-                        safeText(ocr.getEditedText()) +
-                        "\n=== 끝 ===";
+                        MARKETING_RULES + "\n" +
+                        "상품명: " + title(ocr) + "\n\n" +
+                        ocrTextBlock(ocrText);
 
-        return callChatCompletion(model, temperature, systemPrompt, userPrompt);
+        // yml: openai.models.marketing-points
+        return new Prompt(openAiConfig.getMarketingPointsModel(), openAiConfig.getDefaultTemperature(), MARKETING_SYSTEM, userPrompt);
+    }
+
+    /**
+     * (추가) 통합 프롬프트 - 세 가지 역할 / 작업 지시문은 단일 호출과 동일, OCR 텍스트는 한 번만
+     */
+    private Prompt combinedPrompt(OcrResultDto ocr, String ocrText) {
+        String systemPrompt =
+                "너는 홈쇼핑/온라인몰 상품 기술서를 다루는 방송 콘텐츠 팀이야. 아래 세 역할을 모두 맡는다.\n" +
+                        "1) " + SUMMARY_SYSTEM + "\n" +
+                        "2) " + HOST_SCRIPT_SYSTEM + "\n" +
+                        "3) " + MARKETING_SYSTEM + "\n" +
+                        "결과는 지정된 JSON 형식으로만 답하고, 각 항목 값은 화면에 그대로 보여줄 한국어 텍스트(줄바꿈 포함)로 작성해.";
+
+        String userPrompt =
+                "다음 상품 기술서를 바탕으로 아래 세 가지를 작성해 줘. 상품명: " + title(ocr) + "\n\n" +
+                        "[" + FIELD_SUMMARY + "] 홈쇼핑에서 사용할 수 있는 '상품 정보 요약'\n" +
+                        SUMMARY_RULES + "\n" +
+                        "[" + FIELD_HOST_SCRIPT + "] TV 홈쇼핑 쇼호스트용 멘트\n" +
+                        HOST_SCRIPT_RULES + "\n" +
+                        "[" + FIELD_MARKETING_POINTS + "] TV 홈쇼핑 방송에서 사용할 수 있는 '마케팅 포인트 & 자막 문구'\n" +
+                        MARKETING_RULES + "\n" +
+                        ocrTextBlock(ocrText);
+
+        return new Prompt(resolveCombinedModel(), openAiConfig.getDefaultTemperature(), systemPrompt, userPrompt);
+    }
+
+    /**
+     * (추가) 통합 응답 JSON 스키마 (strict: 세 항목 모두 필수, 추가 필드 금지)
+     * - 요약 → 멘트 → 마케팅 순서로 생성되도록 필드 순서 유지
+     */
+    private Map<String, Object> combinedSchema() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put(FIELD_SUMMARY, Map.of("type", "string", "description", "상품 정보 요약"));
+        properties.put(FIELD_HOST_SCRIPT, Map.of("type", "string", "description", "쇼호스트 멘트"));
+        properties.put(FIELD_MARKETING_POINTS, Map.of("type", "string", "description", "마케팅 포인트 & 자막 문구"));
+
+        return Map.of(
+                "type", "object",
+                "properties", properties,
+                "required", List.of(FIELD_SUMMARY, FIELD_HOST_SCRIPT, FIELD_MARKETING_POINTS),
+                "additionalProperties", false
+        );
+    }
+
+    private String resolveCombinedModel() {
+        String model = combinedProperties.getModel();
+        return (model != null && !model.isBlank()) ? model : openAiConfig.getSummaryModel();
+    }
+
+    private String ocrTextBlock(String ocrText) {
+        return "=== 상품 기술서 OCR 텍스트 시작 ===\n" +
+                ocrText +
+                "\n=== 끝 ===";
+    }
+
+    /**
+     * (추가) 프롬프트에 넣을 OCR 텍스트 - 호출 단위로 한 번만 정리 (3회 호출도 같은 결과 재사용)
+     */
+    private String normalizedText(OcrResultDto ocr) {
+        return textNormalizer.normalize(ocr.getEditedText(), documentKey(ocr)).text();
+    }
+
+    private String documentKey(OcrResultDto ocr) {
+        return (ocr.getId() != null) ? "ocr:" + ocr.getId() : "ocr:" + title(ocr);
+    }
+
+    private String title(OcrResultDto ocr) {
+        return ocr.getTitle() != null ? ocr.getTitle() : "(상품명 미지정)";
     }
 
     // =========================
@@ -130,23 +410,85 @@ public class OcrAiGptServiceImpl implements OcrAiGptService {
                                         double temperature,
                                         String systemPrompt,
                                         String userPrompt) {
+        // 번역 / 라이브 요약 등 다른 모듈 호출은 생성 방식 집계에서 제외
+        return call(new Prompt(model, temperature, systemPrompt, userPrompt), null, API_TIMEOUT, 0, null).content();
+    }
 
+    private ChatCompletion complete(Prompt prompt, int outputs) {
+        return call(prompt, null, API_TIMEOUT, outputs, OcrAiGenerationStats.MODE_SEPARATE);
+    }
+
+    /**
+     * (변경) 호출 + usage 파싱 + 방식별 집계
+     *
+     * @param responseFormat response_format (null 이면 일반 텍스트)
+     * @param outputs        이 호출로 만드는 결과물 수 (집계용)
+     * @param mode           SEPARATE / COMBINED (null 이면 집계하지 않음)
+     */
+    private ChatCompletion call(Prompt prompt,
+                                Map<String, Object> responseFormat,
+                                Duration timeout,
+                                int outputs,
+                                String mode) {
+
+        // (추가) 사전 예산 검사 - 너무 긴 입력은 느린 왕복 후 실패하기 전에 바로 실패 처리
+        int promptEstimate = countPromptTokens(prompt);
+        int maxPromptTokens = tokenCounter.getMaxPromptTokens();
+        if (exceedsBudget(prompt.model(), promptEstimate)) {
+            log.warn("OpenAI 호출 생략 - 입력 토큰 상한 초과 (model={}, promptTokens={}, max={})",
+                    prompt.model(), promptEstimate, maxPromptTokens);
+            return ChatCompletion.overBudget(prompt.model(),
+                    "[오류] 입력 텍스트가 너무 깁니다. (약 " + promptEstimate + " 토큰 / 요청당 상한 " + maxPromptTokens + " 토큰)");
+        }
+        if (maxPromptTokens > 0 && promptEstimate > maxPromptTokens) {
+            // (변경) 바이트 추정치는 영문을 과대 추정하므로 막지 않고 보낸다 - 실제 초과면 OpenAI 가 거절
+            log.warn("입력 토큰 추정치가 상한 초과 - 병합 테이블이 없어 그대로 호출 (model={}, estimate={}, max={})",
+                    prompt.model(), promptEstimate, maxPromptTokens);
+        }
+
+        // (추가) 같은 프롬프트가 이미 호출 중이면 새로 보내지 않고 그 응답을 같이 받는다 (집계도 실제 호출 1건만)
+        String key = RequestCoalescer.key(prompt.model(), prompt.temperature(),
+                (responseFormat != null) ? "json_schema" : "text", prompt.systemPrompt(), prompt.userPrompt());
+        long start = System.currentTimeMillis();
+        try {
+            return requestCoalescer.execute(RequestCoalescer.GROUP_OPENAI_CHAT, key,
+                    () -> send(prompt, responseFormat, timeout, outputs, mode, promptEstimate));
+        } catch (SingleFlight.WaitTimeoutException e) {
+            // (추가) 먼저 보낸 같은 호출이 멈춰도 기다리던 요청은 실패 응답으로 끝낸다 (집계는 실제 호출만)
+            log.warn("같은 OpenAI 호출 대기 시간 초과 (model={}) - {}", prompt.model(), e.getMessage());
+            return ChatCompletion.failure(prompt.model(),
+                    "[오류] 같은 요청이 아직 처리 중입니다. 잠시 후 다시 시도해 주세요.", System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * (추가) 실제 HTTP 호출 (call 에서 분리 - 동시 중복 요청은 이 메서드를 한 번만 탄다)
+     */
+    private ChatCompletion send(Prompt prompt,
+                                Map<String, Object> responseFormat,
+                                Duration timeout,
+                                int outputs,
+                                String mode,
+                                int promptEstimate) {
+        long start = System.currentTimeMillis();
         try {
             // OpenAI Chat Completion 요청 바디 (간단하게 Map으로 구성)
-            Map<String, Object> requestBody = Map.of(
-                    "model", model,
-                    "temperature", temperature,
-                    "messages", List.of(
-                            Map.of(
-                                    "role", "system",
-                                    "content", systemPrompt
-                            ),
-                            Map.of(
-                                    "role", "user",
-                                    "content", userPrompt
-                            )
+            Map<String, Object> requestBody = new LinkedHashMap<>();
+            requestBody.put("model", prompt.model());
+            requestBody.put("temperature", prompt.temperature());
+            requestBody.put("messages", List.of(
+                    Map.of(
+                            "role", "system",
+                            "content", prompt.systemPrompt()
+                    ),
+                    Map.of(
+                            "role", "user",
+                            "content", prompt.userPrompt()
                     )
-            );
+            ));
+            if (responseFormat != null) {
+                requestBody.put("response_format", responseFormat);
+            }
 
             // WebClient 동기(block) 호출
             OpenAiChatResponse response = openAiWebClient.post()
@@ -154,25 +496,94 @@ public class OcrAiGptServiceImpl implements OcrAiGptService {
                     .bodyValue(requestBody)
                     .retrieve()
                     .bodyToMono(OpenAiChatResponse.class)
-                    .timeout(API_TIMEOUT)
+                    .timeout(timeout)
                     .block();
 
+            long elapsedMillis = System.currentTimeMillis() - start;
+
             if (response == null || response.getChoices() == null || response.getChoices().isEmpty()) {
                 log.warn("OpenAI 응답이 비어 있습니다.");
-                return "[오류] OpenAI 응답이 비어 있습니다. 잠시 후 다시 시도해 주세요.";
+                return ChatCompletion.failure(prompt.model(), "[오류] OpenAI 응답이 비어 있습니다. 잠시 후 다시 시도해 주세요.", elapsedMillis);
+            }
+
+            // (추가) usage 기록 - 내용이 비었거나 잘린 응답도 토큰은 과금되므로 먼저 집계
+            // usage 가 없는 호환 서버면 사전 계산 값 / 로컬 계산 값 사용
+            OpenAiChatResponse.Choice choice = response.getChoices().get(0);
+            String content = (choice.getMessage() != null) ? choice.getMessage().getContent() : null;
+            int promptTokens = (response.getUsage() != null) ? response.getUsage().getPromptTokens() : promptEstimate;
+            int completionTokens = (response.getUsage() != null)
+                    ? response.getUsage().getCompletionTokens()
+                    : tokenCounter.count(prompt.model(), content);
+            double costUsd = estimateCost(prompt.model(), promptTokens, completionTokens);
+            if (mode != null) {
+                generationStats.record(mode, outputs, promptTokens, completionTokens, elapsedMillis, costUsd);
             }
 
-            String content = response.getChoices().get(0).getMessage().getContent();
             if (content == null || content.isBlank()) {
-                return "[오류] OpenAI 응답에서 내용을 찾을 수 없습니다.";
+                return ChatCompletion.failure(prompt.model(), "[오류] OpenAI 응답에서 내용을 찾을 수 없습니다.", elapsedMillis);
             }
 
-            return content.trim();
+            return new ChatCompletion(content.trim(), prompt.model(), choice.getFinishReason(),
+                    promptTokens, completionTokens, elapsedMillis, costUsd, false, false);
 
         } catch (Exception e) {
             log.error("OpenAI Chat Completion 호출 중 예외 발생", e);
-            return "[오류] AI 생성 중 문제가 발생했습니다. 잠시 후 다시 시도해 주세요.";
+            return ChatCompletion.failure(prompt.model(), "[오류] AI 생성 중 문제가 발생했습니다. 잠시 후 다시 시도해 주세요.",
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * (추가) 실패한 호출이면 OcrProcessingException (결과 DTO 에 오류 문구가 섞이지 않게)
+     */
+    private ChatCompletion requireContent(ChatCompletion completion) {
+        if (completion.failed()) {
+            throw new OcrProcessingException(errorMessageOf(completion));
+        }
+        return completion;
+    }
+
+    // "[오류] " 접두어를 뗀 사용자 안내 문구
+    private String errorMessageOf(ChatCompletion completion) {
+        String message = safeText(completion.content());
+        return message.startsWith("[오류]") ? message.substring("[오류]".length()).trim() : message;
+    }
+
+    private int countPromptTokens(Prompt prompt) {
+        return tokenCounter.countChat(prompt.model(), prompt.systemPrompt(), prompt.userPrompt());
+    }
+
+    /**
+     * (추가) 예상 비용(USD)
+     * - (변경) 모델별 단가(openai.combined.model-prices, 가장 긴 접두사) - 없으면 openai.combined.*-price-per-million
+     */
+    private double estimateCost(String model, int promptTokens, int completionTokens) {
+        double inputPrice = combinedProperties.getInputPricePerMillion();
+        double outputPrice = combinedProperties.getOutputPricePerMillion();
+        if (model != null) {
+            int matched = -1;
+            for (Map.Entry<String, OcrAiCombinedProperties.ModelPrice> entry : combinedProperties.getModelPrices().entrySet()) {
+                String prefix = entry.getKey();
+                if (model.startsWith(prefix) && prefix.length() > matched) {
+                    inputPrice = entry.getValue().getInputPricePerMillion();
+                    outputPrice = entry.getValue().getOutputPricePerMillion();
+                    matched = prefix.length();
+                }
+            }
+        }
+        return promptTokens / 1_000_000.0 * inputPrice + completionTokens / 1_000_000.0 * outputPrice;
+    }
+
+    private double savingRatio(double separate, double combined) {
+        return (separate > 0) ? 1.0 - (combined / separate) : 0.0;
+    }
+
+    private String textField(JsonNode root, String field) {
+        JsonNode node = root.path(field);
+        if (!node.isTextual() || node.asText().isBlank()) {
+            return null;
         }
+        return node.asText().trim();
     }
 
     /**
@@ -182,6 +593,35 @@ public class OcrAiGptServiceImpl implements OcrAiGptService {
         return text != null ? text : "";
     }
 
+    /**
+     * (추가) 호출 1건의 프롬프트
+     */
+    private record Prompt(String model, double temperature, String systemPrompt, String userPrompt) {
+    }
+
+    /**
+     * (추가) 호출 1건의 결과 + usage
+     */
+    private record ChatCompletion(String content,
+                                  String model,
+                                  String finishReason,
+                                  int promptTokens,
+                                  int completionTokens,
+                                  long elapsedMillis,
+                                  double costUsd,
+                                  boolean failed,
+                                  boolean overBudget) {
+
+        static ChatCompletion failure(String model, String message, long elapsedMillis) {
+            return new ChatCompletion(message, model, null, 0, 0, elapsedMillis, 0.0, true, false);
+        }
+
+        // (추가) 입력 토큰 상한 초과 - 호출하지 않고 거절
+        static ChatCompletion overBudget(String model, String message) {
+            return new ChatCompletion(message, model, null, 0, 0, 0, 0.0, true, true);
+        }
+    }
+
     // =========================
     // OpenAI 응답 매핑용 내부 클래스
     //  - 필요한 필드만 최소한으로 정의
@@ -191,9 +631,16 @@ public class OcrAiGptServiceImpl implements OcrAiGptService {
     public static class OpenAiChatResponse {
         private List<Choice> choices;
 
+        // (추가) 토큰 사용량
+        private Usage usage;
+
         @lombok.Data
         public static class Choice {
             private Message message;
+
+            // (추가) stop / length 등 - length 면 출력이 잘린 것
+            @JsonProperty("finish_reason")
+            private String finishReason;
         }
 
         @lombok.Data
@@ -201,5 +648,17 @@ public class OcrAiGptServiceImpl implements OcrAiGptService {
             private String role;
             private String content;
         }
+
+        @lombok.Data
+        public static class Usage {
+            @JsonProperty("prompt_tokens")
+            private int promptTokens;
+
+            @JsonProperty("completion_tokens")
+            private int completionTokens;
+
+            @JsonProperty("total_tokens")
+            private int totalTokens;
+        }
     }
 }
@@ -0,0 +1,22 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.DTO.OcrBatchResultDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * (추가) 다중 파일 / ZIP 배치 OCR 서비스.
+ * - 업로드된 파일(이미지, PDF, ZIP)을 병렬로 OCR 하고 ocr_result 에 일괄 저장한다.
+ */
+public interface OcrBatchService {
+
+    /**
+     * 업로드 파일 묶음을 OCR 후 저장한다.
+     * - ZIP 파일은 엔트리를 하나씩 스트리밍으로 꺼내 처리한다.
+     *
+     * @param files 업로드 파일 목록 (이미지 / PDF / ZIP)
+     * @return 파일별 처리 상태 + 전체 처리량
+     */
+    OcrBatchResultDto processBatch(List<MultipartFile> files);
+}
@@ -0,0 +1,404 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrBatchProperties;
+import com.example.bboo_technology.DTO.OcrBatchItemDto;
+import com.example.bboo_technology.DTO.OcrBatchResultDto;
+import com.example.bboo_technology.DTO.OcrResultDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * (추가) OcrBatchService 기본 구현체.
+ *
+ * - 흐름:
+ *   1) 업로드 파일을 순서대로 훑으면서 OCR 작업을 전용 스레드풀에 제출
+ *      - ZIP: ZipInputStream 으로 엔트리를 하나씩 읽어 임시 파일로 흘려 쓴 뒤 제출 (전체 압축 해제 X, 힙 적재 X)
+ *      - 이미지/PDF: MultipartFile 을 그대로 제출
+ *   2) 동시 OCR 수는 스레드풀 크기(concurrency), 대기 포함 보유 파일 수는 Semaphore(max-in-flight)로 제한
+ *   3) 요청 스레드는 완료된 작업을 CompletionService 로 받아 save-batch-size 단위로 OcrResultService.saveAll 호출
+ * - 파일 1건의 실패는 해당 건만 FAILED 로 표시하고 배치 전체는 계속 진행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OcrBatchServiceImpl implements OcrBatchService {
+
+    private static final String FILE_TYPE_ZIP = "application/zip";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final OcrFacadeService ocrFacadeService;
+    private final OcrResultService ocrResultService;
+    private final OcrBatchProperties batchProperties;
+
+    private ExecutorService executor;
+    private Semaphore inFlight;
+
+    @PostConstruct
+    void init() {
+        int concurrency = Math.max(1, batchProperties.getConcurrency());
+        AtomicInteger sequence = new AtomicInteger();
+
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "ocr-batch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.inFlight = new Semaphore(Math.max(concurrency, batchProperties.getMaxInFlight()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public OcrBatchResultDto processBatch(List<MultipartFile> files) {
+        long start = System.currentTimeMillis();
+        BatchRun run = new BatchRun();
+
+        try {
+            for (MultipartFile file : files) {
+                if (file == null || file.isEmpty()) {
+                    continue;
+                }
+
+                String fileName = (file.getOriginalFilename() != null) ? file.getOriginalFilename() : "unnamed";
+                String contentType = file.getContentType();
+
+                if (isZipFile(contentType, fileName)) {
+                    submitZipEntries(file, fileName, run);
+                } else if (ocrFacadeService.isSupported(fileName, contentType)) {
+                    OcrBatchItemDto item = run.newItem(fileName, null);
+                    acquireSlot();
+                    run.submit(item, contentType, file, null);
+                } else {
+                    run.skip(run.newItem(fileName, null), "지원하지 않는 파일 형식입니다.");
+                }
+            }
+
+            // 남은 작업 완료 대기 + 남은 저장 버퍼 flush
+            run.awaitAll();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcrProcessingException("배치 OCR 처리가 중단되었습니다.", e);
+        }
+
+        OcrBatchResultDto result = summarize(run.items, System.currentTimeMillis() - start);
+        log.info("배치 OCR 완료 - total={}, success={}, failed={}, skipped={}, pages={}, elapsedMs={}",
+                result.getTotalFiles(), result.getSuccessCount(), result.getFailedCount(),
+                result.getSkippedCount(), result.getTotalPages(), result.getElapsedMillis());
+        return result;
+    }
+
+    // =========================
+    // ZIP 처리
+    // =========================
+
+    /**
+     * ZIP 엔트리를 하나씩 임시 파일로 흘려 쓰고 OCR 작업으로 제출한다.
+     * - Semaphore 를 먼저 잡고 나서 임시 파일을 만들기 때문에, 디스크에 동시에 존재하는 임시 파일 수도 max-in-flight 로 제한된다.
+     * - 엔트리 경로는 표시용으로만 쓰고 임시 파일명은 직접 생성하므로 zip-slip 경로 문제가 없다.
+     */
+    private void submitZipEntries(MultipartFile zipFile, String zipName, BatchRun run) throws InterruptedException {
+        Charset charset = Charset.forName(batchProperties.getZipCharset());
+        int entryCount = 0;
+
+        try (ZipInputStream zip = new ZipInputStream(zipFile.getInputStream(), charset)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String entryName = entry.getName();
+                if (entry.isDirectory() || isHiddenEntry(entryName)) {
+                    continue;
+                }
+
+                OcrBatchItemDto item = run.newItem(entryName, zipName);
+
+                if (++entryCount > batchProperties.getMaxZipEntries()) {
+                    run.skip(item, "ZIP 1개당 최대 " + batchProperties.getMaxZipEntries() + "개 파일까지 처리합니다.");
+                    break;
+                }
+                if (!ocrFacadeService.isSupported(entryName, null)) {
+                    run.skip(item, "지원하지 않는 파일 형식입니다.");
+                    continue;
+                }
+
+                acquireSlot();
+                Path tempFile = null;
+                try {
+                    tempFile = spoolEntry(zip, entryName);
+                    run.submit(item, null, new FileSystemResource(tempFile), tempFile);
+                } catch (IOException | RuntimeException e) {
+                    inFlight.release();
+                    deleteQuietly(tempFile);
+                    run.fail(item, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("ZIP 읽기 실패 - filename={}", zipName, e);
+            run.fail(run.newItem(zipName, null), "ZIP 파일을 읽는 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 현재 ZIP 엔트리를 임시 파일로 복사 (max-entry-bytes 초과 시 중단)
+     */
+    private Path spoolEntry(ZipInputStream zip, String entryName) throws IOException {
+        Path tempFile = Files.createTempFile("ocr-batch-", extensionOf(entryName));
+        long limit = batchProperties.getMaxEntryBytes();
+        long written = 0;
+
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = zip.read(buffer)) != -1) {
+                written += read;
+                if (written > limit) {
+                    throw new IOException("파일 크기가 제한(" + limit / (1024 * 1024) + "MB)을 초과했습니다.");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+        return tempFile;
+    }
+
+    // =========================
+    // 내부 유틸
+    // =========================
+
+    private void acquireSlot() throws InterruptedException {
+        inFlight.acquire();
+    }
+
+    private boolean isZipFile(String contentType, String fileName) {
+        if (contentType != null
+                && (contentType.equalsIgnoreCase(FILE_TYPE_ZIP) || contentType.equalsIgnoreCase("application/x-zip-compressed"))) {
+            return true;
+        }
+        return fileName != null && fileName.toLowerCase().endsWith(".zip");
+    }
+
+    /**
+     * macOS 압축 시 생기는 __MACOSX/, ._파일, .DS_Store 등은 건너뛴다.
+     */
+    private boolean isHiddenEntry(String entryName) {
+        String baseName = baseNameOf(entryName);
+        return entryName.startsWith("__MACOSX/") || baseName.startsWith(".");
+    }
+
+    private String baseNameOf(String path) {
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return (slash >= 0) ? path.substring(slash + 1) : path;
+    }
+
+    private String extensionOf(String fileName) {
+        String baseName = baseNameOf(fileName);
+        int dot = baseName.lastIndexOf('.');
+        return (dot >= 0) ? baseName.substring(dot) : ".tmp";
+    }
+
+    /**
+     * 저장 제목: 확장자를 뺀 파일명
+     */
+    private String titleOf(String fileName) {
+        String baseName = baseNameOf(fileName);
+        int dot = baseName.lastIndexOf('.');
+        return (dot > 0) ? baseName.substring(0, dot) : baseName;
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패 - path={}", path, e);
+        }
+    }
+
+    private OcrBatchResultDto summarize(List<OcrBatchItemDto> items, long elapsedMillis) {
+        int success = 0;
+        int failed = 0;
+        int skipped = 0;
+        int pages = 0;
+
+        for (OcrBatchItemDto item : items) {
+            switch (item.getStatus()) {
+                case OcrBatchItemDto.STATUS_SUCCESS -> {
+                    success++;
+                    pages += (item.getPageCount() != null) ? item.getPageCount() : 0;
+                }
+                case OcrBatchItemDto.STATUS_SKIPPED -> skipped++;
+                default -> failed++;
+            }
+        }
+
+        double minutes = elapsedMillis / 60000.0;
+
+        return OcrBatchResultDto.builder()
+                .totalFiles(items.size())
+                .successCount(success)
+                .failedCount(failed)
+                .skippedCount(skipped)
+                .totalPages(pages)
+                .elapsedMillis(elapsedMillis)
+                .filesPerMinute((minutes > 0) ? success / minutes : 0.0)
+                .pagesPerMinute((minutes > 0) ? pages / minutes : 0.0)
+                .items(items)
+                .build();
+    }
+
+    /**
+     * OCR 작업 1건의 결과 (저장 전 DTO 를 함께 들고 다닌다)
+     */
+    private record ItemOutcome(OcrBatchItemDto item, OcrResultDto result) {}
+
+    /**
+     * 요청 1건(배치 1회)의 진행 상태.
+     * - 요청 스레드에서만 사용한다. (OCR 작업 스레드는 ItemOutcome 만 반환)
+     */
+    private class BatchRun {
+
+        private final List<OcrBatchItemDto> items = new ArrayList<>();
+        private final CompletionService<ItemOutcome> completionService = new ExecutorCompletionService<>(executor);
+        private final List<ItemOutcome> saveBuffer = new ArrayList<>();
+        private int pending = 0;
+
+        OcrBatchItemDto newItem(String fileName, String archiveName) {
+            OcrBatchItemDto item = OcrBatchItemDto.builder()
+                    .fileName(fileName)
+                    .archiveName(archiveName)
+                    .build();
+            items.add(item);
+            return item;
+        }
+
+        void skip(OcrBatchItemDto item, String reason) {
+            item.setStatus(OcrBatchItemDto.STATUS_SKIPPED);
+            item.setErrorMessage(reason);
+        }
+
+        void fail(OcrBatchItemDto item, String reason) {
+            item.setStatus(OcrBatchItemDto.STATUS_FAILED);
+            item.setErrorMessage(reason);
+        }
+
+        /**
+         * OCR 작업 제출 (호출 전에 acquireSlot() 로 슬롯을 잡아 두어야 한다)
+         *
+         * @param tempFile 작업 종료 후 삭제할 임시 파일 (없으면 null)
+         */
+        void submit(OcrBatchItemDto item, String contentType, InputStreamSource source, Path tempFile) {
+            completionService.submit(() -> runItem(item, contentType, source, tempFile));
+            pending++;
+
+            // 제출하는 김에 이미 끝난 작업 회수 (저장 버퍼가 한 번에 몰리지 않도록)
+            Future<ItemOutcome> done;
+            while ((done = completionService.poll()) != null) {
+                collect(done);
+            }
+        }
+
+        void awaitAll() throws InterruptedException {
+            while (pending > 0) {
+                collect(completionService.take());
+            }
+            flush();
+        }
+
+        private void collect(Future<ItemOutcome> future) {
+            pending--;
+            try {
+                ItemOutcome outcome = future.get();
+                if (outcome.result() != null) {
+                    saveBuffer.add(outcome);
+                    if (saveBuffer.size() >= Math.max(1, batchProperties.getSaveBatchSize())) {
+                        flush();
+                    }
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                // runItem 이 예외를 모두 잡기 때문에 정상적으로는 오지 않는다
+                log.error("배치 OCR 작업 결과 회수 실패", e);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void flush() {
+            if (saveBuffer.isEmpty()) {
+                return;
+            }
+
+            List<OcrResultDto> dtos = saveBuffer.stream().map(ItemOutcome::result).toList();
+            try {
+                List<OcrResultDto> saved = ocrResultService.saveAll(dtos);
+                for (int i = 0; i < saved.size(); i++) {
+                    saveBuffer.get(i).item().setOcrResultId(saved.get(i).getId());
+                }
+            } catch (OcrProcessingException e) {
+                saveBuffer.forEach(outcome -> fail(outcome.item(), "OCR 은 완료됐지만 저장에 실패했습니다."));
+            }
+            saveBuffer.clear();
+        }
+    }
+
+    /**
+     * OCR 작업 스레드에서 실행되는 파일 1건 처리
+     */
+    private ItemOutcome runItem(OcrBatchItemDto item, String contentType, InputStreamSource source, Path tempFile) {
+        long start = System.currentTimeMillis();
+        try {
+            OcrResultDto dto = ocrFacadeService.extractText(baseNameOf(item.getFileName()), contentType, source);
+
+            // 배치 저장은 사용자가 편집할 단계가 없으므로 OCR 원문을 그대로 저장 본문으로 사용
+            dto.setTitle(titleOf(item.getFileName()));
+            dto.setEditedText(dto.getOcrText());
+
+            item.setStatus(OcrBatchItemDto.STATUS_SUCCESS);
+            item.setFileType(dto.getFileType());
+            item.setPageCount(dto.getPageCount());
+            return new ItemOutcome(item, dto);
+
+        } catch (Exception e) {
+            log.warn("배치 OCR 실패 - filename={}, archive={}", item.getFileName(), item.getArchiveName(), e);
+            item.setStatus(OcrBatchItemDto.STATUS_FAILED);
+            item.setErrorMessage((e instanceof OcrProcessingException) ? e.getMessage() : "OCR 처리 중 오류가 발생했습니다.");
+            return new ItemOutcome(item, null);
+
+        } finally {
+            item.setElapsedMillis(System.currentTimeMillis() - start);
+            deleteQuietly(tempFile);
+            inFlight.release();
+        }
+    }
+}
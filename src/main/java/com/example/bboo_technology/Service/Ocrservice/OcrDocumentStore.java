@@ -0,0 +1,161 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrLazyProperties;
+import com.example.bboo_technology.util.ContentHash;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * (추가) 지연 OCR 용 업로드 문서 보관소.
+ *
+ * - 업로드 파일을 디스크로 흘려 쓰면서(DigestInputStream) SHA-256 을 같이 계산한다. (힙에 통째로 올리지 않음)
+ * - 문서 ID = 콘텐츠 해시 → 같은 파일을 다시 올리면 같은 문서/같은 페이지 캐시를 재사용한다.
+ * - 메타데이터는 메모리 LRU 로 관리하고, 밀려난 문서는 파일도 함께 삭제한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OcrDocumentStore {
+
+    private final OcrLazyProperties lazyProperties;
+
+    private Path storageDir;
+    private Map<String, StoredDocument> documents;
+
+    /**
+     * 저장 직후 페이지 수를 세는 함수 (파일 타입별로 PDF/TIFF/이미지 Processor 에 위임)
+     */
+    @FunctionalInterface
+    public interface PageCounter {
+        int count(InputStreamSource source);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        String configured = lazyProperties.getStorageDir();
+        this.storageDir = (configured == null || configured.isBlank())
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "ocr-documents")
+                : Paths.get(configured);
+        Files.createDirectories(storageDir);
+
+        int maxDocuments = Math.max(1, lazyProperties.getMaxDocuments());
+        this.documents = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredDocument> eldest) {
+                if (size() <= maxDocuments) {
+                    return false;
+                }
+                deleteQuietly(eldest.getValue().path());
+                return true;
+            }
+        });
+
+        log.info("OcrDocumentStore initialized - dir={}, maxDocuments={}", storageDir, maxDocuments);
+    }
+
+    /**
+     * 업로드 문서를 저장하고 페이지 수를 계산해서 등록한다.
+     *
+     * @param source      업로드 입력 소스
+     * @param fileName    원본 파일명
+     * @param fileType    PDF / TIFF / IMAGE
+     * @param pageCounter 페이지 수 계산 함수
+     * @return 저장된 문서 정보 (이미 같은 내용의 문서가 있으면 기존 문서)
+     */
+    public StoredDocument store(InputStreamSource source,
+                                String fileName,
+                                String fileType,
+                                PageCounter pageCounter) throws IOException {
+
+        Path tempFile = Files.createTempFile(storageDir, "upload-", ".part");
+        try {
+            // 1) 디스크로 복사하면서 해시 계산
+            MessageDigest digest = ContentHash.newDigest();
+            try (InputStream in = new DigestInputStream(source.getInputStream(), digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String documentId = ContentHash.toHex(digest.digest());
+
+            // 2) 이미 등록된 문서면 그대로 재사용
+            StoredDocument existing = documents.get(documentId);
+            if (existing != null && Files.exists(existing.path())) {
+                return existing;
+            }
+
+            // 3) 해시 이름으로 이동 후 페이지 수 계산
+            Path target = storageDir.resolve(documentId + extensionOf(fileName));
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+
+            int pageCount = pageCounter.count(new FileSystemResource(target));
+            StoredDocument document = new StoredDocument(documentId, fileName, fileType, pageCount, target);
+            documents.put(documentId, document);
+
+            log.info("지연 OCR 문서 등록 - documentId={}, filename={}, type={}, pages={}",
+                    documentId, fileName, fileType, pageCount);
+            return document;
+
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * 문서 ID 로 조회 (파일이 지워졌으면 빈 값)
+     */
+    public Optional<StoredDocument> find(String documentId) {
+        StoredDocument document = documents.get(documentId);
+        if (document == null || !Files.exists(document.path())) {
+            return Optional.empty();
+        }
+        return Optional.of(document);
+    }
+
+    private String extensionOf(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        int slash = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\'));
+        return (dot > slash) ? fileName.substring(dot).toLowerCase() : "";
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("문서 파일 삭제 실패 - path={}", path, e);
+        }
+    }
+
+    /**
+     * 보관 중인 문서 정보
+     */
+    public record StoredDocument(
+            String documentId,        // 콘텐츠 SHA-256
+            String originalFileName,  // 원본 파일명
+            String fileType,          // PDF / TIFF / IMAGE
+            int pageCount,            // 전체 페이지 수
+            Path path                 // 저장 위치
+    ) {
+        public FileSystemResource resource() {
+            return new FileSystemResource(path);
+        }
+    }
+}
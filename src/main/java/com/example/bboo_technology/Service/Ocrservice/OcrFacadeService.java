@@ -1,6 +1,7 @@
 package com.example.bboo_technology.Service.Ocrservice;
 
 import com.example.bboo_technology.DTO.OcrResultDto;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -11,6 +12,11 @@ import org.springframework.web.multipart.MultipartFile;
  */
 public interface OcrFacadeService {
 
+    // (추가) 파일 타입 라벨 (OcrResultDto.fileType 값)
+    String FILE_TYPE_PDF = "PDF";
+    String FILE_TYPE_TIFF = "TIFF";
+    String FILE_TYPE_IMAGE = "IMAGE";
+
     /**
      * 업로드된 파일 하나에 대해 OCR 을 수행하고, 결과를 OcrResultDto 로 반환한다.
      * - 이미지 파일: ImageOcrProcessor 사용
@@ -21,5 +27,40 @@ public interface OcrFacadeService {
      */
     OcrResultDto extractText(MultipartFile file);
 
+    /**
+     * (추가) 페이지 범위를 지정해서 OCR 한다. (PDF 만 적용, 이미지/TIFF 는 전체)
+     *
+     * @param file      업로드된 파일
+     * @param pageRange 페이지 범위 (예: "1-3,7"), null/공백이면 전체
+     * @return OCR 결과 DTO
+     */
+    OcrResultDto extractText(MultipartFile file, String pageRange);
+
+    /**
+     * (추가) 파일명/MIME 타입/입력 소스 기준 OCR.
+     * - 배치 처리에서 ZIP 엔트리를 임시 파일로 풀어 넘길 때 사용한다.
+     *
+     * @param fileName    원본 파일명 (확장자로 타입 판별)
+     * @param contentType MIME 타입 (모르면 null)
+     * @param source      파일 내용 입력 소스
+     * @return OCR 결과 DTO
+     */
+    OcrResultDto extractText(String fileName, String contentType, InputStreamSource source);
+
+    /**
+     * (추가) 파일명/MIME 타입/입력 소스 + 페이지 범위 기준 OCR.
+     */
+    OcrResultDto extractText(String fileName, String contentType, InputStreamSource source, String pageRange);
+
+    /**
+     * (추가) OCR 지원 파일 형식(이미지/PDF)인지 여부
+     */
+    boolean isSupported(String fileName, String contentType);
+
+    /**
+     * (추가) 파일 타입 판별 (PDF / TIFF / IMAGE, 지원하지 않으면 null)
+     */
+    String detectFileType(String fileName, String contentType);
+
 
 }
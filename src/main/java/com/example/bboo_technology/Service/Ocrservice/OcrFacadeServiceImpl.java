@@ -2,18 +2,29 @@ package com.example.bboo_technology.Service.Ocrservice;
 
 
 import com.example.bboo_technology.DTO.OcrResultDto;
+import com.example.bboo_technology.Service.RequestCoalescer;
+import com.example.bboo_technology.util.ContentHash;
+import com.example.bboo_technology.util.PageRanges;
+import com.example.bboo_technology.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * OcrFacadeService 의 기본 구현체.
  * - 파일의 MIME 타입 및 확장자를 기준으로 이미지/PDF 를 판별하고,
  *   각각 ImageOcrProcessor / PdfOcrProcessor 에 실제 OCR 처리를 위임한다.
+ * - (추가) 멀티 프레임 TIFF 는 TiffOcrProcessor 에 위임한다.
  * - 최종적으로 View/Session 에서 사용할 OcrResultDto 를 생성한다.
+ * - (추가) 같은 파일이 동시에 여러 번 올라오면(더블 클릭 / 여러 사용자) OCR 은 한 번만 수행한다. (RequestCoalescer)
  */
 @Slf4j
 @Service
@@ -22,56 +33,81 @@ public class OcrFacadeServiceImpl implements OcrFacadeService {
 
     private final ImageOcrProcessor imageOcrProcessor;
     private final PdfOcrProcessor pdfOcrProcessor;
+    private final TiffOcrProcessor tiffOcrProcessor;
+    private final RequestCoalescer requestCoalescer;   // (추가) 같은 파일 동시 OCR 합치기
 
     @Override
     public OcrResultDto extractText(MultipartFile file) {
+        return extractText(file.getOriginalFilename(), file.getContentType(), file, null);
+    }
+
+    /**
+     * (추가) 페이지 범위를 지정한 업로드 OCR (PDF 전용, 이미지/TIFF 는 범위 무시)
+     */
+    @Override
+    public OcrResultDto extractText(MultipartFile file, String pageRange) {
+        return extractText(file.getOriginalFilename(), file.getContentType(), file, pageRange);
+    }
+
+    /**
+     * (추가) 파일명/MIME 타입/입력 소스를 직접 받아 OCR 수행.
+     * - 배치 업로드(ZIP 엔트리 → 임시 파일)처럼 MultipartFile 이 아닌 입력도 같은 흐름으로 처리한다.
+     */
+    @Override
+    public OcrResultDto extractText(String fileName, String fileContentType, InputStreamSource source) {
+        return extractText(fileName, fileContentType, source, null);
+    }
+
+    @Override
+    public OcrResultDto extractText(String fileName, String fileContentType, InputStreamSource source, String pageRange) {
         // 1. 파일 기본 정보 추출
-        String originalFileName = (file.getOriginalFilename() != null)
-                ? file.getOriginalFilename()
+        String originalFileName = (fileName != null)
+                ? fileName
                 : "unnamed";
 
-        String contentType = (file.getContentType() != null)
-                ? file.getContentType()
+        String contentType = (fileContentType != null)
+                ? fileContentType
                 : "";
 
         // 2. 파일 타입 판별 (MIME 타입 우선, 필요 시 확장자로 보조 판단)
         boolean isPdf = isPdfFile(contentType, originalFileName);
+        boolean isTiff = isTiffFile(contentType, originalFileName);   // (추가) 멀티 프레임 TIFF 는 이미지보다 먼저 판별
         boolean isImage = isImageFile(contentType, originalFileName);
 
-        if (!isPdf && !isImage) {
+        if (!isPdf && !isTiff && !isImage) {
             // 지원하지 않는 파일 형식
             log.warn("지원하지 않는 파일 형식 - filename={}, contentType={}", originalFileName, contentType);
-            throw new OcrProcessingException("지원하지 않는 파일 형식입니다. 이미지(JPG, PNG) 또는 PDF만 업로드해 주세요.");
+            throw new OcrProcessingException("지원하지 않는 파일 형식입니다. 이미지(JPG, PNG, TIFF) 또는 PDF만 업로드해 주세요.");
         }
 
-        String fileTypeLabel;
-        String ocrText;
-        Integer pageCount = null;
-
-        // 3. 파일 타입에 따라 각 Processor 에 OCR 위임
-        if (isPdf) {
-            fileTypeLabel = "PDF";
-
-            PdfOcrProcessor.PdfOcrResult result = pdfOcrProcessor.process(file);
-            ocrText = result.getText();
-            pageCount = result.getPageCount();
-
-        } else {
-            // 이미지로 간주
-            fileTypeLabel = "IMAGE";
-
-            ocrText = imageOcrProcessor.process(file);
-            pageCount = 1; // 단일 이미지이므로 1페이지 취급
+        String fileTypeLabel = isPdf ? FILE_TYPE_PDF : (isTiff ? FILE_TYPE_TIFF : FILE_TYPE_IMAGE);
+
+        // (추가) 같은 파일(내용 해시 + 형식 + 페이지 범위)이 이미 OCR 중이면 그 결과를 같이 받는다
+        // - 해시를 못 구하면(읽기 오류) 합치지 않고 바로 처리 → 실제 오류는 Processor 에서 그대로 보고
+        String contentKey = contentKey(source, fileTypeLabel, pageRange);
+        OcrOutcome outcome;
+        try {
+            outcome = (contentKey != null)
+                    ? requestCoalescer.execute(RequestCoalescer.GROUP_OCR_EXTRACT, contentKey,
+                            () -> recognize(fileTypeLabel, source, originalFileName, pageRange))
+                    : recognize(fileTypeLabel, source, originalFileName, pageRange);
+        } catch (SingleFlight.WaitTimeoutException e) {
+            // (추가) 먼저 올린 같은 파일 OCR 이 오래 걸리면 기다리던 요청만 실패 (진행 중인 OCR 은 계속된다)
+            log.warn("같은 파일 OCR 대기 시간 초과 - filename={} ({})", originalFileName, e.getMessage());
+            throw new OcrProcessingException("같은 파일의 OCR 이 아직 진행 중입니다. 잠시 후 다시 시도해 주세요.");
         }
 
         // 4. DTO 구성 (처음에는 title/editedText/translatedText 는 비워둠)
+        //    (변경) DTO 는 세션에서 수정되므로 합쳐진 요청끼리 공유하지 않고 요청마다 새로 만든다
         OcrResultDto dto = OcrResultDto.builder()
                 .id(null)                        // 아직 DB 저장 전이므로 null
                 .originalFileName(originalFileName)
                 .fileType(fileTypeLabel)
-                .pageCount(pageCount)
+                .pageCount(outcome.pageCount())
+                .pageConfidences((outcome.pageConfidences() != null) ? new ArrayList<>(outcome.pageConfidences()) : null)
+                .pageRange(outcome.appliedPageRange())
                 .title("")                      // View 에서 입력받을 값
-                .ocrText(ocrText)
+                .ocrText(outcome.ocrText())
                 .editedText(null)               // 저장 시점에 채워질 예정
                 .translatedText(null)           // 번역 기능 연동 후 사용
                 .createdAt(LocalDateTime.now())
@@ -80,11 +116,76 @@ public class OcrFacadeServiceImpl implements OcrFacadeService {
                 .build();
 
         log.info("OCR 처리 완료 - filename={}, type={}, pages={}, length={}",
-                originalFileName, fileTypeLabel, pageCount, (ocrText != null ? ocrText.length() : 0));
+                originalFileName, fileTypeLabel, outcome.pageCount(),
+                (outcome.ocrText() != null ? outcome.ocrText().length() : 0));
 
         return dto;
     }
 
+    /**
+     * 3. 파일 타입에 따라 각 Processor 에 OCR 위임
+     * - (변경) extractText 에서 분리 (동시 중복 요청은 이 메서드를 한 번만 탄다)
+     */
+    private OcrOutcome recognize(String fileTypeLabel, InputStreamSource source, String originalFileName, String pageRange) {
+        switch (fileTypeLabel) {
+            case FILE_TYPE_PDF -> {
+                PdfOcrProcessor.PdfOcrResult result = pdfOcrProcessor.process(source, originalFileName, pageRange);
+                String appliedPageRange = null;   // (추가) 실제 OCR 한 페이지 범위 (전체면 null)
+                if (!PageRanges.isAll(pageRange)) {
+                    appliedPageRange = PageRanges.format(result.getPageNumbers().stream().map(page -> page - 1).toList());
+                }
+                return new OcrOutcome(result.getText(), result.getPageCount(), result.getPageConfidences(), appliedPageRange);
+            }
+            case FILE_TYPE_TIFF -> {
+                // (추가) 멀티 프레임 TIFF 는 PDF 처럼 페이지 문서로 처리
+                TiffOcrProcessor.TiffOcrResult result = tiffOcrProcessor.process(source, originalFileName);
+                return new OcrOutcome(result.getText(), result.getPageCount(), result.getPageConfidences(), null);
+            }
+            default -> {
+                // 이미지로 간주 (단일 이미지이므로 1페이지 취급)
+                PageOcrProcessor.PageOcrResult result = imageOcrProcessor.process(source, originalFileName);
+                return new OcrOutcome(result.getText(), 1, List.of(result.getConfidence()), null);
+            }
+        }
+    }
+
+    /**
+     * (추가) 합치기 키 = 파일 내용 SHA-256 + 형식 + 페이지 범위 (PDF 외에는 범위를 쓰지 않으므로 제외)
+     * - 파일명은 키에 넣지 않는다 (같은 파일을 다른 이름으로 올려도 결과는 같음)
+     * - (변경) 파일 내용은 이 요청에서 여기서 한 번만 해시한다. 키는 그 해시에 형식/범위만 붙이고 다시 해시하지 않는다
+     *   (동기 OCR 경로의 Processor 는 해시를 쓰지 않음 - 페이지 체크포인트는 OCR 작업에서 저장 시 구한 해시를 사용)
+     */
+    private String contentKey(InputStreamSource source, String fileTypeLabel, String pageRange) {
+        try (InputStream in = source.getInputStream()) {
+            String range = (FILE_TYPE_PDF.equals(fileTypeLabel) && !PageRanges.isAll(pageRange))
+                    ? pageRange.replaceAll("\\s+", "")
+                    : "";
+            return ContentHash.sha256Hex(in) + ":" + fileTypeLabel + ":" + range;
+        } catch (IOException e) {
+            log.warn("OCR 합치기 키 계산 실패 - 합치지 않고 처리합니다. ({})", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isSupported(String fileName, String contentType) {
+        return detectFileType(fileName, contentType) != null;
+    }
+
+    @Override
+    public String detectFileType(String fileName, String contentType) {
+        if (isPdfFile(contentType, fileName)) {
+            return FILE_TYPE_PDF;
+        }
+        if (isTiffFile(contentType, fileName)) {
+            return FILE_TYPE_TIFF;
+        }
+        if (isImageFile(contentType, fileName)) {
+            return FILE_TYPE_IMAGE;
+        }
+        return null;
+    }
+
     /**
      * 파일이 PDF 인지 판별하는 유틸 메서드.
      * - contentType 및 파일 확장자를 함께 검사하여 안정성을 높인다.
@@ -99,6 +200,21 @@ public class OcrFacadeServiceImpl implements OcrFacadeService {
         return false;
     }
 
+    /**
+     * (추가) 파일이 TIFF 인지 판별하는 유틸 메서드.
+     * - TIFF 는 image/* 이기도 하므로 isImageFile 보다 먼저 검사해야 한다.
+     */
+    private boolean isTiffFile(String contentType, String fileName) {
+        if (contentType != null && contentType.equalsIgnoreCase("image/tiff")) {
+            return true;
+        }
+        if (fileName == null) {
+            return false;
+        }
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".tif") || lower.endsWith(".tiff");
+    }
+
     /**
      * 파일이 이미지인지 판별하는 유틸 메서드.
      * - MIME 타입이 image/* 이거나, 확장자가 jpg/jpeg/png/webp 인 경우 등으로 판단.
@@ -116,5 +232,9 @@ public class OcrFacadeServiceImpl implements OcrFacadeService {
                 || lower.endsWith(".gif") || lower.endsWith(".webp");
     }
 
-
+    /**
+     * (추가) 파일명과 무관한 OCR 결과 (합쳐진 요청끼리 공유)
+     */
+    private record OcrOutcome(String ocrText, Integer pageCount, List<Double> pageConfidences, String appliedPageRange) {
+    }
 }
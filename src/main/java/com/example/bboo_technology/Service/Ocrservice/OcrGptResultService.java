@@ -1,5 +1,6 @@
 package com.example.bboo_technology.Service.Ocrservice;
 
+import com.example.bboo_technology.DTO.OcrAiGenerationDto;
 import com.example.bboo_technology.DTO.OcrGptResultDto;
 
 import java.util.List;
@@ -20,6 +21,13 @@ public interface OcrGptResultService {
      */
     OcrGptResultDto saveResult(OcrGptResultDto dto);
 
+    /**
+     * (추가) 통합 생성 결과 3종을 한 번에 저장 (SUMMARY / HOST_SCRIPT / MARKETING_POINTS 3행)
+     * - 1회 호출의 토큰 사용량은 행마다 나눠서 기록 (합계는 실제 usage 와 같음)
+     * - 저장 순서대로 DTO 반환
+     */
+    List<OcrGptResultDto> saveGeneration(Long ocrResultId, OcrAiGenerationDto generation, Double temperature);
+
     /**
      * 특정 OCR 결과에 대한 GPT 결과 전체 조회 (최신순)
      */
@@ -1,5 +1,6 @@
 package com.example.bboo_technology.Service.Ocrservice;
 
+import com.example.bboo_technology.DTO.OcrAiGenerationDto;
 import com.example.bboo_technology.DTO.OcrGptResultDto;
 import com.example.bboo_technology.Entiry.OcrGptResult;
 import com.example.bboo_technology.Entiry.OcrResult;
@@ -31,6 +32,11 @@ public class OcrGptResultServiceImpl implements OcrGptResultService {
     private final OcrResultRepository ocrResultRepository;
     private final ModelMapper modelMapper;  // 공용 ModelMapper Bean
 
+    // (추가) GPT 결과 타입 - OcrController 의 GPT_TYPE_* 와 동일
+    private static final String GPT_TYPE_SUMMARY          = "SUMMARY";
+    private static final String GPT_TYPE_HOST_SCRIPT      = "HOST_SCRIPT";
+    private static final String GPT_TYPE_MARKETING_POINTS = "MARKETING_POINTS";
+
     // ====================================================
     // public 메서드
     // ====================================================
@@ -72,6 +78,68 @@ public class OcrGptResultServiceImpl implements OcrGptResultService {
         }
     }
 
+    /**
+     * (추가) 통합 생성 결과 3행 저장
+     *
+     * - 한 트랜잭션에서 저장 (3행 중 일부만 남지 않게)
+     * - 토큰 분배:
+     *   - prompt     : 세 결과가 같은 입력을 공유하므로 균등 분배 (나머지는 SUMMARY 에)
+     *   - completion : 결과 텍스트 길이 비율로 분배
+     */
+    @Override
+    @Transactional
+    public List<OcrGptResultDto> saveGeneration(Long ocrResultId, OcrAiGenerationDto generation, Double temperature) {
+
+        try {
+            if (ocrResultId == null) {
+                throw new IllegalArgumentException("OCR 결과 ID(ocrResultId)는 필수입니다.");
+            }
+            if (generation == null) {
+                throw new IllegalArgumentException("저장할 AI 생성 결과가 없습니다.");
+            }
+
+            OcrResult ocrResult = loadOcrResult(ocrResultId);
+
+            List<String> types = List.of(GPT_TYPE_SUMMARY, GPT_TYPE_HOST_SCRIPT, GPT_TYPE_MARKETING_POINTS);
+            List<String> contents = List.of(
+                    safeContent(generation.getSummary()),
+                    safeContent(generation.getHostScript()),
+                    safeContent(generation.getMarketingPoints()));
+
+            int[] promptShares = splitEvenly(generation.getPromptTokens(), contents.size());
+            int[] completionShares = splitByLength(generation.getCompletionTokens(), contents);
+
+            List<OcrGptResultDto> savedDtos = new ArrayList<>();
+            for (int i = 0; i < types.size(); i++) {
+                OcrGptResult entity = OcrGptResult.builder()
+                        .ocrResult(ocrResult)
+                        .resultType(types.get(i))
+                        .content(contents.get(i))
+                        .model(generation.getModel())
+                        .temperature(temperature)
+                        .promptTokens(promptShares[i])
+                        .completionTokens(completionShares[i])
+                        .totalTokens(promptShares[i] + completionShares[i])
+                        .build();
+                savedDtos.add(toDto(ocrGptResultRepository.save(entity)));
+            }
+
+            log.info("GPT 통합 생성 결과 저장 완료 - ocrResultId={}, mode={}, ids={}",
+                    ocrResultId,
+                    generation.getMode(),
+                    savedDtos.stream().map(OcrGptResultDto::getId).toList());
+
+            return savedDtos;
+
+        } catch (IllegalArgumentException e) {
+            log.warn("GPT 통합 생성 결과 저장 실패(입력값 오류): {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("GPT 통합 생성 결과 저장 중 예외 발생 - ocrResultId={}", ocrResultId, e);
+            throw new RuntimeException("GPT 결과를 저장하는 중 오류가 발생했습니다.", e);
+        }
+    }
+
     /**
      * 특정 OCR 결과에 대한 GPT 결과 전체 조회 (최신순)
      */
@@ -166,6 +234,43 @@ public class OcrGptResultServiceImpl implements OcrGptResultService {
                 ));
     }
 
+    /**
+     * (추가) content 컬럼은 NOT NULL
+     */
+    private String safeContent(String content) {
+        return (content != null) ? content : "";
+    }
+
+    /**
+     * (추가) total 을 parts 개로 균등 분배 (나머지는 앞쪽부터 1씩)
+     */
+    private int[] splitEvenly(int total, int parts) {
+        int[] shares = new int[parts];
+        for (int i = 0; i < parts; i++) {
+            shares[i] = total / parts + ((i < total % parts) ? 1 : 0);
+        }
+        return shares;
+    }
+
+    /**
+     * (추가) total 을 텍스트 길이 비율로 분배 (합계가 total 과 같도록 마지막 항목에서 보정)
+     */
+    private int[] splitByLength(int total, List<String> contents) {
+        long totalLength = contents.stream().mapToLong(String::length).sum();
+        if (totalLength == 0) {
+            return splitEvenly(total, contents.size());
+        }
+
+        int[] shares = new int[contents.size()];
+        int assigned = 0;
+        for (int i = 0; i < contents.size() - 1; i++) {
+            shares[i] = (int) Math.round((double) total * contents.get(i).length() / totalLength);
+            assigned += shares[i];
+        }
+        shares[contents.size() - 1] = Math.max(0, total - assigned);
+        return shares;
+    }
+
     /**
      * DTO -> 엔티티 기본 매핑 (연관관계는 별도 세팅)
      */
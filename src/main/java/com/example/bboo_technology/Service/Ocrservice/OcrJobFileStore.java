@@ -0,0 +1,95 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrJobProperties;
+import com.example.bboo_technology.util.ContentHash;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+/**
+ * (추가) 체크포인트 OCR 작업의 원본 PDF 보관소.
+ *
+ * - 지연 OCR 용 OcrDocumentStore 는 LRU 로 오래된 파일을 지우므로, 실행 중/대기 중인 작업의 파일이 사라질 수 있다.
+ *   작업 파일은 이 보관소(ocr.job.storage-dir)에 따로 두고 개수 제한으로 지우지 않는다.
+ * - 파일명 = 콘텐츠 해시 → 재시작 후에도 OcrJob.filePath 로 그대로 다시 연다.
+ * - 작업이 완료되면(페이지 결과는 체크포인트에 있음) 파일을 삭제한다. 실패한 작업의 파일은 재시도를 위해 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OcrJobFileStore {
+
+    private static final String EXTENSION = ".pdf";
+
+    private final OcrJobProperties jobProperties;
+
+    private Path storageDir;
+
+    @PostConstruct
+    void init() throws IOException {
+        String configured = jobProperties.getStorageDir();
+        if (configured == null || configured.isBlank()) {
+            throw new IllegalStateException("ocr.job.storage-dir 를 설정해 주세요. (체크포인트 작업 원본 PDF 보관 경로)");
+        }
+        this.storageDir = Paths.get(configured).toAbsolutePath().normalize();
+        Files.createDirectories(storageDir);
+
+        log.info("OcrJobFileStore initialized - dir={}", storageDir);
+    }
+
+    /**
+     * 업로드 파일을 디스크로 흘려 쓰면서 SHA-256 계산 → 해시 이름으로 보관
+     * - 같은 내용의 파일이 이미 있으면 기존 파일을 그대로 사용한다.
+     */
+    public StoredFile store(InputStreamSource source) throws IOException {
+        Path tempFile = Files.createTempFile(storageDir, "upload-", ".part");
+        try {
+            MessageDigest digest = ContentHash.newDigest();
+            try (InputStream in = new DigestInputStream(source.getInputStream(), digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String contentHash = ContentHash.toHex(digest.digest());
+
+            Path target = storageDir.resolve(contentHash + EXTENSION);
+            if (!Files.exists(target)) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StoredFile(contentHash, target);
+
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * 완료된 작업의 원본 파일 삭제
+     */
+    public void delete(String contentHash) {
+        deleteQuietly(storageDir.resolve(contentHash + EXTENSION));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("작업 파일 삭제 실패 - path={}", path, e);
+        }
+    }
+
+    /**
+     * 보관된 작업 파일
+     */
+    public record StoredFile(String contentHash, Path path) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.DTO.OcrJobDto;
+import com.example.bboo_technology.DTO.OcrResultDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * (추가) 체크포인트 기반 PDF OCR 작업 서비스.
+ *
+ * - 페이지가 끝날 때마다 ocr_page_checkpoint 에 저장하므로, 중간에 실패/재시작해도 끝난 페이지는 다시 OCR 하지 않는다.
+ * - 작업은 백그라운드로 실행되고, 상태는 getJob 으로 조회한다.
+ */
+public interface OcrJobService {
+
+    /**
+     * PDF 업로드 → 작업 등록 후 바로 반환 (같은 파일의 기존 작업이 있으면 이어서 처리)
+     */
+    OcrJobDto submit(MultipartFile file);
+
+    /**
+     * 실패한 작업 재시도 (체크포인트가 없는 페이지만 처리)
+     */
+    OcrJobDto retry(Long jobId);
+
+    OcrJobDto getJob(Long jobId);
+
+    /**
+     * 작업 목록 (최신순)
+     */
+    List<OcrJobDto> findAll();
+
+    /**
+     * 완료된 작업의 페이지 체크포인트를 합쳐 OcrResultDto 로 반환
+     */
+    OcrResultDto getResult(Long jobId);
+}
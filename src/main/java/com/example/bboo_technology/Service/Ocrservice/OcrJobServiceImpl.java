@@ -0,0 +1,325 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrJobProperties;
+import com.example.bboo_technology.DTO.OcrJobDto;
+import com.example.bboo_technology.DTO.OcrResultDto;
+import com.example.bboo_technology.Entiry.OcrJob;
+import com.example.bboo_technology.Entiry.OcrPageCheckpoint;
+import com.example.bboo_technology.Repository.OcrJobRepository;
+import com.example.bboo_technology.Repository.OcrPageCheckpointRepository;
+import com.example.bboo_technology.enums.OcrJobStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * (추가) OcrJobService 기본 구현체.
+ *
+ * - 흐름:
+ *   1) 업로드 PDF 를 OcrJobFileStore 에 보관 (콘텐츠 해시 = 작업 키)
+ *      (변경) 지연 OCR 보관소(OcrDocumentStore)는 LRU 로 파일을 지우므로 작업 파일은 전용 보관소에 둔다
+ *   2) 작업 스레드에서 체크포인트가 없는 페이지만 OCR → 페이지마다 OcrPageCache(ocr_page_checkpoint) 에 즉시 저장
+ *   3) 모든 페이지가 끝나면 COMPLETED + 원본 파일 삭제, 중간 오류는 FAILED (끝난 페이지와 원본 파일은 그대로 남음)
+ * - 애플리케이션이 작업 도중 종료되면 상태가 RUNNING 으로 남으므로, 다음 기동 시 ApplicationReadyEvent 에서 다시 큐에 넣는다.
+ * - 작업 엔티티 갱신은 트랜잭션 없이 Repository 기본 트랜잭션으로 처리해서 페이지마다 바로 커밋되게 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OcrJobServiceImpl implements OcrJobService {
+
+    private final OcrJobRepository jobRepository;
+    private final OcrPageCheckpointRepository checkpointRepository;
+    private final OcrJobFileStore jobFileStore;
+    private final OcrPageCache pageCache;
+    private final PdfOcrProcessor pdfOcrProcessor;
+    private final OcrFacadeService ocrFacadeService;
+    private final OcrJobProperties jobProperties;
+
+    private ExecutorService jobExecutor;
+
+    // 큐에 들어가 있거나 실행 중인 작업 ID (같은 작업 중복 실행 방지)
+    private final Set<Long> queuedJobs = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        this.jobExecutor = Executors.newFixedThreadPool(Math.max(1, jobProperties.getConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "ocr-job-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // 실행 중인 작업은 RUNNING 으로 남고, 다음 기동 시 재개된다
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * 기동 시 중단된(RUNNING) 작업 재개
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!jobProperties.isResumeOnStartup()) {
+            return;
+        }
+        List<OcrJob> interrupted = jobRepository.findAllByStatus(OcrJobStatus.RUNNING);
+        if (!interrupted.isEmpty()) {
+            log.info("중단된 OCR 작업 재개 - count={}", interrupted.size());
+        }
+        interrupted.forEach(job -> enqueue(job.getId()));
+    }
+
+    @Override
+    public OcrJobDto submit(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new OcrProcessingException("업로드할 파일을 선택해 주세요.");
+        }
+
+        String fileName = (file.getOriginalFilename() != null) ? file.getOriginalFilename() : "unnamed";
+        String fileType = ocrFacadeService.detectFileType(fileName, file.getContentType());
+        if (!OcrFacadeService.FILE_TYPE_PDF.equals(fileType)) {
+            throw new OcrProcessingException("체크포인트 작업은 PDF 파일만 지원합니다.");
+        }
+
+        OcrJobFileStore.StoredFile stored;
+        try {
+            stored = jobFileStore.store(file);
+        } catch (IOException e) {
+            log.error("OCR 작업 파일 저장 중 오류 발생 - filename={}", fileName, e);
+            throw new OcrProcessingException("파일을 저장하는 중 오류가 발생했습니다.", e);
+        }
+        int pageCount = pdfOcrProcessor.countPages(new FileSystemResource(stored.path()));
+
+        OcrJob saved;
+        try {
+            saved = saveSubmittedJob(stored, fileName, pageCount);
+        } catch (DataIntegrityViolationException e) {
+            // (추가) 같은 파일을 동시에 제출해서 content_hash 유니크 제약에 걸린 경우 → 먼저 등록된 작업을 다시 읽어서 사용
+            log.info("같은 파일의 작업이 동시에 등록됨 - 기존 작업으로 처리 (contentHash={})", stored.contentHash());
+            saved = saveSubmittedJob(stored, fileName, pageCount);
+        }
+
+        if (saved.getStatus() == OcrJobStatus.COMPLETED) {
+            // 결과는 체크포인트에 있으므로 다시 올린 원본 파일은 필요 없음
+            jobFileStore.delete(saved.getContentHash());
+            return toDto(saved);
+        }
+
+        enqueue(saved.getId());
+        return toDto(saved);
+    }
+
+    /**
+     * 같은 파일의 작업이 있으면 이어서 처리, 없으면 새로 등록
+     */
+    private OcrJob saveSubmittedJob(OcrJobFileStore.StoredFile stored, String fileName, int pageCount) {
+        OcrJob job = jobRepository.findByContentHash(stored.contentHash())
+                .orElseGet(() -> OcrJob.builder()
+                        .contentHash(stored.contentHash())
+                        .originalFileName(fileName)
+                        .pageCount(pageCount)
+                        .build());
+
+        job.setFilePath(stored.path().toAbsolutePath().toString());
+        job.setCompletedPages(pageCache.cachedPageIndexes(stored.contentHash()).size());
+
+        if (job.getStatus() != OcrJobStatus.COMPLETED) {
+            job.setStatus(OcrJobStatus.RUNNING);
+            job.setErrorMessage(null);
+        }
+        return jobRepository.save(job);
+    }
+
+    @Override
+    public OcrJobDto retry(Long jobId) {
+        OcrJob job = findJob(jobId);
+        if (job.getStatus() == OcrJobStatus.FAILED) {
+            job.setStatus(OcrJobStatus.RUNNING);
+            job.setErrorMessage(null);
+            job = jobRepository.save(job);
+        }
+        if (job.getStatus() == OcrJobStatus.RUNNING) {
+            enqueue(job.getId());
+        }
+        return toDto(job);
+    }
+
+    @Override
+    public OcrJobDto getJob(Long jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    @Override
+    public List<OcrJobDto> findAll() {
+        return jobRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    public OcrResultDto getResult(Long jobId) {
+        OcrJob job = findJob(jobId);
+        if (job.getStatus() != OcrJobStatus.COMPLETED) {
+            throw new OcrProcessingException("아직 완료되지 않은 작업입니다. (" + job.getCompletedPages() + "/" + job.getPageCount() + " 페이지)");
+        }
+
+        List<OcrPageCheckpoint> checkpoints = checkpointRepository.findAllByContentHashOrderByPageIndexAsc(job.getContentHash());
+
+        // PdfOcrProcessor 결과와 같은 페이지 구분선 형식으로 조립
+        StringBuilder sb = new StringBuilder();
+        for (OcrPageCheckpoint checkpoint : checkpoints) {
+            sb.append("=== PAGE ").append(checkpoint.getPageIndex() + 1).append(" ===\n");
+            sb.append(checkpoint.getPageText() != null ? checkpoint.getPageText() : "").append("\n\n");
+        }
+
+        return OcrResultDto.builder()
+                .id(null)
+                .originalFileName(job.getOriginalFileName())
+                .fileType(OcrFacadeService.FILE_TYPE_PDF)
+                .pageCount(job.getPageCount())
+                .pageConfidences(checkpoints.stream()
+                        .map(checkpoint -> (checkpoint.getConfidence() != null) ? checkpoint.getConfidence() : 0.0)
+                        .toList())
+                .title("")
+                .ocrText(sb.toString())
+                .editedText(null)
+                .translatedText(null)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(null)
+                .saved(false)
+                .build();
+    }
+
+    // =========================
+    // 작업 실행
+    // =========================
+
+    private void enqueue(Long jobId) {
+        if (!queuedJobs.add(jobId)) {
+            return;
+        }
+        jobExecutor.submit(() -> {
+            try {
+                run(jobId);
+            } finally {
+                queuedJobs.remove(jobId);
+            }
+        });
+    }
+
+    /**
+     * 체크포인트가 없는 페이지만 OCR (작업 스레드)
+     */
+    private void run(Long jobId) {
+        OcrJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != OcrJobStatus.RUNNING) {
+            return;
+        }
+
+        String contentHash = job.getContentHash();
+        Set<Integer> donePages = new HashSet<>(pageCache.cachedPageIndexes(contentHash));
+
+        // (추가) 모든 페이지 체크포인트가 이미 있으면 원본 파일 없이 완료 처리 (완료 직후 같은 파일을 다시 제출한 경우 등)
+        if (donePages.size() >= job.getPageCount()) {
+            markCompleted(jobId, donePages.size());
+            jobFileStore.delete(contentHash);
+            return;
+        }
+
+        Path filePath = Paths.get(job.getFilePath());
+        if (!Files.exists(filePath)) {
+            markFailed(jobId, "원본 파일이 없습니다. 같은 파일을 다시 업로드하면 남은 페이지부터 이어서 처리합니다.");
+            return;
+        }
+
+        AtomicInteger completed = new AtomicInteger(donePages.size());
+        long start = System.currentTimeMillis();
+
+        log.info("OCR 작업 시작 - jobId={}, filename={}, pages={}, alreadyDone={}",
+                jobId, job.getOriginalFileName(), job.getPageCount(), donePages.size());
+
+        try {
+            pdfOcrProcessor.processPages(new FileSystemResource(filePath),
+                    pageIndex -> !donePages.contains(pageIndex),
+                    (pageIndex, result) -> {
+                        // 페이지 체크포인트 즉시 저장 + 진행률 갱신
+                        pageCache.put(contentHash, pageIndex, result);
+                        updateProgress(jobId, completed.incrementAndGet());
+                    });
+
+            markCompleted(jobId, pageCache.cachedPageIndexes(contentHash).size());
+            jobFileStore.delete(contentHash);
+            log.info("OCR 작업 완료 - jobId={}, elapsedMs={}", jobId, System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("OCR 작업 실패 - jobId={}, completedPages={}", jobId, completed.get(), e);
+            markFailed(jobId, e.getMessage());
+        }
+    }
+
+    private void updateProgress(Long jobId, int completedPages) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setCompletedPages(completedPages);
+            jobRepository.save(job);
+        });
+    }
+
+    private void markCompleted(Long jobId, int completedPages) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setCompletedPages(completedPages);
+            job.setStatus(OcrJobStatus.COMPLETED);
+            job.setErrorMessage(null);
+            jobRepository.save(job);
+        });
+    }
+
+    private void markFailed(Long jobId, String message) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(OcrJobStatus.FAILED);
+            job.setErrorMessage((message != null && message.length() > 1000) ? message.substring(0, 1000) : message);
+            jobRepository.save(job);
+        });
+    }
+
+    private OcrJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new OcrProcessingException("OCR 작업을 찾을 수 없습니다. id=" + jobId));
+    }
+
+    private OcrJobDto toDto(OcrJob job) {
+        return OcrJobDto.builder()
+                .id(job.getId())
+                .contentHash(job.getContentHash())
+                .originalFileName(job.getOriginalFileName())
+                .pageCount(job.getPageCount())
+                .completedPages(job.getCompletedPages())
+                .status(job.getStatus() != null ? job.getStatus().name() : null)
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
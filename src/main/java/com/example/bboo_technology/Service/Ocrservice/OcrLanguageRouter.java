@@ -0,0 +1,160 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrRoutingProperties;
+import com.example.bboo_technology.Config.TesseractEngineFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.ITesseract;
+import org.springframework.stereotype.Component;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * (추가) 페이지 이미지의 스크립트(한글 포함 여부)를 빠르게 판별하여
+ * 실제 OCR 에 사용할 "최소 언어 조합"을 골라주는 라우터.
+ *
+ * - 방식: 축소한 샘플 이미지로 1차 OCR(probe-language, sparse text 모드, FAST 학습 데이터)을 돌린 뒤
+ *         한글/영문 문자 수를 세어서 kor+eng 또는 eng 를 선택한다.
+ * - 영문 전용 페이지(성분표, 스펙표 등)는 eng 단일 모델로 처리되어 kor+eng 대비 빠르다.
+ * - 샘플에서 글자를 하나도 못 찾으면 안전하게 기본 언어(tesseract.language)로 처리한다.
+ * - (변경) 2단계 OCR 에서는 1차(FAST, 기본 언어) 결과가 충분히 믿을 만하면 라우팅 자체를 하지 않고,
+ *   ACCURATE 재실행이 필요할 때만 1차 결과의 글자로 판별한다. (글자가 너무 적을 때만 샘플 OCR)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OcrLanguageRouter {
+
+    private final TesseractEngineFactory tesseractEngineFactory;
+    private final OcrRoutingProperties routingProperties;
+
+    /**
+     * 페이지 이미지에 사용할 Tesseract 언어 문자열을 결정한다.
+     *
+     * @param pageImage 페이지 이미지
+     * @return 예) "eng", "kor+eng"
+     */
+    public String resolveLanguage(BufferedImage pageImage) {
+        String defaultLanguage = tesseractEngineFactory.getDefaultLanguage();
+
+        if (!routingProperties.isEnabled() || pageImage == null) {
+            return defaultLanguage;
+        }
+
+        try {
+            BufferedImage sample = downscale(pageImage, routingProperties.getSampleMaxWidth());
+
+            // sparse text 모드: 레이아웃 분석을 최소화해서 글자만 빠르게 찾는다.
+            // (변경) 스크립트만 세면 되므로 FAST 학습 데이터(tessdata_fast)로 판별
+            ITesseract probe = tesseractEngineFactory.create(
+                    routingProperties.getProbeLanguage(),
+                    ITessAPI.TessPageSegMode.PSM_SPARSE_TEXT,
+                    TesseractEngineFactory.Profile.FAST
+            );
+            String sampleText = probe.doOCR(sample);
+
+            String language = chooseLanguage(sampleText, defaultLanguage);
+            log.debug("OCR 언어 라우팅 - sampleLength={}, language={}",
+                    (sampleText != null ? sampleText.length() : 0), language);
+            return language;
+
+        } catch (Exception e) {
+            // 라우팅 실패는 OCR 실패가 아니므로 기본 언어로 계속 진행
+            log.warn("OCR 언어 라우팅 실패 → 기본 언어 사용 ({}): {}", defaultLanguage, e.getMessage());
+            return defaultLanguage;
+        }
+    }
+
+    /**
+     * (추가) 1차(FAST) OCR 결과로 언어 조합 결정 - 글자가 충분하면 샘플 OCR 없이 그 결과의 스크립트 분포로 판별
+     * - 글자가 min-text-chars 미만(거의 빈 페이지 / 인식 실패)일 때만 resolveLanguage(pageImage) 로 샘플 OCR
+     *
+     * @param recognizedText 1차 OCR 텍스트 (기본 언어 조합으로 인식한 결과)
+     * @param pageImage      샘플 OCR 에 쓸 페이지 이미지
+     */
+    public String resolveLanguage(String recognizedText, BufferedImage pageImage) {
+        String defaultLanguage = tesseractEngineFactory.getDefaultLanguage();
+        if (!routingProperties.isEnabled()) {
+            return defaultLanguage;
+        }
+
+        ScriptCounts counts = countScripts(recognizedText);
+        if (counts.letters() >= routingProperties.getMinTextChars()) {
+            String language = chooseLanguage(counts, defaultLanguage);
+            log.debug("OCR 언어 라우팅 (1차 결과) - letters={}, language={}", counts.letters(), language);
+            return language;
+        }
+        return resolveLanguage(pageImage);
+    }
+
+    // =========================
+    // 내부 헬퍼
+    // =========================
+
+    /**
+     * 샘플 텍스트의 스크립트 분포로 언어 조합 결정
+     */
+    private String chooseLanguage(String sampleText, String defaultLanguage) {
+        return chooseLanguage(countScripts(sampleText), defaultLanguage);
+    }
+
+    private String chooseLanguage(ScriptCounts counts, String defaultLanguage) {
+        if (counts.letters() == 0) {
+            return defaultLanguage;
+        }
+
+        double ratio = (double) counts.hangul() / counts.letters();
+        if (counts.hangul() >= routingProperties.getMinHangulChars() || ratio >= routingProperties.getHangulRatio()) {
+            return routingProperties.getMixedLanguage();
+        }
+        return routingProperties.getLatinLanguage();
+    }
+
+    private ScriptCounts countScripts(String text) {
+        int hangul = 0;
+        int latin = 0;
+        if (text != null) {
+            for (int i = 0; i < text.length(); i++) {
+                Character.UnicodeScript script = Character.UnicodeScript.of(text.charAt(i));
+                if (script == Character.UnicodeScript.HANGUL) {
+                    hangul++;
+                } else if (script == Character.UnicodeScript.LATIN) {
+                    latin++;
+                }
+            }
+        }
+        return new ScriptCounts(hangul, latin);
+    }
+
+    private record ScriptCounts(int hangul, int latin) {
+        int letters() {
+            return hangul + latin;
+        }
+    }
+
+    /**
+     * 가로 maxWidth 이하로 비율 유지 축소 (이미 작으면 원본 그대로)
+     */
+    private BufferedImage downscale(BufferedImage source, int maxWidth) {
+        if (maxWidth <= 0 || source.getWidth() <= maxWidth) {
+            return source;
+        }
+
+        double scale = (double) maxWidth / source.getWidth();
+        int width = maxWidth;
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import net.sourceforge.tess4j.Word;
+
+import java.awt.Rectangle;
+import java.util.List;
+
+/**
+ * (추가) 줄(RIL_TEXTLINE) 인식 결과 → 페이지 텍스트.
+ *
+ * - 줄마다 줄바꿈, 문단(RIL_PARA)이 바뀌는 곳에는 빈 줄을 넣는다. (doOCR 결과와 같은 문단 구분)
+ * - 문단 구분은 TokenCounter.split (문단 경계 분할) / OcrTextNormalizer (중복 문단 제거) 가 사용한다.
+ * - 줄 영역의 중심이 들어 있는 문단 영역으로 문단을 판단하고, 어느 문단에도 없으면 앞 줄과 같은 문단으로 본다.
+ */
+final class OcrLineJoiner {
+
+    private OcrLineJoiner() {
+    }
+
+    static String join(List<Word> lines, List<Rectangle> paragraphs) {
+        StringBuilder sb = new StringBuilder();
+        int previousParagraph = -1;
+        for (Word line : lines) {
+            String text = line.getText();
+            if (text == null) {
+                continue;
+            }
+
+            int paragraph = paragraphOf(line.getBoundingBox(), paragraphs, previousParagraph);
+            if (previousParagraph >= 0 && paragraph != previousParagraph && !endsWithBlankLine(sb)) {
+                sb.append('\n');
+            }
+            previousParagraph = paragraph;
+
+            sb.append(text);
+            if (!text.endsWith("\n")) {
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int paragraphOf(Rectangle box, List<Rectangle> paragraphs, int fallback) {
+        if (box == null || paragraphs == null) {
+            return fallback;
+        }
+        int centerX = box.x + box.width / 2;
+        int centerY = box.y + box.height / 2;
+        for (int i = 0; i < paragraphs.size(); i++) {
+            if (paragraphs.get(i).contains(centerX, centerY)) {
+                return i;
+            }
+        }
+        return fallback;
+    }
+
+    private static boolean endsWithBlankLine(StringBuilder sb) {
+        int length = sb.length();
+        return length >= 2 && sb.charAt(length - 1) == '\n' && sb.charAt(length - 2) == '\n';
+    }
+}
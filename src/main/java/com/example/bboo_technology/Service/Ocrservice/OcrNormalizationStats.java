@@ -0,0 +1,67 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrNormalizeProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) OCR 텍스트 정리(OcrTextNormalizer) 토큰 절감 집계.
+ *
+ * - 문서마다 record(...) 로 누적하고, 최근 문서별 리포트는 ocr.normalize.recent-reports 개까지 보관한다.
+ * - /api/ocr/metrics/normalization 에서 snapshot() 결과를 JSON 으로 확인할 수 있다.
+ * - 애플리케이션 재시작 시 초기화되는 메모리 집계이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OcrNormalizationStats {
+
+    private final OcrNormalizeProperties properties;
+
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder originalTokens = new LongAdder();
+    private final LongAdder normalizedTokens = new LongAdder();
+
+    // 최근 문서 리포트 (최신이 앞)
+    private final Deque<OcrTextNormalizer.Report> recent = new ArrayDeque<>();
+
+    public void record(OcrTextNormalizer.Report report) {
+        documents.increment();
+        originalTokens.add(report.originalTokens());
+        normalizedTokens.add(report.normalizedTokens());
+
+        synchronized (recent) {
+            recent.addFirst(report);
+            while (recent.size() > Math.max(1, properties.getRecentReports())) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    public Summary snapshot() {
+        long original = originalTokens.sum();
+        long normalized = normalizedTokens.sum();
+        List<OcrTextNormalizer.Report> reports;
+        synchronized (recent) {
+            reports = new ArrayList<>(recent);
+        }
+        return new Summary(documents.sum(), original, normalized,
+                (original > 0) ? 1.0 - (double) normalized / original : 0.0,
+                reports);
+    }
+
+    /**
+     * 전체 누적 + 최근 문서별 리포트
+     */
+    public record Summary(long documents,
+                          long originalTokens,
+                          long normalizedTokens,
+                          double tokenReductionRatio,
+                          List<OcrTextNormalizer.Report> recentDocuments) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrEscalationProperties;
+import com.example.bboo_technology.Config.OcrLazyProperties;
+import com.example.bboo_technology.Config.OcrRoutingProperties;
+import com.example.bboo_technology.Config.TesseractEngineFactory;
+import com.example.bboo_technology.Entiry.OcrPageCheckpoint;
+import com.example.bboo_technology.Repository.OcrPageCheckpointRepository;
+import com.example.bboo_technology.enums.OcrJobStatus;
+import com.example.bboo_technology.util.ContentHash;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.TessAPI;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * (추가) 페이지 단위 OCR 결과 캐시 (메모리 LRU + DB 체크포인트).
+ *
+ * - 키: 문서 콘텐츠 해시 + 페이지 인덱스 (같은 파일이면 업로드를 다시 해도 재사용)
+ * - put 하는 즉시 ocr_page_checkpoint 에 저장(커밋)되므로, 처리 도중 장애가 나도 끝난 페이지는 남는다.
+ * - 지연 OCR / 체크포인트 작업(OcrJob) 이 이 캐시를 공유한다.
+ *   (변경) 동기 업로드 PDF OCR 은 체크포인트를 쓰지 않는다 (이어서 처리할 일이 없는 요청까지 테이블에 쌓이지 않게)
+ * - (추가) 체크포인트마다 OCR 설정 지문(언어 / 학습 데이터 경로 / DPI / 승격 기준 / 라우팅 / 엔진 버전)을 저장하고,
+ *   지문이 다른 체크포인트는 없는 것으로 본다. → 설정을 바꾼 뒤 같은 파일을 올리면 다시 OCR
+ *   기동 시 지문이 다른 체크포인트는 삭제한다. (완료된 OcrJob 결과는 작업 결과 조회에 쓰므로 유지)
+ * - 호출 측이 트랜잭션 밖에서 호출해야 페이지마다 바로 커밋된다. (Repository 기본 트랜잭션 사용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OcrPageCache {
+
+    // OCR 처리 코드(줄 결합 / 문단 구분 / 승격 흐름)를 바꿔 같은 설정에서도 결과가 달라지면 올린다
+    private static final String PIPELINE_VERSION = "2";
+
+    private final OcrLazyProperties lazyProperties;
+    private final OcrPageCheckpointRepository checkpointRepository;
+    private final TesseractEngineFactory tesseractEngineFactory;
+    private final OcrEscalationProperties escalationProperties;
+    private final OcrRoutingProperties routingProperties;
+
+    private Map<String, PageOcrProcessor.PageOcrResult> pages;
+
+    // 현재 OCR 설정 지문 (SHA-256 16진수)
+    private String fingerprint;
+
+    @PostConstruct
+    void init() {
+        this.fingerprint = settingsFingerprint();
+        int maxPages = Math.max(1, lazyProperties.getMaxCachedPages());
+        this.pages = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PageOcrProcessor.PageOcrResult> eldest) {
+                return size() > maxPages;
+            }
+        });
+    }
+
+    /**
+     * 메모리 → DB 체크포인트 순서로 조회
+     */
+    public Optional<PageOcrProcessor.PageOcrResult> get(String contentHash, int pageIndex) {
+        String key = key(contentHash, pageIndex);
+        PageOcrProcessor.PageOcrResult cached = pages.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<PageOcrProcessor.PageOcrResult> stored = checkpointRepository
+                .findByContentHashAndPageIndex(contentHash, pageIndex)
+                .filter(this::isCurrent)
+                .map(this::toResult);
+        stored.ifPresent(result -> pages.put(key, result));
+        return stored;
+    }
+
+    /**
+     * 페이지 결과 저장 (메모리 + DB 체크포인트 즉시 커밋)
+     */
+    public void put(String contentHash, int pageIndex, PageOcrProcessor.PageOcrResult result) {
+        pages.put(key(contentHash, pageIndex), result);
+
+        Optional<OcrPageCheckpoint> existing = checkpointRepository.findByContentHashAndPageIndex(contentHash, pageIndex);
+        if (existing.filter(this::isCurrent).isPresent()) {
+            return;
+        }
+        if (existing.isPresent()) {
+            // 예전 설정으로 만든 체크포인트 → 같은 문서의 예전 체크포인트를 지우고 현재 설정 결과로 저장
+            checkpointRepository.deleteStale(contentHash, fingerprint);
+        }
+        try {
+            checkpointRepository.save(OcrPageCheckpoint.builder()
+                    .contentHash(contentHash)
+                    .settingsFingerprint(fingerprint)
+                    .pageIndex(pageIndex)
+                    .pageText(result.getText())
+                    .confidence(result.getConfidence())
+                    .language(result.getLanguage())
+                    .tier(result.getTier())
+                    .elapsedMillis(result.getElapsedMillis())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 같은 페이지를 먼저 저장한 경우 (unique 제약) → 결과가 같으므로 무시
+            log.debug("체크포인트 중복 저장 무시 - hash={}, page={}", contentHash, pageIndex + 1);
+        }
+    }
+
+    public boolean contains(String contentHash, int pageIndex) {
+        return pages.containsKey(key(contentHash, pageIndex))
+                || checkpointRepository.findByContentHashAndPageIndex(contentHash, pageIndex).filter(this::isCurrent).isPresent();
+    }
+
+    /**
+     * 현재 설정으로 만든 체크포인트가 있는 페이지 인덱스 목록 (오름차순)
+     */
+    public List<Integer> cachedPageIndexes(String contentHash) {
+        return checkpointRepository.findPageIndexesByContentHashAndFingerprint(contentHash, fingerprint);
+    }
+
+    /**
+     * (추가) 기동 시 다른 설정 지문 체크포인트 정리 (완료된 OcrJob 결과는 유지)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeStaleCheckpoints() {
+        try {
+            int deleted = checkpointRepository.deleteAllStale(fingerprint, OcrJobStatus.COMPLETED);
+            if (deleted > 0) {
+                log.info("OCR 설정 변경으로 예전 페이지 체크포인트 삭제 - count={}", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("예전 페이지 체크포인트 정리 실패 - 조회 시 지문 비교로 재사용만 막음 ({})", e.getMessage());
+        }
+    }
+
+    private boolean isCurrent(OcrPageCheckpoint checkpoint) {
+        return fingerprint.equals(checkpoint.getSettingsFingerprint());
+    }
+
+    /**
+     * OCR 결과에 영향을 주는 설정 + 엔진 버전 → SHA-256
+     */
+    private String settingsFingerprint() {
+        String settings = String.join("|",
+                "pipeline=" + PIPELINE_VERSION,
+                "tesseract=" + tesseractVersion(),
+                "datapath=" + tesseractEngineFactory.getDataPath(),
+                "fastDatapath=" + tesseractEngineFactory.getFastDataPath(),
+                "language=" + tesseractEngineFactory.getDefaultLanguage(),
+                "escalation=" + escalationProperties.isEnabled()
+                        + "," + escalationProperties.getFastPageSegMode()
+                        + "," + escalationProperties.getFastDpi()
+                        + "," + escalationProperties.getAccurateDpi()
+                        + "," + escalationProperties.getPageConfidenceThreshold()
+                        + "," + escalationProperties.getLineConfidenceThreshold()
+                        + "," + escalationProperties.getMaxLineRetries(),
+                "routing=" + routingProperties.isEnabled()
+                        + "," + routingProperties.getProbeLanguage()
+                        + "," + routingProperties.getSampleMaxWidth()
+                        + "," + routingProperties.getHangulRatio()
+                        + "," + routingProperties.getMinHangulChars()
+                        + "," + routingProperties.getLatinLanguage()
+                        + "," + routingProperties.getMixedLanguage()
+                        + "," + routingProperties.getMinTextChars());
+        String hash = ContentHash.sha256Hex(settings.getBytes(StandardCharsets.UTF_8));
+        log.info("OCR 설정 지문 - {} ({})", hash.substring(0, 12), settings);
+        return hash;
+    }
+
+    private String tesseractVersion() {
+        try {
+            return TessAPI.INSTANCE.TessVersion();
+        } catch (Throwable e) {
+            // 네이티브 라이브러리를 못 읽어도 캐시는 동작해야 하므로 버전만 비워 둔다
+            log.warn("Tesseract 버전 확인 실패 - 설정 지문에서 제외 ({})", e.toString());
+            return "unknown";
+        }
+    }
+
+    private PageOcrProcessor.PageOcrResult toResult(OcrPageCheckpoint checkpoint) {
+        return new PageOcrProcessor.PageOcrResult(
+                checkpoint.getPageText(),
+                checkpoint.getLanguage(),
+                (checkpoint.getElapsedMillis() != null) ? checkpoint.getElapsedMillis() : 0L,
+                (checkpoint.getConfidence() != null) ? checkpoint.getConfidence() : 0.0,
+                checkpoint.getTier());
+    }
+
+    private String key(String contentHash, int pageIndex) {
+        return contentHash + "#" + pageIndex;
+    }
+}
@@ -35,6 +35,15 @@ public interface OcrResultService {
      */
     OcrResultDto findById(Long id);
 
+    /**
+     * (추가) 여러 건의 OCR 결과를 한 트랜잭션으로 일괄 저장한다.
+     * - 배치 OCR(다중 파일/ZIP)에서 청크 단위로 호출한다.
+     *
+     * @param dtos 저장할 DTO 목록
+     * @return 저장 결과(id, createdAt 등)가 반영된 DTO 목록 (입력 순서 유지)
+     */
+    List<OcrResultDto> saveAll(List<OcrResultDto> dtos);
+
 
 
 }
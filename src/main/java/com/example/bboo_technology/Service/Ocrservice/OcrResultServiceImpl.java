@@ -125,4 +125,52 @@ public class OcrResultServiceImpl implements OcrResultService {
                 .orElse(null); // orElseThrow 로 바꿔도 됨
     }
 
+    /**
+     * (추가) OCR 결과 일괄 저장
+     * - saveOcrResult 를 건마다 호출하면 건마다 트랜잭션이 열리므로, 청크 단위로 한 번에 저장한다.
+     */
+    @Override
+    @Transactional
+    public List<OcrResultDto> saveAll(List<OcrResultDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            // 1) DTO → 엔티티 수동 매핑
+            List<OcrResult> entities = dtos.stream()
+                    .map(dto -> OcrResult.builder()
+                            .id(dto.getId())
+                            .title(dto.getTitle())
+                            .originalFileName(dto.getOriginalFileName())
+                            .fileType(dto.getFileType())
+                            .pageCount(dto.getPageCount())
+                            .ocrText(dto.getOcrText())
+                            .editedText(dto.getEditedText())
+                            .translatedText(dto.getTranslatedText())
+                            .build())
+                    .toList();
+
+            // 2) 일괄 저장 (saveAll 은 입력 순서대로 결과를 돌려준다)
+            List<OcrResult> saved = ocrResultRepository.saveAll(entities);
+
+            // 3) 저장 결과를 DTO 에 다시 반영
+            for (int i = 0; i < saved.size(); i++) {
+                OcrResult entity = saved.get(i);
+                OcrResultDto dto = dtos.get(i);
+                dto.setId(entity.getId());
+                dto.setCreatedAt(entity.getCreatedAt());
+                dto.setUpdatedAt(entity.getUpdatedAt());
+                dto.setSaved(true);
+            }
+
+            log.info("OCR 결과 일괄 저장 완료 - count={}", saved.size());
+            return dtos;
+
+        } catch (Exception e) {
+            log.error("OCR 결과 일괄 저장 중 예외 발생 - count={}", dtos.size(), e);
+            throw new OcrProcessingException("OCR 결과를 일괄 저장하는 중 오류가 발생했습니다.", e);
+        }
+    }
+
 }
@@ -0,0 +1,369 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrNormalizeProperties;
+import com.example.bboo_technology.Service.TokenCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * (추가) GPT / 번역 호출 전 OCR 텍스트 정리.
+ *
+ * - OCR 원문에는 모델에 도움이 안 되는 토큰이 많다. 순서대로 제거한다.
+ *   1) "=== PAGE n ===" 구분선 → 페이지 분리 후 제거
+ *   2) 깨진 글자 (제어 문자, U+FFFD, 사용자 정의 영역, 표 선 문자, zero-width) 제거 + 공백 연속 → 공백 1개
+ *   3) 글자/숫자가 거의 없는 줄 (----, ||||, 점 찍힌 잡음, 글자 1개) 제거
+ *   4) 여러 페이지 위/아래에서 반복되는 줄 = 머리말/꼬리말 제거 (숫자는 #으로 바꿔 비교 → 쪽 번호가 달라도 같은 줄)
+ *   5) 줄 끝 하이픈으로 끊긴 영단어 이어 붙이기 (inform-\nation → information)
+ *   6) 같은 문단 반복 제거 (처음 나온 것만 유지)
+ *      - 빈 줄로 나뉜 문단 전체가 같을 때만 제거한다. 다른 문단 안에 섞인 같은 문장(주의사항 등)은
+ *        그 문단의 맥락이라 남긴다. (줄 묶음 단위로 지우면 표 / 목록의 반복 행까지 사라짐)
+ * - 문서마다 원문 / 정리 후 토큰 수(TokenCounter, 기본 인코딩)를 OcrNormalizationStats 에 기록한다.
+ * - 문장 내용 자체는 바꾸지 않는다. (요약 / 번역 품질은 모델이 책임)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OcrTextNormalizer {
+
+    private static final Pattern PAGE_MARKER = Pattern.compile("^=== PAGE \\d+ ===$");
+    private static final Pattern WHITESPACE_RUN = Pattern.compile("[\\s\\u00A0\\u3000]+");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    private final OcrNormalizeProperties properties;
+    private final OcrNormalizationStats stats;
+    private final TokenCounter tokenCounter;
+
+    /**
+     * OCR 텍스트 정리
+     *
+     * @param text        OCR 원문 (null 이면 빈 문자열)
+     * @param documentKey 집계용 문서 식별자 (예: ocr:12)
+     */
+    public NormalizedText normalize(String text, String documentKey) {
+        String source = (text != null) ? text : "";
+        if (!properties.isEnabled() || source.isBlank()) {
+            long tokens = tokenCounter.count(null, source);
+            return new NormalizedText(source, Report.of(documentKey, source, source, tokens, tokens, new Counts()));
+        }
+
+        Counts counts = new Counts();
+        List<List<String>> pages = splitPages(source, counts);
+        pages.forEach(page -> dropLowInformationLines(page, counts));
+        removeHeadersAndFooters(pages, counts);
+
+        List<String> lines = new ArrayList<>();
+        for (List<String> page : pages) {
+            if (!lines.isEmpty()) {
+                lines.add("");
+            }
+            lines.addAll(page);
+        }
+        lines = joinHyphenatedWords(lines, counts);
+        String normalized = dedupeParagraphs(lines, counts);
+
+        Report report = Report.of(documentKey, source, normalized,
+                tokenCounter.count(null, source), tokenCounter.count(null, normalized), counts);
+        stats.record(report);
+        log.debug("OCR 텍스트 정리 - document={}, tokens {} → {}, headerFooter={}, lowInfo={}, duplicate={}",
+                documentKey, report.originalTokens(), report.normalizedTokens(),
+                counts.headerFooterLines, counts.lowInformationLines, counts.duplicateParagraphs);
+
+        return new NormalizedText(normalized, report);
+    }
+
+    // =========================
+    // 1) 페이지 분리 + 2) 줄 정리
+    // =========================
+
+    private List<List<String>> splitPages(String source, Counts counts) {
+        List<List<String>> pages = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+
+        for (String rawLine : source.split("\\R", -1)) {
+            if (PAGE_MARKER.matcher(rawLine.trim()).matches()) {
+                counts.pageMarkers++;
+                if (!current.isEmpty()) {
+                    pages.add(current);
+                }
+                current = new ArrayList<>();
+                continue;
+            }
+            current.add(cleanLine(rawLine, counts));
+        }
+        if (!current.isEmpty()) {
+            pages.add(current);
+        }
+        return pages;
+    }
+
+    private String cleanLine(String line, Counts counts) {
+        StringBuilder sb = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isGarbage(codePoint)) {
+                counts.garbageChars++;
+                sb.append(' ');
+                continue;
+            }
+            sb.appendCodePoint(codePoint);
+        }
+        return WHITESPACE_RUN.matcher(sb).replaceAll(" ").trim();
+    }
+
+    private boolean isGarbage(int codePoint) {
+        if (codePoint == '\t') {
+            return false;
+        }
+        if (codePoint == 0xFFFD || codePoint == 0xFEFF || (codePoint >= 0x200B && codePoint <= 0x200D)) {
+            return true;
+        }
+        // 표 선 / 블록 문자 (U+2500 ~ U+259F)
+        if (codePoint >= 0x2500 && codePoint <= 0x259F) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.CONTROL
+                || type == Character.PRIVATE_USE
+                || type == Character.SURROGATE
+                || type == Character.UNASSIGNED;
+    }
+
+    // =========================
+    // 3) 정보 없는 줄
+    // =========================
+
+    private void dropLowInformationLines(List<String> page, Counts counts) {
+        for (int i = 0; i < page.size(); i++) {
+            String line = page.get(i);
+            if (line.isEmpty()) {
+                continue;
+            }
+            int content = countLettersOrDigits(line);
+            if (content < properties.getMinLineChars()
+                    || (double) content / line.length() < properties.getMinLineContentRatio()) {
+                counts.lowInformationLines++;
+                page.set(i, "");
+            }
+        }
+    }
+
+    // =========================
+    // 4) 머리말 / 꼬리말
+    // =========================
+
+    private void removeHeadersAndFooters(List<List<String>> pages, Counts counts) {
+        if (pages.size() < Math.max(2, properties.getHeaderFooterMinPages())) {
+            return;
+        }
+        int zone = Math.max(1, properties.getHeaderFooterZoneLines());
+
+        // 영역은 지우기 전에 한 번만 계산 (위에서 지운 줄 때문에 아래 영역이 밀리지 않게)
+        List<List<Integer>> tops = new ArrayList<>(pages.size());
+        List<List<Integer>> bottoms = new ArrayList<>(pages.size());
+        Map<String, Integer> topCounts = new HashMap<>();
+        Map<String, Integer> bottomCounts = new HashMap<>();
+        for (List<String> page : pages) {
+            List<Integer> top = zoneIndexes(page, zone, true);
+            List<Integer> bottom = zoneIndexes(page, zone, false);
+            tops.add(top);
+            bottoms.add(bottom);
+            // 페이지마다 같은 줄은 한 번만 센다
+            zoneKeys(page, top).forEach(key -> topCounts.merge(key, 1, Integer::sum));
+            zoneKeys(page, bottom).forEach(key -> bottomCounts.merge(key, 1, Integer::sum));
+        }
+
+        int threshold = Math.max(2, (int) Math.ceil(pages.size() * properties.getHeaderFooterPageRatio()));
+        for (int p = 0; p < pages.size(); p++) {
+            List<String> page = pages.get(p);
+            removeRepeated(page, tops.get(p), topCounts, threshold, counts);
+            removeRepeated(page, bottoms.get(p), bottomCounts, threshold, counts);
+        }
+    }
+
+    private void removeRepeated(List<String> page, List<Integer> indexes, Map<String, Integer> keyCounts,
+                                int threshold, Counts counts) {
+        for (int index : indexes) {
+            String line = page.get(index);
+            if (!line.isEmpty() && keyCounts.getOrDefault(repeatKey(line), 0) >= threshold) {
+                counts.headerFooterLines++;
+                page.set(index, "");
+            }
+        }
+    }
+
+    private Set<String> zoneKeys(List<String> page, List<Integer> indexes) {
+        Set<String> keys = new HashSet<>();
+        for (int index : indexes) {
+            keys.add(repeatKey(page.get(index)));
+        }
+        return keys;
+    }
+
+    /**
+     * 페이지 위(또는 아래)에서 빈 줄이 아닌 줄 zone 개의 인덱스
+     * - 짧은 페이지는 본문까지 영역에 들어가지 않게 빈 줄 아닌 줄의 1/3 까지만
+     */
+    private List<Integer> zoneIndexes(List<String> page, int zone, boolean top) {
+        long nonEmpty = page.stream().filter(line -> !line.isEmpty()).count();
+        int limit = (int) Math.min(zone, Math.max(1, nonEmpty / 3));
+        List<Integer> indexes = new ArrayList<>(limit);
+        for (int i = 0; i < page.size() && indexes.size() < limit; i++) {
+            int index = top ? i : page.size() - 1 - i;
+            if (!page.get(index).isEmpty()) {
+                indexes.add(index);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * 숫자를 #으로 바꾼 비교 키 ("- 3 -" 과 "- 4 -", "Page 1 of 9" 와 "Page 2 of 9" 를 같은 줄로)
+     */
+    private String repeatKey(String line) {
+        return DIGITS.matcher(line.toLowerCase(Locale.ROOT)).replaceAll("#");
+    }
+
+    // =========================
+    // 5) 하이픈 줄바꿈
+    // =========================
+
+    private List<String> joinHyphenatedWords(List<String> lines, Counts counts) {
+        List<String> joined = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            int last = joined.size() - 1;
+            if (last >= 0 && endsWithHyphenatedWord(joined.get(last)) && startsWithLowercaseLatin(line)) {
+                String previous = joined.get(last);
+                joined.set(last, previous.substring(0, previous.length() - 1) + line);
+                counts.hyphenJoins++;
+                continue;
+            }
+            joined.add(line);
+        }
+        return joined;
+    }
+
+    private boolean endsWithHyphenatedWord(String line) {
+        int length = line.length();
+        return length >= 3
+                && line.charAt(length - 1) == '-'
+                && isLatinLetter(line.charAt(length - 2))
+                && isLatinLetter(line.charAt(length - 3));
+    }
+
+    private boolean startsWithLowercaseLatin(String line) {
+        return !line.isEmpty() && line.charAt(0) >= 'a' && line.charAt(0) <= 'z';
+    }
+
+    private boolean isLatinLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    // =========================
+    // 6) 문단 중복 제거 + 조립
+    // =========================
+
+    /**
+     * 빈 줄로 나뉜 문단 단위로 비교 - 앞에서 나온 문단과 전체가 같으면 제거 (공백 / 대소문자 무시)
+     * - 글자/숫자가 min-duplicate-paragraph-chars 이상인 문단만 (짧은 소제목 반복은 유지)
+     * - 문단 안의 줄바꿈은 유지하고, 문단 사이는 빈 줄 1개로 조립
+     */
+    private String dedupeParagraphs(List<String> lines, Counts counts) {
+        List<List<String>> paragraphs = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        for (String line : lines) {
+            if (line.isEmpty()) {
+                if (!current.isEmpty()) {
+                    paragraphs.add(current);
+                    current = new ArrayList<>();
+                }
+                continue;
+            }
+            current.add(line);
+        }
+        if (!current.isEmpty()) {
+            paragraphs.add(current);
+        }
+
+        Set<String> seen = new HashSet<>();
+        StringBuilder sb = new StringBuilder();
+        for (List<String> paragraph : paragraphs) {
+            String text = String.join("\n", paragraph);
+            String key = WHITESPACE_RUN.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ");
+            if (countLettersOrDigits(key) >= properties.getMinDuplicateParagraphChars() && !seen.add(key)) {
+                counts.duplicateParagraphs++;
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append("\n\n");
+            }
+            sb.append(text);
+        }
+        return sb.toString();
+    }
+
+    private int countLettersOrDigits(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 단계별 제거 건수 (문서 1건 처리 중에만 사용)
+     */
+    private static class Counts {
+        private int pageMarkers;
+        private int garbageChars;
+        private int lowInformationLines;
+        private int headerFooterLines;
+        private int hyphenJoins;
+        private int duplicateParagraphs;
+    }
+
+    /**
+     * 정리된 텍스트 + 문서 리포트
+     */
+    public record NormalizedText(String text, Report report) {
+    }
+
+    /**
+     * 문서 1건 정리 결과 (토큰 수는 기본 인코딩 기준 - 병합 테이블이 없으면 추정치)
+     */
+    public record Report(String documentKey,
+                         int originalChars,
+                         int normalizedChars,
+                         long originalTokens,
+                         long normalizedTokens,
+                         double tokenReductionRatio,
+                         int pageMarkers,
+                         int garbageChars,
+                         int lowInformationLines,
+                         int headerFooterLines,
+                         int hyphenJoins,
+                         int duplicateParagraphs) {
+
+        private static Report of(String documentKey, String original, String normalized,
+                                 long originalTokens, long normalizedTokens, Counts counts) {
+            double reduction = (originalTokens > 0) ? 1.0 - (double) normalizedTokens / originalTokens : 0.0;
+            return new Report(documentKey, original.length(), normalized.length(), originalTokens, normalizedTokens,
+                    reduction, counts.pageMarkers, counts.garbageChars, counts.lowInformationLines,
+                    counts.headerFooterLines, counts.hyphenJoins, counts.duplicateParagraphs);
+        }
+    }
+}
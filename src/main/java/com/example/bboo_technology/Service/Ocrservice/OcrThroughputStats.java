@@ -0,0 +1,113 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) 언어 조합별 OCR 처리량 집계.
+ *
+ * - PageOcrProcessor 가 페이지 하나를 끝낼 때마다 record(...) 로 누적한다.
+ * - /api/ocr/metrics/languages 에서 snapshot() 결과를 JSON 으로 확인할 수 있다.
+ * - 애플리케이션 재시작 시 초기화되는 메모리 집계이다.
+ */
+@Component
+public class OcrThroughputStats {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // 처리 경로(FAST / FAST+LINES / ACCURATE)별 페이지 수
+    private final Map<String, LongAdder> tierCounters = new ConcurrentHashMap<>();
+
+    /**
+     * 페이지 1건 처리 결과 누적
+     *
+     * @param language      사용한 언어 조합 (예: eng, kor+eng)
+     * @param chars         추출된 문자 수
+     * @param elapsedMillis 페이지 OCR 소요 시간(ms)
+     */
+    public void record(String language, int chars, long elapsedMillis) {
+        Counter counter = counters.computeIfAbsent(language, key -> new Counter());
+        counter.pages.increment();
+        counter.chars.add(chars);
+        counter.millis.add(elapsedMillis);
+    }
+
+    /**
+     * (추가) 페이지 1건의 처리 경로 누적 (FAST 로 끝났는지, ACCURATE 로 승격됐는지)
+     */
+    public void recordTier(String tier) {
+        tierCounters.computeIfAbsent(tier, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * (추가) 처리 경로별 페이지 수 + FAST 로 끝난 비율
+     */
+    public TierSummary tierSnapshot() {
+        Map<String, Long> pagesByTier = new TreeMap<>();
+        tierCounters.forEach((tier, adder) -> pagesByTier.put(tier, adder.sum()));
+
+        long total = pagesByTier.values().stream().mapToLong(Long::longValue).sum();
+        long fastOnly = pagesByTier.getOrDefault(PageOcrProcessor.TIER_FAST, 0L);
+        double fastRatio = (total > 0) ? (double) fastOnly / total : 0.0;
+
+        return new TierSummary(total, fastRatio, pagesByTier);
+    }
+
+    /**
+     * 현재까지의 언어별 처리량 스냅샷 (페이지 수 내림차순)
+     */
+    public List<LanguageThroughput> snapshot() {
+        List<LanguageThroughput> list = new ArrayList<>();
+
+        counters.forEach((language, counter) -> {
+            long pages = counter.pages.sum();
+            long chars = counter.chars.sum();
+            long millis = counter.millis.sum();
+
+            double avgMsPerPage = (pages > 0) ? (double) millis / pages : 0.0;
+            double pagesPerSecond = (millis > 0) ? pages * 1000.0 / millis : 0.0;
+            double charsPerSecond = (millis > 0) ? chars * 1000.0 / millis : 0.0;
+
+            list.add(new LanguageThroughput(language, pages, chars, millis,
+                    avgMsPerPage, pagesPerSecond, charsPerSecond));
+        });
+
+        list.sort(Comparator.comparingLong(LanguageThroughput::pages).reversed());
+        return list;
+    }
+
+    private static class Counter {
+        private final LongAdder pages = new LongAdder();
+        private final LongAdder chars = new LongAdder();
+        private final LongAdder millis = new LongAdder();
+    }
+
+    /**
+     * 언어별 처리량 응답용 레코드
+     */
+    public record LanguageThroughput(
+            String language,        // 언어 조합
+            long pages,             // 처리한 페이지 수
+            long chars,             // 추출된 총 문자 수
+            long totalMillis,       // 누적 OCR 시간(ms)
+            double avgMsPerPage,    // 페이지당 평균 ms
+            double pagesPerSecond,  // 초당 페이지 수 (단일 스레드 기준)
+            double charsPerSecond   // 초당 문자 수
+    ) {}
+
+    /**
+     * 처리 경로 요약 응답용 레코드
+     */
+    public record TierSummary(
+            long totalPages,                // 전체 페이지 수
+            double fastPathRatio,           // FAST 로 끝난 페이지 비율 (0~1)
+            Map<String, Long> pagesByTier   // 경로별 페이지 수
+    ) {}
+}
@@ -0,0 +1,282 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.LayoutTesseract;
+import com.example.bboo_technology.Config.OcrEscalationProperties;
+import com.example.bboo_technology.Config.TesseractEngineFactory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.TesseractException;
+import net.sourceforge.tess4j.Word;
+import org.springframework.stereotype.Service;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * (추가) 페이지 이미지 1장에 대한 OCR 을 담당하는 공통 Processor.
+ *
+ * - ImageOcrProcessor(단일 이미지) / PdfOcrProcessor(페이지 루프) 모두 이 클래스를 통해 OCR 한다.
+ * - 흐름:
+ *   1) FAST 프로필(tessdata_fast, 제한된 PSM, 낮은 DPI)로 1차 OCR
+ *   2) 줄 단위 신뢰도(ResultIterator, getWords RIL_TEXTLINE)로 페이지 평균 신뢰도 계산
+ *      줄을 이어 붙일 때 문단(RIL_PARA) 경계에는 빈 줄을 넣어 doOCR 결과와 같은 문단 구분을 유지한다.
+ *   3) 페이지 평균이 임계값 미만이면 ACCURATE 프로필로 페이지 전체 재실행
+ *      페이지는 괜찮지만 일부 줄만 낮으면 해당 줄 영역만 ACCURATE 로 재실행
+ * - 언어 조합은 OcrLanguageRouter 로 페이지마다 결정한다.
+ *   (변경) 1차 FAST 는 기본 언어 조합(tesseract.language)으로 인식하고, ACCURATE 재실행이 필요한 페이지만 라우팅한다.
+ *   → 신뢰도가 충분한 페이지는 라우팅용 샘플 OCR 을 추가로 돌리지 않는다.
+ * - 페이지마다 새 Tesseract 인스턴스를 사용하므로 여러 스레드에서 동시에 호출해도 안전하다.
+ *   (변경) 인식 단계(1차 / 페이지 재실행 / 줄 재실행)마다 엔진 초기화는 1회 (LayoutTesseract)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PageOcrProcessor {
+
+    // 처리 경로(tier) 라벨
+    public static final String TIER_FAST = "FAST";
+    public static final String TIER_FAST_LINES = "FAST+LINES";
+    public static final String TIER_ACCURATE = "ACCURATE";
+
+    // 줄 영역 잘라낼 때 상하좌우 여백(px)
+    private static final int LINE_CROP_PADDING = 4;
+
+    private final TesseractEngineFactory tesseractEngineFactory;
+    private final OcrLanguageRouter languageRouter;
+    private final OcrThroughputStats throughputStats;
+    private final OcrEscalationProperties escalationProperties;
+
+    /**
+     * 요청 DPI 로 페이지 이미지를 만들어 주는 공급자.
+     * - PDF: 해당 페이지를 DPI 에 맞춰 렌더링
+     * - 이미지: DPI 와 무관하게 원본 이미지 반환
+     */
+    @FunctionalInterface
+    public interface PageImageSource {
+        BufferedImage render(int dpi) throws IOException;
+    }
+
+    /**
+     * 이미 만들어진 이미지 1장 OCR (DPI 변경 없이 같은 이미지로 FAST/ACCURATE 수행)
+     */
+    public PageOcrResult recognize(BufferedImage pageImage) {
+        return recognize(dpi -> pageImage);
+    }
+
+    /**
+     * 페이지 1장 OCR (FAST → 필요 시 ACCURATE 승격)
+     *
+     * @param source DPI 별 페이지 이미지 공급자
+     * @return 페이지 OCR 결과 (텍스트 + 신뢰도 + 사용 언어 + 처리 경로 + 소요 시간)
+     * @throws OcrProcessingException 렌더링/Tesseract 처리 중 오류가 발생한 경우
+     */
+    public PageOcrResult recognize(PageImageSource source) {
+        long start = System.currentTimeMillis();
+        String language = null;
+
+        try {
+            // 0) 2단계 모드를 끄면 ACCURATE 1회로 처리 (기존 동작 - 문단 사이 빈 줄도 doOCR 과 동일)
+            if (!escalationProperties.isEnabled()) {
+                BufferedImage accurateImage = source.render(escalationProperties.getAccurateDpi());
+                language = languageRouter.resolveLanguage(accurateImage);
+                RecognizedLines page = recognizeLines(accurateImage, language, -1, TesseractEngineFactory.Profile.ACCURATE);
+                return finish(page, language, TIER_ACCURATE, start);
+            }
+
+            // 1) FAST 1차 OCR
+            // (변경) 언어 라우팅(샘플 OCR)을 먼저 돌리지 않고 기본 언어 조합으로 인식 - 대부분의 페이지는 여기서 끝난다
+            BufferedImage fastImage = source.render(escalationProperties.getFastDpi());
+            language = tesseractEngineFactory.getDefaultLanguage();
+
+            RecognizedLines fastPage = recognizeLines(fastImage, language,
+                    escalationProperties.getFastPageSegMode(), TesseractEngineFactory.Profile.FAST);
+            List<Word> fastLines = fastPage.lines();
+            double fastConfidence = meanConfidence(fastLines);
+
+            // 2) 페이지 평균 / 줄 신뢰도가 모두 충분하면 라우팅 없이 바로 반환
+            List<Integer> lowIndexes = findLowConfidenceLines(fastLines);
+            boolean lowPage = fastConfidence < escalationProperties.getPageConfidenceThreshold();
+            if (!lowPage && lowIndexes.isEmpty()) {
+                return finish(fastPage, language, TIER_FAST, start);
+            }
+
+            // (변경) ACCURATE 재실행이 필요할 때만 언어 라우팅 - 1차 결과 글자로 판별 (글자가 너무 적으면 샘플 OCR)
+            language = languageRouter.resolveLanguage(OcrLineJoiner.join(fastLines, List.of()), fastImage);
+
+            // 3) 페이지 평균 신뢰도가 낮으면 페이지 전체 ACCURATE 재실행
+            if (lowPage) {
+                log.debug("페이지 신뢰도 낮음 → ACCURATE 재실행 - confidence={}", fastConfidence);
+                BufferedImage accurateImage = source.render(escalationProperties.getAccurateDpi());
+                RecognizedLines accuratePage = recognizeLines(accurateImage, language, -1, TesseractEngineFactory.Profile.ACCURATE);
+                return finish(accuratePage, language, TIER_ACCURATE, start);
+            }
+
+            // 4) 저신뢰 줄만 골라서 재실행
+            BufferedImage accurateImage = source.render(escalationProperties.getAccurateDpi());
+
+            if (lowIndexes.size() > escalationProperties.getMaxLineRetries()) {
+                // 저신뢰 줄이 너무 많으면 줄 단위 반복보다 페이지 전체 1회가 싸다
+                RecognizedLines accuratePage = recognizeLines(accurateImage, language, -1, TesseractEngineFactory.Profile.ACCURATE);
+                return finish(accuratePage, language, TIER_ACCURATE, start);
+            }
+
+            // 교체한 줄은 FAST 줄 영역을 그대로 쓰므로 문단 영역도 FAST 결과를 그대로 사용
+            double scale = (double) accurateImage.getWidth() / fastImage.getWidth();
+            List<Word> merged = rerunLines(fastLines, lowIndexes, accurateImage, scale, language);
+            return finish(new RecognizedLines(merged, fastPage.paragraphs()), language, TIER_FAST_LINES, start);
+
+        } catch (OcrProcessingException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("페이지 OCR 처리 중 예외 발생 - language={}", language, e);
+            throw new OcrProcessingException("페이지 OCR 처리 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // =========================
+    // 내부 로직
+    // =========================
+
+    /**
+     * 줄(RIL_TEXTLINE) 단위로 텍스트 + 신뢰도 + 영역을 한 번에 얻는다.
+     * - doOCR 과 getWords 를 따로 돌리면 인식을 두 번 하게 되므로 인식 1회로 처리한다.
+     * - (변경) 문단(RIL_PARA) 영역도 함께 구한다.
+     *   getWords + getSegmentedRegions 는 호출마다 엔진을 새로 초기화하므로 LayoutTesseract 로 같은 인식 결과에서 읽는다.
+     */
+    private RecognizedLines recognizeLines(BufferedImage image,
+                                           String language,
+                                           int pageSegMode,
+                                           TesseractEngineFactory.Profile profile) throws TesseractException {
+        LayoutTesseract tesseract = tesseractEngineFactory.createLayout(language, pageSegMode, profile);
+        LayoutTesseract.PageLayout layout = tesseract.recognizeLayout(image);
+        return new RecognizedLines(layout.lines(), layout.paragraphs());
+    }
+
+    /**
+     * 저신뢰 줄 영역만 ACCURATE 로 다시 인식해서, 신뢰도가 올라간 경우에만 교체한다.
+     */
+    private List<Word> rerunLines(List<Word> fastLines,
+                                  List<Integer> lowIndexes,
+                                  BufferedImage accurateImage,
+                                  double scale,
+                                  String language) throws TesseractException {
+
+        List<Word> merged = new ArrayList<>(fastLines);
+
+        // (변경) 줄 영역을 먼저 모두 잘라 두고 엔진 초기화 1회로 차례로 인식
+        List<Integer> retriedIndexes = new ArrayList<>(lowIndexes.size());
+        List<BufferedImage> crops = new ArrayList<>(lowIndexes.size());
+        for (int index : lowIndexes) {
+            Rectangle region = scaleAndPad(fastLines.get(index).getBoundingBox(), scale, accurateImage);
+            if (region == null) {
+                continue;
+            }
+            retriedIndexes.add(index);
+            crops.add(accurateImage.getSubimage(region.x, region.y, region.width, region.height));
+        }
+
+        LayoutTesseract lineEngine = tesseractEngineFactory.createLayout(language,
+                ITessAPI.TessPageSegMode.PSM_SINGLE_LINE, TesseractEngineFactory.Profile.ACCURATE);
+        List<List<Word>> results = lineEngine.recognizeLines(crops);
+
+        for (int i = 0; i < retriedIndexes.size(); i++) {
+            int index = retriedIndexes.get(i);
+            Word fastLine = fastLines.get(index);
+            List<Word> retried = results.get(i);
+            if (retried.isEmpty()) {
+                continue;
+            }
+
+            String text = OcrLineJoiner.join(retried, List.of()).trim();
+            float confidence = (float) meanConfidence(retried);
+            if (!text.isEmpty() && confidence > fastLine.getConfidence()) {
+                merged.set(index, new Word(text + "\n", confidence, fastLine.getBoundingBox()));
+            }
+        }
+        return merged;
+    }
+
+    private List<Integer> findLowConfidenceLines(List<Word> lines) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            Word line = lines.get(i);
+            if (line.getText() != null && !line.getText().isBlank()
+                    && line.getConfidence() < escalationProperties.getLineConfidenceThreshold()) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * 문자 수 가중 평균 신뢰도 (0~100). 인식된 줄이 없으면 0.
+     */
+    private double meanConfidence(List<Word> lines) {
+        double weighted = 0.0;
+        long chars = 0;
+        for (Word line : lines) {
+            int length = (line.getText() != null) ? line.getText().trim().length() : 0;
+            if (length == 0) {
+                continue;
+            }
+            weighted += line.getConfidence() * length;
+            chars += length;
+        }
+        return (chars > 0) ? weighted / chars : 0.0;
+    }
+
+    private Rectangle scaleAndPad(Rectangle box, double scale, BufferedImage image) {
+        if (box == null) {
+            return null;
+        }
+        int x = Math.max(0, (int) Math.floor(box.x * scale) - LINE_CROP_PADDING);
+        int y = Math.max(0, (int) Math.floor(box.y * scale) - LINE_CROP_PADDING);
+        int right = Math.min(image.getWidth(), (int) Math.ceil((box.x + box.width) * scale) + LINE_CROP_PADDING);
+        int bottom = Math.min(image.getHeight(), (int) Math.ceil((box.y + box.height) * scale) + LINE_CROP_PADDING);
+
+        if (right - x <= 1 || bottom - y <= 1) {
+            return null;
+        }
+        return new Rectangle(x, y, right - x, bottom - y);
+    }
+
+    private PageOcrResult finish(RecognizedLines page, String language, String tier, long start) {
+        String text = OcrLineJoiner.join(page.lines(), page.paragraphs());
+        double confidence = meanConfidence(page.lines());
+        long elapsed = System.currentTimeMillis() - start;
+
+        // 언어별 처리량 + 처리 경로 집계
+        throughputStats.record(language, text.length(), elapsed);
+        throughputStats.recordTier(tier);
+
+        log.debug("Page OCR 완료 - language={}, tier={}, confidence={}, length={}, elapsedMs={}",
+                language, tier, String.format("%.1f", confidence), text.length(), elapsed);
+
+        return new PageOcrResult(text, language, elapsed, confidence, tier);
+    }
+
+    /**
+     * (추가) 줄 인식 결과 + 문단 영역 (같은 이미지 좌표계)
+     */
+    private record RecognizedLines(List<Word> lines, List<Rectangle> paragraphs) {
+    }
+
+    /**
+     * 페이지 OCR 결과
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class PageOcrResult {
+        private final String text;          // 페이지 텍스트
+        private final String language;      // 실제 사용한 언어 조합
+        private final long elapsedMillis;   // 라우팅 포함 소요 시간(ms)
+        private final double confidence;    // 문자 수 가중 평균 신뢰도 (0~100)
+        private final String tier;          // 처리 경로 (FAST / FAST+LINES / ACCURATE)
+    }
+}
@@ -1,19 +1,24 @@
 package com.example.bboo_technology.Service.Ocrservice;
 
 
+import com.example.bboo_technology.util.PageRanges;
 import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.ITesseract;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
 
 /**
  * PDF 문서를 대상으로 OCR 을 수행하는 Processor.
@@ -25,7 +30,18 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class PdfOcrProcessor {
 
-    private final ITesseract tesseract;
+    // PDFBox 가 메모리에 유지할 최대 버퍼 크기 (초과분은 임시 파일 사용)
+    private static final long PDF_MAIN_MEMORY_BYTES = 16L * 1024 * 1024;
+
+    private final PageOcrProcessor pageOcrProcessor;
+
+    /**
+     * (추가) 페이지 1장 OCR 이 끝날 때마다 호출되는 콜백 (체크포인트 작업 진행률 갱신용)
+     */
+    @FunctionalInterface
+    public interface PageCallback {
+        void onPage(int pageIndex, PageOcrProcessor.PageOcrResult result);
+    }
 
     @PostConstruct
     void afterConstruct() {
@@ -40,20 +56,53 @@ public class PdfOcrProcessor {
      * @throws OcrProcessingException OCR 처리 중 오류가 발생한 경우
      */
     public PdfOcrResult process(MultipartFile file) {
-        try (PDDocument document = PDDocument.load(file.getInputStream())) {
+        return process(file, file.getOriginalFilename());
+    }
+
+    /**
+     * (추가) 입력 스트림 소스 기준 PDF OCR.
+     * - MultipartFile 뿐 아니라 ZIP 에서 풀어 둔 임시 파일(FileSystemResource) 등도 그대로 처리할 수 있다.
+     * - PDFBox 버퍼는 임시 파일 혼합 모드로 열어서, 큰 PDF 를 힙에 통째로 올리지 않는다.
+     *
+     * @param source   PDF 입력 소스
+     * @param fileName 로그용 파일명
+     */
+    public PdfOcrResult process(InputStreamSource source, String fileName) {
+        return process(source, fileName, null);
+    }
+
+    /**
+     * (추가) 지정한 페이지 범위만 OCR.
+     * - 100 페이지 카탈로그에서 몇 페이지만 필요할 때, 선택하지 않은 페이지는 렌더링도 하지 않는다.
+     * - (변경) 페이지 체크포인트(OcrPageCache)는 쓰지 않는다. 중간 실패 후 이어서 처리해야 하는 큰 PDF 는
+     *   체크포인트 작업(OcrJob, processPages) 으로 처리한다.
+     *
+     * @param source    PDF 입력 소스
+     * @param fileName  로그용 파일명
+     * @param pageRange 페이지 범위 (예: "1-3,7"), null/공백이면 전체
+     */
+    public PdfOcrResult process(InputStreamSource source, String fileName, String pageRange) {
+        try (InputStream in = source.getInputStream();
+             PDDocument document = PDDocument.load(in, MemoryUsageSetting.setupMixed(PDF_MAIN_MEMORY_BYTES))) {
 
             int pageCount = document.getNumberOfPages();
+            List<Integer> pageIndexes = PageRanges.parse(pageRange, pageCount);
             PDFRenderer renderer = new PDFRenderer(document);
 
             StringBuilder sb = new StringBuilder();
+            List<Double> pageConfidences = new ArrayList<>();
+            List<Integer> pageNumbers = new ArrayList<>();
 
             // (중요) PDF 는 페이지 단위로 루프를 돌면서 OCR 수행
-            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
-                // 1) PDF 페이지를 이미지로 렌더링 (DPI 300 권장)
-                BufferedImage pageImage = renderer.renderImageWithDPI(pageIndex, 300);
+            for (int pageIndex : pageIndexes) {
+                // 1) PDF 페이지를 필요한 DPI 로 렌더링 (FAST 는 낮은 DPI, ACCURATE 는 300 DPI)
+                PageOcrProcessor.PageOcrResult pageResult =
+                        pageOcrProcessor.recognize(dpi -> renderer.renderImageWithDPI(pageIndex, dpi));
 
-                // 2) 해당 페이지 OCR 수행
-                String pageText = tesseract.doOCR(pageImage);
+                // 2) 해당 페이지 OCR 결과 (페이지별 언어 라우팅 + 신뢰도 승격 포함)
+                String pageText = pageResult.getText();
+                pageConfidences.add(pageResult.getConfidence());
+                pageNumbers.add(pageIndex + 1);
 
                 // 3) 페이지 구분선을 넣어주면 나중에 보기 편함
                 sb.append("=== PAGE ").append(pageIndex + 1).append(" ===\n");
@@ -61,11 +110,14 @@ public class PdfOcrProcessor {
             }
 
             String fullText = sb.toString();
-            log.debug("PDF OCR 완료 - filename={}, pages={}, length={}",
-                    file.getOriginalFilename(), pageCount, fullText.length());
+            log.debug("PDF OCR 완료 - filename={}, pages={}/{}, length={}",
+                    fileName, pageIndexes.size(), pageCount, fullText.length());
 
-            return new PdfOcrResult(fullText, pageCount);
+            return new PdfOcrResult(fullText, pageCount, pageConfidences, pageNumbers);
 
+        } catch (IllegalArgumentException e) {
+            // 페이지 범위 형식 오류
+            throw new OcrProcessingException(e.getMessage(), e);
         } catch (IOException e) {
             log.error("PDF 파일을 읽는 중 오류 발생", e);
             throw new OcrProcessingException("PDF 파일을 읽는 중 오류가 발생했습니다.", e);
@@ -75,6 +127,79 @@ public class PdfOcrProcessor {
         }
     }
 
+    /**
+     * (추가) PDF 페이지 1장만 OCR (지연 OCR 모드에서 페이지를 처음 열람할 때 사용)
+     *
+     * @param source    PDF 입력 소스
+     * @param pageIndex 0부터 시작하는 페이지 인덱스
+     */
+    public PageOcrProcessor.PageOcrResult processPage(InputStreamSource source, int pageIndex) {
+        try (InputStream in = source.getInputStream();
+             PDDocument document = PDDocument.load(in, MemoryUsageSetting.setupMixed(PDF_MAIN_MEMORY_BYTES))) {
+
+            if (pageIndex < 0 || pageIndex >= document.getNumberOfPages()) {
+                throw new OcrProcessingException("존재하지 않는 페이지입니다: " + (pageIndex + 1));
+            }
+            PDFRenderer renderer = new PDFRenderer(document);
+            return pageOcrProcessor.recognize(dpi -> renderer.renderImageWithDPI(pageIndex, dpi));
+
+        } catch (IOException e) {
+            log.error("PDF 파일을 읽는 중 오류 발생 - page={}", pageIndex + 1, e);
+            throw new OcrProcessingException("PDF 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * (추가) PDF 를 한 번만 열고 include 조건에 맞는 페이지를 순서대로 OCR 한다.
+     * - 체크포인트 작업(OcrJob)에서 "아직 체크포인트가 없는 페이지만" 처리할 때 사용한다.
+     * - 페이지마다 callback 을 호출하므로, 호출 측에서 바로 저장하면 중간에 실패해도 끝난 페이지는 남는다.
+     *
+     * @param source   PDF 입력 소스
+     * @param include  처리할 페이지 인덱스 조건
+     * @param callback 페이지 완료 콜백
+     * @return 문서 전체 페이지 수
+     */
+    public int processPages(InputStreamSource source, IntPredicate include, PageCallback callback) {
+        int currentPage = -1;
+        try (InputStream in = source.getInputStream();
+             PDDocument document = PDDocument.load(in, MemoryUsageSetting.setupMixed(PDF_MAIN_MEMORY_BYTES))) {
+
+            int pageCount = document.getNumberOfPages();
+            PDFRenderer renderer = new PDFRenderer(document);
+
+            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+                if (!include.test(pageIndex)) {
+                    continue;
+                }
+                currentPage = pageIndex;
+                final int index = pageIndex;
+                PageOcrProcessor.PageOcrResult pageResult =
+                        pageOcrProcessor.recognize(dpi -> renderer.renderImageWithDPI(index, dpi));
+                callback.onPage(pageIndex, pageResult);
+            }
+            return pageCount;
+
+        } catch (IOException e) {
+            log.error("PDF 파일을 읽는 중 오류 발생 - page={}", currentPage + 1, e);
+            throw new OcrProcessingException("PDF 파일을 읽는 중 오류가 발생했습니다.", e);
+        } catch (OcrProcessingException e) {
+            throw new OcrProcessingException("PDF " + (currentPage + 1) + " 페이지 OCR 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * (추가) OCR 없이 PDF 페이지 수만 확인
+     */
+    public int countPages(InputStreamSource source) {
+        try (InputStream in = source.getInputStream();
+             PDDocument document = PDDocument.load(in, MemoryUsageSetting.setupTempFileOnly())) {
+            return document.getNumberOfPages();
+        } catch (IOException e) {
+            log.error("PDF 페이지 수 확인 중 오류 발생", e);
+            throw new OcrProcessingException("PDF 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+    }
+
     /**
      * PDF OCR 결과를 담는 간단한 내부 DTO.
      * - 전체 텍스트 + 페이지 수만 필요하므로 별도의 클래스로 분리하였다.
@@ -84,6 +209,8 @@ public class PdfOcrProcessor {
     public static class PdfOcrResult {
         private final String text;      // PDF 전체 페이지를 OCR 한 결과 텍스트
         private final int pageCount;    // PDF 총 페이지 수
+        private final List<Double> pageConfidences; // (추가) 페이지별 평균 신뢰도 (0~100)
+        private final List<Integer> pageNumbers;    // (추가) 실제 OCR 한 페이지 번호 (1부터, 범위 지정 시 일부만)
     }
 
 }
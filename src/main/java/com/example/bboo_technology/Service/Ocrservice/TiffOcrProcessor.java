@@ -0,0 +1,241 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrTiffProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * (추가) 멀티 프레임 TIFF 문서를 대상으로 OCR 을 수행하는 Processor.
+ *
+ * - 스캐너가 만든 여러 페이지짜리 TIFF 를 PDF 처럼 "페이지 문서"로 취급한다.
+ *   (ImageIO.read 는 첫 프레임만 읽기 때문에 ImageOcrProcessor 로는 1페이지만 나온다)
+ * - 흐름:
+ *   1) ImageReader 로 프레임을 한 장씩 순서대로 디코딩 (ImageReader 는 스레드 안전하지 않으므로 디코딩은 호출 스레드에서만)
+ *   2) 디코딩된 프레임은 전용 스레드풀에서 병렬로 OCR (PageOcrProcessor)
+ *   3) Semaphore 로 "디코딩 완료 ~ OCR 종료" 구간의 프레임 수를 max-frames-in-memory 로 제한
+ *   4) 결과는 프레임 순서대로 "=== PAGE n ===" 구분선과 함께 합친다. (PdfOcrProcessor 와 동일 형식)
+ * - JDK 9+ 기본 ImageIO TIFF 플러그인을 사용하므로 별도 의존성이 필요 없다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TiffOcrProcessor {
+
+    private final PageOcrProcessor pageOcrProcessor;
+    private final OcrTiffProperties tiffProperties;
+
+    private ExecutorService frameExecutor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        this.frameExecutor = Executors.newFixedThreadPool(Math.max(1, tiffProperties.getConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "ocr-tiff-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("TiffOcrProcessor initialized - concurrency={}, maxFramesInMemory={}",
+                tiffProperties.getConcurrency(), tiffProperties.getMaxFramesInMemory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        frameExecutor.shutdownNow();
+    }
+
+    /**
+     * TIFF 파일 전체 프레임에 대해 OCR 을 수행한다.
+     *
+     * @param file 업로드된 TIFF 파일
+     * @return TiffOcrResult (전체 텍스트 + 프레임 수 + 프레임별 신뢰도)
+     * @throws OcrProcessingException OCR 처리 중 오류가 발생한 경우
+     */
+    public TiffOcrResult process(MultipartFile file) {
+        return process(file, file.getOriginalFilename());
+    }
+
+    /**
+     * 입력 스트림 소스 기준 TIFF OCR.
+     *
+     * @param source   TIFF 입력 소스
+     * @param fileName 로그용 파일명
+     */
+    public TiffOcrResult process(InputStreamSource source, String fileName) {
+        Semaphore frameSlots = new Semaphore(Math.max(1, tiffProperties.getMaxFramesInMemory()));
+        List<Future<PageOcrProcessor.PageOcrResult>> futures = new ArrayList<>();
+
+        // ImageInputStream 은 디스크 캐시(FileCacheImageInputStream)를 사용하므로 원본 전체를 힙에 올리지 않는다
+        try (InputStream in = source.getInputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+
+            ImageReader reader = findTiffReader(imageInput);
+            try {
+                // seekForwardOnly=true : 지나간 프레임 정보는 버려서 메모리 유지
+                reader.setInput(imageInput, true, true);
+
+                // 1) 프레임을 한 장씩 디코딩 → OCR 작업 제출
+                for (int frameIndex = 0; ; frameIndex++) {
+                    frameSlots.acquire();
+
+                    BufferedImage frame;
+                    try {
+                        frame = reader.read(frameIndex);
+                    } catch (IndexOutOfBoundsException e) {
+                        // 마지막 프레임 다음 (getNumImages(true) 는 전체 스캔이 필요해서 사용하지 않음)
+                        frameSlots.release();
+                        break;
+                    }
+
+                    futures.add(frameExecutor.submit(() -> {
+                        try {
+                            return pageOcrProcessor.recognize(frame);
+                        } finally {
+                            frameSlots.release();
+                        }
+                    }));
+                }
+            } finally {
+                reader.dispose();
+            }
+
+            // 2) 프레임 순서대로 결과 조립
+            StringBuilder sb = new StringBuilder();
+            List<Double> pageConfidences = new ArrayList<>();
+
+            for (int i = 0; i < futures.size(); i++) {
+                PageOcrProcessor.PageOcrResult pageResult = futures.get(i).get();
+                String pageText = pageResult.getText();
+                pageConfidences.add(pageResult.getConfidence());
+
+                sb.append("=== PAGE ").append(i + 1).append(" ===\n");
+                sb.append(pageText != null ? pageText : "").append("\n\n");
+            }
+
+            String fullText = sb.toString();
+            log.debug("TIFF OCR 완료 - filename={}, frames={}, length={}",
+                    fileName, futures.size(), fullText.length());
+
+            return new TiffOcrResult(fullText, futures.size(), pageConfidences);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(futures);
+            throw new OcrProcessingException("TIFF OCR 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            log.error("TIFF 프레임 OCR 처리 중 예외 발생 - filename={}", fileName, e.getCause());
+            if (e.getCause() instanceof OcrProcessingException ocrException) {
+                throw ocrException;
+            }
+            throw new OcrProcessingException("TIFF OCR 처리 중 오류가 발생했습니다.", e.getCause());
+        } catch (IOException e) {
+            cancelAll(futures);
+            log.error("TIFF 파일을 읽는 중 오류 발생 - filename={}", fileName, e);
+            throw new OcrProcessingException("TIFF 파일을 읽는 중 오류가 발생했습니다.", e);
+        } catch (OcrProcessingException e) {
+            cancelAll(futures);
+            throw e;
+        } catch (Exception e) {
+            cancelAll(futures);
+            log.error("TIFF OCR 처리 중 예외 발생 - filename={}", fileName, e);
+            throw new OcrProcessingException("TIFF OCR 처리 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * (추가) TIFF 프레임 1장만 OCR (지연 OCR 모드에서 페이지를 처음 열람할 때 사용)
+     *
+     * @param source     TIFF 입력 소스
+     * @param frameIndex 0부터 시작하는 프레임 인덱스
+     */
+    public PageOcrProcessor.PageOcrResult processFrame(InputStreamSource source, int frameIndex) {
+        try (InputStream in = source.getInputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+
+            ImageReader reader = findTiffReader(imageInput);
+            BufferedImage frame;
+            try {
+                reader.setInput(imageInput, true, true);
+                frame = reader.read(frameIndex);
+            } catch (IndexOutOfBoundsException e) {
+                throw new OcrProcessingException("존재하지 않는 페이지입니다: " + (frameIndex + 1));
+            } finally {
+                reader.dispose();
+            }
+            return pageOcrProcessor.recognize(frame);
+
+        } catch (IOException e) {
+            log.error("TIFF 파일을 읽는 중 오류 발생 - frame={}", frameIndex + 1, e);
+            throw new OcrProcessingException("TIFF 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * (추가) OCR 없이 TIFF 프레임 수만 확인 (프레임 디코딩 없이 IFD 만 훑는다)
+     */
+    public int countFrames(InputStreamSource source) {
+        try (InputStream in = source.getInputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+
+            ImageReader reader = findTiffReader(imageInput);
+            try {
+                reader.setInput(imageInput, false, true);
+                return reader.getNumImages(true);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            log.error("TIFF 프레임 수 확인 중 오류 발생", e);
+            throw new OcrProcessingException("TIFF 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    private ImageReader findTiffReader(ImageInputStream imageInput) {
+        if (imageInput == null) {
+            throw new OcrProcessingException("TIFF 입력 스트림을 열 수 없습니다.");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+        if (!readers.hasNext()) {
+            throw new OcrProcessingException("TIFF 이미지를 읽을 수 있는 ImageReader 가 없습니다.");
+        }
+        return readers.next();
+    }
+
+    private void cancelAll(List<Future<PageOcrProcessor.PageOcrResult>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    /**
+     * TIFF OCR 결과 (PdfOcrResult 와 같은 구성)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class TiffOcrResult {
+        private final String text;                  // 전체 프레임 OCR 텍스트 (페이지 구분선 포함)
+        private final int pageCount;                // 프레임(페이지) 수
+        private final List<Double> pageConfidences; // 프레임별 평균 신뢰도 (0~100)
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.bboo_technology.Service;
+
+import com.example.bboo_technology.Config.RequestCoalescingProperties;
+import com.example.bboo_technology.util.ContentHash;
+import com.example.bboo_technology.util.SingleFlight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * (추가) 비용이 큰 요청(OpenAI 호출 / 번역 / 업로드 OCR)의 동시 중복 합치기.
+ *
+ * - 두 사람이 같은 문서로 동시에 "요약 생성" 을 누르거나 같은 파일을 동시에 올리면 작업은 한 번만 실행된다.
+ * - 그룹(용도)마다 SingleFlight 하나, 키는 입력 해시(key(...)) 로 만든다.
+ * - (추가) 기다리는 요청은 그룹별 대기 시간(coalescing.*)을 넘기면 SingleFlight.WaitTimeoutException 으로 끝난다.
+ * - /api/ocr/metrics/coalescing 에서 그룹별 실행 / 합쳐진 요청 수를 확인할 수 있다. (메모리 집계)
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescer {
+
+    public static final String GROUP_OPENAI_CHAT = "openai-chat";
+    public static final String GROUP_TRANSLATION = "translation";
+    public static final String GROUP_OCR_EXTRACT = "ocr-extract";
+
+    private final RequestCoalescingProperties properties;   // (추가)
+
+    private final Map<String, SingleFlight<String, Object>> groups = new ConcurrentHashMap<>();
+
+    /**
+     * 같은 그룹 + 키의 작업이 진행 중이면 그 결과를 기다리고, 없으면 work 실행
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String group, String key, Supplier<V> work) {
+        SingleFlight<String, Object> flight = groups.computeIfAbsent(group, name -> new SingleFlight<>(Duration.ofMillis(properties.followerTimeoutMs(name))));
+        return (V) flight.execute(key, work::get);
+    }
+
+    /**
+     * 입력 값들 → SHA-256 키 (값 사이 구분자는 NUL, null 은 빈 문자열)
+     */
+    public static String key(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            sb.append(part != null ? part : "").append('\u0000');
+        }
+        return ContentHash.sha256Hex(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public List<GroupStats> snapshot() {
+        List<GroupStats> result = new ArrayList<>();
+        groups.forEach((name, flight) ->
+                result.add(new GroupStats(name, flight.getExecutions(), flight.getCoalesced(),
+                        flight.getFollowerTimeouts(), flight.getInFlight())));
+        result.sort(Comparator.comparing(GroupStats::group));
+        return result;
+    }
+
+    /**
+     * 그룹별 실행 횟수 / 합쳐진 요청 수 / (추가) 기다리다 시간 초과 / 현재 진행 중
+     */
+    public record GroupStats(String group, long executions, long coalesced, long followerTimeouts, int inFlight) {
+    }
+}
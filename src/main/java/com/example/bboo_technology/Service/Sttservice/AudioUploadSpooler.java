@@ -0,0 +1,72 @@
+package com.example.bboo_technology.Service.Sttservice;
+
+import com.example.bboo_technology.util.ContentHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+/**
+ * (추가) STT 업로드 오디오 스풀러.
+ *
+ * - MultipartFile.getBytes() 로 오디오 전체를 힙에 올리지 않고, 버퍼 단위로 임시 파일에 흘려 쓴다.
+ * - 같은 패스에서 DigestInputStream 으로 SHA-256 을 계산한다. (캐시/중복 판별 키)
+ * - 반환된 SpooledAudio 는 try-with-resources 로 사용하면 처리 후 임시 파일이 삭제된다.
+ */
+@Slf4j
+@Component
+public class AudioUploadSpooler {
+
+    /**
+     * 업로드 파일을 임시 파일로 스풀 + 해시 계산
+     */
+    public SpooledAudio spool(MultipartFile file) throws IOException {
+        Path tempFile = Files.createTempFile("stt-upload-", extensionOf(file.getOriginalFilename()));
+
+        try {
+            MessageDigest digest = ContentHash.newDigest();
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String contentHash = ContentHash.toHex(digest.digest());
+
+            log.debug("[STT] 업로드 스풀 완료 - fileName={}, size={}, hash={}", file.getOriginalFilename(), size, contentHash);
+            return new SpooledAudio(tempFile, contentHash, size);
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    private String extensionOf(String fileName) {
+        if (fileName == null) {
+            return ".tmp";
+        }
+        int dot = fileName.lastIndexOf('.');
+        return (dot >= 0 && dot < fileName.length() - 1) ? fileName.substring(dot) : ".tmp";
+    }
+
+    /**
+     * 스풀된 오디오 (close 시 임시 파일 삭제)
+     */
+    public record SpooledAudio(Path path, String contentHash, long size) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("[STT] 임시 오디오 파일 삭제 실패 - path={}", path, e);
+            }
+        }
+    }
+}
@@ -3,13 +3,14 @@ package com.example.bboo_technology.Service.Sttservice;
 import com.example.bboo_technology.Config.OpenAiSttProperties;
 import com.example.bboo_technology.DTO.Stt.SttRequest;
 import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.DTO.Stt.SttSegment;
+import com.example.bboo_technology.util.LanguageCodes;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Primary;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -22,12 +23,13 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
 // (변경) OpenAI Whisper 기반 STT 엔진 실제 구현체
 //  - 기존 Stub 버전에서 OpenAI /audio/transcriptions 호출 로직으로 교체
 @Slf4j
 @Service
-@Primary //JAVA 테스트시에는 주석 해제 : 이거 파이썬에서 stt 받아 오는지 java 로컬 모델 쓸건지에 결정 사항 임
+//@Primary // (변경) 엔진 선택은 RoutingSttEngine(@Primary) 이 요청마다 결정한다
 @RequiredArgsConstructor
 public class OpenAiWhisperSttEngine implements SttEngine {
 
@@ -88,10 +90,10 @@ public class OpenAiWhisperSttEngine implements SttEngine {
      *      - model  : whisper-1 (또는 yml 설정 값)
      *  - 선택 필드:
      *      - language        : 언어 힌트 (예: ko, en)
-     *      - response_format : json (기본값)
+     *      - response_format : (변경) verbose_json (기본값, 문장 단위 segments 포함) / json
      *
      * TODO:
-     *  - temperature, prompt, timestamp_granularities 등 옵션 필요 시 추가
+     *  - temperature, prompt, timestamp_granularities[]=word 등 옵션 필요 시 추가
      */
     private WhisperResponse callOpenAiWhisper(SttRequest request) {
 
@@ -102,13 +104,9 @@ public class OpenAiWhisperSttEngine implements SttEngine {
         // =============================
         MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
 
-        // (중요) 파일 파트: ByteArrayResource + 파일명 설정
-        ByteArrayResource fileResource = new ByteArrayResource(request.getAudioData()) {
-            @Override
-            public String getFilename() {
-                return resolveFileName(request);
-            }
-        };
+        // (중요) 파일 파트: Resource + 파일명 설정
+        //  - (변경) 스풀된 파일이 있으면 FileSystemResource 로 버퍼 단위 스트리밍 전송 (요청당 힙 사용량 = 버퍼 크기)
+        Resource fileResource = request.toResource(resolveFileName(request));
 
         bodyBuilder
                 .part("file", fileResource)
@@ -122,8 +120,8 @@ public class OpenAiWhisperSttEngine implements SttEngine {
             bodyBuilder.part("language", request.getLanguageHint());
         }
 
-        // 응답 포맷 (json 강제)
-        bodyBuilder.part("response_format", "json");
+        // (변경) 응답 포맷 - verbose_json 이면 segments(start/end/text) 까지 받아서 자막 생성에 사용
+        bodyBuilder.part("response_format", resolveResponseFormat());
 
         // (TODO) 필요 시 temperature, prompt 등 파라미터 추가
 
@@ -185,15 +183,17 @@ public class OpenAiWhisperSttEngine implements SttEngine {
         String sessionId = request.getSessionId();
         String language = resolveResultLanguage(request, whisperResponse);
 
-        // TODO:
-        //  - whisperResponse 에 duration, language 등 추가 정보가 생기면 여기 매핑
-        //  - 현재 OpenAI /audio/transcriptions 기본 응답은 text 필드 중심
+        // (변경) verbose_json 이면 duration / segments 도 매핑 (json 이면 null)
+        Double durationSeconds = (request.getDurationSeconds() != null)
+                ? request.getDurationSeconds()      // WAV 헤더 기준 길이 우선
+                : whisperResponse.getDuration();
 
         SttResult result = SttResult.builder()
                 .sessionId(sessionId)
                 .transcript(whisperResponse.getText())
                 .language(language)
-                .durationSeconds(null)              // 필요 시 나중에 채우기
+                .durationSeconds(durationSeconds)
+                .segments(toSegments(whisperResponse.getSegments()))
                 .engineName(resolveEngineName())
                 .success(true)
                 .errorCode(null)
@@ -327,8 +327,14 @@ public class OpenAiWhisperSttEngine implements SttEngine {
         if (request == null) {
             return false;
         }
-        byte[] data = request.getAudioData();
-        return (data != null && data.length > 0);
+        // (변경) 스풀 파일 또는 byte[] 중 하나만 있으면 된다
+        return request.hasAudio();
+    }
+
+    // (추가) 결과 캐시 키용 엔진/모델 식별자
+    @Override
+    public String cacheKey() {
+        return "openai:" + sttProperties.getModel();
     }
 
     // (엔진 이름 생성 로직 분리)
@@ -339,16 +345,42 @@ public class OpenAiWhisperSttEngine implements SttEngine {
     }
 
     // (결과 언어 결정)
-    //  - 현재는 요청의 languageHint 를 그대로 사용
-    //  - 추후 Whisper 응답에 언어 정보가 포함되면 우선 사용하도록 변경 가능
+    //  - 요청의 languageHint 우선
+    //  - (변경) 힌트가 없으면 verbose_json 의 감지 언어 ("korean" → "ko", 다른 엔진 / 힌트와 같은 ISO-639-1 코드로)
     private String resolveResultLanguage(SttRequest request, WhisperResponse whisperResponse) {
         if (request != null && hasText(request.getLanguageHint())) {
             return request.getLanguageHint();
         }
-        // TODO: Whisper 응답에 language 필드가 생기면 whisperResponse.getLanguage() 사용
+        if (whisperResponse != null && hasText(whisperResponse.getLanguage())) {
+            String code = LanguageCodes.toIso639_1(whisperResponse.getLanguage());
+            if (code == null) {
+                log.debug("[STT-OPENAI] 알 수 없는 감지 언어 - language={}", whisperResponse.getLanguage());
+            }
+            return code;
+        }
         return null;
     }
 
+    // (추가) 응답 포맷 (미설정이면 verbose_json)
+    private String resolveResponseFormat() {
+        return hasText(sttProperties.getResponseFormat()) ? sttProperties.getResponseFormat() : "verbose_json";
+    }
+
+    // (추가) Whisper segments → SttSegment (전송한 오디오 기준 초, 무음 제거 보정은 SttServiceImpl 에서)
+    private List<SttSegment> toSegments(List<WhisperSegment> segments) {
+        if (segments == null) {
+            return null;
+        }
+        return segments.stream()
+                .filter(segment -> segment.getText() != null && !segment.getText().isBlank())
+                .map(segment -> SttSegment.builder()
+                        .startSeconds(segment.getStart())
+                        .endSeconds(segment.getEnd())
+                        .text(segment.getText().trim())
+                        .build())
+                .toList();
+    }
+
     // 파일 이름 보정
     private String resolveFileName(SttRequest request) {
         if (request == null) {
@@ -370,17 +402,27 @@ public class OpenAiWhisperSttEngine implements SttEngine {
     // =============================
 
     /**
-     * OpenAI /audio/transcriptions 기본 응답 스펙:
-     *  {
-     *      "text": "인식된 텍스트 ..."
-     *  }
-     *
-     * TODO:
-     *  - 향후 OpenAI 응답에 language, duration 등 필드가 추가되면 여기 확장
+     * OpenAI /audio/transcriptions 응답 스펙:
+     *  - json         : { "text": "인식된 텍스트 ..." }
+     *  - verbose_json : (추가) { "text", "language", "duration", "segments": [ { "id", "start", "end", "text", ... } ] }
      */
     @Getter
     @Setter
     public static class WhisperResponse {
         private String text;
+        private String language;
+        private Double duration;
+        private List<WhisperSegment> segments;
+    }
+
+    /**
+     * (추가) verbose_json 문장 구간 (나머지 필드 tokens / avg_logprob 등은 무시)
+     */
+    @Getter
+    @Setter
+    public static class WhisperSegment {
+        private double start;
+        private double end;
+        private String text;
     }
 }
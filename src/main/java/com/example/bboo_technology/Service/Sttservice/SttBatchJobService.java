@@ -0,0 +1,38 @@
+package com.example.bboo_technology.Service.Sttservice;
+
+import com.example.bboo_technology.DTO.Stt.SttBatchItemDto;
+import com.example.bboo_technology.DTO.Stt.SttBatchJobDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * (추가) STT 일괄 변환 작업 서비스.
+ *
+ * - ZIP / 다중 오디오 파일을 한 작업으로 등록하고, 엔진 수용량 안에서 파일을 나눠 변환한다.
+ * - 파일마다 결과를 바로 저장하므로 진행 중에도 끝난 파일의 자막을 조회할 수 있다.
+ */
+public interface SttBatchJobService {
+
+    /**
+     * 작업 등록 (업로드 파일을 디스크에 보관한 뒤 바로 반환, 변환은 백그라운드)
+     *
+     * @param files        오디오 파일 또는 ZIP (섞어서 가능)
+     * @param languageHint 언어 힌트 (null이면 auto)
+     */
+    SttBatchJobDto submit(List<MultipartFile> files, String languageHint);
+
+    SttBatchJobDto getJob(Long jobId);
+
+    List<SttBatchJobDto> findAll();
+
+    /**
+     * 파일별 결과 (처리 순서대로)
+     */
+    List<SttBatchItemDto> getItems(Long jobId);
+
+    /**
+     * 작업 취소 - 대기 중인 파일만 취소하고, 이미 엔진에 보낸 파일은 끝까지 처리해서 저장한다.
+     */
+    SttBatchJobDto cancel(Long jobId);
+}
@@ -0,0 +1,674 @@
+package com.example.bboo_technology.Service.Sttservice;
+
+import com.example.bboo_technology.Config.SttBatchProperties;
+import com.example.bboo_technology.DTO.Stt.SttBatchItemDto;
+import com.example.bboo_technology.DTO.Stt.SttBatchJobDto;
+import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.Entiry.SttBatchItem;
+import com.example.bboo_technology.Entiry.SttBatchJob;
+import com.example.bboo_technology.Repository.SttBatchItemRepository;
+import com.example.bboo_technology.Repository.SttBatchJobRepository;
+import com.example.bboo_technology.Service.Sttservice.engine.RoutingSttEngine;
+import com.example.bboo_technology.enums.SttBatchItemStatus;
+import com.example.bboo_technology.enums.SttBatchJobStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * (추가) SttBatchJobService 기본 구현체.
+ *
+ * - 흐름:
+ *   1) 업로드 파일 / ZIP 엔트리를 작업 디렉터리에 하나씩 흘려 쓰고 파일마다 SttBatchItem(PENDING) 등록
+ *      - ZIP 은 ZipInputStream 으로 엔트리를 순서대로 읽음 (전체 압축 해제 X, 힙 적재 X)
+ *   2) 디스패처 스레드 1개가 실행 중인 작업들의 대기 파일을 등록 순서대로 꺼내 작업 스레드에 넘긴다.
+ *      - 동시에 보낼 파일 수 = min(max-concurrency, 엔진 수용량 - interactive-reserve - 단건 요청 처리 중)
+ *        → RoutingSttEngine 이 로컬 서버 수 / OpenAI 상한으로 계산한 수용량을 일괄 작업이 다 쓰지 않게 한다.
+ *      - 수용량이 없으면 poll-interval-ms 뒤에 다시 확인 (항상 최소 1개는 진행)
+ *   3) 파일이 끝날 때마다 결과를 바로 저장하고 원본 파일 삭제
+ *   4) 대기 / 처리 중 파일이 모두 없어지면 COMPLETED (취소된 작업은 CANCELLED 유지)
+ * - (변경) 상태 변경은 조건부 update 로 한다 (읽고-바꾸고-저장하면 동시에 일어난 변경을 덮어씀)
+ *   - 파일: 처리 시작 시 PENDING → RUNNING 을 선점하고, 0 행이면 (그 사이 취소됨) 건너뜀
+ *   - 작업: 취소 RUNNING → CANCELLED 와 완료 RUNNING → COMPLETED 중 먼저 반영된 쪽만 남음
+ * - 애플리케이션이 작업 도중 종료되면 상태가 RUNNING 으로 남으므로, 다음 기동 시 처리 중이던 파일을 PENDING 으로 되돌리고 다시 큐에 넣는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SttBatchJobServiceImpl implements SttBatchJobService {
+
+    private static final String FILE_TYPE_ZIP = "application/zip";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // Whisper / 로컬 서버가 받는 오디오 확장자
+    private static final Set<String> AUDIO_EXTENSIONS = Set.of(
+            ".wav", ".mp3", ".m4a", ".mp4", ".mpeg", ".mpga", ".aac", ".flac", ".ogg", ".oga", ".opus", ".webm");
+
+    private final SttBatchJobRepository jobRepository;
+    private final SttBatchItemRepository itemRepository;
+    private final SttService sttService;
+    private final RoutingSttEngine routingSttEngine;
+    private final SttBatchProperties batchProperties;
+
+    private Path storageRoot;
+    private ExecutorService workerExecutor;
+    private Thread dispatcherThread;
+    private volatile boolean running = true;
+
+    // 실행 중인 작업 (등록 순서 = 처리 순서), 접근은 lock 으로 보호
+    private final Map<Long, ActiveJob> activeJobs = new LinkedHashMap<>();
+    private final Object lock = new Object();
+
+    // 일괄 작업이 현재 엔진에 보낸 파일 수
+    private final AtomicInteger batchInFlight = new AtomicInteger();
+
+    // 수용량이 없어서 디스패치를 미룬 횟수
+    private final AtomicLong deferredDispatches = new AtomicLong();
+
+    @PostConstruct
+    void init() throws IOException {
+        String configured = batchProperties.getStorageDir();
+        this.storageRoot = (configured == null || configured.isBlank())
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "stt-batch")
+                : Paths.get(configured);
+        Files.createDirectories(storageRoot);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.workerExecutor = Executors.newFixedThreadPool(Math.max(1, batchProperties.getMaxConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "stt-batch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.dispatcherThread = new Thread(this::dispatchLoop, "stt-batch-dispatcher");
+        this.dispatcherThread.setDaemon(true);
+        this.dispatcherThread.start();
+
+        log.info("SttBatchJobService initialized - dir={}, maxConcurrency={}, interactiveReserve={}",
+                storageRoot, batchProperties.getMaxConcurrency(), batchProperties.getInteractiveReserve());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // 처리 중이던 파일은 RUNNING 으로 남고, 다음 기동 시 PENDING 으로 되돌려 재개된다
+        running = false;
+        dispatcherThread.interrupt();
+        workerExecutor.shutdownNow();
+    }
+
+    /**
+     * 기동 시 중단된(RUNNING) 작업 재개
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!batchProperties.isResumeOnStartup()) {
+            return;
+        }
+        List<SttBatchJob> interrupted = jobRepository.findAllByStatus(SttBatchJobStatus.RUNNING);
+        if (!interrupted.isEmpty()) {
+            log.info("중단된 STT 일괄 작업 재개 - count={}", interrupted.size());
+        }
+        for (SttBatchJob job : interrupted) {
+            itemRepository.updateStatus(job.getId(), SttBatchItemStatus.RUNNING, SttBatchItemStatus.PENDING);
+            activate(job);
+        }
+    }
+
+    @Override
+    public SttBatchJobDto submit(List<MultipartFile> files, String languageHint) {
+        List<MultipartFile> uploads = (files == null) ? List.of()
+                : files.stream().filter(file -> file != null && !file.isEmpty()).toList();
+        if (uploads.isEmpty()) {
+            throw new SttProcessingException("업로드할 파일을 선택해 주세요.");
+        }
+
+        Path jobDir = storageRoot.resolve(UUID.randomUUID().toString());
+        List<SttBatchItem> items = new ArrayList<>();
+        try {
+            Files.createDirectories(jobDir);
+            for (MultipartFile file : uploads) {
+                String fileName = (file.getOriginalFilename() != null) ? file.getOriginalFilename() : "unnamed";
+                if (isZipFile(file.getContentType(), fileName)) {
+                    storeZipEntries(file, fileName, jobDir, items);
+                } else if (isAudioFile(fileName)) {
+                    Path target = jobDir.resolve(items.size() + extensionOf(fileName));
+                    try (InputStream in = file.getInputStream()) {
+                        Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    items.add(newItem(items.size(), fileName, target, file.getSize()));
+                } else {
+                    items.add(skippedItem(items.size(), fileName, "지원하지 않는 파일 형식입니다."));
+                }
+            }
+        } catch (IOException e) {
+            log.error("STT 일괄 작업 파일 저장 중 오류 발생", e);
+            deleteDirectoryQuietly(jobDir);
+            throw new SttProcessingException("파일을 저장하는 중 오류가 발생했습니다.", e);
+        }
+
+        if (items.stream().noneMatch(item -> item.getStatus() == SttBatchItemStatus.PENDING)) {
+            deleteDirectoryQuietly(jobDir);
+            throw new SttProcessingException("변환할 오디오 파일이 없습니다. (지원 형식: " + String.join(", ", AUDIO_EXTENSIONS) + ")");
+        }
+
+        SttBatchJob job = jobRepository.save(SttBatchJob.builder()
+                .name(uploads.get(0).getOriginalFilename() + (uploads.size() > 1 ? " 외 " + (uploads.size() - 1) + "개" : ""))
+                .languageHint(languageHint)
+                .storageDir(jobDir.toAbsolutePath().toString())
+                .totalItems(items.size())
+                .status(SttBatchJobStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        items.forEach(item -> item.setJobId(job.getId()));
+        itemRepository.saveAll(items);
+
+        log.info("STT 일괄 작업 등록 - jobId={}, items={}, dir={}", job.getId(), items.size(), jobDir);
+        activate(job);
+        return toDto(job);
+    }
+
+    @Override
+    public SttBatchJobDto getJob(Long jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    @Override
+    public List<SttBatchJobDto> findAll() {
+        return jobRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<SttBatchItemDto> getItems(Long jobId) {
+        findJob(jobId);
+        return itemRepository.findAllByJobIdOrderBySeqAsc(jobId).stream()
+                .map(this::toItemDto)
+                .toList();
+    }
+
+    @Override
+    public SttBatchJobDto cancel(Long jobId) {
+        SttBatchJob job = findJob(jobId);
+        if (job.getStatus() != SttBatchJobStatus.RUNNING) {
+            return toDto(job);
+        }
+
+        // (변경) 작업 상태부터 조건부로 변경 - 그 사이 완료됐으면 (0 행) 그대로 둔다
+        if (jobRepository.updateStatus(jobId, SttBatchJobStatus.RUNNING, SttBatchJobStatus.CANCELLED, LocalDateTime.now()) == 0) {
+            return toDto(findJob(jobId));
+        }
+
+        // 디스패처가 더 꺼내가지 못하게 대기열을 비운 뒤 남은 파일 취소 (이미 꺼내간 파일은 RUNNING 선점에 실패해서 건너뜀)
+        synchronized (lock) {
+            ActiveJob active = activeJobs.get(jobId);
+            if (active != null) {
+                active.pending.clear();
+            }
+        }
+        int cancelled = itemRepository.updateStatus(jobId, SttBatchItemStatus.PENDING, SttBatchItemStatus.CANCELLED);
+        log.info("STT 일괄 작업 취소 - jobId={}, cancelledItems={}", jobId, cancelled);
+
+        finishIfDone(jobId);
+        return toDto(findJob(jobId));
+    }
+
+    /**
+     * 디스패처 상태 (메트릭 조회용)
+     */
+    public DispatchSnapshot snapshot() {
+        synchronized (lock) {
+            int pending = activeJobs.values().stream().mapToInt(active -> active.pending.size()).sum();
+            return new DispatchSnapshot(activeJobs.size(), pending, batchInFlight.get(), allowedInFlight(),
+                    routingSttEngine.capacity(), routingSttEngine.inFlight(), deferredDispatches.get());
+        }
+    }
+
+    // =========================
+    // 디스패치
+    // =========================
+
+    private void activate(SttBatchJob job) {
+        List<Long> pendingIds = itemRepository.findAllByJobIdAndStatusOrderBySeqAsc(job.getId(), SttBatchItemStatus.PENDING)
+                .stream()
+                .map(SttBatchItem::getId)
+                .toList();
+
+        synchronized (lock) {
+            if (activeJobs.containsKey(job.getId())) {
+                return;
+            }
+            activeJobs.put(job.getId(), new ActiveJob(job.getId(), job.getLanguageHint(), new ArrayDeque<>(pendingIds)));
+            lock.notifyAll();
+        }
+        finishIfDone(job.getId());
+    }
+
+    /**
+     * 엔진 수용량이 남을 때마다 다음 파일을 작업 스레드로 넘긴다.
+     */
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Dispatch next = null;
+                synchronized (lock) {
+                    if (batchInFlight.get() < allowedInFlight()) {
+                        next = pollNext();
+                    } else if (hasPending()) {
+                        deferredDispatches.incrementAndGet();
+                    }
+                    if (next == null) {
+                        lock.wait(Math.max(10, batchProperties.getPollIntervalMs()));
+                        continue;
+                    }
+                    batchInFlight.incrementAndGet();
+                    next.active().running.incrementAndGet();
+                }
+
+                Dispatch dispatch = next;
+                workerExecutor.submit(() -> process(dispatch));
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("STT 일괄 작업 디스패치 중 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 이번에 일괄 작업이 엔진에 동시에 보낼 수 있는 파일 수
+     *  - 단건 요청이 쓰고 있는 슬롯 + 예약 슬롯을 뺀 나머지 (최소 1)
+     */
+    private int allowedInFlight() {
+        int interactiveInFlight = Math.max(0, routingSttEngine.inFlight() - batchInFlight.get());
+        int free = routingSttEngine.capacity() - batchProperties.getInteractiveReserve() - interactiveInFlight;
+        return Math.max(1, Math.min(batchProperties.getMaxConcurrency(), free));
+    }
+
+    // lock 안에서 호출 - 먼저 등록된 작업부터 차례로
+    private Dispatch pollNext() {
+        for (ActiveJob active : activeJobs.values()) {
+            Long itemId = active.pending.pollFirst();
+            if (itemId != null) {
+                return new Dispatch(active, itemId);
+            }
+        }
+        return null;
+    }
+
+    private boolean hasPending() {
+        return activeJobs.values().stream().anyMatch(active -> !active.pending.isEmpty());
+    }
+
+    /**
+     * 파일 1개 변환 + 즉시 저장 (작업 스레드)
+     */
+    private void process(Dispatch dispatch) {
+        ActiveJob active = dispatch.active();
+        try {
+            // (변경) PENDING 일 때만 RUNNING 으로 선점 - 취소와 동시에 일어나도 한쪽만 반영
+            if (itemRepository.updateStatusById(dispatch.itemId(), SttBatchItemStatus.PENDING, SttBatchItemStatus.RUNNING,
+                    LocalDateTime.now()) == 0) {
+                return;
+            }
+            SttBatchItem item = itemRepository.findById(dispatch.itemId()).orElse(null);
+            if (item == null) {
+                return;
+            }
+
+            Path filePath = (item.getFilePath() != null) ? Paths.get(item.getFilePath()) : null;
+            SttResult result;
+            if (filePath == null || !Files.exists(filePath)) {
+                result = null;
+            } else {
+                result = sttService.transcribeStoredFile(filePath, item.getFileName(),
+                        "batch-" + active.jobId + "-" + item.getSeq(), active.languageHint);
+            }
+
+            applyResult(item, result);
+            itemRepository.save(item);
+            deleteQuietly(filePath);
+
+        } catch (RuntimeException e) {
+            log.error("STT 일괄 작업 파일 처리 실패 - jobId={}, itemId={}", active.jobId, dispatch.itemId(), e);
+            itemRepository.findById(dispatch.itemId()).ifPresent(item -> {
+                item.setStatus(SttBatchItemStatus.FAILED);
+                item.setErrorCode("BATCH_EXCEPTION");
+                item.setErrorMessage(truncate(e.getMessage()));
+                itemRepository.save(item);
+            });
+        } finally {
+            synchronized (lock) {
+                batchInFlight.decrementAndGet();
+                active.running.decrementAndGet();
+                lock.notifyAll();
+            }
+            finishIfDone(active.jobId);
+        }
+    }
+
+    private void applyResult(SttBatchItem item, SttResult result) {
+        if (result == null) {
+            item.setStatus(SttBatchItemStatus.FAILED);
+            item.setErrorCode("FILE_NOT_FOUND");
+            item.setErrorMessage("저장된 오디오 파일이 없습니다.");
+            return;
+        }
+        item.setStatus(result.isSuccess() ? SttBatchItemStatus.COMPLETED : SttBatchItemStatus.FAILED);
+        item.setTranscript(result.getTranscript());
+        item.setLanguage(result.getLanguage());
+        item.setEngineName(result.getEngineName());
+        item.setDurationSeconds(result.getDurationSeconds());
+        item.setProcessingMillis(result.getProcessingMillis());
+        item.setCached(result.isCached());
+        item.setErrorCode(result.getErrorCode());
+        item.setErrorMessage(truncate(result.getErrorMessage()));
+    }
+
+    /**
+     * 대기 / 처리 중 파일이 없으면 작업 마무리 (상태 확정 + 작업 디렉터리 삭제)
+     */
+    private void finishIfDone(Long jobId) {
+        synchronized (lock) {
+            ActiveJob active = activeJobs.get(jobId);
+            if (active == null || !active.pending.isEmpty() || active.running.get() > 0) {
+                return;
+            }
+            activeJobs.remove(jobId);
+        }
+
+        // (변경) 조건부 update - 취소된 작업은 CANCELLED 그대로 (엔티티 저장으로 취소를 덮어쓰지 않음)
+        LocalDateTime now = LocalDateTime.now();
+        jobRepository.updateStatus(jobId, SttBatchJobStatus.RUNNING, SttBatchJobStatus.COMPLETED, now);
+        jobRepository.markFinished(jobId, now);
+
+        jobRepository.findById(jobId).ifPresent(job -> {
+            deleteDirectoryQuietly(Paths.get(job.getStorageDir()));
+            log.info("STT 일괄 작업 종료 - jobId={}, status={}", jobId, job.getStatus());
+        });
+    }
+
+    // =========================
+    // ZIP 처리
+    // =========================
+
+    /**
+     * ZIP 엔트리를 하나씩 작업 디렉터리에 흘려 쓴다.
+     * - 엔트리 경로는 표시용으로만 쓰고 저장 파일명은 순번으로 직접 만들므로 zip-slip 경로 문제가 없다.
+     */
+    private void storeZipEntries(MultipartFile zipFile, String zipName, Path jobDir, List<SttBatchItem> items) throws IOException {
+        Charset charset = Charset.forName(batchProperties.getZipCharset());
+        int entryCount = 0;
+
+        try (ZipInputStream zip = new ZipInputStream(zipFile.getInputStream(), charset)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String entryName = entry.getName();
+                if (entry.isDirectory() || isHiddenEntry(entryName)) {
+                    continue;
+                }
+
+                String displayName = zipName + "/" + entryName;
+                if (++entryCount > batchProperties.getMaxZipEntries()) {
+                    items.add(skippedItem(items.size(), displayName,
+                            "ZIP 1개당 최대 " + batchProperties.getMaxZipEntries() + "개 파일까지 처리합니다."));
+                    break;
+                }
+                if (!isAudioFile(entryName)) {
+                    items.add(skippedItem(items.size(), displayName, "지원하지 않는 파일 형식입니다."));
+                    continue;
+                }
+
+                Path target = jobDir.resolve(items.size() + extensionOf(entryName));
+                try {
+                    long size = copyEntry(zip, target);
+                    items.add(newItem(items.size(), displayName, target, size));
+                } catch (IOException e) {
+                    deleteQuietly(target);
+                    items.add(skippedItem(items.size(), displayName, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * 현재 ZIP 엔트리를 파일로 복사 (max-entry-bytes 초과 시 중단)
+     */
+    private long copyEntry(ZipInputStream zip, Path target) throws IOException {
+        long limit = batchProperties.getMaxEntryBytes();
+        long written = 0;
+
+        try (OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = zip.read(buffer)) != -1) {
+                written += read;
+                if (written > limit) {
+                    throw new IOException("파일 크기가 제한(" + limit / (1024 * 1024) + "MB)을 초과했습니다.");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return written;
+    }
+
+    // =========================
+    // 내부 유틸
+    // =========================
+
+    private SttBatchItem newItem(int seq, String fileName, Path path, long size) {
+        return SttBatchItem.builder()
+                .seq(seq)
+                .fileName(fileName)
+                .filePath(path.toAbsolutePath().toString())
+                .fileSize(size)
+                .status(SttBatchItemStatus.PENDING)
+                .build();
+    }
+
+    // 변환하지 않는 파일도 결과 목록에 남겨서 왜 빠졌는지 보이게 한다
+    private SttBatchItem skippedItem(int seq, String fileName, String reason) {
+        return SttBatchItem.builder()
+                .seq(seq)
+                .fileName(fileName)
+                .status(SttBatchItemStatus.FAILED)
+                .errorCode("SKIPPED")
+                .errorMessage(truncate(reason))
+                .build();
+    }
+
+    private boolean isZipFile(String contentType, String fileName) {
+        if (contentType != null
+                && (contentType.equalsIgnoreCase(FILE_TYPE_ZIP) || contentType.equalsIgnoreCase("application/x-zip-compressed"))) {
+            return true;
+        }
+        return fileName != null && fileName.toLowerCase().endsWith(".zip");
+    }
+
+    private boolean isAudioFile(String fileName) {
+        return AUDIO_EXTENSIONS.contains(extensionOf(fileName).toLowerCase());
+    }
+
+    /**
+     * macOS 압축 시 생기는 __MACOSX/, ._파일, .DS_Store 등은 건너뛴다.
+     */
+    private boolean isHiddenEntry(String entryName) {
+        String baseName = baseNameOf(entryName);
+        return entryName.startsWith("__MACOSX/") || baseName.startsWith(".");
+    }
+
+    private String baseNameOf(String path) {
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return (slash >= 0) ? path.substring(slash + 1) : path;
+    }
+
+    private String extensionOf(String fileName) {
+        String baseName = baseNameOf(fileName);
+        int dot = baseName.lastIndexOf('.');
+        return (dot >= 0) ? baseName.substring(dot) : ".tmp";
+    }
+
+    private String truncate(String message) {
+        return (message != null && message.length() > 1000) ? message.substring(0, 1000) : message;
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("STT 일괄 작업 파일 삭제 실패 - path={}", path, e);
+        }
+    }
+
+    private void deleteDirectoryQuietly(Path dir) {
+        if (dir == null || !Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            Iterator<Path> iterator = paths.sorted(Comparator.reverseOrder()).iterator();
+            while (iterator.hasNext()) {
+                deleteQuietly(iterator.next());
+            }
+        } catch (IOException e) {
+            log.warn("STT 일괄 작업 디렉터리 삭제 실패 - dir={}", dir, e);
+        }
+    }
+
+    private SttBatchJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new SttProcessingException("STT 일괄 작업을 찾을 수 없습니다. id=" + jobId));
+    }
+
+    private SttBatchJobDto toDto(SttBatchJob job) {
+        Long jobId = job.getId();
+        long pending = itemRepository.countByJobIdAndStatus(jobId, SttBatchItemStatus.PENDING);
+        long inProgress = itemRepository.countByJobIdAndStatus(jobId, SttBatchItemStatus.RUNNING);
+        long completed = itemRepository.countByJobIdAndStatus(jobId, SttBatchItemStatus.COMPLETED);
+        long failed = itemRepository.countByJobIdAndStatus(jobId, SttBatchItemStatus.FAILED);
+        long cancelled = itemRepository.countByJobIdAndStatus(jobId, SttBatchItemStatus.CANCELLED);
+        int total = (job.getTotalItems() != null) ? job.getTotalItems() : 0;
+        long done = completed + failed + cancelled;
+
+        // 처리량: 인식이 끝난 오디오 시간 / 작업 경과 시간
+        double audioSeconds = itemRepository.sumDurationSeconds(jobId, SttBatchItemStatus.COMPLETED);
+        LocalDateTime end = (job.getFinishedAt() != null) ? job.getFinishedAt() : LocalDateTime.now();
+        double wallSeconds = (job.getStartedAt() != null)
+                ? Math.max(0, Duration.between(job.getStartedAt(), end).toMillis() / 1000.0) : 0.0;
+        double audioHoursPerWallHour = (wallSeconds > 0) ? audioSeconds / wallSeconds : 0.0;
+
+        // 남은 시간: 지금까지 파일당 평균 경과 시간 x 남은 파일 수
+        Double etaSeconds = null;
+        if (job.getStatus() == SttBatchJobStatus.RUNNING && done > 0) {
+            etaSeconds = wallSeconds / done * (pending + inProgress);
+        }
+
+        return SttBatchJobDto.builder()
+                .id(jobId)
+                .name(job.getName())
+                .status(job.getStatus() != null ? job.getStatus().name() : null)
+                .languageHint(job.getLanguageHint())
+                .totalItems(total)
+                .pendingItems(pending)
+                .runningItems(inProgress)
+                .completedItems(completed)
+                .failedItems(failed)
+                .cancelledItems(cancelled)
+                .progress((total > 0) ? (double) done / total : 0.0)
+                .audioSeconds(audioSeconds)
+                .wallSeconds(wallSeconds)
+                .audioHoursPerWallHour(audioHoursPerWallHour)
+                .etaSeconds(etaSeconds)
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private SttBatchItemDto toItemDto(SttBatchItem item) {
+        return SttBatchItemDto.builder()
+                .id(item.getId())
+                .seq(item.getSeq())
+                .fileName(item.getFileName())
+                .status(item.getStatus() != null ? item.getStatus().name() : null)
+                .transcript(item.getTranscript())
+                .language(item.getLanguage())
+                .engineName(item.getEngineName())
+                .durationSeconds(item.getDurationSeconds())
+                .processingMillis(item.getProcessingMillis())
+                .cached(Boolean.TRUE.equals(item.getCached()))
+                .errorCode(item.getErrorCode())
+                .errorMessage(item.getErrorMessage())
+                .build();
+    }
+
+    /**
+     * 실행 중인 작업 1개 (메모리 대기열)
+     */
+    private static class ActiveJob {
+        private final Long jobId;
+        private final String languageHint;
+        private final Deque<Long> pending;
+        private final AtomicInteger running = new AtomicInteger();
+
+        private ActiveJob(Long jobId, String languageHint, Deque<Long> pending) {
+            this.jobId = jobId;
+            this.languageHint = languageHint;
+            this.pending = pending;
+        }
+    }
+
+    private record Dispatch(ActiveJob active, Long itemId) {}
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record DispatchSnapshot(
+            int activeJobs,         // 실행 중인 작업 수
+            int pendingItems,       // 대기 중인 파일 수
+            int batchInFlight,      // 일괄 작업이 엔진에 보낸 파일 수
+            int allowedInFlight,    // 지금 허용되는 일괄 동시 처리 수
+            int engineCapacity,     // 엔진 전체 수용량
+            int engineInFlight,     // 엔진 전체 처리 중 (단건 포함)
+            long deferredDispatches // 수용량이 없어서 미룬 횟수
+    ) {}
+}
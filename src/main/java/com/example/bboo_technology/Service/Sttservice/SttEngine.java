@@ -10,4 +10,12 @@ public interface SttEngine {
      * 단일 오디오 파일에 대한 STT 수행 (동기식)
      */
     SttResult transcribe(SttRequest request);
+
+    /**
+     * (추가) 결과 캐시 키에 들어가는 엔진/모델 식별자
+     *  - 모델이 바뀌면 값도 바뀌어야 이전 모델 결과를 재사용하지 않는다
+     */
+    default String cacheKey() {
+        return getClass().getSimpleName();
+    }
 }
@@ -0,0 +1,255 @@
+package com.example.bboo_technology.Service.Sttservice;
+
+import com.example.bboo_technology.Config.SttFingerprintProperties;
+import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.Service.Sttservice.audio.AudioFingerprint;
+import com.example.bboo_technology.Service.Sttservice.audio.AudioFingerprinter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * (추가) 반복 구간(광고/징글) 지문 색인 - 이미 인식한 클립과 같은 오디오면 엔진 호출 없이 결과 재사용.
+ *
+ * - 결과 캐시(SttTranscriptCache)는 바이트가 같아야 적중하지만, 방송 녹음은 같은 광고라도 잡음/음량/앞뒤 여백이 조금씩 다르다.
+ *   → 스펙트럼 랜드마크 해시(AudioFingerprinter)로 "같은 소리" 를 찾는다.
+ * - 색인: 해시 → (클립 ID, 기준 프레임) 목록. 클립당 수백 ~ 수천 개의 int 만 보관한다.
+ * - 조회: 입력 해시마다 같은 해시를 가진 (클립, 프레임 차이) 에 투표 → 가장 많이 모인 클립이
+ *   min-matches / min-match-ratio 를 넘고, 길이와 시작 위치가 거의 같을 때만 일치로 본다. (클립 전체 결과를 재사용하므로)
+ * - 엔진/모델 + 언어 힌트(scope) 가 같은 클립만 비교한다.
+ *   (변경) 투표 전에 거른다 - 다른 scope 클립이 최다 득표를 가져가서 같은 scope 의 일치를 가리지 않게
+ * - (추가) findLive : 라이브 청크용 엄격한 기준 (live-min-match-ratio / live-duration-tolerance) - 조회만 하고 등록하지 않는다.
+ * - 메모리 색인이므로 재시작 시 비워진다. (같은 바이트의 재업로드는 결과 캐시가 DB 에서 처리)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SttFingerprintIndex {
+
+    private final SttFingerprintProperties properties;
+    private final AudioFingerprinter fingerprinter;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 해시 → (클립 ID << 32 | 기준 프레임) 목록
+    private final Map<Integer, long[]> postings = new HashMap<>();
+    private final Map<Integer, Integer> postingSizes = new HashMap<>();
+
+    // 클립 ID → 클립 (삽입 순서, 가장 오래된 것부터 삭제)
+    private final LinkedHashMap<Integer, Clip> clips = new LinkedHashMap<>();
+    private int nextClipId = 1;
+    private long postingCount;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final DoubleAdder secondsSaved = new DoubleAdder();
+    private final AtomicLong indexedClips = new AtomicLong();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 지문 생성 (대상이 아니거나 읽기 실패 시 empty)
+     */
+    public Optional<AudioFingerprint> fingerprint(Path file) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            return fingerprinter.fingerprint(file);
+        } catch (IOException e) {
+            log.warn("[STT-FINGERPRINT] 지문 생성 실패 - 건너뜀", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 같은 클립 찾기
+     */
+    public Optional<SttTranscriptCache.CachedTranscript> find(AudioFingerprint fingerprint, String engineKey, String languageHint) {
+        return find(fingerprint, engineKey, languageHint, properties.getMinMatchRatio(), properties.getDurationTolerance());
+    }
+
+    /**
+     * (추가) 라이브 청크용 - 임의로 자른 말소리 조각이 광고 클립과 비슷하게 잡혀도 재사용하지 않도록 더 엄격하게
+     */
+    public Optional<SttTranscriptCache.CachedTranscript> findLive(AudioFingerprint fingerprint, String engineKey, String languageHint) {
+        return find(fingerprint, engineKey, languageHint,
+                Math.max(properties.getMinMatchRatio(), properties.getLiveMinMatchRatio()),
+                Math.min(properties.getDurationTolerance(), properties.getLiveDurationTolerance()));
+    }
+
+    private Optional<SttTranscriptCache.CachedTranscript> find(AudioFingerprint fingerprint, String engineKey, String languageHint,
+                                                               double minMatchRatio, double durationTolerance) {
+        if (fingerprint.size() == 0) {
+            return Optional.empty();
+        }
+        lookups.increment();
+        String scope = scope(engineKey, languageHint);
+
+        Map<Long, Integer> votes = new HashMap<>();
+        Map<Integer, Boolean> inScope = new HashMap<>();
+        int bestCount = 0;
+        long bestKey = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < fingerprint.size(); i++) {
+                long[] list = postings.get(fingerprint.hashes()[i]);
+                if (list == null) {
+                    continue;
+                }
+                int size = postingSizes.get(fingerprint.hashes()[i]);
+                for (int p = 0; p < size; p++) {
+                    int clipId = (int) (list[p] >>> 32);
+                    if (!inScope.computeIfAbsent(clipId, id -> {
+                        Clip candidate = clips.get(id);
+                        return candidate != null && candidate.scope().equals(scope);
+                    })) {
+                        continue;
+                    }
+                    int offset = (int) list[p] - fingerprint.anchorFrames()[i];
+                    // (클립 ID, 프레임 차이) 별 투표
+                    long key = ((long) clipId << 32) | (offset & 0xFFFFFFFFL);
+                    int count = votes.merge(key, 1, Integer::sum);
+                    if (count > bestCount) {
+                        bestCount = count;
+                        bestKey = key;
+                    }
+                }
+            }
+
+            if (bestCount < properties.getMinMatches()
+                    || (double) bestCount / fingerprint.size() < minMatchRatio) {
+                return Optional.empty();
+            }
+
+            Clip clip = clips.get((int) (bestKey >>> 32));
+            int offsetFrames = (int) bestKey;
+            if (clip == null
+                    || Math.abs(offsetFrames) * AudioFingerprinter.frameSeconds() > properties.getMaxOffsetSeconds()
+                    || Math.abs(clip.durationSeconds() - fingerprint.durationSeconds())
+                        > clip.durationSeconds() * durationTolerance) {
+                return Optional.empty();
+            }
+
+            matches.increment();
+            secondsSaved.add(fingerprint.durationSeconds());
+            log.info("[STT-FINGERPRINT] 반복 클립 일치 - clipId={}, votes={}/{}, offset={}s",
+                    clip.id(), bestCount, fingerprint.size(),
+                    String.format("%.2f", offsetFrames * AudioFingerprinter.frameSeconds()));
+            return Optional.of(clip.transcript());
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 인식 결과와 함께 지문 등록 (성공 + 내용이 있는 결과만)
+     */
+    public void add(AudioFingerprint fingerprint, String engineKey, String languageHint, SttResult result) {
+        if (!properties.isEnabled() || fingerprint.size() == 0 || result == null || !result.isSuccess()
+                || result.getTranscript() == null || result.getTranscript().isBlank()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int clipId = nextClipId++;
+            Clip clip = new Clip(clipId, scope(engineKey, languageHint), fingerprint.durationSeconds(),
+                    fingerprint.hashes(),
+                    SttTranscriptCache.CachedTranscript.of(result));
+            clips.put(clipId, clip);
+
+            for (int i = 0; i < fingerprint.size(); i++) {
+                int hash = fingerprint.hashes()[i];
+                int size = postingSizes.getOrDefault(hash, 0);
+                long[] list = postings.get(hash);
+                if (list == null || size == list.length) {
+                    list = (list == null) ? new long[2] : Arrays.copyOf(list, list.length * 2);
+                    postings.put(hash, list);
+                }
+                list[size] = ((long) clipId << 32) | (fingerprint.anchorFrames()[i] & 0xFFFFFFFFL);
+                postingSizes.put(hash, size + 1);
+            }
+            postingCount += fingerprint.size();
+            indexedClips.incrementAndGet();
+
+            while (clips.size() > Math.max(1, properties.getMaxClips())) {
+                evict(clips.values().iterator().next());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void evict(Clip clip) {
+        clips.remove(clip.id());
+        for (int hash : clip.hashes()) {
+            long[] list = postings.get(hash);
+            if (list == null) {
+                continue;
+            }
+            int size = postingSizes.get(hash);
+            int kept = 0;
+            for (int p = 0; p < size; p++) {
+                if ((int) (list[p] >>> 32) != clip.id()) {
+                    list[kept++] = list[p];
+                }
+            }
+            postingCount -= size - kept;
+            if (kept == 0) {
+                postings.remove(hash);
+                postingSizes.remove(hash);
+            } else {
+                postingSizes.put(hash, kept);
+            }
+        }
+    }
+
+    private static String scope(String engineKey, String languageHint) {
+        return engineKey + "|" + (languageHint != null ? languageHint.trim().toLowerCase() : "");
+    }
+
+    public FingerprintSummary snapshot() {
+        lock.readLock().lock();
+        try {
+            long lookupCount = lookups.sum();
+            long matchCount = matches.sum();
+            return new FingerprintSummary(clips.size(), postingCount, indexedClips.get(), lookupCount, matchCount,
+                    (lookupCount > 0) ? (double) matchCount / lookupCount : 0.0, secondsSaved.sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Clip(int id, String scope, double durationSeconds, int[] hashes,
+                        SttTranscriptCache.CachedTranscript transcript) {}
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record FingerprintSummary(
+            int clips,              // 현재 색인된 클립 수
+            long landmarks,         // 색인된 랜드마크 해시 수
+            long indexedClips,      // 누적 등록 클립 수 (삭제 포함)
+            long lookups,           // 조회 수 (결과 캐시 미스 + 지문 대상 길이)
+            long matches,           // 반복 클립 일치 수 (엔진 호출 생략)
+            double matchRatio,      // 일치율 (0~1)
+            double secondsSaved     // 엔진에 보내지 않은 오디오 누적(초)
+    ) {}
+}
@@ -0,0 +1,16 @@
+package com.example.bboo_technology.Service.Sttservice;
+
+/**
+ * (추가) STT 일괄 작업 등 요청 단위 처리 중 발생하는 예외를 감싸는 RuntimeException.
+ * - Controller 단에서는 이 예외를 잡아서 메시지를 그대로 사용자에게 보여준다.
+ */
+public class SttProcessingException extends RuntimeException {
+
+    public SttProcessingException(String message) {
+        super(message);
+    }
+
+    public SttProcessingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,6 +4,8 @@ import com.example.bboo_technology.DTO.Stt.SttResult;
 import com.example.bboo_technology.DTO.Stt.SttWebResponse;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 // (추가) 파일 기반 STT 서비스 인터페이스
 public interface SttService {
 
@@ -20,4 +22,23 @@ public interface SttService {
     // (추가) 웹/API 응답용 메서드
     SttWebResponse transcribeFileForWeb(MultipartFile file, String sessionId, String languageHint);
 
+    /**
+     * (추가) 디스크에 이미 저장된 오디오 파일을 STT 엔진으로 변환 (일괄 작업용)
+     *  - 업로드 파일과 같은 길이 제한 / 정규화 / 캐시 / 무음 제거를 거친다.
+     *  - 원본 파일은 삭제하지 않는다. (호출 측 소유)
+     *
+     * @param audioFile    오디오 파일 경로
+     * @param fileName     표시/확장자 판별용 파일명
+     * @param sessionId    세션 ID (옵션, null 가능)
+     * @param languageHint 언어 힌트 (null이면 auto)
+     * @return STT 결과
+     */
+    SttResult transcribeStoredFile(Path audioFile, String fileName, String sessionId, String languageHint);
+
+    /**
+     * (추가) 라이브 청크 변환 - transcribeStoredFile 과 같지만 결과 캐시 / 지문 색인은 조회만 한다.
+     *  - 지문 일치는 라이브 기준(stt.fingerprint.live-*)으로 더 엄격하게 확인한다.
+     */
+    SttResult transcribeLiveChunk(Path audioFile, String fileName, String sessionId, String languageHint);
+
 }
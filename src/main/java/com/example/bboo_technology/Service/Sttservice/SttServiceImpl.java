@@ -1,9 +1,17 @@
 package com.example.bboo_technology.Service.Sttservice;
 
+import com.example.bboo_technology.Config.OpenAiSttProperties;
 import com.example.bboo_technology.DTO.Stt.SttRequest;
 import com.example.bboo_technology.DTO.Stt.SttResponseDto;
 import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.DTO.Stt.SttSegment;
+import com.example.bboo_technology.DTO.Stt.SttTimeRange;
 import com.example.bboo_technology.DTO.Stt.SttWebResponse;
+import com.example.bboo_technology.Service.Sttservice.audio.AudioFingerprint;
+import com.example.bboo_technology.Service.Sttservice.audio.AudioNormalizer;
+import com.example.bboo_technology.Service.Sttservice.audio.AudioTimeline;
+import com.example.bboo_technology.Service.Sttservice.audio.SpeechTrimmer;
+import com.example.bboo_technology.util.ContentHash;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -11,7 +19,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 // (추가) STT 서비스 구현체
@@ -23,6 +36,24 @@ public class SttServiceImpl implements SttService {
     // (추가) 실제 STT 엔진 구현체(OpenAiWhisperSttEngine / LocalPythonSttEngine)가 주입됨
     private final SttEngine sttEngine;
 
+    // (추가) 업로드 오디오 디스크 스풀러
+    private final AudioUploadSpooler audioUploadSpooler;
+
+    // (추가) 엔진 호출 전 무음 구간 제거 (WAV)
+    private final SpeechTrimmer speechTrimmer;
+
+    // (추가) 엔진 호출 전 16kHz 모노 변환 (WAV)
+    private final AudioNormalizer audioNormalizer;
+
+    // (추가) max-audio-seconds 등 STT 공통 설정
+    private final OpenAiSttProperties openAiSttProperties;
+
+    // (추가) 정규화된 오디오 해시 기준 결과 캐시
+    private final SttTranscriptCache transcriptCache;
+
+    // (추가) 반복 클립(광고/징글) 지문 색인
+    private final SttFingerprintIndex fingerprintIndex;
+
     @Override
     public SttResult transcribeFile(MultipartFile file, String sessionId, String languageHint) {
 
@@ -44,11 +75,13 @@ public class SttServiceImpl implements SttService {
         String effectiveSessionId = normalizeSessionId(sessionId);
 
         // =============================
-        // 3. MultipartFile → byte[] 변환
+        // 3. (변경) MultipartFile → 임시 파일 스풀 (+ SHA-256 동시 계산)
+        //    - getBytes() 로 오디오 전체를 힙에 올리지 않는다.
+        //    - 엔진 호출이 끝나면 try-with-resources 로 임시 파일 삭제
         // =============================
-        byte[] audioBytes;
-        try {
-            audioBytes = file.getBytes();
+        try (AudioUploadSpooler.SpooledAudio spooled = audioUploadSpooler.spool(file)) {
+            return transcribeChecked(spooled, file.getOriginalFilename(), effectiveSessionId, languageHint, false);
+
         } catch (IOException e) {
             log.error("[STT] 파일 읽기 실패", e);
             return buildErrorResult(
@@ -57,33 +90,48 @@ public class SttServiceImpl implements SttService {
                     "오디오 파일을 읽는 중 오류가 발생했습니다."
             );
         }
+    }
 
-        // =============================
-        // 4. STT 요청 DTO(SttRequest) 생성
-        // =============================
-        SttRequest request = SttRequest.builder()
-                .sessionId(effectiveSessionId)
-                .languageHint(languageHint)
-                .fileName(file.getOriginalFilename())
-                .fileSize(file.getSize())
-                .audioData(audioBytes)
-                .meta(null) // (추가) 추후 방송 채널명, 사용자 정보 등 확장 가능
-                .build();
+    @Override
+    public SttResult transcribeStoredFile(Path audioFile, String fileName, String sessionId, String languageHint) {
+        return transcribeStored(audioFile, fileName, sessionId, languageHint, false);
+    }
 
-        // =============================
-        // 5. STT 엔진 호출
-        // =============================
-        SttResult result = sttEngine.transcribe(request);
+    @Override
+    public SttResult transcribeLiveChunk(Path audioFile, String fileName, String sessionId, String languageHint) {
+        return transcribeStored(audioFile, fileName, sessionId, languageHint, true);
+    }
 
-        // =============================
-        // 6. 결과 로깅 및 후처리(히스토리 저장 등은 추후 확장)
-        // =============================
-        log.info("[STT] sessionId={}, success={}, engine={}",
-                result.getSessionId(), result.isSuccess(), result.getEngineName());
+    /**
+     * (추가) 디스크 파일 변환 공통 (일괄 작업 / 라이브 청크)
+     *
+     * @param liveChunk true 면 캐시 / 지문 색인은 조회만 (엄격한 기준), 결과는 저장하지 않음
+     */
+    private SttResult transcribeStored(Path audioFile, String fileName, String sessionId, String languageHint,
+                                       boolean liveChunk) {
+        String effectiveSessionId = normalizeSessionId(sessionId);
 
-        // (추가) 여기서 필요 시 DB 히스토리 저장 로직 연동 가능
+        if (audioFile == null || !Files.isRegularFile(audioFile)) {
+            return buildErrorResult(effectiveSessionId, "EMPTY_FILE", "오디오 파일이 없습니다.");
+        }
 
-        return result;
+        // (추가) 이미 디스크에 있으므로 스풀 없이 해시만 계산 (close 하지 않음 → 원본 파일 유지)
+        try {
+            String contentHash;
+            try (InputStream in = Files.newInputStream(audioFile)) {
+                contentHash = ContentHash.sha256Hex(in);
+            }
+            AudioUploadSpooler.SpooledAudio stored = new AudioUploadSpooler.SpooledAudio(audioFile, contentHash, Files.size(audioFile));
+            return transcribeChecked(stored, fileName, effectiveSessionId, languageHint, liveChunk);
+
+        } catch (IOException e) {
+            log.error("[STT] 파일 읽기 실패 - path={}", audioFile, e);
+            return buildErrorResult(
+                    effectiveSessionId,
+                    "IO_ERROR",
+                    "오디오 파일을 읽는 중 오류가 발생했습니다."
+            );
+        }
     }
 
     // =============================
@@ -115,6 +163,198 @@ public class SttServiceImpl implements SttService {
                 .build();
     }
 
+    /**
+     * (추가) 길이 제한 확인 → 변환 (업로드 / 저장 파일 공통)
+     */
+    private SttResult transcribeChecked(AudioUploadSpooler.SpooledAudio spooled, String fileName,
+                                        String sessionId, String languageHint, boolean liveChunk) throws IOException {
+
+        // (추가) 3-1. 길이 제한 - 네트워크 호출 / 변환 전에 WAV 헤더로 바로 판단
+        Double durationSeconds = audioNormalizer.probeDurationSeconds(spooled.path());
+        if (isTooLong(durationSeconds)) {
+            log.warn("[STT] 허용 길이 초과 - duration={}s, max={}s", durationSeconds, openAiSttProperties.getMaxAudioSeconds());
+            return buildErrorResult(
+                    sessionId,
+                    "AUDIO_TOO_LONG",
+                    "오디오 길이가 허용 범위를 초과했습니다. (" + Math.round(durationSeconds)
+                            + "초 / 최대 " + openAiSttProperties.getMaxAudioSeconds() + "초)"
+            );
+        }
+
+        SttResult result = transcribeSpooled(spooled, fileName, sessionId, languageHint, liveChunk);
+
+        // =============================
+        // 6. 결과 로깅 및 후처리(히스토리 저장 등은 추후 확장)
+        // =============================
+        log.info("[STT] sessionId={}, success={}, engine={}, trimmedSeconds={}",
+                result.getSessionId(), result.isSuccess(), result.getEngineName(), result.getTrimmedSeconds());
+
+        // (추가) 여기서 필요 시 DB 히스토리 저장 로직 연동 가능
+
+        return result;
+    }
+
+    /**
+     * (추가) 스풀된 오디오 → 정규화(16kHz 모노) → 결과 캐시 확인 → (추가) 반복 클립 지문 확인 → 무음 제거 → 엔진 호출
+     *  - 변환/잘라낸 임시 파일은 try-with-resources 로 삭제 (원본 스풀 파일은 호출 측에서 삭제)
+     *  - (변경) 라이브 청크는 조회만 한다. 연속 음성을 임의로 자른 조각이라 다시 나올 일이 거의 없고,
+     *    저장하면 DB 캐시 / 지문 색인(FIFO) 을 채워 실제 반복 클립(광고/징글)을 밀어낸다.
+     *    지문 일치도 라이브 기준(live-min-match-ratio / live-duration-tolerance)으로 더 엄격하게 본다.
+     */
+    private SttResult transcribeSpooled(AudioUploadSpooler.SpooledAudio spooled, String fileName,
+                                        String sessionId, String languageHint, boolean liveChunk) throws IOException {
+
+        try (AudioNormalizer.NormalizedAudio normalized = audioNormalizer.normalize(spooled.path(), spooled.contentHash())) {
+
+            // (추가) 같은 오디오 + 같은 엔진/모델 + 같은 언어 힌트면 엔진 호출 없이 바로 반환
+            String engineKey = sttEngine.cacheKey();
+            String cacheKey = transcriptCache.key(normalized.audioHash(), engineKey, languageHint);
+            Optional<SttTranscriptCache.CachedTranscript> cached = transcriptCache.find(cacheKey);
+            if (cached.isPresent()) {
+                log.info("[STT] 결과 캐시 적중 - sessionId={}, audioHash={}", sessionId, normalized.audioHash());
+                return buildCachedResult(sessionId, cached.get(), normalized.durationSeconds());
+            }
+
+            // (추가) 바이트는 달라도 같은 소리(반복 광고/징글)면 지문으로 찾아서 재사용
+            Optional<AudioFingerprint> fingerprint = fingerprintIndex.fingerprint(normalized.path());
+            Optional<SttTranscriptCache.CachedTranscript> repeated = fingerprint.flatMap(fp -> liveChunk
+                    ? fingerprintIndex.findLive(fp, engineKey, languageHint)
+                    : fingerprintIndex.find(fp, engineKey, languageHint));
+            if (repeated.isPresent()) {
+                SttResult result = buildCachedResult(sessionId, repeated.get(), normalized.durationSeconds());
+                if (!liveChunk) {
+                    transcriptCache.put(cacheKey, normalized.audioHash(), engineKey, languageHint, result);
+                }
+                return result;
+            }
+
+            SttResult result = transcribeNormalized(normalized, spooled, fileName, sessionId, languageHint);
+            if (!liveChunk) {
+                transcriptCache.put(cacheKey, normalized.audioHash(), engineKey, languageHint, result);
+                fingerprint.ifPresent(fp -> fingerprintIndex.add(fp, engineKey, languageHint, result));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * (추가) 정규화된 오디오 → 무음 제거 → 엔진 호출
+     */
+    private SttResult transcribeNormalized(AudioNormalizer.NormalizedAudio normalized, AudioUploadSpooler.SpooledAudio spooled,
+                                           String fileName, String sessionId, String languageHint) throws IOException {
+
+        // 무음/음악 구간 제거 - 음성 구간만 엔진에 보내서 과금 시간 절감 (16kHz 모노로 분석해서 더 빠름)
+        try (SpeechTrimmer.TrimmedAudio trimmed = speechTrimmer.trim(normalized.path())) {
+
+            if (trimmed.noSpeech()) {
+                return buildNoSpeechResult(sessionId, trimmed.timeline());
+            }
+
+            // =============================
+            // 4. STT 요청 DTO(SttRequest) 생성
+            //    - contentHash 는 원본 기준 (변환/잘라낸 파일이 아니라 업로드 파일 식별용)
+            // =============================
+            Path audioFile = trimmed.path();
+            Double sentSeconds = (trimmed.timeline() != null) ? trimmed.timeline().keptSeconds() : normalized.durationSeconds();
+
+            SttRequest request = SttRequest.builder()
+                    .sessionId(sessionId)
+                    .languageHint(languageHint)
+                    .fileName(normalized.converted() ? toWavFileName(fileName) : fileName)
+                    .fileSize(audioFile.equals(spooled.path()) ? spooled.size() : Files.size(audioFile))
+                    .audioFile(audioFile)
+                    .contentHash(spooled.contentHash())
+                    .durationSeconds(sentSeconds)
+                    .meta(null) // (추가) 추후 방송 채널명, 사용자 정보 등 확장 가능
+                    .build();
+
+            // =============================
+            // 5. STT 엔진 호출
+            // =============================
+            SttResult result = sttEngine.transcribe(request);
+
+            // (추가) 원본 기준 정확한 길이 + 잘라낸 길이 + 원본 기준 음성 구간 첨부
+            SttResult.SttResultBuilder builder = result.toBuilder();
+            if (normalized.durationSeconds() != null) {
+                builder.durationSeconds(normalized.durationSeconds());
+            }
+            if (trimmed.timeline() != null) {
+                builder.trimmedSeconds(trimmed.removedSeconds())
+                        .speechRegions(toSpeechRegions(trimmed.timeline()))
+                        .segments(toOriginalSegments(result.getSegments(), trimmed.timeline())); // (추가) 자막 시각도 원본 기준으로
+            }
+            return builder.build();
+        }
+    }
+
+    // (추가) 캐시 적중 결과
+    private SttResult buildCachedResult(String sessionId, SttTranscriptCache.CachedTranscript cached, Double durationSeconds) {
+        return SttResult.builder()
+                .success(true)
+                .sessionId(sessionId)
+                .transcript(cached.transcript())
+                .language(cached.language())
+                .engineName(cached.engineName())
+                .durationSeconds(durationSeconds)
+                .segments(cached.segments())
+                .cached(true)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    // (추가) openai.stt.max-audio-seconds 초과 여부 (길이를 모르면 통과)
+    private boolean isTooLong(Double durationSeconds) {
+        Integer maxAudioSeconds = openAiSttProperties.getMaxAudioSeconds();
+        return durationSeconds != null && maxAudioSeconds != null && maxAudioSeconds > 0
+                && durationSeconds > maxAudioSeconds;
+    }
+
+    // (추가) 변환된 WAV 전송 시 파일명 확장자 보정
+    private String toWavFileName(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return "audio.wav";
+        }
+        return fileName.toLowerCase().endsWith(".wav") ? fileName : fileName + ".wav";
+    }
+
+    // (추가) 음성이 전혀 없는 오디오 - 엔진을 호출하지 않고 빈 결과 반환
+    private SttResult buildNoSpeechResult(String sessionId, AudioTimeline timeline) {
+        return SttResult.builder()
+                .success(true)
+                .sessionId(sessionId)
+                .transcript("")
+                .engineName("vad")
+                .durationSeconds(timeline.getOriginalSeconds())
+                .trimmedSeconds(timeline.removedSeconds())
+                .speechRegions(List.of())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    // (추가) 잘라낸 오디오 기준 segments → 원본 기준 (엔진이 segments 를 안 줬으면 null)
+    private List<SttSegment> toOriginalSegments(List<SttSegment> segments, AudioTimeline timeline) {
+        if (segments == null) {
+            return null;
+        }
+        return segments.stream()
+                .map(segment -> SttSegment.builder()
+                        .startSeconds(timeline.toOriginal(segment.getStartSeconds()))
+                        .endSeconds(timeline.toOriginalEnd(segment.getEndSeconds()))
+                        .text(segment.getText())
+                        .build())
+                .toList();
+    }
+
+    // (추가) 시간 대응표 → 원본 기준 음성 구간 목록
+    private List<SttTimeRange> toSpeechRegions(AudioTimeline timeline) {
+        return timeline.getPieces().stream()
+                .map(piece -> SttTimeRange.builder()
+                        .startSeconds(piece.originalStart())
+                        .endSeconds(piece.originalStart() + piece.length())
+                        .build())
+                .toList();
+    }
+
     @Override
     public SttWebResponse transcribeFileForWeb(MultipartFile file, String sessionId, String languageHint) {
 
@@ -133,6 +373,10 @@ public class SttServiceImpl implements SttService {
                 .language(result.getLanguage())
                 .engineName(result.getEngineName())
                 .errorMessage(result.getErrorMessage()) // 디버깅용
+                .trimmedSeconds(result.getTrimmedSeconds())
+                .speechRegions(result.getSpeechRegions())
+                .cached(result.isCached())
+                .segments(result.getSegments())
                 .build();
 
         // 4) HTTP 상태 코드 매핑
@@ -157,6 +401,9 @@ public class SttServiceImpl implements SttService {
         if (result.isSuccess()) {
             return "음성 인식이 성공적으로 완료되었습니다.";
         }
+        if ("AUDIO_TOO_LONG".equals(result.getErrorCode())) {
+            return result.getErrorMessage();
+        }
         if ("NOT_IMPLEMENTED".equals(result.getErrorCode())) {
             return "현재 STT 엔진은 Stub 상태입니다. OpenAI Whisper 연동이 아직 완료되지 않았습니다.";
         }
@@ -174,6 +421,9 @@ public class SttServiceImpl implements SttService {
         if ("EMPTY_FILE".equals(result.getErrorCode())) {
             return HttpStatus.BAD_REQUEST;
         }
+        if ("AUDIO_TOO_LONG".equals(result.getErrorCode())) {
+            return HttpStatus.PAYLOAD_TOO_LARGE;
+        }
         if ("NOT_IMPLEMENTED".equals(result.getErrorCode())) {
             return HttpStatus.NOT_IMPLEMENTED;
         }
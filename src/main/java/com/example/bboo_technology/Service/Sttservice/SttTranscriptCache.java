@@ -0,0 +1,198 @@
+package com.example.bboo_technology.Service.Sttservice;
+
+import com.example.bboo_technology.Config.SttCacheProperties;
+import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.DTO.Stt.SttSegment;
+import com.example.bboo_technology.Entiry.SttTranscriptCacheEntry;
+import com.example.bboo_technology.Repository.SttTranscriptCacheRepository;
+import com.example.bboo_technology.util.ContentHash;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) STT 결과 캐시 (메모리 LRU + DB).
+ *
+ * - 키: 정규화된 오디오 해시 + 엔진/모델(SttEngine.cacheKey) + 언어 힌트
+ *   → 같은 오디오라도 모델이나 언어 힌트가 다르면 다시 인식한다.
+ * - 성공 결과만 저장한다.
+ * - (추가) 문장 구간(segments)도 같이 저장해서 캐시 적중 시에도 자막을 만들 수 있게 한다. (DB 는 JSON 문자열)
+ * - DB 오류는 캐시 미스로 취급한다. (캐시 때문에 STT 가 실패하지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SttTranscriptCache {
+
+    private final SttCacheProperties cacheProperties;
+    private final SttTranscriptCacheRepository cacheRepository;
+    private final ObjectMapper objectMapper;
+
+    private Map<String, CachedTranscript> entries;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        int maxEntries = Math.max(1, cacheProperties.getMaxEntries());
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTranscript> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return cacheProperties.isEnabled();
+    }
+
+    /**
+     * 캐시 키 생성
+     */
+    public String key(String audioHash, String engineKey, String languageHint) {
+        String raw = audioHash + "|" + engineKey + "|" + (languageHint != null ? languageHint.trim().toLowerCase() : "");
+        return ContentHash.sha256Hex(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 메모리 → DB 순서로 조회
+     */
+    public Optional<CachedTranscript> find(String cacheKey) {
+        if (!cacheProperties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        CachedTranscript cached = entries.get(cacheKey);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
+
+        if (cacheProperties.isPersistent()) {
+            try {
+                Optional<CachedTranscript> stored = cacheRepository.findByCacheKey(cacheKey).map(this::toCached);
+                if (stored.isPresent()) {
+                    entries.put(cacheKey, stored.get());
+                    storeHits.increment();
+                    return stored;
+                }
+            } catch (DataAccessException e) {
+                log.warn("[STT-CACHE] DB 조회 실패 - 캐시 미스로 처리", e);
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 성공 결과 저장 (메모리 + DB)
+     */
+    public void put(String cacheKey, String audioHash, String engineKey, String languageHint, SttResult result) {
+        if (!cacheProperties.isEnabled() || result == null || !result.isSuccess() || result.getTranscript() == null) {
+            return;
+        }
+
+        entries.put(cacheKey, CachedTranscript.of(result));
+
+        if (!cacheProperties.isPersistent()) {
+            return;
+        }
+        try {
+            if (cacheRepository.existsByCacheKey(cacheKey)) {
+                return;
+            }
+            cacheRepository.save(SttTranscriptCacheEntry.builder()
+                    .cacheKey(cacheKey)
+                    .audioHash(audioHash)
+                    .engineKey(engineKey)
+                    .languageHint(languageHint)
+                    .transcript(result.getTranscript())
+                    .language(result.getLanguage())
+                    .engineName(result.getEngineName())
+                    .segmentsJson(writeSegments(result.getSegments()))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 오디오를 동시에 처리한 다른 요청이 먼저 저장 (unique 제약) → 무시
+            log.debug("[STT-CACHE] 중복 저장 무시 - key={}", cacheKey);
+        } catch (DataAccessException e) {
+            log.warn("[STT-CACHE] DB 저장 실패 - 메모리 캐시만 사용", e);
+        }
+    }
+
+    public CacheSummary snapshot() {
+        long memory = memoryHits.sum();
+        long store = storeHits.sum();
+        long miss = misses.sum();
+        long total = memory + store + miss;
+        return new CacheSummary(entries.size(), memory, store, miss, (total > 0) ? (double) (memory + store) / total : 0.0);
+    }
+
+    private CachedTranscript toCached(SttTranscriptCacheEntry entry) {
+        return new CachedTranscript(entry.getTranscript(), entry.getLanguage(), entry.getEngineName(),
+                readSegments(entry.getSegmentsJson()));
+    }
+
+    // (추가) segments ↔ JSON (실패하면 segments 없이 텍스트만 사용)
+    private String writeSegments(List<SttSegment> segments) {
+        if (segments == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(segments);
+        } catch (JsonProcessingException e) {
+            log.warn("[STT-CACHE] segments 직렬화 실패 - 텍스트만 저장", e);
+            return null;
+        }
+    }
+
+    private List<SttSegment> readSegments(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<SttSegment>>() {});
+        } catch (JsonProcessingException e) {
+            log.warn("[STT-CACHE] segments 역직렬화 실패 - 텍스트만 사용", e);
+            return null;
+        }
+    }
+
+    /**
+     * 캐시된 결과 (추가: segments - 원본 기준 문장 구간, 없으면 null)
+     */
+    public record CachedTranscript(String transcript, String language, String engineName, List<SttSegment> segments) {
+
+        public static CachedTranscript of(SttResult result) {
+            return new CachedTranscript(result.getTranscript(), result.getLanguage(), result.getEngineName(), result.getSegments());
+        }
+    }
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record CacheSummary(
+            int memoryEntries,  // 메모리 캐시 건수
+            long memoryHits,    // 메모리 적중
+            long storeHits,     // DB 적중
+            long misses,        // 미스 (엔진 호출)
+            double hitRatio     // 적중률 (0~1)
+    ) {}
+}
@@ -0,0 +1,15 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+/**
+ * (추가) 오디오 지문 (랜드마크 해시 목록)
+ *
+ * @param hashes          랜드마크 해시 (기준 피크 주파수 + 주파수 차 + 시간 차)
+ * @param anchorFrames    해시별 기준 피크의 프레임 번호 (hashes 와 같은 순서)
+ * @param durationSeconds 오디오 길이(초)
+ */
+public record AudioFingerprint(int[] hashes, int[] anchorFrames, double durationSeconds) {
+
+    public int size() {
+        return hashes.length;
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+import com.example.bboo_technology.Config.SttFingerprintProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * (추가) 스펙트럼 피크 기반 랜드마크 지문 (순수 Java).
+ *
+ * 1) 16kHz 모노를 1024 샘플(64ms) 창, 512 샘플 간격으로 FFT → 300Hz ~ 4kHz 로그 스펙트럼
+ * 2) 대역(로그 간격 6개)마다 최대 bin 을 고르고, 앞뒤 프레임보다 크고 프레임 평균보다 충분히 크면 피크
+ * 3) 각 피크(기준)를 바로 뒤 약 2초 안의 피크 몇 개와 짝지어 (기준 주파수, 주파수 차, 시간 차) 를 23bit 해시로
+ *    → 음량/잡음에 강하고, 시간 차 기준이라 재생 시작 위치가 달라도 같은 해시가 나온다.
+ * 4) 파일은 버퍼 단위로 읽고 최근 3프레임 스펙트럼만 보관한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AudioFingerprinter {
+
+    public static final int SAMPLE_RATE = 16000;
+
+    private static final int FFT_SIZE = 1024;
+    private static final int HOP = FFT_SIZE / 2;
+    private static final double FRAME_SECONDS = (double) HOP / SAMPLE_RATE;
+
+    private static final int MIN_BIN = 300 * FFT_SIZE / SAMPLE_RATE;     // 19
+    private static final int MAX_BIN = 4000 * FFT_SIZE / SAMPLE_RATE;    // 256
+    private static final int BANDS = 6;
+    private static final double PEAK_MARGIN_DB = 10.0;
+
+    // 짝짓기 범위: 1 ~ 63 프레임 (약 2초), 주파수 차 ±127 bin, 기준 피크당 최대 3쌍
+    private static final int MAX_DT = 63;
+    private static final int MAX_DF = 127;
+    private static final int FAN_OUT = 3;
+
+    private static final int[] BAND_EDGES = bandEdges();
+    private static final double[] WINDOW = hann(FFT_SIZE);
+    private static final double[] COS = new double[FFT_SIZE / 2];
+    private static final double[] SIN = new double[FFT_SIZE / 2];
+
+    static {
+        for (int i = 0; i < FFT_SIZE / 2; i++) {
+            COS[i] = Math.cos(-2 * Math.PI * i / FFT_SIZE);
+            SIN[i] = Math.sin(-2 * Math.PI * i / FFT_SIZE);
+        }
+    }
+
+    private final SttFingerprintProperties properties;
+
+    public static double frameSeconds() {
+        return FRAME_SECONDS;
+    }
+
+    /**
+     * 지문 생성
+     *
+     * @return 16kHz WAV 가 아니거나, 길이가 min/max-seconds 범위를 벗어나면 empty
+     */
+    public Optional<AudioFingerprint> fingerprint(Path file) throws IOException {
+        WavFormat format = WavFormat.read(file).filter(WavFormat::isSupported).orElse(null);
+        if (format == null || format.sampleRate() != SAMPLE_RATE) {
+            return Optional.empty();
+        }
+        double duration = format.durationSeconds();
+        if (duration < properties.getMinSeconds() || duration > properties.getMaxSeconds()) {
+            return Optional.empty();
+        }
+
+        List<int[]> peaks = findPeaks(file, format);
+        return Optional.of(buildLandmarks(peaks, duration));
+    }
+
+    // =========================
+    // 1~2) 스펙트럼 피크
+    // =========================
+
+    private List<int[]> findPeaks(Path file, WavFormat format) throws IOException {
+        List<int[]> peaks = new ArrayList<>();
+
+        double[] frame = new double[FFT_SIZE];
+        double[] re = new double[FFT_SIZE];
+        double[] im = new double[FFT_SIZE];
+
+        // 최근 3프레임 스펙트럼 (prev, current, next)
+        double[][] spectra = new double[3][];
+        double[] means = new double[3];
+        int frameIndex = 0;
+
+        int blockAlign = format.blockAlign();
+        byte[] buffer = new byte[HOP * blockAlign];
+        int filled = 0;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            in.skipNBytes(format.dataOffset());
+            long remainingBytes = format.dataLength() - (format.dataLength() % blockAlign);
+
+            while (remainingBytes > 0) {
+                int read = in.readNBytes(buffer, 0, (int) Math.min(buffer.length, remainingBytes));
+                if (read <= 0) {
+                    break;
+                }
+                remainingBytes -= read;
+                int samples = read / blockAlign;
+
+                // 창을 HOP 만큼 밀고 새 샘플 채우기
+                System.arraycopy(frame, HOP, frame, 0, FFT_SIZE - HOP);
+                for (int s = 0; s < HOP; s++) {
+                    frame[FFT_SIZE - HOP + s] = (s < samples) ? format.monoSample(buffer, s * blockAlign) : 0.0;
+                }
+                filled += samples;
+                if (filled < FFT_SIZE) {
+                    continue;
+                }
+
+                spectra[0] = spectra[1];
+                spectra[1] = spectra[2];
+                means[0] = means[1];
+                means[1] = means[2];
+                spectra[2] = logSpectrum(frame, re, im);
+                means[2] = mean(spectra[2]);
+
+                if (spectra[0] != null) {
+                    pickPeaks(frameIndex - 1, spectra, means[1], peaks);
+                }
+                frameIndex++;
+            }
+        }
+        return peaks;
+    }
+
+    private void pickPeaks(int frameIndex, double[][] spectra, double mean, List<int[]> peaks) {
+        double[] prev = spectra[0];
+        double[] current = spectra[1];
+        double[] next = spectra[2];
+
+        for (int band = 0; band < BANDS; band++) {
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int bin = BAND_EDGES[band]; bin < BAND_EDGES[band + 1]; bin++) {
+                if (current[bin] > bestValue) {
+                    bestValue = current[bin];
+                    best = bin;
+                }
+            }
+            if (best >= 0 && bestValue > mean + PEAK_MARGIN_DB
+                    && bestValue > prev[best] && bestValue >= next[best]) {
+                peaks.add(new int[]{frameIndex, best});
+            }
+        }
+    }
+
+    // =========================
+    // 3) 랜드마크 해시
+    // =========================
+
+    private AudioFingerprint buildLandmarks(List<int[]> peaks, double duration) {
+        List<Integer> hashes = new ArrayList<>();
+        List<Integer> anchors = new ArrayList<>();
+
+        for (int i = 0; i < peaks.size(); i++) {
+            int[] anchor = peaks.get(i);
+            int pairs = 0;
+            for (int j = i + 1; j < peaks.size() && pairs < FAN_OUT; j++) {
+                int[] target = peaks.get(j);
+                int dt = target[0] - anchor[0];
+                if (dt < 1) {
+                    continue;
+                }
+                if (dt > MAX_DT) {
+                    break;
+                }
+                int df = target[1] - anchor[1];
+                if (Math.abs(df) > MAX_DF) {
+                    continue;
+                }
+                hashes.add(hash(anchor[1], df, dt));
+                anchors.add(anchor[0]);
+                pairs++;
+            }
+        }
+
+        return new AudioFingerprint(
+                hashes.stream().mapToInt(Integer::intValue).toArray(),
+                anchors.stream().mapToInt(Integer::intValue).toArray(),
+                duration);
+    }
+
+    // 기준 주파수 9bit | 주파수 차 8bit | 시간 차 6bit
+    static int hash(int anchorBin, int df, int dt) {
+        return ((anchorBin & 0x1FF) << 14) | (((df + 128) & 0xFF) << 6) | (dt & 0x3F);
+    }
+
+    // =========================
+    // FFT
+    // =========================
+
+    private double[] logSpectrum(double[] frame, double[] re, double[] im) {
+        for (int i = 0; i < FFT_SIZE; i++) {
+            re[i] = frame[i] * WINDOW[i];
+            im[i] = 0.0;
+        }
+        fft(re, im);
+
+        double[] spectrum = new double[MAX_BIN];
+        for (int bin = MIN_BIN; bin < MAX_BIN; bin++) {
+            double power = re[bin] * re[bin] + im[bin] * im[bin];
+            spectrum[bin] = 10 * Math.log10(power + 1e-12);
+        }
+        return spectrum;
+    }
+
+    private static double mean(double[] spectrum) {
+        double sum = 0;
+        for (int bin = MIN_BIN; bin < MAX_BIN; bin++) {
+            sum += spectrum[bin];
+        }
+        return sum / (MAX_BIN - MIN_BIN);
+    }
+
+    /**
+     * 제자리 radix-2 FFT
+     */
+    private static void fft(double[] re, double[] im) {
+        int n = re.length;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        for (int len = 2; len <= n; len <<= 1) {
+            int step = n / len;
+            int half = len / 2;
+            for (int start = 0; start < n; start += len) {
+                for (int k = 0; k < half; k++) {
+                    double wr = COS[k * step];
+                    double wi = SIN[k * step];
+                    int a = start + k;
+                    int b = a + half;
+                    double xr = re[b] * wr - im[b] * wi;
+                    double xi = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - xr;
+                    im[b] = im[a] - xi;
+                    re[a] += xr;
+                    im[a] += xi;
+                }
+            }
+        }
+    }
+
+    private static double[] hann(int size) {
+        double[] window = new double[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = 0.5 - 0.5 * Math.cos(2 * Math.PI * i / (size - 1));
+        }
+        return window;
+    }
+
+    private static int[] bandEdges() {
+        int[] edges = new int[BANDS + 1];
+        double ratio = Math.pow((double) MAX_BIN / MIN_BIN, 1.0 / BANDS);
+        edges[0] = MIN_BIN;
+        for (int i = 1; i < BANDS; i++) {
+            edges[i] = (int) Math.round(MIN_BIN * Math.pow(ratio, i));
+        }
+        edges[BANDS] = MAX_BIN;
+        return edges;
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+import com.example.bboo_technology.Config.SttAudioProperties;
+import com.example.bboo_technology.util.ContentHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/**
+ * (추가) STT 업로드 전 WAV 정규화 (모노 다운믹스 + 16kHz 리샘플링 + 16bit PCM).
+ *
+ * - Whisper / faster-whisper 모두 내부에서 16kHz 모노로 바꿔 처리하므로,
+ *   48kHz 스테레오 WAV 를 그대로 올리면 전송량만 6배가 된다.
+ * - 리샘플링: 윈도우 sinc 보간 (다운샘플링 시 저역통과 포함, 커널은 미리 테이블로 계산)
+ * - 파일을 버퍼 단위로 읽고 써서 힙에 오디오 전체를 올리지 않는다.
+ * - WAV 가 아니면(mp3/m4a 등) 그대로 통과.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AudioNormalizer {
+
+    // 커널 테이블 해상도 (입력 샘플 1칸당 구간 수)
+    private static final int KERNEL_RESOLUTION = 512;
+
+    // 입력 버퍼 크기 (모노 샘플 수)
+    private static final int CHUNK_SAMPLES = 64 * 1024;
+
+    private static final int OUTPUT_BITS = 16;
+
+    private final SttAudioProperties audioProperties;
+
+    /**
+     * WAV 헤더 기준 정확한 길이(초). WAV 가 아니면 null.
+     */
+    public Double probeDurationSeconds(Path file) throws IOException {
+        return WavFormat.read(file).map(WavFormat::durationSeconds).orElse(null);
+    }
+
+    /**
+     * 정규화된 오디오 반환 (대상이 아니면 원본 그대로)
+     * - 반환값은 try-with-resources 로 사용 (변환된 임시 파일 삭제)
+     *
+     * @param sourceHash 원본 파일 해시 (변환하지 않으면 그대로 audioHash 로 사용)
+     */
+    public NormalizedAudio normalize(Path file, String sourceHash) throws IOException {
+        Optional<WavFormat> parsed = WavFormat.read(file);
+        if (parsed.isEmpty()) {
+            return new NormalizedAudio(file, null, false, sourceHash);
+        }
+
+        WavFormat format = parsed.get();
+        int targetRate = Math.min(format.sampleRate(), Math.max(8000, audioProperties.getTargetSampleRate()));
+        boolean alreadyNormalized = format.channels() == 1
+                && format.formatTag() == WavFormat.FORMAT_PCM
+                && format.bitsPerSample() == OUTPUT_BITS
+                && format.sampleRate() == targetRate;
+
+        if (!audioProperties.isNormalize() || alreadyNormalized) {
+            return new NormalizedAudio(file, format.durationSeconds(), false, sourceHash);
+        }
+
+        long start = System.currentTimeMillis();
+        Path target = Files.createTempFile("stt-norm-", ".wav");
+        String audioHash;
+        try {
+            audioHash = convert(file, format, target, targetRate);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        log.info("[STT-AUDIO] 정규화 - {}Hz/{}ch/{}bit → {}Hz/1ch/16bit, size={} → {} bytes, elapsedMs={}",
+                format.sampleRate(), format.channels(), format.bitsPerSample(), targetRate,
+                Files.size(file), Files.size(target), System.currentTimeMillis() - start);
+        return new NormalizedAudio(target, format.durationSeconds(), true, audioHash);
+    }
+
+    // =========================
+    // 변환
+    // =========================
+
+    /**
+     * @return 변환된 파일의 SHA-256 (쓰면서 같이 계산)
+     */
+    private String convert(Path source, WavFormat format, Path target, int targetRate) throws IOException {
+        int sourceRate = format.sampleRate();
+        long inputFrames = format.frameCount();
+        long outputFrames = (sourceRate == targetRate) ? inputFrames : (inputFrames * targetRate) / sourceRate;
+
+        MessageDigest digest = ContentHash.newDigest();
+        try (MonoReader reader = new MonoReader(source, format);
+             OutputStream out = new BufferedOutputStream(
+                     new DigestOutputStream(Files.newOutputStream(target), digest), 64 * 1024)) {
+
+            WavFormat.writeHeader(out, WavFormat.FORMAT_PCM, 1, targetRate, OUTPUT_BITS, outputFrames * 2);
+
+            if (sourceRate == targetRate) {
+                // 다운믹스만
+                for (long i = 0; i < outputFrames; i++) {
+                    writeSample(out, reader.sampleAt(i));
+                }
+            } else {
+                resample(reader, out, inputFrames, outputFrames, sourceRate, targetRate);
+            }
+        }
+        return ContentHash.toHex(digest.digest());
+    }
+
+    /**
+     * 윈도우 sinc 리샘플링
+     * - 출력 샘플 k 의 입력 위치 t = k * (src / dst), 주변 입력 샘플에 커널 h(t - i) 를 곱해 합산
+     * - 다운샘플링 시 차단 주파수를 목표 나이퀴스트에 맞춰 엘리어싱 방지
+     */
+    private void resample(MonoReader reader, OutputStream out, long inputFrames, long outputFrames,
+                          int sourceRate, int targetRate) throws IOException {
+        double step = (double) sourceRate / targetRate;
+        double cutoff = Math.min(1.0, 1.0 / step) * 0.95;
+        int zeroCrossings = Math.max(2, audioProperties.getFilterZeroCrossings());
+        int halfWidth = (int) Math.ceil(zeroCrossings / cutoff);
+        float[] kernel = buildKernel(cutoff, halfWidth);
+
+        for (long k = 0; k < outputFrames; k++) {
+            double t = k * step;
+            long center = (long) Math.floor(t);
+            long from = Math.max(0, center - halfWidth + 1);
+            long to = Math.min(inputFrames - 1, center + halfWidth);
+
+            double sum = 0;
+            for (long i = from; i <= to; i++) {
+                double distance = Math.abs(t - i);
+                int index = (int) (distance * KERNEL_RESOLUTION);
+                if (index < kernel.length) {
+                    sum += reader.sampleAt(i) * kernel[index];
+                }
+            }
+            writeSample(out, sum);
+        }
+    }
+
+    /**
+     * h(x) = cutoff * sinc(cutoff * x) * Blackman(x / halfWidth), x ≥ 0 만 저장
+     */
+    private float[] buildKernel(double cutoff, int halfWidth) {
+        float[] kernel = new float[halfWidth * KERNEL_RESOLUTION + 1];
+        for (int i = 0; i < kernel.length; i++) {
+            double x = (double) i / KERNEL_RESOLUTION;
+            double sinc = (x == 0) ? 1.0 : Math.sin(Math.PI * cutoff * x) / (Math.PI * cutoff * x);
+            double ratio = x / halfWidth;
+            double window = 0.42 + 0.5 * Math.cos(Math.PI * ratio) + 0.08 * Math.cos(2 * Math.PI * ratio);
+            kernel[i] = (float) (cutoff * sinc * window);
+        }
+        return kernel;
+    }
+
+    private void writeSample(OutputStream out, double value) throws IOException {
+        int pcm = (int) Math.round(Math.max(-1.0, Math.min(1.0, value)) * 32767);
+        out.write(pcm & 0xFF);
+        out.write((pcm >>> 8) & 0xFF);
+    }
+
+    /**
+     * 입력 WAV 를 모노 샘플로 순차 읽기 (리샘플링 커널 폭만큼 뒤로 돌아볼 수 있는 슬라이딩 버퍼)
+     */
+    private static class MonoReader implements AutoCloseable {
+
+        private final InputStream in;
+        private final WavFormat format;
+        private final byte[] raw;
+        private final double[] buffer = new double[CHUNK_SAMPLES * 2];
+
+        private long bufferStart;   // buffer[0] 의 입력 프레임 인덱스
+        private int bufferLength;
+        private long remainingFrames;
+
+        MonoReader(Path file, WavFormat format) throws IOException {
+            this.in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+            this.in.skipNBytes(format.dataOffset());
+            this.format = format;
+            this.raw = new byte[CHUNK_SAMPLES * format.blockAlign()];
+            this.remainingFrames = format.frameCount();
+        }
+
+        double sampleAt(long frame) throws IOException {
+            while (frame >= bufferStart + bufferLength) {
+                if (!fill()) {
+                    return 0;
+                }
+            }
+            if (frame < bufferStart) {
+                // 커널 폭이 버퍼 여유분보다 클 일은 없지만, 방어적으로 0 처리
+                return 0;
+            }
+            return buffer[(int) (frame - bufferStart)];
+        }
+
+        /**
+         * 버퍼 뒤쪽 절반만 남기고 앞으로 당긴 뒤 다음 청크 읽기
+         */
+        private boolean fill() throws IOException {
+            if (remainingFrames <= 0) {
+                return false;
+            }
+
+            int keep = Math.min(bufferLength, CHUNK_SAMPLES);
+            if (bufferLength + CHUNK_SAMPLES > buffer.length) {
+                System.arraycopy(buffer, bufferLength - keep, buffer, 0, keep);
+                bufferStart += bufferLength - keep;
+                bufferLength = keep;
+            }
+
+            int frames = (int) Math.min(CHUNK_SAMPLES, remainingFrames);
+            int bytes = in.readNBytes(raw, 0, frames * format.blockAlign());
+            int readFrames = bytes / format.blockAlign();
+            if (readFrames <= 0) {
+                remainingFrames = 0;
+                return false;
+            }
+
+            for (int i = 0; i < readFrames; i++) {
+                buffer[bufferLength + i] = format.monoSample(raw, i * format.blockAlign());
+            }
+            bufferLength += readFrames;
+            remainingFrames -= readFrames;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * 정규화 결과 (close 시 변환된 임시 파일 삭제, 원본은 건드리지 않음)
+     *
+     * @param path            엔진에 보낼 오디오
+     * @param durationSeconds WAV 헤더 기준 정확한 길이 (WAV 가 아니면 null)
+     * @param converted       새 파일을 만들었는지
+     * @param audioHash       정규화된 오디오의 SHA-256 (결과 캐시 키)
+     */
+    public record NormalizedAudio(Path path, Double durationSeconds, boolean converted,
+                                  String audioHash) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            if (!converted) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("[STT-AUDIO] 임시 오디오 파일 삭제 실패 - path={}", path, e);
+            }
+        }
+    }
+}
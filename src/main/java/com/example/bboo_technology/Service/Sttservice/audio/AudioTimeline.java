@@ -0,0 +1,119 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * (추가) 무음 제거 후 오디오 ↔ 원본 오디오 시간 대응표.
+ *
+ * - 잘라낸 오디오는 음성 구간(Piece)을 이어 붙인 것이므로,
+ *   엔진이 돌려준 시각(잘라낸 오디오 기준)을 원본 방송 시각으로 되돌릴 때 사용한다.
+ */
+public class AudioTimeline {
+
+    private final List<Piece> pieces;
+    private final double originalSeconds;
+
+    private AudioTimeline(List<Piece> pieces, double originalSeconds) {
+        this.pieces = Collections.unmodifiableList(pieces);
+        this.originalSeconds = originalSeconds;
+    }
+
+    /**
+     * 잘라내지 않은 오디오 (시각 그대로)
+     */
+    public static AudioTimeline identity(double originalSeconds) {
+        List<Piece> pieces = new ArrayList<>();
+        if (originalSeconds > 0) {
+            pieces.add(new Piece(0, 0, originalSeconds));
+        }
+        return new AudioTimeline(pieces, originalSeconds);
+    }
+
+    /**
+     * 원본 기준 음성 구간(초) 목록으로 대응표 생성
+     *
+     * @param regions         원본 기준 [시작, 끝] 구간 (정렬 + 겹치지 않음)
+     * @param originalSeconds 원본 전체 길이(초)
+     */
+    public static AudioTimeline of(List<double[]> regions, double originalSeconds) {
+        List<Piece> pieces = new ArrayList<>();
+        double trimmedCursor = 0;
+        for (double[] region : regions) {
+            double length = region[1] - region[0];
+            if (length <= 0) {
+                continue;
+            }
+            pieces.add(new Piece(trimmedCursor, region[0], length));
+            trimmedCursor += length;
+        }
+        return new AudioTimeline(pieces, originalSeconds);
+    }
+
+    /**
+     * 잘라낸 오디오 기준 시각 → 원본 기준 시각
+     */
+    public double toOriginal(double trimmedSeconds) {
+        if (pieces.isEmpty()) {
+            return trimmedSeconds;
+        }
+        for (Piece piece : pieces) {
+            if (trimmedSeconds < piece.trimmedStart() + piece.length()) {
+                double offset = Math.max(0, trimmedSeconds - piece.trimmedStart());
+                return piece.originalStart() + offset;
+            }
+        }
+        // 끝을 넘는 값은 마지막 구간 끝에 붙인다
+        Piece last = pieces.get(pieces.size() - 1);
+        return last.originalStart() + last.length();
+    }
+
+    /**
+     * (추가) 구간 끝 시각 변환 - 음성 구간 경계에 딱 걸친 끝 시각은 다음 구간 시작이 아니라 이번 구간 끝으로 붙인다
+     */
+    public double toOriginalEnd(double trimmedSeconds) {
+        if (pieces.isEmpty()) {
+            return trimmedSeconds;
+        }
+        for (Piece piece : pieces) {
+            if (trimmedSeconds <= piece.trimmedStart() + piece.length()) {
+                double offset = Math.max(0, trimmedSeconds - piece.trimmedStart());
+                return piece.originalStart() + offset;
+            }
+        }
+        Piece last = pieces.get(pieces.size() - 1);
+        return last.originalStart() + last.length();
+    }
+
+    public List<Piece> getPieces() {
+        return pieces;
+    }
+
+    public double getOriginalSeconds() {
+        return originalSeconds;
+    }
+
+    /**
+     * 남긴(음성) 길이 합계(초)
+     */
+    public double keptSeconds() {
+        return pieces.stream().mapToDouble(Piece::length).sum();
+    }
+
+    /**
+     * 잘라낸 길이(초)
+     */
+    public double removedSeconds() {
+        return Math.max(0, originalSeconds - keptSeconds());
+    }
+
+    /**
+     * 구간 1개
+     */
+    public record Piece(
+            double trimmedStart,    // 잘라낸 오디오 기준 시작(초)
+            double originalStart,   // 원본 기준 시작(초)
+            double length           // 길이(초)
+    ) {}
+}
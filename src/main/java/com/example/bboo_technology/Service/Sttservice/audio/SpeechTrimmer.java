@@ -0,0 +1,209 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+import com.example.bboo_technology.Config.SttVadProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) STT 엔진 호출 전 무음/음악 구간 제거.
+ *
+ * - WAV 입력만 대상 (mp3/m4a 등 압축 포맷은 순수 Java 로 디코딩하지 않고 그대로 전송)
+ * - VoiceActivityDetector 로 음성 구간을 찾고, 해당 구간의 PCM 바이트만 FileChannel.transferTo 로 이어 붙여 새 WAV 를 만든다.
+ *   (재인코딩 없음, 힙에 오디오를 올리지 않음)
+ * - AudioTimeline 으로 잘라낸 오디오 시각 → 원본 시각을 되돌릴 수 있다.
+ * - 잘라낸 오디오 초를 누적해서 /api/stt/metrics/vad 로 보여준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpeechTrimmer {
+
+    private final SttVadProperties vadProperties;
+    private final VoiceActivityDetector voiceActivityDetector;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder trimmedRequests = new LongAdder();
+    private final LongAdder noSpeechRequests = new LongAdder();
+    private final LongAdder originalMillis = new LongAdder();
+    private final LongAdder removedMillis = new LongAdder();
+
+    /**
+     * 음성 구간만 남긴 오디오 반환 (대상이 아니면 원본 그대로)
+     * - 반환값은 try-with-resources 로 사용 (잘라낸 임시 파일 삭제)
+     */
+    public TrimmedAudio trim(Path audioFile) {
+        if (!vadProperties.isEnabled() || audioFile == null) {
+            return TrimmedAudio.passThrough(audioFile, null);
+        }
+
+        try {
+            Optional<WavFormat> parsed = WavFormat.read(audioFile);
+            if (parsed.isEmpty()) {
+                return TrimmedAudio.passThrough(audioFile, null);
+            }
+            WavFormat format = parsed.get();
+            double total = format.durationSeconds();
+
+            List<double[]> regions = alignToFrames(voiceActivityDetector.detect(audioFile, format), format);
+            AudioTimeline timeline = AudioTimeline.of(regions, total);
+
+            requests.increment();
+            originalMillis.add(Math.round(total * 1000));
+
+            if (regions.isEmpty()) {
+                noSpeechRequests.increment();
+                removedMillis.add(Math.round(total * 1000));
+                log.info("[STT-VAD] 음성 구간 없음 - duration={}s", String.format("%.1f", total));
+                return new TrimmedAudio(null, timeline, false, true);
+            }
+
+            double removed = timeline.removedSeconds();
+            if (total <= 0 || removed / total < vadProperties.getMinTrimRatio()) {
+                return TrimmedAudio.passThrough(audioFile, AudioTimeline.identity(total));
+            }
+
+            Path trimmedFile = writeRegions(audioFile, format, regions);
+            trimmedRequests.increment();
+            removedMillis.add(Math.round(removed * 1000));
+
+            log.info("[STT-VAD] 무음 제거 - duration={}s, kept={}s, removed={}s, regions={}",
+                    String.format("%.1f", total), String.format("%.1f", timeline.keptSeconds()),
+                    String.format("%.1f", removed), regions.size());
+            return new TrimmedAudio(trimmedFile, timeline, true, false);
+
+        } catch (IOException | RuntimeException e) {
+            // VAD 실패는 STT 를 막지 않는다 → 원본 그대로 전송
+            log.warn("[STT-VAD] 무음 제거 실패, 원본 그대로 전송 - file={}", audioFile, e);
+            return TrimmedAudio.passThrough(audioFile, null);
+        }
+    }
+
+    public VadSummary snapshot() {
+        double originalSeconds = originalMillis.sum() / 1000.0;
+        double removedSeconds = removedMillis.sum() / 1000.0;
+        return new VadSummary(
+                requests.sum(),
+                trimmedRequests.sum(),
+                noSpeechRequests.sum(),
+                originalSeconds,
+                removedSeconds,
+                (originalSeconds > 0) ? removedSeconds / originalSeconds : 0.0);
+    }
+
+    // =========================
+    // 내부 로직
+    // =========================
+
+    /**
+     * 구간 경계를 샘플 프레임 단위로 맞춤 (대응표와 실제 잘라낸 바이트가 정확히 일치하도록)
+     */
+    private List<double[]> alignToFrames(List<double[]> regions, WavFormat format) {
+        List<double[]> aligned = new ArrayList<>();
+        long frameCount = format.frameCount();
+        int sampleRate = format.sampleRate();
+        for (double[] region : regions) {
+            long startFrame = Math.max(0, (long) Math.floor(region[0] * sampleRate));
+            long endFrame = Math.min(frameCount, (long) Math.ceil(region[1] * sampleRate));
+            if (endFrame > startFrame) {
+                aligned.add(new double[]{(double) startFrame / sampleRate, (double) endFrame / sampleRate});
+            }
+        }
+        return aligned;
+    }
+
+    private Path writeRegions(Path source, WavFormat format, List<double[]> regions) throws IOException {
+        int blockAlign = format.blockAlign();
+        int sampleRate = format.sampleRate();
+
+        long dataBytes = 0;
+        for (double[] region : regions) {
+            dataBytes += (Math.round(region[1] * sampleRate) - Math.round(region[0] * sampleRate)) * blockAlign;
+        }
+
+        Path target = Files.createTempFile("stt-vad-", ".wav");
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteArrayOutputStream header = new ByteArrayOutputStream(44);
+            format.writeHeader(header, dataBytes);
+            ByteBuffer headerBuffer = ByteBuffer.wrap(header.toByteArray());
+            while (headerBuffer.hasRemaining()) {
+                out.write(headerBuffer);
+            }
+
+            for (double[] region : regions) {
+                long position = format.dataOffset() + Math.round(region[0] * sampleRate) * blockAlign;
+                long remaining = (Math.round(region[1] * sampleRate) - Math.round(region[0] * sampleRate)) * blockAlign;
+                while (remaining > 0) {
+                    long transferred = in.transferTo(position, remaining, out);
+                    if (transferred <= 0) {
+                        throw new IOException("WAV 구간 복사 실패 (파일이 잘렸을 수 있음)");
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+            }
+            return target;
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    /**
+     * 무음 제거 결과 (close 시 잘라낸 임시 파일 삭제, 원본은 건드리지 않음)
+     *
+     * @param path     엔진에 보낼 오디오 (noSpeech 면 null)
+     * @param timeline 시간 대응표 (WAV 가 아니어서 분석하지 못했으면 null)
+     * @param trimmed  새 파일을 만들었는지
+     * @param noSpeech 음성 구간이 하나도 없는지 (엔진 호출 불필요)
+     */
+    public record TrimmedAudio(Path path, AudioTimeline timeline, boolean trimmed, boolean noSpeech) implements AutoCloseable {
+
+        static TrimmedAudio passThrough(Path path, AudioTimeline timeline) {
+            return new TrimmedAudio(path, timeline, false, false);
+        }
+
+        public Double removedSeconds() {
+            return (timeline != null) ? timeline.removedSeconds() : null;
+        }
+
+        @Override
+        public void close() {
+            if (!trimmed || path == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("[STT-VAD] 임시 오디오 파일 삭제 실패 - path={}", path, e);
+            }
+        }
+    }
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record VadSummary(
+            long requests,              // 분석한 요청 수 (WAV)
+            long trimmedRequests,       // 실제로 잘라낸 요청 수
+            long noSpeechRequests,      // 음성이 없어 엔진 호출을 생략한 요청 수
+            double originalSeconds,     // 원본 오디오 누적(초)
+            double removedSeconds,      // 잘라낸 오디오 누적(초)
+            double removedRatio         // 잘라낸 비율 (0~1)
+    ) {}
+}
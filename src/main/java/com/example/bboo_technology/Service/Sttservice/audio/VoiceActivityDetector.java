@@ -0,0 +1,173 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+import com.example.bboo_technology.Config.SttVadProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * (추가) 에너지 + 영교차율(ZCR) 기반 음성 구간 검출 (순수 Java).
+ *
+ * 1) frameMs 단위로 모노 RMS 에너지(dBFS)와 ZCR 계산 (파일을 버퍼 단위로 읽음, 프레임당 숫자 2개만 보관)
+ * 2) 잡음 바닥 = 프레임 에너지 하위 10% → 바닥 + energyMarginDb 이상이면 음성
+ *    - 에너지가 조금 모자라도 ZCR 이 높으면 무성 자음으로 보고 음성 처리
+ * 3) hangover: 음성 프레임 뒤 hangoverMs 동안은 음성 유지
+ * 4) 짧은 구간 제거 → 앞뒤 padding → 가까운 구간 병합
+ */
+@Component
+@RequiredArgsConstructor
+public class VoiceActivityDetector {
+
+    // 에너지 0 프레임의 dBFS 대체값
+    private static final double SILENCE_DBFS = -120.0;
+
+    // 무성음 판정 시 에너지 기준 완화 폭(dB)
+    private static final double UNVOICED_RELAX_DB = 6.0;
+
+    private final SttVadProperties vadProperties;
+
+    /**
+     * 음성 구간 검출
+     *
+     * @return 원본 기준 음성 구간 [시작초, 끝초] 목록 (정렬, 겹치지 않음)
+     */
+    public List<double[]> detect(Path file, WavFormat format) throws IOException {
+        int frameSamples = Math.max(1, format.sampleRate() * Math.max(10, vadProperties.getFrameMs()) / 1000);
+        FrameFeatures features = analyze(file, format, frameSamples);
+        int frameCount = features.count;
+        if (frameCount == 0) {
+            return List.of();
+        }
+
+        // 1) 임계값
+        double noiseFloor = percentile(features.energyDb, frameCount, 0.10);
+        double threshold = Math.max(vadProperties.getMinSpeechDbfs(), noiseFloor + vadProperties.getEnergyMarginDb());
+
+        // 2) 프레임 판정 + hangover
+        double frameSeconds = (double) frameSamples / format.sampleRate();
+        int hangoverFrames = (int) Math.ceil(vadProperties.getHangoverMs() / 1000.0 / frameSeconds);
+        boolean[] speech = new boolean[frameCount];
+        int hangover = 0;
+        for (int i = 0; i < frameCount; i++) {
+            double energy = features.energyDb[i];
+            boolean voiced = energy >= threshold;
+            boolean unvoiced = energy >= threshold - UNVOICED_RELAX_DB
+                    && energy >= vadProperties.getMinSpeechDbfs()
+                    && features.zcr[i] >= vadProperties.getUnvoicedZcr();
+
+            if (voiced || unvoiced) {
+                speech[i] = true;
+                hangover = hangoverFrames;
+            } else if (hangover > 0) {
+                speech[i] = true;
+                hangover--;
+            }
+        }
+
+        // 3) 프레임 → 구간, 짧은 구간 제거, padding, 병합
+        double total = format.durationSeconds();
+        double minSpeech = vadProperties.getMinSpeechMs() / 1000.0;
+        double padding = vadProperties.getPaddingMs() / 1000.0;
+        double mergeGap = vadProperties.getMergeGapMs() / 1000.0;
+
+        List<double[]> regions = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= frameCount; i++) {
+            boolean isSpeech = i < frameCount && speech[i];
+            if (isSpeech && start < 0) {
+                start = i;
+            } else if (!isSpeech && start >= 0) {
+                double from = start * frameSeconds;
+                double to = Math.min(total, i * frameSeconds);
+                if (to - from >= minSpeech) {
+                    double paddedFrom = Math.max(0, from - padding);
+                    double paddedTo = Math.min(total, to + padding);
+
+                    double[] last = regions.isEmpty() ? null : regions.get(regions.size() - 1);
+                    if (last != null && paddedFrom - last[1] <= mergeGap) {
+                        last[1] = Math.max(last[1], paddedTo);
+                    } else {
+                        regions.add(new double[]{paddedFrom, paddedTo});
+                    }
+                }
+                start = -1;
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * 프레임별 에너지(dBFS) / ZCR 계산
+     */
+    private FrameFeatures analyze(Path file, WavFormat format, int frameSamples) throws IOException {
+        long totalFrames = format.frameCount();
+        int analysisFrames = (int) Math.min(Integer.MAX_VALUE - 8, (totalFrames + frameSamples - 1) / frameSamples);
+        FrameFeatures features = new FrameFeatures(analysisFrames);
+
+        int blockAlign = format.blockAlign();
+        byte[] buffer = new byte[frameSamples * blockAlign];
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            in.skipNBytes(format.dataOffset());
+
+            long remainingBytes = format.dataLength() - (format.dataLength() % blockAlign);
+            while (remainingBytes > 0 && features.count < analysisFrames) {
+                int toRead = (int) Math.min(buffer.length, remainingBytes);
+                int read = in.readNBytes(buffer, 0, toRead);
+                if (read <= 0) {
+                    break;
+                }
+                remainingBytes -= read;
+
+                int samples = read / blockAlign;
+                if (samples == 0) {
+                    break;
+                }
+
+                double sumSquares = 0;
+                int crossings = 0;
+                double previous = 0;
+                for (int s = 0; s < samples; s++) {
+                    double value = format.monoSample(buffer, s * blockAlign);
+                    sumSquares += value * value;
+                    if (s > 0 && (value >= 0) != (previous >= 0)) {
+                        crossings++;
+                    }
+                    previous = value;
+                }
+
+                double rms = Math.sqrt(sumSquares / samples);
+                features.energyDb[features.count] = (rms > 0) ? 20 * Math.log10(rms) : SILENCE_DBFS;
+                features.zcr[features.count] = (samples > 1) ? (double) crossings / (samples - 1) : 0;
+                features.count++;
+            }
+        }
+        return features;
+    }
+
+    private double percentile(double[] values, int count, double ratio) {
+        double[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(count - 1, Math.max(0, Math.floor(ratio * (count - 1))));
+        return sorted[index];
+    }
+
+    private static class FrameFeatures {
+        private final double[] energyDb;
+        private final double[] zcr;
+        private int count;
+
+        private FrameFeatures(int capacity) {
+            this.energyDb = new double[capacity];
+            this.zcr = new double[capacity];
+        }
+    }
+}
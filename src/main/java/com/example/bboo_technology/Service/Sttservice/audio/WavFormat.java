@@ -0,0 +1,218 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * (추가) WAV(RIFF) 헤더 정보 + PCM 샘플 디코딩 도우미.
+ *
+ * - 지원: PCM 정수 8/16/24/32bit, IEEE float 32bit (WAVE_FORMAT_EXTENSIBLE 포함)
+ * - 헤더만 읽고 data 청크 위치(dataOffset, dataLength)를 기억한다. 샘플은 호출 측에서 버퍼 단위로 읽는다.
+ */
+public record WavFormat(
+        int formatTag,      // 1 = PCM, 3 = IEEE float
+        int channels,
+        int sampleRate,
+        int bitsPerSample,
+        int blockAlign,     // 샘플 프레임 1개 바이트 수 (= channels * bytesPerSample)
+        long dataOffset,    // data 청크 시작 위치 (파일 내 바이트)
+        long dataLength     // data 청크 길이 (바이트)
+) {
+
+    public static final int FORMAT_PCM = 1;
+    public static final int FORMAT_FLOAT = 3;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    // 헤더 앞부분에서 청크를 찾을 때 건너뛸 수 있는 최대 바이트 (LIST/INFO 등)
+    private static final long MAX_HEADER_SCAN = 1024 * 1024;
+
+    /**
+     * WAV 헤더 파싱. WAV 가 아니거나 지원하지 않는 포맷이면 empty.
+     */
+    public static Optional<WavFormat> read(Path file) throws IOException {
+        long fileSize = Files.size(file);
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (fileSize < 44 || !"RIFF".equals(readId(in))) {
+                return Optional.empty();
+            }
+            readIntLE(in); // RIFF size
+            if (!"WAVE".equals(readId(in))) {
+                return Optional.empty();
+            }
+
+            long position = 12;
+            int formatTag = -1, channels = 0, sampleRate = 0, bitsPerSample = 0, blockAlign = 0;
+
+            while (position < MAX_HEADER_SCAN) {
+                String chunkId = readId(in);
+                long chunkSize = readIntLE(in) & 0xFFFFFFFFL;
+                position += 8;
+
+                if ("fmt ".equals(chunkId)) {
+                    formatTag = readShortLE(in);
+                    channels = readShortLE(in);
+                    sampleRate = readIntLE(in);
+                    readIntLE(in); // byteRate
+                    blockAlign = readShortLE(in);
+                    bitsPerSample = readShortLE(in);
+                    long consumed = 16;
+
+                    if (formatTag == FORMAT_EXTENSIBLE && chunkSize >= 40) {
+                        readShortLE(in); // cbSize
+                        readShortLE(in); // validBitsPerSample
+                        readIntLE(in);   // channelMask
+                        formatTag = readShortLE(in); // SubFormat GUID 앞 2바이트 = 실제 포맷
+                        consumed += 10;
+                    }
+                    skipFully(in, chunkSize - consumed + (chunkSize & 1));
+                    position += chunkSize + (chunkSize & 1);
+
+                } else if ("data".equals(chunkId)) {
+                    if (formatTag < 0) {
+                        return Optional.empty();
+                    }
+                    long dataOffset = position;
+                    // 스트리밍 녹음기는 길이를 0 / 0xFFFFFFFF 로 남기기도 한다 → 파일 끝까지
+                    long available = fileSize - dataOffset;
+                    long dataLength = (chunkSize == 0 || chunkSize > available) ? available : chunkSize;
+
+                    WavFormat format = new WavFormat(formatTag, channels, sampleRate, bitsPerSample,
+                            blockAlign, dataOffset, dataLength);
+                    return format.isSupported() ? Optional.of(format) : Optional.empty();
+
+                } else {
+                    skipFully(in, chunkSize + (chunkSize & 1));
+                    position += chunkSize + (chunkSize & 1);
+                }
+            }
+            return Optional.empty();
+
+        } catch (EOFException e) {
+            return Optional.empty();
+        }
+    }
+
+    public boolean isSupported() {
+        if (channels <= 0 || sampleRate <= 0 || blockAlign != channels * (bitsPerSample / 8)) {
+            return false;
+        }
+        if (formatTag == FORMAT_PCM) {
+            return bitsPerSample == 8 || bitsPerSample == 16 || bitsPerSample == 24 || bitsPerSample == 32;
+        }
+        return formatTag == FORMAT_FLOAT && bitsPerSample == 32;
+    }
+
+    public long frameCount() {
+        return dataLength / blockAlign;
+    }
+
+    public double durationSeconds() {
+        return (double) frameCount() / sampleRate;
+    }
+
+    /**
+     * 샘플 프레임 1개(모든 채널)를 모노로 평균 낸 값 (-1.0 ~ 1.0)
+     *
+     * @param buffer 원본 바이트
+     * @param offset 프레임 시작 위치
+     */
+    public double monoSample(byte[] buffer, int offset) {
+        int bytesPerSample = bitsPerSample / 8;
+        double sum = 0;
+        for (int channel = 0; channel < channels; channel++) {
+            sum += sample(buffer, offset + channel * bytesPerSample);
+        }
+        return sum / channels;
+    }
+
+    private double sample(byte[] b, int off) {
+        switch (bitsPerSample) {
+            case 8:
+                return ((b[off] & 0xFF) - 128) / 128.0;
+            case 16:
+                return (short) ((b[off] & 0xFF) | (b[off + 1] << 8)) / 32768.0;
+            case 24:
+                return ((b[off] & 0xFF) | ((b[off + 1] & 0xFF) << 8) | (b[off + 2] << 16)) / 8388608.0;
+            default:
+                int bits = (b[off] & 0xFF) | ((b[off + 1] & 0xFF) << 8) | ((b[off + 2] & 0xFF) << 16) | (b[off + 3] << 24);
+                return (formatTag == FORMAT_FLOAT) ? Float.intBitsToFloat(bits) : bits / 2147483648.0;
+        }
+    }
+
+    /**
+     * 44바이트 기본 WAV 헤더 쓰기 (이 포맷과 같은 채널/샘플레이트/비트 수)
+     */
+    public void writeHeader(OutputStream out, long dataBytes) throws IOException {
+        writeHeader(out, formatTag, channels, sampleRate, bitsPerSample, dataBytes);
+    }
+
+    public static void writeHeader(OutputStream out, int formatTag, int channels, int sampleRate,
+                                   int bitsPerSample, long dataBytes) throws IOException {
+        int blockAlign = channels * (bitsPerSample / 8);
+        out.write(new byte[]{'R', 'I', 'F', 'F'});
+        writeIntLE(out, (int) (36 + dataBytes));
+        out.write(new byte[]{'W', 'A', 'V', 'E', 'f', 'm', 't', ' '});
+        writeIntLE(out, 16);
+        writeShortLE(out, formatTag);
+        writeShortLE(out, channels);
+        writeIntLE(out, sampleRate);
+        writeIntLE(out, sampleRate * blockAlign);
+        writeShortLE(out, blockAlign);
+        writeShortLE(out, bitsPerSample);
+        out.write(new byte[]{'d', 'a', 't', 'a'});
+        writeIntLE(out, (int) dataBytes);
+    }
+
+    // =========================
+    // 리틀엔디언 입출력
+    // =========================
+
+    private static String readId(DataInputStream in) throws IOException {
+        byte[] id = new byte[4];
+        in.readFully(id);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+
+    private static int readIntLE(DataInputStream in) throws IOException {
+        return Integer.reverseBytes(in.readInt());
+    }
+
+    private static int readShortLE(DataInputStream in) throws IOException {
+        return Short.reverseBytes(in.readShort()) & 0xFFFF;
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+        out.write((value >>> 16) & 0xFF);
+        out.write((value >>> 24) & 0xFF);
+    }
+
+    private static void writeShortLE(OutputStream out, int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+    }
+}
@@ -4,28 +4,29 @@ import com.example.bboo_technology.Config.PythonSttProperties;
 import com.example.bboo_technology.Service.Sttservice.SttEngine;
 import com.example.bboo_technology.DTO.Stt.SttRequest;
 import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.DTO.Stt.SttSegment;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpEntity;
 
 import org.springframework.http.MediaType;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 
 import org.springframework.http.client.MultipartBodyBuilder;
 
-import reactor.netty.http.client.HttpClient;
-
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.springframework.util.StringUtils.hasText;
 
@@ -35,6 +36,10 @@ import static org.springframework.util.StringUtils.hasText;
  *  - Python FastAPI 서버의 /api/stt/file 엔드포인트를 호출
  *  - request: multipart/form-data (file, language, sessionId)
  *  - response: JSON (Python SttResponse) → SttResult 로 변환
+ *  - (추가) 서버가 여러 대면 PythonSttEndpointPool 이 요청마다 서버를 고른다 (최소 대기 요청 수 + 헬스체크)
+ *  - (추가) batch-enabled 면 PythonSttBatchDispatcher 가 동시 요청을 모아 배치 엔드포인트로 보낸다
+ *  - (추가) 라이브 자막은 openStream() 으로 지속 WebSocket 을 열어 PCM 프레임을 계속 보낸다 (청크별 multipart 왕복 없음)
+ *  - (변경) 기본(@Primary) 엔진이 아니다. 엔진 선택은 RoutingSttEngine(@Primary) 이 요청마다 결정한다
  *
  *  TODO:
  *   - 추후 provider 전략 (@Qualifier or 설정 값)에 따라
@@ -42,11 +47,13 @@ import static org.springframework.util.StringUtils.hasText;
  */
 @Slf4j
 @Service
-//@Primary // 파이썬 Fast api 모델 사용 여부 :: 테스트후 주석 풀기
 @RequiredArgsConstructor
 public class LocalPythonSttEngine implements SttEngine {
 
     private final PythonSttProperties pythonSttProperties;
+    private final PythonSttEndpointPool endpointPool;
+    private final PythonSttBatchDispatcher batchDispatcher;
+    private final PythonSttStreamClient streamClient;
 
     // =========================
     // SttEngine 인터페이스 구현
@@ -71,25 +78,111 @@ public class LocalPythonSttEngine implements SttEngine {
             return disabled;
         }
 
+        // 3. (추가) 마이크로 배치 사용 시 배치 디스패처로 (서버가 배치를 모르면 단건으로 자동 전환)
+        SttResult finalResult = null;
+        if (batchDispatcher.isAvailable()) {
+            finalResult = transcribeBatched(request);
+        }
+        if (finalResult == null) {
+            finalResult = transcribeSingle(request);
+        }
+
+        logResultSummary(finalResult);
+        return finalResult;
+    }
+
+    /**
+     * (추가) 단건 전송
+     */
+    private SttResult transcribeSingle(SttRequest request) {
+        // 보낼 서버 선택 (정상 서버 중 처리 중인 요청이 가장 적은 서버)
+        Optional<PythonSttEndpointPool.Endpoint> acquired = endpointPool.acquire();
+        if (acquired.isEmpty()) {
+            return buildNoEndpointResult(request);
+        }
+        PythonSttEndpointPool.Endpoint endpoint = acquired.get();
+
         SttResult finalResult;
+        boolean reachable = true;
 
         try {
-            // 3. Python STT 서버 호출
-            PythonSttResponse response = callPythonSttServer(request);
+            // 4. Python STT 서버 호출
+            PythonSttResponse response = callPythonSttServer(endpoint, request);
 
-            // 4. 응답 매핑
+            // 5. 응답 매핑
             finalResult = mapPythonResponseToResult(request, response);
 
         } catch (WebClientResponseException e) {
+            // 5xx 는 서버 이상으로 보고 연속 실패에 누적 (4xx 는 요청 문제)
+            reachable = !e.getStatusCode().is5xxServerError();
             finalResult = buildHttpErrorResult(request, e);
         } catch (Exception e) {
+            // 연결 실패 / 타임아웃
+            reachable = false;
             finalResult = buildUnknownErrorResult(request, e);
+        } finally {
+            endpointPool.release(endpoint, reachable);
         }
-
-        logResultSummary(finalResult);
         return finalResult;
     }
 
+    /**
+     * (추가) 배치 전송 - 결과가 돌아올 때까지 대기
+     * - (변경) 기다리다 시간이 지나면 전송 전인 요청은 취소한다. 이미 배치로 보낸 요청은 같은 배치의 다른 요청이
+     *   오디오 파일을 함께 읽고 있을 수 있으므로, 호출 측이 파일을 지우기 전에 배치 응답(배치 타임아웃 포함)까지 기다린다.
+     *
+     * @return 결과, 서버가 배치를 지원하지 않으면 null (단건으로 재시도)
+     */
+    private SttResult transcribeBatched(SttRequest request) {
+        long timeoutMs = resolveTimeout().toMillis() * 4 + pythonSttProperties.getBatchMaxWaitMs();
+        PythonSttBatchDispatcher.PendingRequest pending = batchDispatcher.submit(request);
+        try {
+            PythonSttResponse response;
+            try {
+                response = pending.future().get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.cancel()) {
+                    return buildUnknownErrorResult(request, e);
+                }
+                // 배치 요청 자체의 타임아웃(최대 단건 4배) 안에 반드시 끝난다
+                response = pending.future().get(resolveTimeout().toMillis() * 4 + 1000, TimeUnit.MILLISECONDS);
+            }
+            return mapPythonResponseToResult(request, response);
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof WebClientResponseException responseException) {
+                if (!batchDispatcher.isAvailable()) {
+                    return null;
+                }
+                return buildHttpErrorResult(request, responseException);
+            }
+            return buildUnknownErrorResult(request, e.getCause() instanceof Exception cause ? cause : e);
+        } catch (TimeoutException e) {
+            return buildUnknownErrorResult(request, e);
+        } catch (InterruptedException e) {
+            pending.cancel();
+            Thread.currentThread().interrupt();
+            return buildUnknownErrorResult(request, e);
+        }
+    }
+
+    /**
+     * (추가) 라이브 자막용 스트림 열기
+     *
+     * @return 비활성화 상태이거나 정상 서버가 없으면 empty
+     */
+    public Optional<PythonSttStream> openStream(String sessionId, String languageHint) {
+        if (!pythonSttProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        return streamClient.open(sessionId, languageHint);
+    }
+
+    @Override
+    public String cacheKey() {
+        return "local:" + resolveEngineName();
+    }
+
     // =========================
     // Python 서버 호출 로직
     // =========================
@@ -97,25 +190,21 @@ public class LocalPythonSttEngine implements SttEngine {
     /**
      * (추가) Python FastAPI STT 서버로 multipart/form-data 요청을 보내는 부분.
      *
-     *  - URL : {baseUrl}{path}  (예: http://localhost:5000/api/stt/file)
+     *  - URL : {서버 baseUrl}{path}  (예: http://localhost:5000/api/stt/file)
      *  - Form:
      *      - file      : 바이너리 오디오
      *      - language  : 언어 힌트 (옵션)
      *      - sessionId : 세션 ID (옵션)
      */
-    private PythonSttResponse callPythonSttServer(SttRequest request) {
+    private PythonSttResponse callPythonSttServer(PythonSttEndpointPool.Endpoint endpoint, SttRequest request) {
 
-        WebClient webClient = buildWebClient();
+        log.debug("[STT-PYTHON] 서버 선택 - url={}", endpoint.getBaseUrl());
 
         MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
 
         // (1) 파일 파트 구성
-        ByteArrayResource fileResource = new ByteArrayResource(request.getAudioData()) {
-            @Override
-            public String getFilename() {
-                return resolveFileName(request);
-            }
-        };
+        //  - (변경) 스풀된 파일이 있으면 FileSystemResource 로 버퍼 단위 스트리밍 전송 (요청당 힙 사용량 = 버퍼 크기)
+        Resource fileResource = request.toResource(resolveFileName(request));
 
         bodyBuilder
                 .part("file", fileResource)
@@ -137,7 +226,7 @@ public class LocalPythonSttEngine implements SttEngine {
         String path = pythonSttProperties.getPath();
         Duration timeout = resolveTimeout();
 
-        PythonSttResponse response = webClient.post()
+        PythonSttResponse response = endpoint.getWebClient().post()
                 .uri(path)
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(BodyInserters.fromMultipartData(multipartData))
@@ -152,21 +241,7 @@ public class LocalPythonSttEngine implements SttEngine {
         return response;
     }
 
-    /**
-     * (추가) Python STT 서버 호출용 WebClient 생성
-     *
-     *  TODO:
-     *   - 공통 WebClient 설정을 별도 Config로 분리해서 재사용하도록 개선 가능
-     */
-    private WebClient buildWebClient() {
-        HttpClient httpClient = HttpClient.create()
-                .responseTimeout(resolveTimeout());
-
-        return WebClient.builder()
-                .baseUrl(pythonSttProperties.getBaseUrl())
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .build();
-    }
+    // (변경) 서버별 WebClient 는 PythonSttEndpointPool 이 기동 시 한 번 만들어 재사용 (connectTimeoutMs 적용)
 
     private Duration resolveTimeout() {
         Integer readTimeoutMs = pythonSttProperties.getReadTimeoutMs();
@@ -213,7 +288,8 @@ public class LocalPythonSttEngine implements SttEngine {
                 .success(true)
                 .transcript(response.getTranscript())
                 .language(response.getLanguage())
-                .durationSeconds(null) // TODO: Python 쪽에서 total_time 전달 받으면 매핑
+                .durationSeconds(request.getDurationSeconds()) // (변경) WAV 헤더 기준 길이 (모르면 null)
+                .segments(toSegments(response.getSegments()))   // (추가) 서버가 segments 를 주면 매핑
                 .engineName(response.getEngineName() != null ? response.getEngineName() : resolveEngineName())
                 .errorCode(null)
                 .errorMessage(null)
@@ -249,6 +325,18 @@ public class LocalPythonSttEngine implements SttEngine {
                 .build();
     }
 
+    private SttResult buildNoEndpointResult(SttRequest request) {
+        String sessionId = (request != null) ? request.getSessionId() : null;
+        return SttResult.builder()
+                .sessionId(sessionId)
+                .success(false)
+                .engineName(resolveEngineName())
+                .errorCode("PYTHON_STT_NO_HEALTHY_SERVER")
+                .errorMessage("사용 가능한 로컬 Python STT 서버가 없습니다. (모든 서버가 헬스체크 실패 상태)")
+                .createdAt(Instant.now())
+                .build();
+    }
+
     private SttResult buildHttpErrorResult(SttRequest request, WebClientResponseException e) {
         String sessionId = (request != null) ? request.getSessionId() : null;
         String responseBody = e.getResponseBodyAsString();
@@ -294,10 +382,25 @@ public class LocalPythonSttEngine implements SttEngine {
     // 유틸 / 로깅
     // =========================
 
+    // (추가) faster-whisper segments → SttSegment (전송한 오디오 기준 초)
+    private List<SttSegment> toSegments(List<PythonSttSegment> segments) {
+        if (segments == null) {
+            return null;
+        }
+        return segments.stream()
+                .filter(segment -> segment.getText() != null && !segment.getText().isBlank())
+                .map(segment -> SttSegment.builder()
+                        .startSeconds(segment.getStart())
+                        .endSeconds(segment.getEnd())
+                        .text(segment.getText().trim())
+                        .build())
+                .toList();
+    }
+
     private boolean isValidRequest(SttRequest request) {
         if (request == null) return false;
-        byte[] data = request.getAudioData();
-        return (data != null && data.length > 0);
+        // (변경) 스풀 파일 또는 byte[] 중 하나만 있으면 된다
+        return request.hasAudio();
     }
 
     private String resolveEngineName() {
@@ -349,6 +452,7 @@ public class LocalPythonSttEngine implements SttEngine {
      *  - engineName: str
      *  - errorCode: Optional[str]
      *  - errorMessage: Optional[str]
+     *  - (추가) segments: Optional[List[{start: float, end: float, text: str}]]  (faster-whisper segment 그대로)
      */
     @Getter
     @Setter
@@ -360,5 +464,17 @@ public class LocalPythonSttEngine implements SttEngine {
         private String engineName;
         private String errorCode;
         private String errorMessage;
+        private List<PythonSttSegment> segments;
+    }
+
+    /**
+     * (추가) Python 서버 문장 구간
+     */
+    @Getter
+    @Setter
+    public static class PythonSttSegment {
+        private double start;
+        private double end;
+        private String text;
     }
 }
@@ -0,0 +1,340 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import com.example.bboo_technology.Config.PythonSttProperties;
+import com.example.bboo_technology.DTO.Stt.SttRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) 로컬 Python STT 마이크로 배치 디스패처.
+ *
+ * - 동시에 들어온 SttRequest 를 최대 batchMaxWaitMs 동안 / batchMaxSize 건까지 모아서
+ *   배치 엔드포인트로 한 번에 보낸다. (faster-whisper 는 여러 클립을 묶어 추론할 때 처리량이 크게 오른다)
+ * - 결과는 요청 순서대로 각 호출자의 CompletableFuture 로 나눠 돌려준다.
+ * - 배치 전송은 비동기로 하고, 수집 스레드는 바로 다음 배치를 모은다.
+ * - 서버가 배치 엔드포인트를 모르면(404/405) 배치를 끄고 기존 단건 전송으로 돌아간다.
+ * - (변경) 호출자가 기다리다 포기한 요청은 전송 전에 취소(PendingRequest.cancel)되고, 배치를 만들 때 빠진다.
+ *   이미 배치로 보낸 요청은 취소할 수 없다 (같은 배치가 그 오디오 파일을 읽는 중일 수 있으므로 호출자가 응답까지 기다림).
+ *
+ * 배치 프로토콜 (multipart/form-data, POST {batchPath}):
+ *  - files      : 오디오 파일 (여러 개, 순서 = 결과 순서)
+ *  - sessionIds : 세션 ID (files 와 같은 개수/순서, 없으면 빈 문자열)
+ *  - languages  : 언어 힌트 (files 와 같은 개수/순서, 없으면 빈 문자열)
+ *  응답 JSON: { "results": [ SttResponse, ... ] }  (files 순서 그대로)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PythonSttBatchDispatcher {
+
+    private final PythonSttProperties pythonSttProperties;
+    private final PythonSttEndpointPool endpointPool;
+
+    private final BlockingQueue<PendingRequest> queue = new LinkedBlockingQueue<>();
+
+    private Thread collector;
+
+    // 서버가 배치 엔드포인트를 지원하는지 (404/405 응답 시 false)
+    private volatile boolean supported = true;
+
+    // 지표
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder queueWaitMicros = new LongAdder();
+    private final LongAdder roundTripMillis = new LongAdder();
+    private AtomicLongArray sizeHistogram = new AtomicLongArray(1);
+
+    @PostConstruct
+    void init() {
+        if (!pythonSttProperties.isBatchEnabled()) {
+            return;
+        }
+        this.sizeHistogram = new AtomicLongArray(maxSize() + 1);
+        this.collector = new Thread(this::collectLoop, "stt-batch-collector");
+        this.collector.setDaemon(true);
+        this.collector.start();
+        log.info("[STT-BATCH] 마이크로 배치 사용 - maxSize={}, maxWaitMs={}", maxSize(), pythonSttProperties.getBatchMaxWaitMs());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (collector != null) {
+            collector.interrupt();
+        }
+        List<PendingRequest> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(item -> item.future.completeExceptionally(new IllegalStateException("애플리케이션 종료 중")));
+    }
+
+    /**
+     * 배치 사용 가능 여부 (설정 on + 서버 지원)
+     */
+    public boolean isAvailable() {
+        return collector != null && supported;
+    }
+
+    /**
+     * 요청을 대기열에 넣고 대기 핸들 반환 (결과: future(), 전송 전 취소: cancel())
+     */
+    public PendingRequest submit(SttRequest request) {
+        PendingRequest item = new PendingRequest(request, System.nanoTime());
+        queue.add(item);
+        return item;
+    }
+
+    public BatchSummary snapshot() {
+        long batchCount = batches.sum();
+        long itemCount = items.sum();
+        List<Long> histogram = new ArrayList<>();
+        for (int i = 0; i < sizeHistogram.length(); i++) {
+            histogram.add(sizeHistogram.get(i));
+        }
+        return new BatchSummary(
+                isAvailable(),
+                batchCount,
+                itemCount,
+                failedBatches.sum(),
+                (batchCount > 0) ? (double) itemCount / batchCount : 0.0,
+                (itemCount > 0) ? queueWaitMicros.sum() / 1000.0 / itemCount : 0.0,
+                (batchCount > 0) ? (double) roundTripMillis.sum() / batchCount : 0.0,
+                queue.size(),
+                histogram);
+    }
+
+    // =========================
+    // 수집 / 전송
+    // =========================
+
+    private void collectLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PendingRequest first = queue.take();
+                if (first.isCancelled()) {
+                    continue;
+                }
+                List<PendingRequest> batch = new ArrayList<>();
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, pythonSttProperties.getBatchMaxWaitMs()));
+                while (batch.size() < maxSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxSize() - batch.size());
+                        break;
+                    }
+                    PendingRequest next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (!next.isCancelled()) {
+                        batch.add(next);
+                    }
+                }
+
+                dispatch(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("[STT-BATCH] 수집 스레드 오류", e);
+            }
+        }
+    }
+
+    private void dispatch(List<PendingRequest> batch) {
+        // (추가) 전송 직전에 확정 - 그 사이 취소된 요청(호출자가 이미 오디오 파일을 지웠을 수 있음)은 제외
+        batch.removeIf(item -> !item.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        batch.forEach(item -> queueWaitMicros.add(TimeUnit.NANOSECONDS.toMicros(now - item.enqueuedAt)));
+        batches.increment();
+        items.add(batch.size());
+        sizeHistogram.incrementAndGet(Math.min(batch.size(), sizeHistogram.length() - 1));
+
+        Optional<PythonSttEndpointPool.Endpoint> acquired = endpointPool.acquire();
+        if (acquired.isEmpty()) {
+            fail(batch, new IllegalStateException("사용 가능한 로컬 Python STT 서버가 없습니다."));
+            return;
+        }
+        PythonSttEndpointPool.Endpoint endpoint = acquired.get();
+
+        MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            SttRequest request = batch.get(i).request;
+            bodyBuilder.part("files", request.toResource("audio-" + i + ".wav"))
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM);
+            bodyBuilder.part("sessionIds", request.getSessionId() != null ? request.getSessionId() : "");
+            bodyBuilder.part("languages", request.getLanguageHint() != null ? request.getLanguageHint() : "");
+        }
+
+        long start = System.currentTimeMillis();
+        Duration timeout = resolveTimeout(batch.size());
+        endpoint.getWebClient().post()
+                .uri(pythonSttProperties.getBatchPath())
+                // (추가) 공용 클라이언트의 응답 타임아웃(read-timeout 1배)이 먼저 끊지 않게 배치 크기 기준 타임아웃으로 덮어쓴다
+                .httpRequest(httpRequest -> {
+                    HttpClientRequest nativeRequest = httpRequest.getNativeRequest();
+                    nativeRequest.responseTimeout(timeout);
+                })
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
+                .retrieve()
+                .bodyToMono(PythonSttBatchResponse.class)
+                .timeout(timeout)
+                .subscribe(
+                        response -> {
+                            endpointPool.release(endpoint, true);
+                            roundTripMillis.add(System.currentTimeMillis() - start);
+                            complete(batch, response);
+                        },
+                        error -> {
+                            endpointPool.release(endpoint, !isServerFailure(error));
+                            roundTripMillis.add(System.currentTimeMillis() - start);
+                            if (isUnsupported(error)) {
+                                supported = false;
+                                log.warn("[STT-BATCH] 서버가 배치 엔드포인트를 지원하지 않음 - 단건 전송으로 전환 (path={})",
+                                        pythonSttProperties.getBatchPath());
+                            }
+                            fail(batch, error);
+                        });
+    }
+
+    private void complete(List<PendingRequest> batch, PythonSttBatchResponse response) {
+        List<LocalPythonSttEngine.PythonSttResponse> results = (response != null) ? response.getResults() : null;
+        if (results == null || results.size() != batch.size()) {
+            fail(batch, new IllegalStateException("배치 응답 건수가 요청과 다릅니다. (요청=" + batch.size()
+                    + ", 응답=" + (results != null ? results.size() : 0) + ")"));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(results.get(i));
+        }
+    }
+
+    private void fail(List<PendingRequest> batch, Throwable error) {
+        failedBatches.increment();
+        batch.forEach(item -> item.future.completeExceptionally(error));
+    }
+
+    private boolean isUnsupported(Throwable error) {
+        return error instanceof WebClientResponseException e
+                && (e.getStatusCode().value() == HttpStatus.NOT_FOUND.value()
+                || e.getStatusCode().value() == HttpStatus.METHOD_NOT_ALLOWED.value());
+    }
+
+    private boolean isServerFailure(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            return e.getStatusCode().is5xxServerError();
+        }
+        return true; // 연결 실패 / 타임아웃
+    }
+
+    /**
+     * 배치는 건수만큼 처리 시간이 늘어나므로 단건 타임아웃을 건수 비례로 늘린다 (최대 4배)
+     */
+    private Duration resolveTimeout(int size) {
+        Integer readTimeoutMs = pythonSttProperties.getReadTimeoutMs();
+        long base = (readTimeoutMs == null || readTimeoutMs <= 0) ? 60000 : readTimeoutMs;
+        return Duration.ofMillis(base * Math.min(4, Math.max(1, size)));
+    }
+
+    private int maxSize() {
+        return Math.max(1, pythonSttProperties.getBatchMaxSize());
+    }
+
+    /**
+     * (변경) 대기열에 넣은 요청 1건
+     * - QUEUED → DISPATCHED (배치로 전송) 또는 QUEUED → CANCELLED (호출자가 포기) 중 하나만 일어난다.
+     */
+    public static final class PendingRequest {
+
+        private static final int QUEUED = 0;
+        private static final int DISPATCHED = 1;
+        private static final int CANCELLED = 2;
+
+        private final SttRequest request;
+        private final long enqueuedAt;
+        private final CompletableFuture<LocalPythonSttEngine.PythonSttResponse> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private PendingRequest(SttRequest request, long enqueuedAt) {
+            this.request = request;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        public CompletableFuture<LocalPythonSttEngine.PythonSttResponse> future() {
+            return future;
+        }
+
+        /**
+         * 아직 배치로 보내지 않았으면 취소하고 true.
+         * 이미 전송했으면 false - 배치 응답(또는 배치 타임아웃)까지 오디오 파일을 지우면 안 된다.
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(QUEUED, CANCELLED)) {
+                future.cancel(false);
+                return true;
+            }
+            return state.get() == CANCELLED;
+        }
+
+        private boolean claim() {
+            return state.compareAndSet(QUEUED, DISPATCHED);
+        }
+
+        private boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+
+    /**
+     * (내부) 배치 응답 JSON 매핑용 DTO
+     */
+    @Getter
+    @Setter
+    public static class PythonSttBatchResponse {
+        private List<LocalPythonSttEngine.PythonSttResponse> results;
+    }
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record BatchSummary(
+            boolean active,             // 배치 사용 중 여부
+            long batches,               // 전송한 배치 수
+            long items,                 // 배치로 보낸 요청 수
+            long failedBatches,         // 실패한 배치 수
+            double avgBatchSize,        // 평균 배치 크기
+            double avgQueueWaitMs,      // 요청당 평균 추가 지연 (대기열에서 기다린 시간)
+            double avgRoundTripMs,      // 배치 1회 왕복 시간
+            int queued,                 // 현재 대기 중인 요청 수
+            List<Long> sizeHistogram    // 배치 크기별 횟수 (index = 크기)
+    ) {}
+}
@@ -0,0 +1,292 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import com.example.bboo_technology.Config.PythonSttProperties;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (추가) 로컬 Python STT 서버 여러 대에 대한 클라이언트 측 부하 분산.
+ *
+ * - 선택: 정상(healthy) 서버 중 현재 처리 중인 요청 수(outstanding)가 가장 적은 서버 (동률이면 라운드로빈)
+ * - 제외: 헬스체크 실패 / 실제 요청의 연결 실패·5xx 가 연속 unhealthyThreshold 회 → 분산 대상에서 제외
+ * - 복귀: 제외된 서버가 헬스체크를 연속 healthyThreshold 회 통과하면 다시 포함
+ *   (변경) 헬스체크를 끈 경우(healthPath 비움)에는 제외 후 ejectCooldownMs 가 지나면 acquire 에서 요청 1건을
+ *   시험(half-open)으로 보내고, 성공하면 바로 복귀 / 실패하면 다시 쿨다운
+ * - (변경) 헬스체크는 서버별로 동시에 보낸다. (한 대가 응답하지 않아도 전체 주기가 늘어나지 않음)
+ * - 서버별 WebClient 는 기동 시 한 번만 만들고, connectTimeoutMs 를 적용해서 죽은 서버는 빨리 실패시킨다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PythonSttEndpointPool {
+
+    private final PythonSttProperties pythonSttProperties;
+
+    private List<Endpoint> endpoints = Collections.emptyList();
+
+    // 동률일 때 순서대로 고르기 위한 시작 위치
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        List<Endpoint> list = new ArrayList<>();
+        for (String url : pythonSttProperties.resolveBaseUrls()) {
+            list.add(new Endpoint(url, buildWebClient(url)));
+        }
+        this.endpoints = List.copyOf(list);
+        log.info("[STT-PYTHON] 로컬 STT 서버 {}대 등록 - {}", endpoints.size(), pythonSttProperties.resolveBaseUrls());
+    }
+
+    /**
+     * 요청을 보낼 서버 선택 (outstanding +1). 정상 서버가 없으면 empty.
+     * - 사용 후 반드시 release(...) 호출
+     */
+    public Optional<Endpoint> acquire() {
+        int size = endpoints.size();
+        if (size == 0) {
+            return Optional.empty();
+        }
+
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        Endpoint best = null;
+        for (int i = 0; i < size; i++) {
+            Endpoint candidate = endpoints.get((start + i) % size);
+            if (!candidate.healthy) {
+                // (추가) 헬스체크가 꺼져 있으면 쿨다운이 지난 서버에 시험 요청 1건
+                if (tryStartProbe(candidate)) {
+                    candidate.outstanding.incrementAndGet();
+                    candidate.requests.incrementAndGet();
+                    return Optional.of(candidate);
+                }
+                continue;
+            }
+            if (best == null || candidate.outstanding.get() < best.outstanding.get()) {
+                best = candidate;
+            }
+        }
+
+        if (best == null) {
+            return Optional.empty();
+        }
+        best.outstanding.incrementAndGet();
+        best.requests.incrementAndGet();
+        return Optional.of(best);
+    }
+
+    /**
+     * 요청 종료 (outstanding -1)
+     *
+     * @param reachable false 면 연결 실패 / 5xx 등 서버 이상으로 판단 (연속 실패 누적)
+     */
+    public void release(Endpoint endpoint, boolean reachable) {
+        endpoint.outstanding.decrementAndGet();
+        if (reachable) {
+            endpoint.consecutiveFailures.set(0);
+            if (!endpoint.healthy && !isHealthCheckEnabled()) {
+                // (추가) 시험 요청 성공 → 복귀 (헬스체크가 없으니 실제 요청 성공이 곧 정상 신호)
+                readmit(endpoint);
+            }
+        } else {
+            endpoint.failures.incrementAndGet();
+            markFailure(endpoint, "요청 실패");
+        }
+        endpoint.probing.set(false);
+    }
+
+    /**
+     * 분산 대상에 포함된 서버 수 (라우터의 로컬 엔진 수용량 계산용)
+     */
+    public int healthyCount() {
+        return (int) endpoints.stream().filter(endpoint -> endpoint.healthy).count();
+    }
+
+    /**
+     * 주기적 헬스체크 (healthPath 가 비어 있으면 건너뜀)
+     */
+    @Scheduled(fixedDelayString = "${stt.python.health-check-interval-ms:10000}")
+    public void checkHealth() {
+        if (!isHealthCheckEnabled() || !pythonSttProperties.isEnabled()) {
+            return;
+        }
+
+        // (변경) 서버별 순차 block → 동시 요청 (전체 소요 ≒ 가장 느린 서버 1대의 timeout)
+        String healthPath = pythonSttProperties.getHealthPath();
+        Duration timeout = Duration.ofMillis(Math.max(100, pythonSttProperties.getHealthCheckTimeoutMs()));
+        try {
+            Flux.fromIterable(endpoints)
+                    .flatMap(endpoint -> probe(endpoint, healthPath, timeout)
+                            .doOnNext(ok -> {
+                                if (ok) {
+                                    markSuccess(endpoint);
+                                } else {
+                                    markFailure(endpoint, "헬스체크 실패");
+                                }
+                            }))
+                    .then()
+                    .block(timeout.plusSeconds(1));
+        } catch (Exception e) {
+            log.warn("[STT-PYTHON] 헬스체크 중 오류 - {}", e.getMessage());
+        }
+    }
+
+    public List<EndpointSnapshot> snapshot() {
+        return endpoints.stream()
+                .map(endpoint -> new EndpointSnapshot(
+                        endpoint.baseUrl,
+                        endpoint.healthy,
+                        endpoint.outstanding.get(),
+                        endpoint.requests.get(),
+                        endpoint.failures.get(),
+                        endpoint.consecutiveFailures.get()))
+                .toList();
+    }
+
+    // =========================
+    // 내부 로직
+    // =========================
+
+    private Mono<Boolean> probe(Endpoint endpoint, String healthPath, Duration timeout) {
+        return endpoint.webClient.get()
+                .uri(healthPath)
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(!response.statusCode().is5xxServerError()))
+                .timeout(timeout)
+                .onErrorReturn(false)
+                .defaultIfEmpty(false);
+    }
+
+    private boolean isHealthCheckEnabled() {
+        String healthPath = pythonSttProperties.getHealthPath();
+        return healthPath != null && !healthPath.isBlank();
+    }
+
+    /**
+     * (추가) 헬스체크가 꺼져 있을 때 제외된 서버에 시험 요청을 보낼 차례인지 (서버당 동시에 1건만)
+     */
+    private boolean tryStartProbe(Endpoint endpoint) {
+        if (isHealthCheckEnabled()) {
+            return false;
+        }
+        long cooldownMs = Math.max(0, pythonSttProperties.getEjectCooldownMs());
+        if (System.currentTimeMillis() - endpoint.ejectedAt < cooldownMs) {
+            return false;
+        }
+        return endpoint.probing.compareAndSet(false, true);
+    }
+
+    private void markFailure(Endpoint endpoint, String reason) {
+        endpoint.consecutiveSuccesses.set(0);
+        int failures = endpoint.consecutiveFailures.incrementAndGet();
+        if (!endpoint.healthy) {
+            // 제외 상태에서 또 실패 (시험 요청 실패 포함) → 쿨다운 다시 시작
+            endpoint.ejectedAt = System.currentTimeMillis();
+            return;
+        }
+        if (failures >= Math.max(1, pythonSttProperties.getUnhealthyThreshold())) {
+            endpoint.ejectedAt = System.currentTimeMillis();
+            endpoint.healthy = false;
+            log.warn("[STT-PYTHON] 서버 제외 - url={}, reason={}, consecutiveFailures={}", endpoint.baseUrl, reason, failures);
+        }
+    }
+
+    private void markSuccess(Endpoint endpoint) {
+        endpoint.consecutiveFailures.set(0);
+        int successes = endpoint.consecutiveSuccesses.incrementAndGet();
+        if (!endpoint.healthy && successes >= Math.max(1, pythonSttProperties.getHealthyThreshold())) {
+            readmit(endpoint);
+        }
+    }
+
+    private void readmit(Endpoint endpoint) {
+        endpoint.consecutiveFailures.set(0);
+        endpoint.consecutiveSuccesses.set(0);
+        endpoint.healthy = true;
+        log.info("[STT-PYTHON] 서버 복귀 - url={}", endpoint.baseUrl);
+    }
+
+    /**
+     * (변경) connectTimeoutMs 반영 - 이전에는 설정만 있고 적용되지 않았다
+     */
+    private WebClient buildWebClient(String baseUrl) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, resolveConnectTimeoutMs())
+                .responseTimeout(resolveReadTimeout());
+
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    private int resolveConnectTimeoutMs() {
+        Integer connectTimeoutMs = pythonSttProperties.getConnectTimeoutMs();
+        return (connectTimeoutMs == null || connectTimeoutMs <= 0) ? 3000 : connectTimeoutMs;
+    }
+
+    private Duration resolveReadTimeout() {
+        Integer readTimeoutMs = pythonSttProperties.getReadTimeoutMs();
+        if (readTimeoutMs == null || readTimeoutMs <= 0) {
+            return Duration.ofSeconds(60);
+        }
+        return Duration.ofMillis(readTimeoutMs);
+    }
+
+    /**
+     * 서버 1대의 상태
+     */
+    public static class Endpoint {
+        private final String baseUrl;
+        private final WebClient webClient;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicInteger consecutiveSuccesses = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicBoolean probing = new AtomicBoolean();   // (추가) 시험 요청 진행 중
+        private volatile boolean healthy = true;
+        private volatile long ejectedAt;                              // (추가) 마지막 제외/실패 시각 (쿨다운 기준)
+
+        private Endpoint(String baseUrl, WebClient webClient) {
+            this.baseUrl = baseUrl;
+            this.webClient = webClient;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public WebClient getWebClient() {
+            return webClient;
+        }
+    }
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record EndpointSnapshot(
+            String baseUrl,             // 서버 주소
+            boolean healthy,            // 분산 대상 포함 여부
+            int outstanding,            // 처리 중인 요청 수
+            long requests,              // 누적 요청 수
+            long failures,              // 누적 실패 수 (연결 실패 / 5xx)
+            int consecutiveFailures     // 연속 실패 수
+    ) {}
+}
@@ -0,0 +1,375 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import com.example.bboo_technology.DTO.Stt.SttStreamEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * (추가) Python STT 서버와의 지속 WebSocket 스트림 1개 (라이브 세션 1개).
+ *
+ * - send(pcm): 16bit 모노 PCM 프레임을 전송 대기열에 넣는다. (호출자는 절대 블로킹되지 않음)
+ *   - WebSocket 쪽이 요청(request)한 만큼만 대기열에서 꺼내 보낸다 → Netty 쓰기 가능 상태에 맞춘 backpressure
+ *   - 연결이 끊겼거나 느려서 대기열이 maxBufferedFrames 를 넘으면 가장 오래된 프레임부터 버린다 (실시간성 우선)
+ * - events(): 서버가 보내는 중간/확정 결과 (느린 구독자는 최신 이벤트 위주로 받음)
+ *   - (변경) 수신 스레드 / 재연결 타이머 / close() 호출 스레드가 동시에 emit 하지 않도록 emitLock 으로 직렬화
+ * - 연결이 끊기면 지수 백오프로 재연결하고, 지금까지 보낸 오디오 길이(offset)를 넘겨 타임스탬프를 이어 간다.
+ *   - (변경) 재연결마다 Route 에서 서버를 새로 고른다. (죽은 서버에 계속 붙지 않음)
+ *   - (변경) 연속 실패가 maxReconnectAttempts 를 넘으면 error 이벤트를 보내고 스트림을 닫는다.
+ * - finish(): 서버에 end 메시지를 보내 남은 구간을 확정시키고, 마지막 결과를 받은 뒤 종료.
+ *   - (변경) end 를 보낸 뒤 연결이 비정상으로 끊기면 재연결해서 end 를 다시 보낸다.
+ */
+@Slf4j
+public class PythonSttStream implements AutoCloseable, SttAudioStream {
+
+    private static final String END_MESSAGE = "{\"type\":\"end\"}";
+
+    private final String sessionId;
+    private final Route route;
+    private final WebSocketClient webSocketClient;
+    private final ObjectMapper objectMapper;
+    private final int sampleRate;
+    private final int maxBufferedFrames;
+    private final long reconnectMinMs;
+    private final long reconnectMaxMs;
+    private final int maxReconnectAttempts;
+    private final Consumer<PythonSttStream> onClosed;
+
+    // 전송 대기 프레임 (END_MARKER 는 종료 신호)
+    private final LinkedBlockingDeque<byte[]> pending = new LinkedBlockingDeque<>();
+    private static final byte[] END_MARKER = new byte[0];
+
+    // 현재 연결의 송신 sink (연결이 없으면 null)
+    private volatile FluxSink<byte[]> outbound;
+
+    private final Sinks.Many<SttStreamEvent> events = Sinks.many().multicast().directBestEffort();
+    private final Object emitLock = new Object();
+
+    private volatile boolean finishing;
+    private volatile boolean closed;
+    private volatile boolean connected;
+    private volatile boolean endSent;      // (추가) 현재 연결로 end 를 보냈는지
+    private volatile Disposable connection;
+
+    private final AtomicLong sentBytes = new AtomicLong();
+    private final AtomicLong sentFrames = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong receivedEvents = new AtomicLong();
+    private final AtomicInteger reconnects = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * (추가) 연결 1회마다 접속할 서버를 고르고, 연결이 끝나면 결과를 돌려주는 경로
+     */
+    interface Route {
+
+        /**
+         * 접속 URI (서버 outstanding +1)
+         *
+         * @param offsetSeconds 지금까지 보낸 오디오 길이(초)
+         * @return 정상 서버가 없으면 null
+         */
+        URI acquire(double offsetSeconds);
+
+        /**
+         * 현재 연결 종료 (outstanding -1, 이미 반환했으면 무시)
+         *
+         * @param reachable false 면 접속 실패 (서버 이상으로 누적)
+         */
+        void release(boolean reachable);
+    }
+
+    PythonSttStream(String sessionId, Route route, WebSocketClient webSocketClient,
+                    ObjectMapper objectMapper, int sampleRate, int maxBufferedFrames,
+                    long reconnectMinMs, long reconnectMaxMs, int maxReconnectAttempts,
+                    Consumer<PythonSttStream> onClosed) {
+        this.sessionId = sessionId;
+        this.route = route;
+        this.webSocketClient = webSocketClient;
+        this.objectMapper = objectMapper;
+        this.sampleRate = sampleRate;
+        this.maxBufferedFrames = Math.max(1, maxBufferedFrames);
+        this.reconnectMinMs = Math.max(50, reconnectMinMs);
+        this.reconnectMaxMs = Math.max(this.reconnectMinMs, reconnectMaxMs);
+        this.maxReconnectAttempts = maxReconnectAttempts;
+        this.onClosed = onClosed;
+    }
+
+    // =========================
+    // 공개 API
+    // =========================
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * PCM 프레임 전송 (16bit 모노 little-endian, sampleRate)
+     */
+    @Override
+    public void send(byte[] pcm) {
+        if (closed || finishing || pcm == null || pcm.length == 0) {
+            return;
+        }
+        while (pending.size() >= maxBufferedFrames) {
+            if (pending.pollFirst() != null) {
+                droppedFrames.incrementAndGet();
+            }
+        }
+        pending.offerLast(pcm);
+        drain();
+    }
+
+    /**
+     * 서버 결과 스트림 (partial / final / status / error)
+     */
+    @Override
+    public Flux<SttStreamEvent> events() {
+        return events.asFlux();
+    }
+
+    /**
+     * 남은 오디오를 확정시키고 종료 (서버가 연결을 닫으면 완료)
+     */
+    @Override
+    public void finish() {
+        if (closed || finishing) {
+            return;
+        }
+        finishing = true;
+        pending.offerLast(END_MARKER);
+        drain();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.clear();
+        Disposable current = connection;
+        if (current != null) {
+            current.dispose();
+        }
+        route.release(true);
+        synchronized (emitLock) {
+            events.tryEmitComplete();
+        }
+        onClosed.accept(this);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public StreamSnapshot snapshot() {
+        return new StreamSnapshot(sessionId, connected, sentSeconds(), sentFrames.get(), droppedFrames.get(),
+                pending.size(), receivedEvents.get(), reconnects.get());
+    }
+
+    // =========================
+    // 연결 / 재연결
+    // =========================
+
+    void connect() {
+        if (closed) {
+            return;
+        }
+        URI uri = route.acquire(sentSeconds());
+        if (uri == null) {
+            onDisconnected(new IllegalStateException("사용 가능한 STT 서버 없음"));
+            return;
+        }
+        if (closed) {
+            // 고르는 사이 close() 됨 → 방금 잡은 서버 반환
+            route.release(true);
+            return;
+        }
+        connection = webSocketClient.execute(uri, this::handle)
+                .subscribe(
+                        ignored -> { },
+                        error -> onDisconnected(error),
+                        () -> onDisconnected(null));
+    }
+
+    private Mono<Void> handle(WebSocketSession session) {
+        connected = true;
+        endSent = false;
+        consecutiveFailures.set(0);
+        emitStatus("connected");
+
+        Flux<WebSocketMessage> outgoing = Flux.<byte[]>create(sink -> {
+                    outbound = sink;
+                    sink.onRequest(n -> drain());
+                    sink.onDispose(() -> outbound = null);
+                })
+                .map(frame -> (frame == END_MARKER)
+                        ? session.textMessage(END_MESSAGE)
+                        : session.binaryMessage(factory -> factory.wrap(frame)));
+
+        Mono<Void> receive = session.receive()
+                .map(WebSocketMessage::getPayloadAsText)
+                .doOnNext(this::onMessage)
+                .then();
+
+        // 서버가 연결을 닫으면(receive 완료) 송신도 같이 정리
+        return Mono.firstWithSignal(session.send(outgoing), receive);
+    }
+
+    private void onDisconnected(Throwable error) {
+        // (변경) 한 번도 연결되지 못했으면 접속 실패로 보고 (연속 실패 시 분산 대상에서 제외)
+        route.release(connected);
+        connected = false;
+        outbound = null;
+
+        if (closed) {
+            return;
+        }
+        if (finishing) {
+            if (endSent && error == null) {
+                // end 이후 서버가 정상 종료 → 스트림 완료
+                close();
+                return;
+            }
+            if (endSent) {
+                // (추가) end 를 보낸 연결이 끊김 → 다음 연결에서 다시 보낸다
+                endSent = false;
+                pending.offerLast(END_MARKER);
+            }
+        }
+
+        int failures = consecutiveFailures.incrementAndGet();
+        if (maxReconnectAttempts > 0 && failures > maxReconnectAttempts) {
+            log.error("[STT-STREAM] 재연결 포기 - sessionId={}, failures={}, error={}",
+                    sessionId, failures, (error != null) ? error.getMessage() : "closed by server");
+            emit(SttStreamEvent.builder()
+                    .sessionId(sessionId)
+                    .type(SttStreamEvent.TYPE_ERROR)
+                    .text("STT 서버 재연결 실패")
+                    .receivedAt(Instant.now())
+                    .build());
+            close();
+            return;
+        }
+        long delay = Math.min(reconnectMaxMs, reconnectMinMs * (1L << Math.min(10, failures - 1)));
+        reconnects.incrementAndGet();
+
+        log.warn("[STT-STREAM] 연결 끊김 - sessionId={}, {}ms 후 재연결 (failures={}, error={})",
+                sessionId, delay, failures, (error != null) ? error.getMessage() : "closed by server");
+        emitStatus("reconnecting");
+
+        Mono.delay(Duration.ofMillis(delay)).subscribe(ignored -> connect());
+    }
+
+    // =========================
+    // 송신 대기열
+    // =========================
+
+    /**
+     * 연결된 sink 가 요청한 만큼만 대기열에서 꺼내 보낸다
+     */
+    private synchronized void drain() {
+        FluxSink<byte[]> sink = outbound;
+        if (sink == null) {
+            return;
+        }
+        while (sink.requestedFromDownstream() > 0) {
+            byte[] frame = pending.pollFirst();
+            if (frame == null) {
+                return;
+            }
+            if (frame == END_MARKER) {
+                endSent = true;
+            } else {
+                sentBytes.addAndGet(frame.length);
+                sentFrames.incrementAndGet();
+            }
+            sink.next(frame);
+        }
+    }
+
+    private double sentSeconds() {
+        return sentBytes.get() / 2.0 / sampleRate;
+    }
+
+    // =========================
+    // 수신
+    // =========================
+
+    private void onMessage(String payload) {
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            String type = node.path("type").asText(SttStreamEvent.TYPE_PARTIAL);
+            receivedEvents.incrementAndGet();
+
+            emit(SttStreamEvent.builder()
+                    .sessionId(sessionId)
+                    .type(type)
+                    .text(node.path("text").asText(""))
+                    .startSeconds(node.hasNonNull("start") ? node.get("start").asDouble() : null)
+                    .endSeconds(node.hasNonNull("end") ? node.get("end").asDouble() : null)
+                    .sequence(node.hasNonNull("seq") ? node.get("seq").asLong() : null)
+                    .receivedAt(Instant.now())
+                    .build());
+        } catch (Exception e) {
+            log.warn("[STT-STREAM] 메시지 파싱 실패 - sessionId={}, payload={}", sessionId, payload, e);
+        }
+    }
+
+    private void emitStatus(String status) {
+        emit(SttStreamEvent.builder()
+                .sessionId(sessionId)
+                .type(SttStreamEvent.TYPE_STATUS)
+                .text(status)
+                .receivedAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * (추가) 이벤트 발행 - 한 번에 한 스레드만 (동시 호출 시 FAIL_NON_SERIALIZED 로 이벤트가 사라지는 문제 방지)
+     * - 구독자가 없거나(FAIL_ZERO_SUBSCRIBER) 이미 닫힌 경우(FAIL_TERMINATED)만 남으며, 이때는 버려도 된다.
+     */
+    private void emit(SttStreamEvent event) {
+        Sinks.EmitResult result;
+        synchronized (emitLock) {
+            result = events.tryEmitNext(event);
+        }
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER
+                && result != Sinks.EmitResult.FAIL_TERMINATED) {
+            log.debug("[STT-STREAM] 이벤트 발행 실패 - sessionId={}, type={}, result={}",
+                    sessionId, event.getType(), result);
+        }
+    }
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record StreamSnapshot(
+            String sessionId,
+            boolean connected,      // 현재 연결 여부
+            double sentSeconds,     // 보낸 오디오 길이(초)
+            long sentFrames,        // 보낸 프레임 수
+            long droppedFrames,     // 대기열 초과로 버린 프레임 수
+            int pendingFrames,      // 전송 대기 프레임 수
+            long receivedEvents,    // 받은 결과 수
+            int reconnects          // 재연결 횟수
+    ) {}
+}
@@ -0,0 +1,157 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import com.example.bboo_technology.Config.PythonSttProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * (추가) Python STT 서버 스트리밍 채널 생성기.
+ *
+ * - 라이브 세션마다 WebSocket 1개를 열고 계속 유지한다. (청크마다 multipart 왕복 / JSON 응답 오버헤드 제거)
+ * - 접속 서버는 PythonSttEndpointPool 에서 처리 중 요청이 가장 적은 정상 서버를 고르고,
+ *   스트림이 열려 있는 동안 그 서버의 outstanding 으로 잡힌다.
+ *   (변경) 재연결할 때마다 다시 고르고, 접속 실패는 release(endpoint, false) 로 알린다.
+ *
+ * 스트리밍 프로토콜 (ws://{서버}{streamPath}?sessionId=&language=&sampleRate=&offset=):
+ *  - Java → Python : binary = 16bit 모노 PCM (little-endian), text {"type":"end"} = 남은 구간 확정 후 종료
+ *  - Python → Java : text JSON {"type":"partial"|"final", "text", "start", "end", "seq"}
+ *  - offset : 재연결 시 지금까지 보낸 오디오 길이(초) - 서버가 타임스탬프를 이어 붙인다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PythonSttStreamClient {
+
+    private final PythonSttProperties pythonSttProperties;
+    private final PythonSttEndpointPool endpointPool;
+    private final ObjectMapper objectMapper;
+
+    private ReactorNettyWebSocketClient webSocketClient;
+
+    private final Map<String, PythonSttStream> streams = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        Integer connectTimeoutMs = pythonSttProperties.getConnectTimeoutMs();
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        (connectTimeoutMs == null || connectTimeoutMs <= 0) ? 3000 : connectTimeoutMs);
+        this.webSocketClient = new ReactorNettyWebSocketClient(httpClient);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        List.copyOf(streams.values()).forEach(PythonSttStream::close);
+    }
+
+    /**
+     * 스트림 열기 (연결은 비동기, 끊기면 자동 재연결)
+     *
+     * @return 정상 서버가 없으면 empty
+     */
+    public Optional<PythonSttStream> open(String sessionId, String languageHint) {
+        Optional<PythonSttEndpointPool.Endpoint> acquired = endpointPool.acquire();
+        if (acquired.isEmpty()) {
+            return Optional.empty();
+        }
+        PythonSttEndpointPool.Endpoint endpoint = acquired.get();
+        int sampleRate = pythonSttProperties.getStreamSampleRate();
+
+        PythonSttStream stream = new PythonSttStream(
+                sessionId,
+                new EndpointRoute(endpoint, sessionId, languageHint, sampleRate),
+                webSocketClient,
+                objectMapper,
+                sampleRate,
+                pythonSttProperties.getStreamMaxBufferedFrames(),
+                pythonSttProperties.getStreamReconnectMinMs(),
+                pythonSttProperties.getStreamReconnectMaxMs(),
+                pythonSttProperties.getStreamMaxReconnectAttempts(),
+                // (변경) 같은 세션으로 새 스트림이 이미 등록됐으면 그 스트림은 남겨 둔다
+                closedStream -> streams.remove(sessionId, closedStream));
+
+        PythonSttStream previous = streams.put(sessionId, stream);
+        if (previous != null) {
+            previous.close();
+        }
+        stream.connect();
+
+        log.info("[STT-STREAM] 스트림 시작 - sessionId={}, server={}", sessionId, endpoint.getBaseUrl());
+        return Optional.of(stream);
+    }
+
+    public List<PythonSttStream.StreamSnapshot> snapshot() {
+        return streams.values().stream().map(PythonSttStream::snapshot).toList();
+    }
+
+    /**
+     * (추가) 스트림 1개의 접속 서버 - 첫 연결은 open 에서 잡은 서버, 재연결부터는 풀에서 다시 고른다
+     */
+    private final class EndpointRoute implements PythonSttStream.Route {
+
+        // 지금 잡고 있는 서버 (outstanding 에 포함된 상태, 반환하면 null)
+        private final AtomicReference<PythonSttEndpointPool.Endpoint> held;
+        private final String sessionId;
+        private final String languageHint;
+        private final int sampleRate;
+
+        private EndpointRoute(PythonSttEndpointPool.Endpoint first, String sessionId, String languageHint, int sampleRate) {
+            this.held = new AtomicReference<>(first);
+            this.sessionId = sessionId;
+            this.languageHint = languageHint;
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public URI acquire(double offsetSeconds) {
+            PythonSttEndpointPool.Endpoint endpoint = held.get();
+            if (endpoint == null) {
+                Optional<PythonSttEndpointPool.Endpoint> acquired = endpointPool.acquire();
+                if (acquired.isEmpty()) {
+                    return null;
+                }
+                endpoint = acquired.get();
+                held.set(endpoint);
+                log.info("[STT-STREAM] 재연결 서버 - sessionId={}, server={}", sessionId, endpoint.getBaseUrl());
+            }
+            return buildUri(endpoint.getBaseUrl(), sessionId, languageHint, sampleRate, offsetSeconds);
+        }
+
+        @Override
+        public void release(boolean reachable) {
+            PythonSttEndpointPool.Endpoint endpoint = held.getAndSet(null);
+            if (endpoint != null) {
+                endpointPool.release(endpoint, reachable);
+            }
+        }
+    }
+
+    private URI buildUri(String baseUrl, String sessionId, String languageHint, int sampleRate, double offset) {
+        String wsBase = baseUrl.replaceFirst("^http", "ws");
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(wsBase)
+                .path(pythonSttProperties.getStreamPath())
+                .queryParam("sessionId", sessionId)
+                .queryParam("sampleRate", sampleRate)
+                .queryParam("offset", String.format(Locale.ROOT, "%.3f", offset));   // (변경) 소수점은 항상 '.'
+        if (languageHint != null && !languageHint.isBlank()) {
+            builder.queryParam("language", languageHint);
+        }
+        return builder.build().encode().toUri();
+    }
+}
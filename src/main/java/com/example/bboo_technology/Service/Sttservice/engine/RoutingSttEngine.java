@@ -0,0 +1,224 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import com.example.bboo_technology.Config.PythonSttProperties;
+import com.example.bboo_technology.Config.SttRoutingProperties;
+import com.example.bboo_technology.DTO.Stt.SttRequest;
+import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.Service.Sttservice.OpenAiWhisperSttEngine;
+import com.example.bboo_technology.Service.Sttservice.SttEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) 요청마다 STT 엔진을 고르는 라우팅 엔진 (@Primary).
+ *
+ * - 기존에는 @Primary 위치로 OpenAI / 로컬 Python 엔진이 고정되어 있었다.
+ * - 엔진별 SttEngineStats(EWMA 지연, 오류율, in-flight, RTF)를 보고 예상 지연이 가장 작은 엔진으로 보낸다.
+ *   - 로컬 엔진이 비활성화 / 연속 실패로 제외 중 / 동시 처리 상한 초과(포화)면 후순위로 밀린다.
+ *   - 선택한 엔진이 실패하면 다음 엔진으로 자동 재시도(failover)한다.
+ * - 라우팅 결과는 SttResult.engineName ("router:엔진명", failover 시 표시) 과
+ *   /api/stt/metrics/engines 에서 확인할 수 있다.
+ */
+@Slf4j
+@Service
+@Primary
+public class RoutingSttEngine implements SttEngine {
+
+    public static final String ENGINE_LOCAL = "local";
+    public static final String ENGINE_OPENAI = "openai";
+
+    // 관측값이 없을 때 사용하는 기본 예상 지연(ms)
+    private static final double DEFAULT_LATENCY_MS = 5000.0;
+
+    private final LocalPythonSttEngine localEngine;
+    private final OpenAiWhisperSttEngine openAiEngine;
+    private final PythonSttProperties pythonSttProperties;
+    private final SttRoutingProperties routingProperties;
+    private final PythonSttEndpointPool pythonEndpointPool;
+
+    private final SttEngineStats localStats;
+    private final SttEngineStats openAiStats;
+
+    // 라우팅 결정 횟수 (local / openai / failover:local->openai ...)
+    private final Map<String, LongAdder> decisions = new ConcurrentHashMap<>();
+
+    public RoutingSttEngine(LocalPythonSttEngine localEngine,
+                            OpenAiWhisperSttEngine openAiEngine,
+                            PythonSttProperties pythonSttProperties,
+                            SttRoutingProperties routingProperties,
+                            PythonSttEndpointPool pythonEndpointPool) {
+        this.localEngine = localEngine;
+        this.openAiEngine = openAiEngine;
+        this.pythonSttProperties = pythonSttProperties;
+        this.routingProperties = routingProperties;
+        this.pythonEndpointPool = pythonEndpointPool;
+        this.localStats = new SttEngineStats(ENGINE_LOCAL, routingProperties.getEwmaAlpha());
+        this.openAiStats = new SttEngineStats(ENGINE_OPENAI, routingProperties.getEwmaAlpha());
+    }
+
+    @Override
+    public SttResult transcribe(SttRequest request) {
+        List<Candidate> candidates = rank();
+        SttResult lastResult = null;
+        String firstChoice = candidates.get(0).stats().getKey();
+
+        for (int i = 0; i < candidates.size(); i++) {
+            if (i > 0 && !routingProperties.isFailover()) {
+                break;
+            }
+
+            Candidate candidate = candidates.get(i);
+            SttResult result = invoke(candidate, request);
+            String key = candidate.stats().getKey();
+
+            boolean failover = (i > 0);
+            String label = "router:" + result.getEngineName() + (failover ? " (failover from " + firstChoice + ")" : "");
+            result = result.toBuilder().engineName(label).build();
+
+            if (result.isSuccess() || !isRetryable(result)) {
+                count(failover ? "failover:" + firstChoice + "->" + key : key);
+                return result;
+            }
+
+            log.warn("[STT-ROUTER] 엔진 실패 - engine={}, errorCode={}, 다음 후보로 재시도={}",
+                    key, result.getErrorCode(), (i + 1 < candidates.size()) && routingProperties.isFailover());
+            lastResult = result;
+        }
+
+        count("failed");
+        return lastResult;
+    }
+
+    /**
+     * (추가) 어느 엔진으로 가든 같은 결과로 본다 → 구성 엔진 목록으로 캐시 키 구성
+     */
+    @Override
+    public String cacheKey() {
+        return "router[" + openAiEngine.cacheKey() + "," + localEngine.cacheKey() + "]";
+    }
+
+    /**
+     * 엔진별 상태 + 라우팅 결정 횟수
+     */
+    public RoutingSnapshot snapshot() {
+        Map<String, Long> decisionCounts = new TreeMap<>();
+        decisions.forEach((key, adder) -> decisionCounts.put(key, adder.sum()));
+        return new RoutingSnapshot(List.of(localStats.snapshot(), openAiStats.snapshot()), decisionCounts);
+    }
+
+    /**
+     * (추가) 현재 엔진 전체 동시 처리 수용량 (로컬: 정상 서버 수 x local-max-in-flight + OpenAI 상한)
+     *  - 일괄 작업 디스패처가 동시에 보낼 파일 수를 정할 때 사용
+     */
+    public int capacity() {
+        int healthyServers = pythonEndpointPool.healthyCount();
+        int local = (pythonSttProperties.isEnabled() && healthyServers > 0 && !localStats.isCoolingDown())
+                ? routingProperties.getLocalMaxInFlight() * healthyServers : 0;
+        int openAi = openAiStats.isCoolingDown() ? 0 : routingProperties.getOpenaiMaxInFlight();
+        return local + openAi;
+    }
+
+    /**
+     * (추가) 현재 모든 엔진에서 처리 중인 요청 수 (단건 + 일괄 + 라이브 합계)
+     */
+    public int inFlight() {
+        return localStats.inFlight() + openAiStats.inFlight();
+    }
+
+    // =========================
+    // 내부 로직
+    // =========================
+
+    /**
+     * 후보 엔진을 예상 지연 순으로 정렬.
+     * - 사용 가능한 엔진(제외 기간 X, 포화 X)이 앞, 나머지는 마지막 수단으로 뒤에 둔다.
+     */
+    private List<Candidate> rank() {
+        List<Candidate> available = new ArrayList<>();
+        List<Candidate> fallback = new ArrayList<>();
+
+        // (변경) 로컬 서버가 여러 대면 정상 서버 수만큼 수용량을 늘리고, 정상 서버가 없으면 후보에서 뺀다
+        int healthyServers = pythonEndpointPool.healthyCount();
+        if (pythonSttProperties.isEnabled() && healthyServers > 0) {
+            // 처리 중인 요청이 서버 수만큼 나뉘므로 서버 1대 기준 대기열 길이로 예상 지연을 계산
+            double localLatency = localStats.expectedLatencyMs(DEFAULT_LATENCY_MS)
+                    * (1 + (double) localStats.inFlight() / healthyServers) / (1 + localStats.inFlight());
+            Candidate local = new Candidate(localEngine, localStats, localLatency);
+            boolean saturated = localStats.inFlight() >= routingProperties.getLocalMaxInFlight() * healthyServers;
+            (localStats.isCoolingDown() || saturated ? fallback : available).add(local);
+        }
+
+        double openAiBias = routingProperties.isPreferLocal() ? routingProperties.getLocalBiasMs() : 0;
+        Candidate openAi = new Candidate(openAiEngine, openAiStats, openAiStats.expectedLatencyMs(DEFAULT_LATENCY_MS) + openAiBias);
+        boolean openAiSaturated = openAiStats.inFlight() >= routingProperties.getOpenaiMaxInFlight();
+        (openAiStats.isCoolingDown() || openAiSaturated ? fallback : available).add(openAi);
+
+        available.sort(Comparator.comparingDouble(Candidate::score));
+        fallback.sort(Comparator.comparingDouble(Candidate::score));
+
+        List<Candidate> ordered = new ArrayList<>(available);
+        ordered.addAll(fallback);
+        return ordered;
+    }
+
+    private SttResult invoke(Candidate candidate, SttRequest request) {
+        SttEngineStats stats = candidate.stats();
+        stats.begin();
+        long start = System.currentTimeMillis();
+
+        SttResult result;
+        try {
+            result = candidate.engine().transcribe(request);
+        } catch (RuntimeException e) {
+            log.error("[STT-ROUTER] 엔진 호출 중 예외 - engine={}", stats.getKey(), e);
+            result = SttResult.builder()
+                    .sessionId(request != null ? request.getSessionId() : null)
+                    .success(false)
+                    .engineName(stats.getKey())
+                    .errorCode("ENGINE_EXCEPTION")
+                    .errorMessage(e.getMessage())
+                    .createdAt(Instant.now())
+                    .build();
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        Double audioSeconds = (result.getDurationSeconds() != null) ? result.getDurationSeconds()
+                : (request != null ? request.getDurationSeconds() : null);
+        stats.end(elapsed, result.isSuccess(), audioSeconds,
+                routingProperties.getFailureThreshold(), routingProperties.getCooldownMs());
+
+        return result.toBuilder().processingMillis(elapsed).build();
+    }
+
+    /**
+     * 요청 자체가 잘못된 경우는 다른 엔진으로 보내도 똑같이 실패하므로 재시도하지 않는다.
+     */
+    private boolean isRetryable(SttResult result) {
+        return !"INVALID_REQUEST".equals(result.getErrorCode())
+                && !"AUDIO_TOO_LONG".equals(result.getErrorCode());
+    }
+
+    private void count(String decision) {
+        decisions.computeIfAbsent(decision, key -> new LongAdder()).increment();
+    }
+
+    private record Candidate(SttEngine engine, SttEngineStats stats, double score) {}
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record RoutingSnapshot(
+            List<SttEngineStats.Snapshot> engines,  // 엔진별 상태
+            Map<String, Long> decisions             // 라우팅 결정 횟수
+    ) {}
+}
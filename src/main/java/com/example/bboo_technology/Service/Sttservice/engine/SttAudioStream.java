@@ -0,0 +1,35 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import com.example.bboo_technology.DTO.Stt.SttStreamEvent;
+import reactor.core.publisher.Flux;
+
+/**
+ * (추가) 라이브 세션 1개의 오디오 스트림 (PCM 입력 → 인식 이벤트 출력).
+ *
+ * - PythonSttStream   : Python 서버와 지속 WebSocket (서버가 구간을 나눔)
+ * - ChunkedSttStream  : Python 스트림을 열 수 없을 때 PCM 을 청크로 잘라 SttEngine 으로 보냄
+ */
+public interface SttAudioStream {
+
+    /**
+     * 16bit 모노 PCM 프레임 전송 (블로킹 없음)
+     */
+    void send(byte[] pcm);
+
+    /**
+     * 인식 결과 이벤트 (partial / final / status / error)
+     */
+    Flux<SttStreamEvent> events();
+
+    /**
+     * 남은 오디오를 확정시키고 종료
+     */
+    void finish();
+
+    /**
+     * 즉시 종료
+     */
+    void close();
+
+    boolean isClosed();
+}
@@ -0,0 +1,129 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) STT 엔진 1개의 실시간 상태 (RoutingSttEngine 이 라우팅 판단에 사용).
+ *
+ * - 지연(ms), 오류율, 실시간 배율(RTF = 처리 시간 / 오디오 길이)은 EWMA 로 관리한다.
+ * - 동시 처리 수(in-flight)와 연속 실패 횟수로 포화/장애 여부를 판단한다.
+ * - 갱신은 synchronized 로 묶고, 카운터는 LongAdder / AtomicInteger 를 사용한다.
+ */
+public class SttEngineStats {
+
+    private final String key;
+    private final double alpha;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    // EWMA 값 (첫 관측 전에는 NaN)
+    private double ewmaLatencyMs = Double.NaN;
+    private double ewmaErrorRate = 0.0;
+    private double ewmaRealTimeFactor = Double.NaN;
+
+    private int consecutiveFailures;
+    private long unavailableUntil;
+
+    public SttEngineStats(String key, double alpha) {
+        this.key = key;
+        this.alpha = alpha;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public void begin() {
+        inFlight.incrementAndGet();
+        requests.increment();
+    }
+
+    /**
+     * 요청 1건 종료 기록
+     *
+     * @param elapsedMillis   엔진 호출 소요 시간(ms)
+     * @param success         성공 여부
+     * @param audioSeconds    오디오 길이(초), 모르면 null
+     * @param failureThreshold 연속 실패 임계값
+     * @param cooldownMs      임계값 도달 시 제외 기간(ms)
+     */
+    public synchronized void end(long elapsedMillis, boolean success, Double audioSeconds,
+                                 int failureThreshold, long cooldownMs) {
+        inFlight.decrementAndGet();
+
+        ewmaLatencyMs = Double.isNaN(ewmaLatencyMs)
+                ? elapsedMillis
+                : alpha * elapsedMillis + (1 - alpha) * ewmaLatencyMs;
+        ewmaErrorRate = alpha * (success ? 0.0 : 1.0) + (1 - alpha) * ewmaErrorRate;
+
+        if (success && audioSeconds != null && audioSeconds > 0) {
+            double rtf = (elapsedMillis / 1000.0) / audioSeconds;
+            ewmaRealTimeFactor = Double.isNaN(ewmaRealTimeFactor)
+                    ? rtf
+                    : alpha * rtf + (1 - alpha) * ewmaRealTimeFactor;
+        }
+
+        if (success) {
+            consecutiveFailures = 0;
+        } else {
+            failures.increment();
+            consecutiveFailures++;
+            if (consecutiveFailures >= failureThreshold) {
+                unavailableUntil = System.currentTimeMillis() + cooldownMs;
+            }
+        }
+    }
+
+    /**
+     * 연속 실패로 제외 기간 중인지
+     */
+    public synchronized boolean isCoolingDown() {
+        return System.currentTimeMillis() < unavailableUntil;
+    }
+
+    /**
+     * 라우팅 점수용 예상 지연(ms).
+     * - 관측값이 없으면 defaultLatencyMs 사용
+     * - 대기 중인 요청 수만큼 늘어나고, 오류율이 높을수록 불리하게 가중
+     */
+    public synchronized double expectedLatencyMs(double defaultLatencyMs) {
+        double base = Double.isNaN(ewmaLatencyMs) ? defaultLatencyMs : ewmaLatencyMs;
+        return base * (1 + inFlight.get()) * (1 + 4 * ewmaErrorRate);
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(
+                key,
+                Double.isNaN(ewmaLatencyMs) ? null : ewmaLatencyMs,
+                ewmaErrorRate,
+                Double.isNaN(ewmaRealTimeFactor) ? null : ewmaRealTimeFactor,
+                inFlight.get(),
+                requests.sum(),
+                failures.sum(),
+                consecutiveFailures,
+                System.currentTimeMillis() < unavailableUntil
+        );
+    }
+
+    /**
+     * 메트릭 응답용 스냅샷
+     */
+    public record Snapshot(
+            String engine,              // 엔진 키 (local / openai)
+            Double ewmaLatencyMs,       // 이동평균 지연(ms), 관측 전이면 null
+            double ewmaErrorRate,       // 이동평균 오류율 (0~1)
+            Double realTimeFactor,      // 이동평균 RTF (처리 시간 / 오디오 길이), 모르면 null
+            int inFlight,               // 현재 처리 중인 요청 수
+            long requests,              // 누적 요청 수
+            long failures,              // 누적 실패 수
+            int consecutiveFailures,    // 연속 실패 수
+            boolean coolingDown         // 제외 기간 여부
+    ) {}
+}
@@ -0,0 +1,311 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.Config.SttLiveChunkProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (추가) 청크 모드 라이브 자막의 청크 길이 결정기.
+ *
+ * - 엔진별 처리 시간 모델: 처리(ms) = 고정 비용 + RTF x 청크 길이(ms)
+ *   - 청크가 끝날 때마다 SttResult.processingMillis / 청크 길이로 지수 가중 최소제곱 갱신
+ *   - 청크 길이가 거의 같아서 기울기를 못 구하면 default-overhead-ms 를 고정 비용으로 보고 RTF 만 계산
+ * - 세션별 대기 지연(청크를 자른 뒤 엔진 호출까지)은 EWMA 로 관리
+ * - 다음 청크 길이 L(초):
+ *   1) 지연 상한: L + 대기 + 고정 비용 + RTF x L ≤ target-latency-ms 인 가장 긴 L (요청 수 최소화)
+ *   2) 처리량 하한: 고정 비용 + RTF x L ≤ headroom x L 이 되는 L 이상 (짧으면 고정 비용 때문에 대기가 계속 쌓임)
+ *   3) 둘이 충돌하면 처리량 하한을 우선하고 지연 목표 초과(OVER_BUDGET)로 기록
+ *   4) [min-seconds, max-seconds] 범위 + 한 번에 max-step-ratio 배까지만 변경
+ * - 결정 내역은 /api/stt/metrics/live-chunking 에서 확인한다. (메모리 집계)
+ */
+@Component
+@RequiredArgsConstructor
+public class AdaptiveChunkController {
+
+    public static final String REASON_INITIAL = "INITIAL";
+    public static final String REASON_LATENCY = "LATENCY";
+    public static final String REASON_THROUGHPUT = "THROUGHPUT";
+    public static final String REASON_OVER_BUDGET = "OVER_BUDGET";
+    public static final String REASON_MIN_BOUND = "MIN_BOUND";
+    public static final String REASON_MAX_BOUND = "MAX_BOUND";
+
+    private final SttLiveChunkProperties chunkProperties;
+
+    private final Map<String, EngineModel> engines = new ConcurrentHashMap<>();
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> decisions = new ConcurrentHashMap<>();
+
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder chunkMillis = new LongAdder();
+    private final LongAdder withinTarget = new LongAdder();
+    private final LongAdder overTarget = new LongAdder();
+
+    /**
+     * 세션 등록 (첫 청크 길이 반환)
+     */
+    public double register(String sessionId) {
+        SessionState state = new SessionState(clamp(chunkProperties.getInitialSeconds()));
+        sessions.put(sessionId, state);
+        count(REASON_INITIAL);
+        return state.chunkSeconds;
+    }
+
+    public void unregister(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * 청크 1개 처리 결과 반영 후 다음 청크 길이(초) 결정
+     *
+     * @param sessionId        라이브 세션 ID
+     * @param engineKey        처리한 엔진 (SttResult.engineName 기준)
+     * @param chunkSeconds     청크 길이(초)
+     * @param processingMillis 엔진 처리 시간(ms) - 모르면 null
+     * @param queueLagMillis   청크를 자른 뒤 엔진 호출까지 대기(ms)
+     * @param latencyMillis    자막 지연(ms) - 청크 첫 오디오 수신 ~ 결과 수신
+     */
+    public double record(String sessionId, String engineKey, double chunkSeconds,
+                         Long processingMillis, long queueLagMillis, long latencyMillis) {
+        double alpha = chunkProperties.getEwmaAlpha();
+        if (processingMillis != null && chunkSeconds > 0) {
+            engines.computeIfAbsent(engineKey, key -> new EngineModel())
+                    .update(alpha, chunkSeconds * 1000.0, processingMillis);
+        }
+
+        chunks.increment();
+        chunkMillis.add(Math.round(chunkSeconds * 1000));
+        (latencyMillis <= chunkProperties.getTargetLatencyMs() ? withinTarget : overTarget).increment();
+
+        SessionState state = sessions.get(sessionId);
+        if (state == null) {
+            return clamp(chunkProperties.getInitialSeconds());
+        }
+        synchronized (state) {
+            state.queueLagMs = (state.chunks == 0) ? queueLagMillis : alpha * queueLagMillis + (1 - alpha) * state.queueLagMs;
+            state.lastLatencyMs = latencyMillis;
+            state.engineKey = engineKey;
+            state.chunks++;
+            decide(state);
+            return state.chunkSeconds;
+        }
+    }
+
+    /**
+     * 청크가 밀려서 대기 중인 청크에 합친 횟수 (세션별)
+     */
+    public void recordMerged(String sessionId) {
+        SessionState state = sessions.get(sessionId);
+        if (state != null) {
+            synchronized (state) {
+                state.merged++;
+            }
+        }
+    }
+
+    /**
+     * 메트릭 스냅샷
+     */
+    public ChunkingMetrics snapshot() {
+        List<EngineSnapshot> engineSnapshots = new ArrayList<>();
+        engines.forEach((key, model) -> engineSnapshots.add(model.snapshot(key, chunkProperties.getDefaultOverheadMs())));
+        engineSnapshots.sort(Comparator.comparing(EngineSnapshot::engine));
+
+        List<SessionSnapshot> sessionSnapshots = new ArrayList<>();
+        sessions.forEach((sessionId, state) -> {
+            synchronized (state) {
+                sessionSnapshots.add(new SessionSnapshot(sessionId, state.engineKey, state.chunkSeconds, state.lastReason,
+                        state.queueLagMs, state.lastLatencyMs, state.chunks, state.merged));
+            }
+        });
+
+        Map<String, Long> decisionCounts = new TreeMap<>();
+        decisions.forEach((reason, adder) -> decisionCounts.put(reason, adder.sum()));
+
+        long total = chunks.sum();
+        return new ChunkingMetrics(chunkProperties.getTargetLatencyMs(), total,
+                (total > 0) ? chunkMillis.sum() / 1000.0 / total : 0.0,
+                withinTarget.sum(), overTarget.sum(), decisionCounts, engineSnapshots, sessionSnapshots);
+    }
+
+    // =========================
+    // 내부 로직
+    // =========================
+
+    // state 잠금 안에서 호출
+    private void decide(SessionState state) {
+        EngineModel model = (state.engineKey != null) ? engines.get(state.engineKey) : null;
+        if (model == null || model.samples == 0) {
+            return;
+        }
+
+        double overheadMs;
+        double rtf;
+        synchronized (model) {
+            overheadMs = model.overheadMs(chunkProperties.getDefaultOverheadMs());
+            rtf = model.realTimeFactor(chunkProperties.getDefaultOverheadMs());
+        }
+
+        // 1) 지연 상한: 1000L + lag + a + rtf x 1000L ≤ target
+        double budgetMs = chunkProperties.getTargetLatencyMs() - state.queueLagMs - overheadMs;
+        double latencyBound = budgetMs / (1000.0 * (1 + rtf));
+
+        // 2) 처리량 하한: a + rtf x 1000L ≤ headroom x 1000L
+        double headroom = chunkProperties.getThroughputHeadroom();
+        double throughputBound = (rtf < headroom)
+                ? overheadMs / (1000.0 * (headroom - rtf))
+                : chunkProperties.getMaxSeconds();
+
+        double desired;
+        String reason;
+        if (latencyBound >= throughputBound) {
+            desired = latencyBound;
+            reason = REASON_LATENCY;
+        } else if (latencyBound > 0 && throughputBound <= chunkProperties.getMaxSeconds()) {
+            desired = throughputBound;
+            reason = REASON_THROUGHPUT;
+        } else {
+            // 목표 안에 들 수 없음 - 대기가 더 쌓이지 않게 처리량 하한으로
+            desired = throughputBound;
+            reason = REASON_OVER_BUDGET;
+        }
+
+        // 3) 한 번에 max-step-ratio 배까지만 변경
+        double step = Math.max(1.0, chunkProperties.getMaxStepRatio());
+        desired = Math.max(state.chunkSeconds / step, Math.min(state.chunkSeconds * step, desired));
+
+        double clamped = clamp(desired);
+        if (clamped > desired) {
+            reason = REASON_OVER_BUDGET.equals(reason) ? reason : REASON_MIN_BOUND;
+        } else if (clamped < desired) {
+            reason = REASON_MAX_BOUND;
+        }
+
+        state.chunkSeconds = clamped;
+        state.lastReason = reason;
+        count(reason);
+    }
+
+    private double clamp(double seconds) {
+        double min = Math.max(0.5, chunkProperties.getMinSeconds());
+        double max = Math.max(min, chunkProperties.getMaxSeconds());
+        return Math.max(min, Math.min(max, seconds));
+    }
+
+    private void count(String reason) {
+        decisions.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * 엔진 처리 시간 모델 - 처리(ms) = a + b x 청크(ms) 를 지수 가중 최소제곱으로 추정
+     */
+    private static class EngineModel {
+        private double sw;
+        private double sx;
+        private double sy;
+        private double sxx;
+        private double sxy;
+        private long samples;
+
+        synchronized void update(double alpha, double audioMs, double processingMs) {
+            double decay = (samples == 0) ? 0.0 : 1 - alpha;
+            sw = decay * sw + 1;
+            sx = decay * sx + audioMs;
+            sy = decay * sy + processingMs;
+            sxx = decay * sxx + audioMs * audioMs;
+            sxy = decay * sxy + audioMs * processingMs;
+            samples++;
+        }
+
+        // 청크 길이 분산이 작으면 기울기를 믿을 수 없음 (평균 길이의 5% 미만)
+        private boolean hasSlope() {
+            double meanX = sx / sw;
+            double varX = sxx / sw - meanX * meanX;
+            return samples >= 3 && varX > Math.pow(meanX * 0.05, 2);
+        }
+
+        double realTimeFactor(double defaultOverheadMs) {
+            if (sw == 0) {
+                return 0.0;
+            }
+            if (hasSlope()) {
+                double slope = (sw * sxy - sx * sy) / (sw * sxx - sx * sx);
+                return Math.max(0.0, slope);
+            }
+            double meanX = sx / sw;
+            double meanY = sy / sw;
+            return (meanX > 0) ? Math.max(0.0, (meanY - defaultOverheadMs) / meanX) : 0.0;
+        }
+
+        double overheadMs(double defaultOverheadMs) {
+            if (sw == 0 || !hasSlope()) {
+                return defaultOverheadMs;
+            }
+            double rtf = realTimeFactor(defaultOverheadMs);
+            return Math.max(0.0, (sy - rtf * sx) / sw);
+        }
+
+        synchronized EngineSnapshot snapshot(String key, double defaultOverheadMs) {
+            return new EngineSnapshot(key, samples, overheadMs(defaultOverheadMs), realTimeFactor(defaultOverheadMs),
+                    (sw > 0) ? sx / sw / 1000.0 : 0.0, (sw > 0) ? sy / sw : 0.0);
+        }
+    }
+
+    /**
+     * 세션별 상태
+     */
+    private static class SessionState {
+        private double chunkSeconds;
+        private String lastReason = REASON_INITIAL;
+        private String engineKey;
+        private double queueLagMs;
+        private long lastLatencyMs;
+        private long chunks;
+        private long merged;
+
+        private SessionState(double chunkSeconds) {
+            this.chunkSeconds = chunkSeconds;
+        }
+    }
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record ChunkingMetrics(
+            long targetLatencyMs,           // 자막 지연 목표(ms)
+            long chunks,                    // 처리한 청크 수 (= 엔진 요청 수)
+            double avgChunkSeconds,         // 평균 청크 길이(초)
+            long withinTarget,              // 지연 목표 안에 들어온 청크 수
+            long overTarget,                // 지연 목표를 넘긴 청크 수
+            Map<String, Long> decisions,    // 결정 이유별 횟수 (LATENCY / THROUGHPUT / OVER_BUDGET / MIN_BOUND / MAX_BOUND / INITIAL)
+            List<EngineSnapshot> engines,   // 엔진별 처리 시간 모델
+            List<SessionSnapshot> sessions  // 진행 중인 세션별 현재 청크 길이
+    ) {}
+
+    public record EngineSnapshot(
+            String engine,
+            long samples,               // 반영한 청크 수
+            double overheadMs,          // 요청당 고정 비용 추정(ms)
+            double realTimeFactor,      // 청크 길이 대비 처리 시간 (RTF)
+            double avgChunkSeconds,     // 가중 평균 청크 길이(초)
+            double avgProcessingMs      // 가중 평균 처리 시간(ms)
+    ) {}
+
+    public record SessionSnapshot(
+            String sessionId,
+            String engine,              // 마지막 청크를 처리한 엔진
+            double chunkSeconds,        // 다음 청크 길이(초)
+            String reason,              // 마지막 결정 이유
+            double queueLagMs,          // 대기 지연 EWMA(ms)
+            long lastLatencyMs,         // 마지막 청크 자막 지연(ms)
+            long chunks,                // 처리한 청크 수
+            long merged                 // 밀려서 합친 청크 수
+    ) {}
+}
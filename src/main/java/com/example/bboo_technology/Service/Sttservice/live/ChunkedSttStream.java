@@ -0,0 +1,343 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.Config.SttLiveChunkProperties;
+import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.DTO.Stt.SttStreamEvent;
+import com.example.bboo_technology.Service.Sttservice.SttService;
+import com.example.bboo_technology.Service.Sttservice.audio.WavFormat;
+import com.example.bboo_technology.Service.Sttservice.engine.SttAudioStream;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+
+/**
+ * (추가) 청크 모드 라이브 스트림 - Python 스트림을 열 수 없을 때 사용.
+ *
+ * - send(pcm): PCM 을 모으다가 AdaptiveChunkController 가 정한 길이가 되면 청크로 자른다.
+ *   - 자르는 위치는 청크 끝 cut-search-ms 안에서 가장 조용한 20ms 구간 (단어 중간 자르기 방지)
+ * - 청크는 세션당 한 번에 하나씩 순서대로 SttEngine(라우터)에 WAV 로 보내고, 결과를 final 이벤트로 내보낸다.
+ *   - (변경) 업로드 파일과 같은 SttService 경로로 보낸다 → 결과 캐시 / 반복 클립 지문 / 무음 제거를 거쳐
+ *     방송에서 반복되는 광고·징글 청크는 엔진을 호출하지 않는다.
+ *   - 처리가 밀려 대기 청크가 있으면 새 청크를 마지막 대기 청크에 합친다 (요청 수를 줄여서 따라잡음)
+ * - 청크마다 처리 시간 / 대기 지연 / 자막 지연을 컨트롤러에 넘기고, 다음 청크 길이를 받는다.
+ * - finish(): 남은 오디오를 마지막 청크로 보내고, 모든 청크가 끝나면 이벤트 스트림 완료.
+ */
+@Slf4j
+public class ChunkedSttStream implements SttAudioStream {
+
+    private static final int BYTES_PER_SAMPLE = 2;
+    private static final int QUIET_FRAME_MS = 20;
+
+    private final String sessionId;
+    private final String languageHint;
+    private final SttService sttService;
+    private final AdaptiveChunkController chunkController;
+    private final SttLiveChunkProperties chunkProperties;
+    private final Executor executor;
+    private final int sampleRate;
+    private final Runnable onClosed;
+
+    private final Sinks.Many<SttStreamEvent> events = Sinks.many().multicast().directBestEffort();
+
+    // 아직 청크로 자르지 않은 PCM (lock 보호)
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final Deque<Chunk> queue = new ArrayDeque<>();
+    private final Object lock = new Object();
+
+    private double chunkSeconds;
+    private long bufferStartNanos;      // 버퍼 첫 바이트 수신 시각
+    private long cutBytes;              // 지금까지 잘라낸 PCM 바이트 (구간 시작 시각 계산용)
+    private long sequence;
+    private boolean processing;
+    private volatile boolean finishing;
+    private volatile boolean closed;
+
+    ChunkedSttStream(String sessionId, String languageHint, SttService sttService, AdaptiveChunkController chunkController,
+                     SttLiveChunkProperties chunkProperties, Executor executor, int sampleRate, Runnable onClosed) {
+        this.sessionId = sessionId;
+        this.languageHint = languageHint;
+        this.sttService = sttService;
+        this.chunkController = chunkController;
+        this.chunkProperties = chunkProperties;
+        this.executor = executor;
+        this.sampleRate = sampleRate;
+        this.onClosed = onClosed;
+        this.chunkSeconds = chunkController.register(sessionId);
+    }
+
+    // =========================
+    // SttAudioStream 구현
+    // =========================
+
+    @Override
+    public void send(byte[] pcm) {
+        if (closed || finishing || pcm == null || pcm.length == 0) {
+            return;
+        }
+        synchronized (lock) {
+            if (buffer.size() == 0) {
+                bufferStartNanos = System.nanoTime();
+            }
+            buffer.write(pcm, 0, pcm.length - (pcm.length % BYTES_PER_SAMPLE));
+            if (buffer.size() >= bytesFor(chunkSeconds)) {
+                cut(false);
+            }
+        }
+    }
+
+    @Override
+    public Flux<SttStreamEvent> events() {
+        return events.asFlux();
+    }
+
+    @Override
+    public void finish() {
+        if (closed || finishing) {
+            return;
+        }
+        synchronized (lock) {
+            finishing = true;
+            if (buffer.size() >= bytesFor(chunkProperties.getMinTailSeconds())) {
+                cut(true);
+            }
+            if (!processing && queue.isEmpty()) {
+                complete();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (lock) {
+            queue.clear();
+            buffer.reset();
+        }
+        complete();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // =========================
+    // 청크 자르기 / 처리
+    // =========================
+
+    /**
+     * 버퍼를 청크로 잘라 대기열에 넣는다 (lock 안에서 호출)
+     *
+     * @param all true 면 남은 버퍼 전체 (종료 시)
+     */
+    private void cut(boolean all) {
+        byte[] pcm = buffer.toByteArray();
+        int cutAt = all ? pcm.length : quietestCut(pcm);
+        long now = System.nanoTime();
+
+        Chunk chunk = new Chunk(++sequence, Arrays.copyOfRange(pcm, 0, cutAt), secondsOf(cutBytes), bufferStartNanos, now);
+        cutBytes += cutAt;
+
+        buffer.reset();
+        buffer.write(pcm, cutAt, pcm.length - cutAt);
+        // 남은 바이트는 자른 지점 이후 오디오 - 첫 수신 시각을 남은 길이만큼 앞당겨 추정
+        bufferStartNanos = now - (long) (secondsOf(pcm.length - cutAt) * 1_000_000_000L);
+
+        Chunk last = queue.peekLast();
+        if (last != null) {
+            // 처리가 밀림 - 대기 중인 청크에 합쳐서 요청 수를 줄인다
+            queue.pollLast();
+            queue.offerLast(last.merge(chunk));
+            chunkController.recordMerged(sessionId);
+        } else {
+            queue.offerLast(chunk);
+        }
+
+        if (!processing) {
+            processing = true;
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * 청크 끝 cut-search-ms 안에서 RMS 가 가장 작은 20ms 프레임의 시작 위치
+     */
+    private int quietestCut(byte[] pcm) {
+        int frameBytes = bytesFor(QUIET_FRAME_MS / 1000.0);
+        int target = Math.min(pcm.length, bytesFor(chunkSeconds));
+        int searchStart = Math.max(frameBytes, target - bytesFor(chunkProperties.getCutSearchMs() / 1000.0));
+        if (frameBytes <= 0 || target - searchStart < frameBytes) {
+            return target;
+        }
+
+        int best = target;
+        double bestEnergy = Double.MAX_VALUE;
+        for (int start = searchStart; start + frameBytes <= target; start += frameBytes) {
+            double energy = 0;
+            for (int i = start; i + 1 < start + frameBytes; i += BYTES_PER_SAMPLE) {
+                int sample = (short) ((pcm[i] & 0xFF) | (pcm[i + 1] << 8));
+                energy += (double) sample * sample;
+            }
+            if (energy < bestEnergy) {
+                bestEnergy = energy;
+                best = start;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 대기 청크를 순서대로 처리 (세션당 실행 스레드 1개)
+     */
+    private void drain() {
+        while (true) {
+            Chunk chunk;
+            synchronized (lock) {
+                chunk = queue.pollFirst();
+                if (chunk == null || closed) {
+                    processing = false;
+                    if (finishing) {
+                        complete();
+                    }
+                    return;
+                }
+            }
+            process(chunk);
+        }
+    }
+
+    private void process(Chunk chunk) {
+        long startedNanos = System.nanoTime();
+        long queueLagMillis = (startedNanos - chunk.cutNanos()) / 1_000_000;
+        double lengthSeconds = secondsOf(chunk.pcm().length);
+
+        SttResult result = transcribe(chunk, lengthSeconds);
+        long now = System.nanoTime();
+        long latencyMillis = (now - chunk.firstByteNanos()) / 1_000_000;
+
+        String engineKey = engineKeyOf(result);
+        double next = chunkController.record(sessionId, engineKey, lengthSeconds,
+                result.getProcessingMillis(), queueLagMillis, latencyMillis);
+        synchronized (lock) {
+            chunkSeconds = next;
+        }
+
+        if (closed) {
+            return;
+        }
+        if (result.isSuccess()) {
+            if (result.getTranscript() != null && !result.getTranscript().isBlank()) {
+                events.tryEmitNext(SttStreamEvent.builder()
+                        .sessionId(sessionId)
+                        .type(SttStreamEvent.TYPE_FINAL)
+                        .text(result.getTranscript().trim())
+                        .startSeconds(chunk.startSeconds())
+                        .endSeconds(chunk.startSeconds() + lengthSeconds)
+                        .sequence(chunk.sequence())
+                        .receivedAt(Instant.now())
+                        .build());
+            }
+        } else {
+            log.warn("[STT-LIVE] 청크 인식 실패 - sessionId={}, seq={}, errorCode={}",
+                    sessionId, chunk.sequence(), result.getErrorCode());
+            events.tryEmitNext(SttStreamEvent.builder()
+                    .sessionId(sessionId)
+                    .type(SttStreamEvent.TYPE_ERROR)
+                    .text(result.getErrorMessage())
+                    .startSeconds(chunk.startSeconds())
+                    .endSeconds(chunk.startSeconds() + lengthSeconds)
+                    .sequence(chunk.sequence())
+                    .receivedAt(Instant.now())
+                    .build());
+        }
+    }
+
+    /**
+     * 청크 PCM → 임시 WAV → SttService (캐시 / 지문 조회 후 엔진 호출, (변경) 결과는 캐시에 저장하지 않음)
+     */
+    private SttResult transcribe(Chunk chunk, double lengthSeconds) {
+        Path wav = null;
+        try {
+            wav = Files.createTempFile("stt-live-", ".wav");
+            try (OutputStream out = Files.newOutputStream(wav)) {
+                WavFormat.writeHeader(out, WavFormat.FORMAT_PCM, 1, sampleRate, BYTES_PER_SAMPLE * 8, chunk.pcm().length);
+                out.write(chunk.pcm());
+            }
+            return sttService.transcribeLiveChunk(wav, "live-" + chunk.sequence() + ".wav", sessionId, languageHint);
+
+        } catch (IOException | RuntimeException e) {
+            log.error("[STT-LIVE] 청크 처리 중 오류 - sessionId={}, seq={}", sessionId, chunk.sequence(), e);
+            return SttResult.builder()
+                    .sessionId(sessionId)
+                    .success(false)
+                    .errorCode("CHUNK_ERROR")
+                    .errorMessage(e.getMessage())
+                    .createdAt(Instant.now())
+                    .build();
+        } finally {
+            if (wav != null) {
+                try {
+                    Files.deleteIfExists(wav);
+                } catch (IOException e) {
+                    log.warn("[STT-LIVE] 임시 WAV 삭제 실패 - path={}", wav, e);
+                }
+            }
+        }
+    }
+
+    private void complete() {
+        if (events.tryEmitComplete().isSuccess()) {
+            chunkController.unregister(sessionId);
+            onClosed.run();
+        }
+        closed = true;
+    }
+
+    // =========================
+    // 내부 유틸
+    // =========================
+
+    /**
+     * 라우터 결과 이름에서 failover 표시를 뗀 엔진 이름
+     */
+    private String engineKeyOf(SttResult result) {
+        String name = (result.getEngineName() != null) ? result.getEngineName() : "unknown";
+        int suffix = name.indexOf(" (");
+        return (suffix > 0) ? name.substring(0, suffix) : name;
+    }
+
+    private int bytesFor(double seconds) {
+        return (int) (seconds * sampleRate) * BYTES_PER_SAMPLE;
+    }
+
+    private double secondsOf(long bytes) {
+        return (double) bytes / BYTES_PER_SAMPLE / sampleRate;
+    }
+
+    /**
+     * 잘라낸 청크 1개
+     */
+    private record Chunk(long sequence, byte[] pcm, double startSeconds, long firstByteNanos, long cutNanos) {
+
+        // 뒤 청크를 이어 붙임 (순번만 뒤 청크, 시작 / 수신 / 자른 시각은 앞 청크 - 대기 지연을 작게 재지 않게)
+        Chunk merge(Chunk next) {
+            byte[] joined = Arrays.copyOf(pcm, pcm.length + next.pcm.length);
+            System.arraycopy(next.pcm, 0, joined, pcm.length, next.pcm.length);
+            return new Chunk(next.sequence, joined, startSeconds, firstByteNanos, cutNanos);
+        }
+    }
+}
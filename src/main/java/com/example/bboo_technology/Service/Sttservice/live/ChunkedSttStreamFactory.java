@@ -0,0 +1,60 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.Config.PythonSttProperties;
+import com.example.bboo_technology.Config.SttLiveChunkProperties;
+import com.example.bboo_technology.Service.Sttservice.SttService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * (추가) 청크 모드 라이브 스트림 생성기.
+ *
+ * - Python 스트림을 열 수 없을 때 LiveSttSessionRegistry 가 대신 사용한다.
+ * - 청크 처리는 세션마다 한 번에 하나씩이라 캐시 스레드풀로 충분하다 (동시 실행 수 ≤ 세션 수).
+ * - (변경) 청크는 SttService 로 보낸다 (업로드 파일과 같은 결과 캐시 / 지문 조회).
+ * - PCM 샘플레이트는 Python 스트림과 같은 stt.python.stream-sample-rate 를 쓴다 (브라우저 쪽 변경 없음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkedSttStreamFactory {
+
+    private final SttService sttService;
+    private final AdaptiveChunkController chunkController;
+    private final SttLiveChunkProperties chunkProperties;
+    private final PythonSttProperties pythonSttProperties;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stt-live-chunk-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Optional<ChunkedSttStream> open(String sessionId, String languageHint, Runnable onClosed) {
+        if (!chunkProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        log.info("[STT-LIVE] 청크 모드로 세션 시작 - sessionId={}", sessionId);
+        return Optional.of(new ChunkedSttStream(sessionId, languageHint, sttService, chunkController, chunkProperties,
+                executor, pythonSttProperties.getStreamSampleRate(), onClosed));
+    }
+}
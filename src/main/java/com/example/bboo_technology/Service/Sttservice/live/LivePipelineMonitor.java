@@ -0,0 +1,99 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.Config.SttLivePipelineProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BinaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * (추가) 라이브 파이프라인 단계 생성 + 지연 집계.
+ *
+ * - 단계(summary / translation)마다 stt.live.pipeline.stages.{단계} 설정으로 LivePipelineStage 를 만든다.
+ * - 열려 있는 단계들의 대기 깊이 / 지연을 모아 GET /api/stt/metrics/pipeline 으로 보여 준다.
+ * - 닫힌 단계의 버림/합침 횟수는 단계 이름별 누적값에 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LivePipelineMonitor {
+
+    private final SttLivePipelineProperties properties;
+
+    private final Set<LivePipelineStage<?>> stages = ConcurrentHashMap.newKeySet();
+
+    // 닫힌 단계의 누적 지표 (단계 이름별)
+    private final Map<String, long[]> closedTotals = new ConcurrentHashMap<>();
+
+    public <T> LivePipelineStage<T> create(String name, String sessionId,
+                                           ToIntFunction<T> weigher, BinaryOperator<T> coalescer) {
+        SttLivePipelineProperties.Stage settings = properties.stage(name);
+
+        AtomicReference<LivePipelineStage<T>> created = new AtomicReference<>();
+        LivePipelineStage<T> stage = new LivePipelineStage<>(name, sessionId, settings.getCapacity(), settings.getPolicy(),
+                weigher, coalescer, () -> onClosed(created.get()));
+        created.set(stage);
+        stages.add(stage);
+        return stage;
+    }
+
+    private void onClosed(LivePipelineStage<?> stage) {
+        if (stages.remove(stage)) {
+            LivePipelineStage.StageSnapshot last = stage.snapshot();
+            closedTotals.compute(stage.getName(), (key, totals) -> {
+                long[] sums = (totals != null) ? totals : new long[4];
+                sums[0] += last.offered();
+                sums[1] += last.dropped();
+                sums[2] += last.coalesced();
+                sums[3] = Math.max(sums[3], last.maxLagMillis());
+                return sums;
+            });
+        }
+    }
+
+    public PipelineDashboard snapshot() {
+        List<LivePipelineStage.StageSnapshot> active = new ArrayList<>();
+        stages.forEach(stage -> active.add(stage.snapshot()));
+        active.sort(Comparator.comparing(LivePipelineStage.StageSnapshot::stage)
+                .thenComparing(LivePipelineStage.StageSnapshot::sessionId));
+
+        Map<String, StageTotals> totals = new TreeMap<>();
+        closedTotals.forEach((name, sums) -> totals.put(name, new StageTotals(sums[0], sums[1], sums[2], 0, 0, sums[3])));
+        for (LivePipelineStage.StageSnapshot s : active) {
+            StageTotals prev = totals.getOrDefault(s.stage(), new StageTotals(0, 0, 0, 0, 0, 0));
+            totals.put(s.stage(), new StageTotals(
+                    prev.offered() + s.offered(),
+                    prev.dropped() + s.dropped(),
+                    prev.coalesced() + s.coalesced(),
+                    prev.depth() + s.depth(),
+                    Math.max(prev.currentLagMillis(), s.oldestAgeMillis()),
+                    Math.max(prev.maxLagMillis(), s.maxLagMillis())));
+        }
+        return new PipelineDashboard(totals, active);
+    }
+
+    /**
+     * 대시보드 응답용 레코드
+     */
+    public record PipelineDashboard(
+            Map<String, StageTotals> stages,                    // 단계 이름별 합계
+            List<LivePipelineStage.StageSnapshot> sessions      // 열려 있는 세션 × 단계
+    ) {}
+
+    public record StageTotals(
+            long offered,           // 들어온 항목 수 (닫힌 세션 포함)
+            long dropped,           // 버린 항목 수
+            long coalesced,         // 합친 횟수
+            int depth,              // 현재 대기 항목 수 (열린 세션 합)
+            long currentLagMillis,  // 현재 가장 오래 기다리는 항목의 대기 시간
+            long maxLagMillis       // 최대 대기 시간
+    ) {}
+}
@@ -0,0 +1,257 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * (추가) 라이브 파이프라인(STT → 요약 / 번역) 단계 사이의 유한 대기열.
+ *
+ * - OpenAI 가 느려져도 단계별 대기열이 capacity 를 넘지 않게 해서, 자막/요약이 수 분씩 밀리지 않게 한다.
+ * - 가득 찼을 때 정책 (OverflowPolicy):
+ *   - DROP_OLDEST : 가장 오래된 항목을 바로 버림 (최신 내용 우선)
+ *   - COALESCE    : 가장 오래된 인접 두 항목을 하나로 합침 (내용은 유지, 항목 수만 줄임 / 합치는 함수가 없으면 DROP_OLDEST)
+ * - (변경) offer() 는 절대 기다리지 않는다. 생산자가 Netty 수신 스레드(STT 스트림 이벤트)이므로,
+ *   생산자를 기다리게 하던 BLOCK 정책은 없앴다. 넘치면 버리거나 합친다.
+ * - 소비자는 drain() 으로 여러 건을 한 번에 꺼낸다. 꺼낼 때 대기 시간(lag)을 기록한다.
+ *
+ * ※ 인스턴스는 세션 × 단계마다 1개, LivePipelineMonitor 가 생성/집계한다.
+ */
+public class LivePipelineStage<T> {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        COALESCE
+    }
+
+    private final String name;
+    private final String sessionId;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final ToIntFunction<T> weigher;
+    private final BinaryOperator<T> coalescer;
+    private final Runnable onClosed;
+
+    private final Deque<Entry<T>> queue = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long totalWeight;
+    private boolean closed;
+
+    // 지표 (lock 안에서만 갱신)
+    private long offered;
+    private long drained;
+    private long dropped;
+    private long coalesced;
+    private int maxDepth;
+    private long lastLagMillis;
+    private long maxLagMillis;
+    private double avgLagMillis;
+    private long lagSamples;
+
+    LivePipelineStage(String name, String sessionId, int capacity, OverflowPolicy policy,
+                      ToIntFunction<T> weigher, BinaryOperator<T> coalescer, Runnable onClosed) {
+        this.name = name;
+        this.sessionId = sessionId;
+        this.capacity = Math.max(1, capacity);
+        this.policy = (policy != null) ? policy : OverflowPolicy.DROP_OLDEST;
+        this.weigher = (weigher != null) ? weigher : item -> 1;
+        this.coalescer = coalescer;
+        this.onClosed = onClosed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    // =========================
+    // 생산자
+    // =========================
+
+    /**
+     * 항목 추가 (가득 찼으면 정책에 따라 버림 / 합침, 기다리지 않음)
+     *
+     * @return 닫힌 단계면 false
+     */
+    public boolean offer(T item) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            offered++;
+
+            queue.addLast(new Entry<>(item, System.currentTimeMillis()));
+            totalWeight += weigher.applyAsInt(item);
+            enforceCapacity();
+            maxDepth = Math.max(maxDepth, queue.size());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 처리 실패한 항목을 맨 앞으로 되돌림 (capacity 초과분은 정책대로 정리)
+     */
+    public void requeue(List<T> items) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            for (int i = items.size() - 1; i >= 0; i--) {
+                queue.addFirst(new Entry<>(items.get(i), now));
+                totalWeight += weigher.applyAsInt(items.get(i));
+            }
+            enforceCapacity();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enforceCapacity() {
+        while (queue.size() > capacity) {
+            if (policy == OverflowPolicy.COALESCE && coalescer != null && queue.size() >= 2) {
+                Entry<T> first = queue.pollFirst();
+                Entry<T> second = queue.pollFirst();
+                T merged = coalescer.apply(first.item(), second.item());
+                totalWeight += weigher.applyAsInt(merged) - weigher.applyAsInt(first.item()) - weigher.applyAsInt(second.item());
+                // 합친 항목의 대기 시간은 더 오래 기다린 쪽 기준
+                queue.addFirst(new Entry<>(merged, Math.min(first.enqueuedAt(), second.enqueuedAt())));
+                coalesced++;
+            } else {
+                Entry<T> oldest = queue.pollFirst();
+                totalWeight -= weigher.applyAsInt(oldest.item());
+                dropped++;
+            }
+        }
+    }
+
+    // =========================
+    // 소비자
+    // =========================
+
+    public List<T> drain(int maxItems) {
+        return drain(maxItems, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 앞에서부터 최대 maxItems 건 / 가중치 maxWeight 까지 꺼냄 (첫 항목은 가중치와 상관없이 포함)
+     */
+    public List<T> drain(int maxItems, int maxWeight) {
+        lock.lock();
+        try {
+            List<T> items = new ArrayList<>();
+            long now = System.currentTimeMillis();
+            int weight = 0;
+
+            while (!queue.isEmpty() && items.size() < maxItems) {
+                Entry<T> next = queue.peekFirst();
+                int itemWeight = weigher.applyAsInt(next.item());
+                if (!items.isEmpty() && weight + itemWeight > maxWeight) {
+                    break;
+                }
+                queue.pollFirst();
+                totalWeight -= itemWeight;
+                weight += itemWeight;
+                items.add(next.item());
+                recordLag(now - next.enqueuedAt());
+            }
+
+            drained += items.size();
+            return items;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordLag(long lagMillis) {
+        lastLagMillis = lagMillis;
+        maxLagMillis = Math.max(maxLagMillis, lagMillis);
+        avgLagMillis = (lagSamples++ == 0) ? lagMillis : avgLagMillis * 0.8 + lagMillis * 0.2;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 대기 중인 항목 가중치 합 (예: 글자 수)
+     */
+    public long weight() {
+        lock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            totalWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+        onClosed.run();
+    }
+
+    public StageSnapshot snapshot() {
+        lock.lock();
+        try {
+            long oldestAge = queue.isEmpty() ? 0L : System.currentTimeMillis() - queue.peekFirst().enqueuedAt();
+            return new StageSnapshot(name, sessionId, policy.name(), capacity, queue.size(), maxDepth,
+                    offered, drained, dropped, coalesced,
+                    oldestAge, lastLagMillis, Math.round(avgLagMillis), maxLagMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<T>(T item, long enqueuedAt) {}
+
+    /**
+     * 대시보드 응답용 레코드
+     */
+    public record StageSnapshot(
+            String stage,               // 단계 이름 (summary / translation)
+            String sessionId,
+            String policy,              // 넘칠 때 정책
+            int capacity,
+            int depth,                  // 현재 대기 항목 수
+            int maxDepth,               // 최대 대기 항목 수
+            long offered,               // 들어온 항목 수
+            long drained,               // 처리로 넘어간 항목 수
+            long dropped,               // 버린 항목 수
+            long coalesced,             // 합친 횟수
+            long oldestAgeMillis,       // 지금 가장 오래 기다리는 항목의 대기 시간 (현재 지연)
+            long lastLagMillis,         // 마지막으로 꺼낸 항목의 대기 시간
+            long avgLagMillis,          // 대기 시간 EWMA
+            long maxLagMillis
+    ) {}
+}
@@ -0,0 +1,116 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.Config.SttLiveStreamProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * (추가) 라이브 세션 Flux → 서블릿 비동기 응답(SseEmitter / ResponseBodyEmitter).
+ *
+ * - Flux 를 반환하면 MVC 기본 async 타임아웃(약 30초)에 걸려 긴 세션 중간에 응답이 끊긴다.
+ *   → 세션 길이 상한(timeout-ms)을 명시한 emitter 를 만들고, Flux 구독 콜백에서 바로 쓴다. (요청 스레드 블로킹 없음)
+ * - 세션이 끝나면(Flux 완료) 응답 완료, 타임아웃 / 클라이언트 끊김이면 구독 해제.
+ * - SSE 는 heartbeat-ms 마다 주석을 보내 프록시 유휴 타임아웃을 피하고, 끊긴 클라이언트를 쓰기 실패로 빨리 찾는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveStreamEmitters {
+
+    private final SttLiveStreamProperties properties;
+
+    /**
+     * SSE 응답
+     *
+     * @param toEvent 갱신 1건 → SSE 이벤트
+     */
+    public <T> SseEmitter sse(String sessionId, Flux<T> updates, Function<T, SseEmitter.SseEventBuilder> toEvent) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        Disposable.Composite subscriptions = Disposables.composite();
+        bindLifecycle(sessionId, emitter, subscriptions);
+
+        subscriptions.add(updates.subscribe(
+                update -> send(sessionId, emitter, subscriptions, toEvent.apply(update)),
+                error -> fail(sessionId, emitter, subscriptions, error),
+                () -> complete(emitter, subscriptions)));
+
+        long heartbeatMs = properties.getHeartbeatMs();
+        if (heartbeatMs > 0) {
+            subscriptions.add(Flux.interval(Duration.ofMillis(heartbeatMs))
+                    .subscribe(tick -> send(sessionId, emitter, subscriptions, SseEmitter.event().comment("heartbeat"))));
+        }
+        return emitter;
+    }
+
+    /**
+     * 일반 본문 스트리밍 응답 (조각을 도착하는 대로 mediaType 으로 씀)
+     */
+    public ResponseBodyEmitter body(String sessionId, Flux<String> chunks, MediaType mediaType) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(properties.getTimeoutMs());
+        Disposable.Composite subscriptions = Disposables.composite();
+        bindLifecycle(sessionId, emitter, subscriptions);
+
+        subscriptions.add(chunks.subscribe(
+                chunk -> {
+                    try {
+                        emitter.send(chunk, mediaType);
+                    } catch (IOException | IllegalStateException e) {
+                        disconnected(sessionId, subscriptions, e);
+                    }
+                },
+                error -> fail(sessionId, emitter, subscriptions, error),
+                () -> complete(emitter, subscriptions)));
+        return emitter;
+    }
+
+    // =========================
+    // 내부
+    // =========================
+
+    private void bindLifecycle(String sessionId, ResponseBodyEmitter emitter, Disposable.Composite subscriptions) {
+        emitter.onTimeout(() -> {
+            log.info("[STT-LIVE] 구독 응답 타임아웃 - sessionId={}, timeoutMs={}", sessionId, properties.getTimeoutMs());
+            subscriptions.dispose();
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriptions.dispose());
+        emitter.onCompletion(subscriptions::dispose);
+    }
+
+    private void send(String sessionId, SseEmitter emitter, Disposable.Composite subscriptions,
+                      SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            disconnected(sessionId, subscriptions, e);
+        }
+    }
+
+    private void disconnected(String sessionId, Disposable.Composite subscriptions, Exception e) {
+        // 클라이언트 끊김 / 이미 완료된 응답 - 컨테이너가 응답을 정리하므로 구독만 해제
+        log.debug("[STT-LIVE] 구독자 끊김 - sessionId={}, reason={}", sessionId, e.getMessage());
+        subscriptions.dispose();
+    }
+
+    private void fail(String sessionId, ResponseBodyEmitter emitter, Disposable.Composite subscriptions, Throwable error) {
+        log.warn("[STT-LIVE] 구독 스트림 오류 - sessionId={}, reason={}", sessionId, error.getMessage());
+        subscriptions.dispose();
+        emitter.completeWithError(error);
+    }
+
+    private void complete(ResponseBodyEmitter emitter, Disposable.Composite subscriptions) {
+        subscriptions.dispose();
+        emitter.complete();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.DTO.Stt.SttStreamEvent;
+import com.example.bboo_technology.Service.Sttservice.engine.SttAudioStream;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * (추가) 라이브 자막 세션 1개.
+ *
+ * - 브라우저에서 받은 PCM 프레임을 Python 스트림으로 그대로 넘기고,
+ *   서버가 보내는 중간(partial) / 확정(final) 결과를 events() 로 내보낸다.
+ *   - (변경) Python 스트림을 열 수 없으면 청크 모드(ChunkedSttStream) 스트림으로 같은 방식으로 동작
+ * - 확정 결과는 세션이 끝날 때까지 보관한다. (전체 자막 조회 / 후속 처리용)
+ */
+public class LiveSttSession {
+
+    private final String sessionId;
+    private final String languageHint;
+    private final String targetLanguage;    // (추가) 자막 번역 대상 언어 (없으면 번역 안 함)
+    private final SttAudioStream stream;
+    private final Instant startedAt = Instant.now();
+
+    private final List<SttStreamEvent> finalSegments = new CopyOnWriteArrayList<>();
+
+    LiveSttSession(String sessionId, String languageHint, String targetLanguage, SttAudioStream stream) {
+        this.sessionId = sessionId;
+        this.languageHint = languageHint;
+        this.targetLanguage = targetLanguage;
+        this.stream = stream;
+        stream.events()
+                .filter(SttStreamEvent::isFinal)
+                .subscribe(finalSegments::add);
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public String getLanguageHint() {
+        return languageHint;
+    }
+
+    public String getTargetLanguage() {
+        return targetLanguage;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * 16bit 모노 PCM 프레임 전송 (블로킹 없음, 밀리면 오래된 프레임부터 버림)
+     */
+    public void sendAudio(byte[] pcm) {
+        stream.send(pcm);
+    }
+
+    /**
+     * 전체 결과 이벤트 (partial / final / status / error)
+     */
+    public Flux<SttStreamEvent> events() {
+        return stream.events();
+    }
+
+    /**
+     * 확정 구간만
+     */
+    public Flux<SttStreamEvent> finalSegments() {
+        return stream.events().filter(SttStreamEvent::isFinal);
+    }
+
+    /**
+     * 지금까지 확정된 구간 (시간순)
+     */
+    public List<SttStreamEvent> getFinalSegments() {
+        return List.copyOf(finalSegments);
+    }
+
+    public void finish() {
+        stream.finish();
+    }
+
+    void close() {
+        stream.close();
+    }
+
+    public boolean isClosed() {
+        return stream.isClosed();
+    }
+}
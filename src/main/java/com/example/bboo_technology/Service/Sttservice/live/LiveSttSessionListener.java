@@ -0,0 +1,9 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+/**
+ * (추가) 라이브 세션 시작 알림 - 요약 / 번역 등 후속 단계가 세션 결과를 구독할 때 사용
+ */
+public interface LiveSttSessionListener {
+
+    void onSessionStarted(LiveSttSession session);
+}
@@ -0,0 +1,77 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.Service.Sttservice.engine.LocalPythonSttEngine;
+import com.example.bboo_technology.Service.Sttservice.engine.SttAudioStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (추가) 진행 중인 라이브 자막 세션 목록.
+ *
+ * - start(): 로컬 Python 서버와 스트림을 열고 세션을 등록한다.
+ *   - (변경) 서버가 없거나 비활성화면 청크 모드(SttEngine 라우터로 청크 전송)로 시작, 청크 모드도 꺼져 있으면 empty
+ * - 스트림이 끝나면(finish 후 서버 종료 / close) 목록에서 자동으로 빠진다.
+ * - (추가) 세션이 시작되면 LiveSttSessionListener 빈(요약 등)에 알린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveSttSessionRegistry {
+
+    private final LocalPythonSttEngine localPythonSttEngine;
+    private final ObjectProvider<LiveSttSessionListener> listeners;
+    private final ChunkedSttStreamFactory chunkedStreamFactory;
+
+    private final Map<String, LiveSttSession> sessions = new ConcurrentHashMap<>();
+
+    public Optional<LiveSttSession> start(String languageHint, String targetLanguage) {
+        String sessionId = UUID.randomUUID().toString();
+
+        Optional<SttAudioStream> stream = localPythonSttEngine.openStream(sessionId, languageHint)
+                .map(SttAudioStream.class::cast)
+                .or(() -> chunkedStreamFactory.open(sessionId, languageHint, () -> sessions.remove(sessionId)));
+        if (stream.isEmpty()) {
+            log.warn("[STT-LIVE] 스트림을 열 수 있는 Python 서버가 없습니다. - sessionId={}", sessionId);
+            return Optional.empty();
+        }
+
+        LiveSttSession session = new LiveSttSession(sessionId, languageHint, targetLanguage, stream.get());
+        sessions.put(sessionId, session);
+        session.events().doFinally(signal -> sessions.remove(sessionId)).subscribe();
+
+        listeners.orderedStream().forEach(listener -> listener.onSessionStarted(session));
+        return Optional.of(session);
+    }
+
+    public Optional<LiveSttSession> find(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    /**
+     * 남은 오디오 확정 후 종료
+     */
+    public void finish(String sessionId) {
+        find(sessionId).ifPresent(LiveSttSession::finish);
+    }
+
+    /**
+     * 즉시 종료 (브라우저 연결 끊김 등)
+     */
+    public void close(String sessionId) {
+        LiveSttSession session = sessions.remove(sessionId);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    public int activeCount() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.Config.OpenAiConfig;
+import com.example.bboo_technology.Config.SttLiveSummaryProperties;
+import com.example.bboo_technology.DTO.Stt.LiveSummaryUpdate;
+import com.example.bboo_technology.DTO.Stt.SttStreamEvent;
+import com.example.bboo_technology.Service.Ocrservice.OcrAiGptServiceImpl;
+import com.example.bboo_technology.Service.TokenCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (추가) 라이브 자막 롤링 요약.
+ *
+ * - 전체 자막을 매번 다시 요약하면 자막 길이 n 에 대해 누적 토큰이 O(n²) 로 늘어난다.
+ * - 대신 세션마다 "지금까지의 요약" 을 상태로 들고, 갱신할 때는
+ *   (이전 요약 + 그 뒤에 새로 확정된 구간) 만 callChatCompletion 에 넣는다.
+ *   → 요약은 max-summary-chars, 새 구간은 max-batch-chars 로 잘리므로 호출당 입력이 일정 → 누적 O(n)
+ * - 갱신 시점: 새 구간이 쌓인 뒤 debounce-ms 동안 조용하거나, 마지막 갱신 후 max-interval-ms 경과
+ * - 토큰 상한: 세션 누적 토큰이 (오디오 분 × max-tokens-per-audio-minute) 를 넘으면 갱신을 미루고 구간을 모은다.
+ * - 갱신 결과는 updates(sessionId) 로 구독자(SSE)에게 바로 전달된다. (새 구독자는 최신 요약부터 받음)
+ * - (변경) 새 구간은 LivePipelineStage("summary") 유한 대기열에 쌓는다. 넘치면 인접 구간을 합치거나(COALESCE) 오래된 구간을 버린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveSummaryService implements LiveSttSessionListener {
+
+    private static final long TICK_MS = 500;
+
+    public static final String STAGE_NAME = "summary";
+
+    private final OcrAiGptServiceImpl ocrAiGptService;
+    private final OpenAiConfig openAiConfig;
+    private final SttLiveSummaryProperties properties;
+    private final LivePipelineMonitor pipelineMonitor;
+    private final TokenCounter tokenCounter;   // (추가) 모델 인코딩 기준 토큰 수
+
+    private final Map<String, SummaryState> states = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService summaryExecutor;
+
+    // 전체 세션 누적 지표
+    private final AtomicLong totalCalls = new AtomicLong();
+    private final AtomicLong totalInputTokens = new AtomicLong();
+    private final AtomicLong totalOutputTokens = new AtomicLong();
+    private final AtomicLong deferredByBudget = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stt-live-summary-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger sequence = new AtomicInteger();
+        this.summaryExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "stt-live-summary-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        summaryExecutor.shutdownNow();
+    }
+
+    // =========================
+    // 세션 구독
+    // =========================
+
+    @Override
+    public void onSessionStarted(LiveSttSession session) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        SummaryState state = new SummaryState(session.getSessionId(), pipelineMonitor.create(
+                STAGE_NAME, session.getSessionId(), (SttStreamEvent segment) -> segment.getText().length(), SttStreamEvent::merge));
+        states.put(session.getSessionId(), state);
+
+        session.finalSegments().subscribe(
+                state::add,
+                error -> state.ended = true,
+                () -> state.ended = true);
+    }
+
+    /**
+     * 요약 갱신 스트림 (최신 요약부터 시작, 세션이 끝나면 완료)
+     */
+    public Flux<LiveSummaryUpdate> updates(String sessionId) {
+        SummaryState state = states.get(sessionId);
+        return (state != null) ? state.sink.asFlux() : Flux.empty();
+    }
+
+    public Optional<LiveSummaryUpdate> latest(String sessionId) {
+        return Optional.ofNullable(states.get(sessionId)).map(state -> state.latest);
+    }
+
+    // =========================
+    // 갱신 스케줄
+    // =========================
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        states.values().forEach(state -> {
+            if (state.updating.get()) {
+                return;
+            }
+            boolean due = isDue(state, now);
+            if (state.ended && (state.pending.isEmpty() || (state.finalFlushed && !due))) {
+                // 마지막 갱신 이후 토큰 상한에 걸린 구간은 요약에 반영하지 않고 종료
+                complete(state);
+                return;
+            }
+            if (due && state.updating.compareAndSet(false, true)) {
+                summaryExecutor.execute(() -> {
+                    try {
+                        update(state);
+                    } finally {
+                        state.updating.set(false);
+                    }
+                });
+            }
+        });
+    }
+
+    private boolean isDue(SummaryState state, long now) {
+        if (state.pending.isEmpty()) {
+            return false;
+        }
+        if (state.ended && !state.finalFlushed) {
+            return true;
+        }
+        boolean quiet = now - state.lastSegmentAt >= properties.getDebounceMs()
+                && state.pending.weight() >= properties.getMinNewChars();
+        boolean overdue = now - state.lastUpdateAt >= properties.getMaxIntervalMs();
+        if (!quiet && !overdue && !state.ended) {
+            return false;
+        }
+
+        // 토큰 상한 (세션 종료 직후 마지막 1회는 예외)
+        long budget = (long) (Math.max(1.0, state.audioSeconds / 60.0) * properties.getMaxTokensPerAudioMinute());
+        long expected = tokenCounter.count(resolveModel(), state.summary) + Math.min(state.pending.weight(), properties.getMaxBatchChars());
+        if (state.inputTokens + state.outputTokens + expected > budget) {
+            state.deferred++;
+            deferredByBudget.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 이전 요약 + 새 구간 → 새 요약
+     */
+    private void update(SummaryState state) {
+        boolean ended = state.ended;
+        List<SttStreamEvent> batch = state.pending.drain(Integer.MAX_VALUE, properties.getMaxBatchChars());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        StringBuilder newText = new StringBuilder();
+        for (SttStreamEvent segment : batch) {
+            newText.append(formatTime(segment.getStartSeconds())).append(' ').append(segment.getText().trim()).append('\n');
+        }
+        if (newText.length() > properties.getMaxBatchChars()) {
+            // 대기열에서 합쳐진(COALESCE) 큰 구간 - 최근 내용 위주로 자름
+            newText.delete(0, newText.length() - properties.getMaxBatchChars()).insert(0, "…");
+        }
+
+        String systemPrompt = buildSystemPrompt();
+        String userPrompt = "=== 이전 요약 ===\n"
+                + (state.summary.isEmpty() ? "(없음)" : state.summary)
+                + "\n\n=== 새로 확정된 자막 ===\n"
+                + newText;
+
+        String model = resolveModel();
+        String result = ocrAiGptService.callChatCompletion(model, properties.getTemperature(), systemPrompt, userPrompt);
+        totalCalls.incrementAndGet();
+
+        long inputTokens = tokenCounter.countChat(model, systemPrompt, userPrompt);
+        long outputTokens = tokenCounter.count(model, result);
+        state.inputTokens += inputTokens;
+        state.outputTokens += outputTokens;
+        totalInputTokens.addAndGet(inputTokens);
+        totalOutputTokens.addAndGet(outputTokens);
+
+        if (result.startsWith("[오류]")) {
+            // 실패한 구간은 다음 갱신에 다시 포함 (세션 종료 후에는 재시도하지 않음)
+            failedCalls.incrementAndGet();
+            if (!ended) {
+                state.pending.requeue(batch);
+            }
+            state.finalFlushed = ended;
+            state.lastUpdateAt = System.currentTimeMillis();
+            return;
+        }
+
+        state.summary = (result.length() > properties.getMaxSummaryChars())
+                ? result.substring(0, properties.getMaxSummaryChars())
+                : result;
+        state.lastUpdateAt = System.currentTimeMillis();
+        state.finalFlushed = ended;
+
+        SttStreamEvent last = batch.get(batch.size() - 1);
+        if (last.getEndSeconds() != null) {
+            state.coveredSeconds = last.getEndSeconds();
+        }
+
+        double audioMinutes = Math.max(1.0 / 60, state.audioSeconds / 60.0);
+        LiveSummaryUpdate update = LiveSummaryUpdate.builder()
+                .sessionId(state.sessionId)
+                .revision(++state.revision)
+                .summary(state.summary)
+                .coveredSeconds(state.coveredSeconds)
+                .newSegments(batch.size())
+                .inputTokens(state.inputTokens)
+                .outputTokens(state.outputTokens)
+                .tokensPerAudioMinute((state.inputTokens + state.outputTokens) / audioMinutes)
+                .finished(state.ended && state.pending.isEmpty())
+                .updatedAt(Instant.now())
+                .build();
+
+        state.latest = update;
+        state.sink.tryEmitNext(update);
+
+        log.debug("[STT-SUMMARY] 요약 갱신 - sessionId={}, revision={}, segments={}, tokens/min={}",
+                state.sessionId, update.getRevision(), batch.size(), String.format("%.0f", update.getTokensPerAudioMinute()));
+    }
+
+    private void complete(SummaryState state) {
+        if (states.remove(state.sessionId, state)) {
+            state.pending.close();
+            state.sink.tryEmitComplete();
+            log.info("[STT-SUMMARY] 세션 요약 종료 - sessionId={}, revisions={}, inputTokens={}, outputTokens={}, deferred={}",
+                    state.sessionId, state.revision, state.inputTokens, state.outputTokens, state.deferred);
+        }
+    }
+
+    private String buildSystemPrompt() {
+        return "너는 실시간 방송 자막을 요약하는 어시스턴트야. " +
+                "'이전 요약' 에 '새로 확정된 자막' 내용을 반영해서 전체 요약을 새로 써 줘.\n" +
+                "- 이전 요약의 중요한 내용은 유지하고, 새 내용은 합치거나 추가\n" +
+                "- 항목별 Bullet 형태, 한국어\n" +
+                "- 전체 " + properties.getMaxSummaryChars() + "자 이내 (넘으면 덜 중요한 항목부터 압축)\n" +
+                "- 요약 본문만 출력 (설명 / 머리말 없이)";
+    }
+
+    private String resolveModel() {
+        String model = properties.getModel();
+        return (model != null && !model.isBlank()) ? model : openAiConfig.getSummaryModel();
+    }
+
+    private static String formatTime(Double seconds) {
+        if (seconds == null) {
+            return "[--:--]";
+        }
+        long total = (long) Math.floor(seconds);
+        return String.format("[%02d:%02d]", total / 60, total % 60);
+    }
+
+    public SummaryMetrics snapshot() {
+        return new SummaryMetrics(states.size(), totalCalls.get(), failedCalls.get(), deferredByBudget.get(),
+                totalInputTokens.get(), totalOutputTokens.get());
+    }
+
+    // =========================
+    // 세션별 상태
+    // =========================
+
+    private static class SummaryState {
+        private final String sessionId;
+        private final LivePipelineStage<SttStreamEvent> pending;
+        private final AtomicBoolean updating = new AtomicBoolean();
+        private final Sinks.Many<LiveSummaryUpdate> sink = Sinks.many().replay().latest();
+
+        private volatile boolean ended;
+        private volatile boolean finalFlushed;
+        private volatile long lastSegmentAt;
+        private volatile long lastUpdateAt = System.currentTimeMillis();
+        private volatile double audioSeconds;
+
+        // 아래는 갱신 스레드(세션당 1개)만 변경
+        private String summary = "";
+        private Double coveredSeconds;
+        private long revision;
+        private long inputTokens;
+        private long outputTokens;
+        private long deferred;
+        private volatile LiveSummaryUpdate latest;
+
+        SummaryState(String sessionId, LivePipelineStage<SttStreamEvent> pending) {
+            this.sessionId = sessionId;
+            this.pending = pending;
+        }
+
+        void add(SttStreamEvent segment) {
+            if (segment.getText() == null || segment.getText().isBlank()) {
+                return;
+            }
+            pending.offer(segment);
+            lastSegmentAt = System.currentTimeMillis();
+            if (segment.getEndSeconds() != null) {
+                audioSeconds = Math.max(audioSeconds, segment.getEndSeconds());
+            }
+        }
+    }
+
+    /**
+     * 메트릭 응답용 레코드
+     */
+    public record SummaryMetrics(
+            int activeSessions,     // 요약 중인 세션 수
+            long calls,             // 요약 호출 수
+            long failedCalls,       // 실패한 호출 수 (구간은 다음 갱신에 재시도)
+            long deferredByBudget,  // 토큰 상한 때문에 미룬 횟수
+            long inputTokens,       // 누적 입력 토큰 (TokenCounter - 병합 테이블이 없으면 추정)
+            long outputTokens       // 누적 출력 토큰 (TokenCounter - 병합 테이블이 없으면 추정)
+    ) {}
+}
@@ -0,0 +1,303 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import com.example.bboo_technology.Config.SttLiveTranslationProperties;
+import com.example.bboo_technology.DTO.Stt.LiveCaptionUpdate;
+import com.example.bboo_technology.DTO.Stt.SttStreamEvent;
+import com.example.bboo_technology.Service.GptTranslationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (추가) 라이브 자막 번역 단계.
+ *
+ * - 확정 구간마다 translate() 를 부르면 짧은 문장마다 왕복 지연 + 같은 system prompt 토큰이 반복된다.
+ * - 대신 세션별로 확정 구간을 batch-max-wait-ms / batch-max-segments 까지 모아서
+ *   GptTranslationService.translateSegments() 한 번으로 번역하고, [[n]] 구분자로 다시 구간별로 나눈다.
+ *   (번역 호출이 진행 중인 동안 들어온 구간은 다음 묶음으로 자연스럽게 모인다)
+ * - (변경) 확정 구간은 LivePipelineStage("translation") 유한 대기열에 쌓는다.
+ *   OpenAI 가 느려져 대기열이 넘치면 인접 구간을 합쳐서(COALESCE) 자막이 뒤로 밀리지 않게 한다.
+ * - 직전 번역 context-segments 개를 참고용으로 같이 넘겨 용어/말투를 맞춘다.
+ * - 묶음 응답에서 빠진 구간만 한 건씩 다시 번역하고, 그래도 실패하면 원문을 그대로 내보낸다. (자막이 멈추지 않게)
+ * - (변경) 묶음 호출 자체가 실패하면(응답 없음/오류) 구간 수만큼 단건 호출하지 않고 묶음을 한 번만 다시 보낸다.
+ *   재시도도 실패하면 묶음 전체를 원문으로 내보낸다.
+ * - 번역 자막은 captions(sessionId) 로 구독자(SSE / WebSocket)에게 바로 전달된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveTranslationService implements LiveSttSessionListener {
+
+    private static final int LATENCY_WINDOW = 256;
+
+    private final GptTranslationService gptTranslationService;
+    public static final String STAGE_NAME = "translation";
+
+    private final SttLiveTranslationProperties properties;
+    private final LivePipelineMonitor pipelineMonitor;
+
+    private final Map<String, Sinks.Many<LiveCaptionUpdate>> sinks = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService translateExecutor;
+
+    // 지표
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong captions = new AtomicLong();
+    private final AtomicLong retriedBatches = new AtomicLong();
+    private final AtomicLong retriedSegments = new AtomicLong();
+    private final AtomicLong fallbackSegments = new AtomicLong();
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private long latencyCount;
+
+    @PostConstruct
+    void init() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stt-live-translate-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger sequence = new AtomicInteger();
+        this.translateExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stt-live-translate-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        translateExecutor.shutdownNow();
+    }
+
+    // =========================
+    // 세션 구독
+    // =========================
+
+    @Override
+    public void onSessionStarted(LiveSttSession session) {
+        String targetLanguage = session.getTargetLanguage();
+        if (!properties.isEnabled() || targetLanguage == null || targetLanguage.isBlank()) {
+            return;
+        }
+
+        TranslationState state = new TranslationState(session, pipelineMonitor.create(
+                STAGE_NAME, session.getSessionId(), null, SttStreamEvent::merge));
+        sinks.put(session.getSessionId(), state.sink);
+
+        session.finalSegments()
+                .filter(segment -> segment.getText() != null && !segment.getText().isBlank())
+                .subscribe(
+                        segment -> {
+                            state.pending.offer(segment);
+                            schedule(state);
+                        },
+                        error -> {
+                            log.warn("[STT-TRANSLATE] 자막 수신 오류 - sessionId={}", session.getSessionId(), error);
+                            state.ended = true;
+                            schedule(state);
+                        },
+                        () -> {
+                            state.ended = true;
+                            schedule(state);
+                        });
+    }
+
+    /**
+     * 번역 자막 스트림 (최근 자막 일부부터 시작, 세션이 끝나면 완료)
+     */
+    public Flux<LiveCaptionUpdate> captions(String sessionId) {
+        Sinks.Many<LiveCaptionUpdate> sink = sinks.get(sessionId);
+        return (sink != null) ? sink.asFlux() : Flux.empty();
+    }
+
+    // =========================
+    // 묶음 번역
+    // =========================
+
+    /**
+     * 세션당 번역 호출은 한 번에 하나 - 첫 구간 이후 batch-max-wait-ms 만큼 모은 뒤 실행
+     */
+    private void schedule(TranslationState state) {
+        if (!state.running.compareAndSet(false, true)) {
+            return;
+        }
+        boolean full = state.pending.size() >= Math.max(1, properties.getBatchMaxSegments());
+        long delay = (full || state.ended) ? 0L : Math.max(0, properties.getBatchMaxWaitMs());
+        scheduler.schedule(() -> translateExecutor.execute(() -> run(state)), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(TranslationState state) {
+        try {
+            List<SttStreamEvent> batch = state.pending.drain(Math.max(1, properties.getBatchMaxSegments()));
+            if (!batch.isEmpty()) {
+                translateBatch(state.session, batch, state.context).forEach(state.sink::tryEmitNext);
+            }
+        } catch (Exception e) {
+            log.warn("[STT-TRANSLATE] 번역 실패 - sessionId={}", state.session.getSessionId(), e);
+        } finally {
+            state.running.set(false);
+        }
+
+        if (!state.pending.isEmpty()) {
+            schedule(state);
+        } else if (state.ended) {
+            finish(state);
+        }
+    }
+
+    private List<LiveCaptionUpdate> translateBatch(LiveSttSession session, List<SttStreamEvent> batch, Deque<String[]> context) {
+        List<String> sources = batch.stream().map(segment -> segment.getText().trim()).toList();
+
+        List<String> translated = gptTranslationService.translateSegments(
+                sources, List.copyOf(context), session.getLanguageHint(), session.getTargetLanguage(), properties.getLevel());
+        batches.incrementAndGet();
+
+        // (변경) 호출 자체가 실패 → 같은 묶음을 한 번만 다시 (구간별 단건 호출로 실패를 N배로 늘리지 않음)
+        if (translated == null) {
+            retriedBatches.incrementAndGet();
+            translated = gptTranslationService.translateSegments(
+                    sources, List.copyOf(context), session.getLanguageHint(), session.getTargetLanguage(), properties.getLevel());
+        }
+        boolean batchFailed = (translated == null);
+
+        List<LiveCaptionUpdate> updates = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            SttStreamEvent segment = batch.get(i);
+            String text = batchFailed ? null : translated.get(i);
+
+            // 묶음 응답은 왔는데 [[n]] 구분자가 빠진 구간만 한 건씩 다시 번역
+            if (text == null && !batchFailed && batch.size() > 1) {
+                retriedSegments.incrementAndGet();
+                List<String> single = gptTranslationService.translateSegments(
+                        List.of(sources.get(i)), List.copyOf(context),
+                        session.getLanguageHint(), session.getTargetLanguage(), properties.getLevel());
+                text = (single != null) ? single.get(0) : null;
+            }
+
+            boolean fallback = (text == null);
+            if (fallback) {
+                fallbackSegments.incrementAndGet();
+                text = sources.get(i);
+            } else {
+                context.addLast(new String[]{sources.get(i), text});
+                while (context.size() > Math.max(0, properties.getContextSegments())) {
+                    context.removeFirst();
+                }
+            }
+
+            Instant now = Instant.now();
+            long latency = (segment.getReceivedAt() != null)
+                    ? Duration.between(segment.getReceivedAt(), now).toMillis()
+                    : 0L;
+            recordLatency(latency);
+
+            updates.add(LiveCaptionUpdate.builder()
+                    .sessionId(session.getSessionId())
+                    .sequence(segment.getSequence())
+                    .sourceText(sources.get(i))
+                    .translatedText(text)
+                    .targetLanguage(session.getTargetLanguage())
+                    .startSeconds(segment.getStartSeconds())
+                    .endSeconds(segment.getEndSeconds())
+                    .latencyMillis(latency)
+                    .batchSize(batch.size())
+                    .fallback(fallback)
+                    .publishedAt(now)
+                    .build());
+        }
+        captions.addAndGet(updates.size());
+        return updates;
+    }
+
+    private void finish(TranslationState state) {
+        if (sinks.remove(state.session.getSessionId(), state.sink)) {
+            state.pending.close();
+            state.sink.tryEmitComplete();
+        }
+    }
+
+    // =========================
+    // 세션별 상태
+    // =========================
+
+    private static class TranslationState {
+        private final LiveSttSession session;
+        private final LivePipelineStage<SttStreamEvent> pending;
+        private final Sinks.Many<LiveCaptionUpdate> sink = Sinks.many().replay().limit(20);
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final Deque<String[]> context = new ArrayDeque<>();     // 번역 스레드(세션당 1개)만 사용
+        private volatile boolean ended;
+
+        TranslationState(LiveSttSession session, LivePipelineStage<SttStreamEvent> pending) {
+            this.session = session;
+            this.pending = pending;
+        }
+    }
+
+    // =========================
+    // 지표
+    // =========================
+
+    private synchronized void recordLatency(long latencyMillis) {
+        latencies[(int) (latencyCount % LATENCY_WINDOW)] = latencyMillis;
+        latencyCount++;
+    }
+
+    public synchronized TranslationMetrics snapshot() {
+        int size = (int) Math.min(latencyCount, LATENCY_WINDOW);
+        long[] window = Arrays.copyOf(latencies, size);
+        Arrays.sort(window);
+
+        double avg = (size > 0) ? Arrays.stream(window).average().orElse(0) : 0.0;
+        long p50 = (size > 0) ? window[(int) Math.floor((size - 1) * 0.50)] : 0L;
+        long p95 = (size > 0) ? window[(int) Math.floor((size - 1) * 0.95)] : 0L;
+        long max = (size > 0) ? window[size - 1] : 0L;
+
+        long batchCount = batches.get();
+        long captionCount = captions.get();
+        double avgBatchSize = (batchCount > 0) ? (double) captionCount / batchCount : 0.0;
+
+        return new TranslationMetrics(sinks.size(), batchCount, captionCount, avgBatchSize,
+                retriedBatches.get(), retriedSegments.get(), fallbackSegments.get(), avg, p50, p95, max);
+    }
+
+    /**
+     * 메트릭 응답용 레코드 (지연은 최근 256건 기준)
+     */
+    public record TranslationMetrics(
+            int activeSessions,         // 번역 중인 세션 수
+            long batches,               // 묶음 번역 호출 수
+            long captions,              // 발행한 자막 수
+            double avgBatchSize,        // 호출당 평균 구간 수
+            long retriedBatches,        // 묶음 호출 실패로 묶음 전체를 다시 보낸 횟수
+            long retriedSegments,       // 묶음 응답에서 빠져 단건으로 다시 번역한 구간 수
+            long fallbackSegments,      // 번역 실패로 원문을 내보낸 구간 수
+            double avgLatencyMillis,    // STT 확정 → 번역 자막 발행 평균(ms)
+            long p50LatencyMillis,
+            long p95LatencyMillis,
+            long maxLatencyMillis
+    ) {}
+}
@@ -0,0 +1,119 @@
+package com.example.bboo_technology.Service.Sttservice.subtitle;
+
+import com.example.bboo_technology.DTO.Stt.SttStreamEvent;
+import com.example.bboo_technology.Service.Sttservice.live.LiveSttSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
+
+/**
+ * (추가) 라이브 세션 확정 구간 → SRT / VTT 스트리밍.
+ *
+ * - 지금까지 확정된 구간을 먼저 쓰고, 이후 확정되는 구간을 도착하는 대로 한 개씩 내보낸다.
+ * - 세션이 끝나면(스트림 완료) 응답도 끝난다.
+ * - 스냅샷과 구독 사이에 빠지는 구간이 없도록 구독을 먼저 시작하고, 겹치는 구간은 순번 / 끝 시각으로 거른다.
+ * - 구간 시각이 없는 이벤트는 앞 자막 끝 ~ 세션 시작 기준 수신 시각으로 채운다.
+ * - (변경) 요청 스레드에서 toIterable() 로 기다리지 않고 자막 조각 Flux 를 돌려준다. (LiveStreamEmitters 가 구독해서 전송)
+ */
+@Slf4j
+@Component
+public class LiveSubtitleStreamer {
+
+    /**
+     * 자막 파일 조각 (헤더 → 확정 구간 1개씩)
+     */
+    public Flux<String> stream(LiveSttSession session, SubtitleFormat format) {
+        return Flux.defer(() -> {
+            StringWriter buffer = new StringWriter();
+            SubtitleWriter subtitles = format.newWriter(buffer);
+            CueCursor cursor = new CueCursor();
+
+            // 1) 구독 먼저 - 스냅샷을 쓰는 동안 확정된 구간은 unicast 버퍼에 쌓아 둔다
+            Sinks.Many<SttStreamEvent> live = Sinks.many().unicast().onBackpressureBuffer();
+            Disposable upstream = session.finalSegments().subscribe(
+                    live::tryEmitNext, live::tryEmitError, live::tryEmitComplete);
+
+            // 2) 헤더 먼저 전송 (자막이 아직 없어도 클라이언트가 연결을 확인할 수 있게) → 지금까지 확정된 구간
+            // 3) 이후 확정 구간 (세션이 끝나면 완료)
+            Flux<String> header = Mono.fromCallable(() -> {
+                subtitles.finish();
+                return drain(buffer);
+            }).flux();
+            Flux<String> cues = Flux.concat(
+                            Flux.fromIterable(session.getFinalSegments()),
+                            live.asFlux().onErrorResume(e -> {
+                                log.warn("[STT-LIVE] 자막 스트림 종료 - sessionId={}, reason={}",
+                                        session.getSessionId(), e.getMessage());
+                                return Flux.empty();
+                            }))
+                    .handle((event, sink) -> {
+                        try {
+                            write(session, subtitles, cursor, event);
+                        } catch (IOException e) {
+                            sink.error(e);
+                            return;
+                        }
+                        String chunk = drain(buffer);
+                        if (!chunk.isEmpty()) {
+                            sink.next(chunk);
+                        }
+                    });
+
+            return Flux.concat(header, cues).doFinally(signal -> upstream.dispose());
+        });
+    }
+
+    private static String drain(StringWriter buffer) {
+        StringBuffer written = buffer.getBuffer();
+        String chunk = written.toString();
+        written.setLength(0);
+        return chunk;
+    }
+
+    private void write(LiveSttSession session, SubtitleWriter subtitles, CueCursor cursor, SttStreamEvent event) throws IOException {
+        if (cursor.isDuplicate(event)) {
+            return;
+        }
+        double end = (event.getEndSeconds() != null) ? event.getEndSeconds() : secondsSinceStart(session, event);
+        double start = (event.getStartSeconds() != null) ? event.getStartSeconds() : Math.min(cursor.lastEnd, end);
+        subtitles.writeCue(start, end, event.getText());
+        cursor.advance(event, end);
+    }
+
+    private double secondsSinceStart(LiveSttSession session, SttStreamEvent event) {
+        if (event.getReceivedAt() == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(session.getStartedAt(), event.getReceivedAt()).toMillis() / 1000.0);
+    }
+
+    /**
+     * 마지막으로 쓴 구간 (중복 제거용)
+     */
+    private static class CueCursor {
+        private Long lastSequence;
+        private double lastEnd;
+
+        boolean isDuplicate(SttStreamEvent event) {
+            if (event.getSequence() != null && lastSequence != null) {
+                return event.getSequence() <= lastSequence;
+            }
+            return event.getEndSeconds() != null && lastEnd > 0 && event.getEndSeconds() <= lastEnd;
+        }
+
+        void advance(SttStreamEvent event, double end) {
+            if (event.getSequence() != null) {
+                lastSequence = event.getSequence();
+            }
+            lastEnd = Math.max(lastEnd, end);
+        }
+    }
+}
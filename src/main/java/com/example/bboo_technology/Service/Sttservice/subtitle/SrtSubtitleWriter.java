@@ -0,0 +1,26 @@
+package com.example.bboo_technology.Service.Sttservice.subtitle;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * (추가) SRT 자막 writer
+ *
+ *  1
+ *  00:00:01,000 --> 00:00:03,500
+ *  자막 텍스트
+ *  (빈 줄)
+ */
+public class SrtSubtitleWriter extends SubtitleWriter {
+
+    public SrtSubtitleWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    protected void writeCueBody(int index, double startSeconds, double endSeconds, String text) throws IOException {
+        out.write(index + "\n");
+        out.write(formatTime(startSeconds, ',') + " --> " + formatTime(endSeconds, ',') + "\n");
+        out.write(text + "\n\n");
+    }
+}
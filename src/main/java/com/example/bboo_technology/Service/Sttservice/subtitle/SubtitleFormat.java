@@ -0,0 +1,50 @@
+package com.example.bboo_technology.Service.Sttservice.subtitle;
+
+import java.io.Writer;
+
+/**
+ * (추가) 자막 포맷.
+ */
+public enum SubtitleFormat {
+
+    SRT("application/x-subrip", "srt"),
+    VTT("text/vtt", "vtt");
+
+    private final String contentType;
+    private final String extension;
+
+    SubtitleFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * 포맷별 스트리밍 writer 생성
+     */
+    public SubtitleWriter newWriter(Writer out) {
+        return (this == SRT) ? new SrtSubtitleWriter(out) : new VttSubtitleWriter(out);
+    }
+
+    /**
+     * 요청 파라미터 → 포맷 (srt / vtt, 대소문자 무시)
+     */
+    public static SubtitleFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return VTT;
+        }
+        for (SubtitleFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value.trim()) || format.name().equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 자막 포맷입니다: " + value + " (srt / vtt)");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bboo_technology.Service.Sttservice.subtitle;
+
+import com.example.bboo_technology.DTO.Stt.SttSegment;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * (추가) 스트리밍 자막 writer (SRT / VTT 공통).
+ *
+ * - 구간이 확정될 때마다 writeCue(...) 로 한 개씩 쓰고 바로 flush 한다 → 파일 전체를 기다리지 않고 자막 전송
+ * - 시각 보정: 앞 자막보다 먼저 시작하면 앞 자막 끝에 붙이고, 길이가 0 이하면 MIN_CUE_SECONDS 로 늘린다
+ * - 빈 텍스트는 건너뛴다.
+ */
+public abstract class SubtitleWriter {
+
+    private static final double MIN_CUE_SECONDS = 0.2;
+
+    protected final Writer out;
+
+    private boolean headerWritten;
+    private int cueCount;
+    private double lastEnd;
+
+    protected SubtitleWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * 문장 구간 1개를 자막으로 쓰기
+     */
+    public void writeSegment(SttSegment segment) throws IOException {
+        writeCue(segment.getStartSeconds(), segment.getEndSeconds(), segment.getText());
+    }
+
+    /**
+     * 자막 1개 쓰기 + flush
+     *
+     * @return 실제로 썼으면 true (빈 텍스트면 false)
+     */
+    public boolean writeCue(double startSeconds, double endSeconds, String text) throws IOException {
+        String cleaned = cleanText(text);
+        if (cleaned.isEmpty()) {
+            return false;
+        }
+        writeHeaderIfNeeded();
+
+        double start = Math.max(Math.max(0, startSeconds), lastEnd);
+        double end = Math.max(endSeconds, start + MIN_CUE_SECONDS);
+        lastEnd = end;
+
+        writeCueBody(++cueCount, start, end, cleaned);
+        out.flush();
+        return true;
+    }
+
+    /**
+     * 자막이 하나도 없어도 헤더는 쓰고 flush (VTT 는 빈 파일도 WEBVTT 헤더 필요)
+     */
+    public void finish() throws IOException {
+        writeHeaderIfNeeded();
+        out.flush();
+    }
+
+    public int getCueCount() {
+        return cueCount;
+    }
+
+    private void writeHeaderIfNeeded() throws IOException {
+        if (!headerWritten) {
+            headerWritten = true;
+            writeHeader();
+        }
+    }
+
+    protected void writeHeader() throws IOException {
+        // 기본: 헤더 없음 (SRT)
+    }
+
+    protected abstract void writeCueBody(int index, double startSeconds, double endSeconds, String text) throws IOException;
+
+    /**
+     * 자막 본문 정리 - 빈 줄은 자막 구분자라서 본문에 들어가면 안 된다
+     */
+    protected String cleanText(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s*\\R\\s*", "\n").replaceAll("\n{2,}", "\n");
+    }
+
+    /**
+     * 초 → HH:MM:SS{separator}mmm
+     */
+    protected static String formatTime(double seconds, char millisSeparator) {
+        long totalMillis = Math.round(Math.max(0, seconds) * 1000);
+        long hours = totalMillis / 3_600_000;
+        long minutes = (totalMillis / 60_000) % 60;
+        long secs = (totalMillis / 1000) % 60;
+        long millis = totalMillis % 1000;
+        return String.format("%02d:%02d:%02d%c%03d", hours, minutes, secs, millisSeparator, millis);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bboo_technology.Service.Sttservice.subtitle;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * (추가) WebVTT 자막 writer
+ *
+ *  WEBVTT
+ *  (빈 줄)
+ *  1
+ *  00:00:01.000 --> 00:00:03.500
+ *  자막 텍스트
+ *  (빈 줄)
+ */
+public class VttSubtitleWriter extends SubtitleWriter {
+
+    public VttSubtitleWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    protected void writeHeader() throws IOException {
+        out.write("WEBVTT\n\n");
+    }
+
+    @Override
+    protected void writeCueBody(int index, double startSeconds, double endSeconds, String text) throws IOException {
+        out.write(index + "\n");
+        out.write(formatTime(startSeconds, '.') + " --> " + formatTime(endSeconds, '.') + "\n");
+        out.write(text + "\n\n");
+    }
+
+    /**
+     * VTT 본문에는 "-->" 가 들어갈 수 없고, & < 는 이스케이프해야 한다
+     */
+    @Override
+    protected String cleanText(String text) {
+        return super.cleanText(text)
+                .replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace("-->", "->");
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.bboo_technology.Service;
+
+import com.example.bboo_technology.Config.OpenAiTokenizerProperties;
+import com.example.bboo_technology.util.BpeTokenizer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * (추가) OpenAI 호출 전 토큰 수 계산 (사전 예산 검사 / 비용 추정 / 긴 문서 분할).
+ *
+ * - 모델명 → 인코딩(o200k_base / cl100k_base) → 병합 테이블(.tiktoken) 을 리소스에서 처음 쓸 때 한 번 읽는다.
+ * - 테이블이 없으면 UTF-8 바이트 / 3 추정으로 대체하고 한 번만 경고 로그를 남긴다. (한글 ≈ 1자 1토큰, 영문은 과대 추정)
+ *   (변경) 단, max-prompt-tokens 로 예산 검사를 켰는데 테이블이 없으면 기동 시 실패시킨다.
+ *   (추정치로는 막지 않으므로 설정한 상한이 조용히 무시되는 것을 막기 위함)
+ * - 채팅 요청은 메시지마다 구조 토큰이 붙는다 → countChat(...) 에서 함께 계산.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenCounter {
+
+    // 메시지 1개당 구조 토큰 (<|start|>role ... <|end|>) + 응답 시작 토큰
+    private static final int TOKENS_PER_MESSAGE = 3;
+    private static final int TOKENS_PER_REPLY = 3;
+
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+
+    private final OpenAiTokenizerProperties properties;
+    private final ResourceLoader resourceLoader;
+
+    // 인코딩 → 토크나이저 (테이블이 없으면 Optional.empty() 로 기억해서 다시 읽지 않음)
+    private final Map<String, Optional<BpeTokenizer>> tokenizers = new ConcurrentHashMap<>();
+
+    /**
+     * (추가) 예산 검사를 켰으면 쓰는 인코딩 테이블을 모두 미리 읽고, 없으면 기동 실패
+     */
+    @PostConstruct
+    void verifyTables() {
+        if (properties.getMaxPromptTokens() <= 0) {
+            return;
+        }
+        Set<String> encodings = new LinkedHashSet<>();
+        encodings.add(properties.getDefaultEncoding());
+        encodings.addAll(properties.getModelEncodings().values());
+
+        List<String> missing = encodings.stream()
+                .filter(encoding -> tokenizers.computeIfAbsent(encoding, this::load).isEmpty())
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("openai.tokenizer.max-prompt-tokens=" + properties.getMaxPromptTokens()
+                    + " 인데 BPE 병합 테이블이 없습니다 - " + missing
+                    + " (./gradlew build -PdownloadTokenizer 로 빌드하거나 max-prompt-tokens=0)");
+        }
+    }
+
+    /**
+     * 텍스트 토큰 수
+     */
+    public int count(String model, String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return tokenizer(model)
+                .map(tokenizer -> tokenizer.countTokens(text))
+                .orElseGet(() -> estimate(text));
+    }
+
+    /**
+     * system + user 2개 메시지 채팅 요청의 입력 토큰 수
+     */
+    public int countChat(String model, String systemPrompt, String userPrompt) {
+        return count(model, systemPrompt) + count(model, userPrompt) + TOKENS_PER_MESSAGE * 2 + TOKENS_PER_REPLY;
+    }
+
+    /**
+     * 요청당 입력 토큰 상한 (0 이하면 검사 안 함)
+     */
+    public int getMaxPromptTokens() {
+        return properties.getMaxPromptTokens();
+    }
+
+    /**
+     * 긴 문서 분할 시 조각 1개의 입력 토큰 상한
+     */
+    public int getChunkTokens() {
+        return properties.getChunkTokens();
+    }
+
+    /**
+     * 테이블 기준 정확한 수인지 (false 면 바이트 추정)
+     */
+    public boolean isExact(String model) {
+        return tokenizer(model).isPresent();
+    }
+
+    /**
+     * 긴 텍스트를 조각당 maxTokens 이하로 분할
+     *
+     * - 문단(빈 줄) 경계 우선 → 문단 하나가 넘치면 줄 단위 → 줄 하나도 넘치면 글자 수 비례로 자른다.
+     * - 조각은 빈 줄로 다시 이어 붙이면 원문 문단 구성이 유지된다.
+     */
+    public List<String> split(String model, String text, int maxTokens) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return chunks;
+        }
+        if (maxTokens <= 0 || count(model, text) <= maxTokens) {
+            chunks.add(text);
+            return chunks;
+        }
+
+        ChunkBuilder builder = new ChunkBuilder(model, maxTokens, chunks, "\n\n");
+        for (String paragraph : PARAGRAPH_BREAK.split(text)) {
+            if (paragraph.isBlank()) {
+                continue;
+            }
+            if (count(model, paragraph) <= maxTokens) {
+                builder.add(paragraph);
+                continue;
+            }
+            // 문단 하나가 상한을 넘으면 줄 단위로
+            builder.flush();
+            ChunkBuilder lines = new ChunkBuilder(model, maxTokens, chunks, "\n");
+            for (String line : paragraph.split("\\R")) {
+                if (count(model, line) <= maxTokens) {
+                    lines.add(line);
+                } else {
+                    lines.flush();
+                    splitLongLine(model, line, maxTokens, chunks);
+                }
+            }
+            lines.flush();
+        }
+        builder.flush();
+        return chunks;
+    }
+
+    /**
+     * 줄 하나가 상한을 넘는 경우 - 토큰 밀도(글자당 토큰)로 자를 위치를 잡고 넘치면 줄인다
+     */
+    private void splitLongLine(String model, String line, int maxTokens, List<String> chunks) {
+        int start = 0;
+        while (start < line.length()) {
+            String rest = line.substring(start);
+            int restTokens = count(model, rest);
+            if (restTokens <= maxTokens) {
+                chunks.add(rest);
+                return;
+            }
+            int end = start + Math.max(1, (int) ((long) rest.length() * maxTokens / restTokens));
+            while (end - start > 1 && count(model, line.substring(start, end)) > maxTokens) {
+                end = start + (end - start) * 9 / 10;
+            }
+            // 서로게이트 쌍 중간에서 자르지 않기
+            if (end < line.length() && Character.isLowSurrogate(line.charAt(end))) {
+                end--;
+            }
+            end = Math.max(end, start + 1);
+            chunks.add(line.substring(start, end));
+            start = end;
+        }
+    }
+
+    // =========================
+    // 토크나이저 로딩
+    // =========================
+
+    private Optional<BpeTokenizer> tokenizer(String model) {
+        return tokenizers.computeIfAbsent(resolveEncoding(model), this::load);
+    }
+
+    /**
+     * 모델명 → 인코딩 (가장 긴 접두사)
+     */
+    String resolveEncoding(String model) {
+        String encoding = properties.getDefaultEncoding();
+        int matched = -1;
+        if (model != null) {
+            for (Map.Entry<String, String> entry : properties.getModelEncodings().entrySet()) {
+                String prefix = entry.getKey();
+                if (model.startsWith(prefix) && prefix.length() > matched) {
+                    encoding = entry.getValue();
+                    matched = prefix.length();
+                }
+            }
+        }
+        return encoding;
+    }
+
+    private Optional<BpeTokenizer> load(String encoding) {
+        String location = String.format(properties.getResourcePattern(), encoding);
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            log.warn("BPE 병합 테이블이 없습니다 - {} → 토큰 수는 UTF-8 바이트 / 3 으로 추정합니다.", location);
+            return Optional.empty();
+        }
+
+        long start = System.currentTimeMillis();
+        try (InputStream in = resource.getInputStream()) {
+            BpeTokenizer tokenizer = BpeTokenizer.load(encoding, in);
+            log.info("BPE 토크나이저 로드 - encoding={}, vocab={}, elapsedMs={}",
+                    encoding, tokenizer.getVocabularySize(), System.currentTimeMillis() - start);
+            return Optional.of(tokenizer);
+        } catch (Exception e) {
+            log.warn("BPE 병합 테이블 로드 실패 - {} → 바이트 추정으로 대체", location, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * (대체) UTF-8 3바이트 ≒ 1토큰
+     */
+    static int estimate(String text) {
+        return (text.getBytes(StandardCharsets.UTF_8).length + 2) / 3;
+    }
+
+    /**
+     * 조각 1개를 상한까지 채우는 도우미
+     */
+    private class ChunkBuilder {
+        private final String model;
+        private final int maxTokens;
+        private final List<String> chunks;
+        private final String separator;
+        private final StringBuilder current = new StringBuilder();
+        private int currentTokens;
+
+        ChunkBuilder(String model, int maxTokens, List<String> chunks, String separator) {
+            this.model = model;
+            this.maxTokens = maxTokens;
+            this.chunks = chunks;
+            this.separator = separator;
+        }
+
+        void add(String part) {
+            int tokens = count(model, part);
+            if (current.length() > 0 && currentTokens + tokens > maxTokens) {
+                flush();
+            }
+            if (current.length() > 0) {
+                current.append(separator);
+            }
+            current.append(part);
+            currentTokens += tokens;
+        }
+
+        void flush() {
+            if (current.length() > 0) {
+                chunks.add(current.toString());
+                current.setLength(0);
+                currentTokens = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.bboo_technology.enums;
+
+/**
+ * (추가) 체크포인트 OCR 작업 상태.
+ * - RUNNING   : 큐에 있거나 처리 중 (재시작 시 자동 재개 대상)
+ * - COMPLETED : 모든 페이지 체크포인트 완료
+ * - FAILED    : 처리 중 오류로 중단 (완료된 페이지는 보존, 재시도 시 나머지만 처리)
+ */
+public enum OcrJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.example.bboo_technology.enums;
+
+/**
+ * (추가) STT 일괄 변환 작업의 파일별 상태.
+ */
+public enum SttBatchItemStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,15 @@
+package com.example.bboo_technology.enums;
+
+/**
+ * (추가) STT 일괄 변환 작업 상태.
+ * - RUNNING   : 큐에 있거나 처리 중 (재시작 시 남은 파일부터 자동 재개)
+ * - COMPLETED : 모든 파일 처리 끝 (개별 파일 실패 포함)
+ * - CANCELLED : 사용자가 취소 (이미 끝난 파일 결과는 보존)
+ * - FAILED    : 작업 자체 오류로 중단
+ */
+public enum SttBatchJobStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
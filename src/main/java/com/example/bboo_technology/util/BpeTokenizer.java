@@ -0,0 +1,253 @@
+package com.example.bboo_technology.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * (추가) tiktoken 호환 byte-level BPE 토큰 카운터.
+ *
+ * - 병합 테이블: tiktoken 배포 형식 (.tiktoken - 줄마다 "base64(토큰 바이트) 순위")
+ * - 흐름: 정규식으로 사전 분할 → 조각마다 UTF-8 바이트 → 순위가 가장 낮은 인접 쌍부터 병합 → 남은 조각 수 = 토큰 수
+ * - 특수 토큰(<|endoftext|> 등)은 일반 텍스트로 센다. (프롬프트에 특수 토큰을 넣지 않으므로)
+ * - 순위 조회는 바이트 구간을 그대로 해시하는 전용 테이블(RankTable) 사용 → 조회마다 객체 생성 없음
+ * - 불변 객체라서 여러 스레드에서 함께 써도 된다.
+ */
+public final class BpeTokenizer {
+
+    /**
+     * o200k_base (gpt-4o / gpt-4.1 계열) 사전 분할 정규식
+     */
+    public static final Pattern O200K_PATTERN = Pattern.compile(String.join("|",
+            "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]*[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]+(?i:'s|'t|'re|'ve|'m|'ll|'d)?",
+            "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]+[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]*(?i:'s|'t|'re|'ve|'m|'ll|'d)?",
+            "\\p{N}{1,3}",
+            " ?[^\\s\\p{L}\\p{N}]+[\\r\\n/]*",
+            "\\s*[\\r\\n]+",
+            "\\s+(?!\\S)",
+            "\\s+"), Pattern.UNICODE_CHARACTER_CLASS);
+
+    /**
+     * cl100k_base (gpt-4 / gpt-3.5-turbo 계열) 사전 분할 정규식
+     */
+    public static final Pattern CL100K_PATTERN = Pattern.compile(String.join("|",
+            "(?i:'s|'t|'re|'ve|'m|'ll|'d)",
+            "[^\\r\\n\\p{L}\\p{N}]?\\p{L}+",
+            "\\p{N}{1,3}",
+            " ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*",
+            "\\s*[\\r\\n]+",
+            "\\s+(?!\\S)",
+            "\\s+"), Pattern.UNICODE_CHARACTER_CLASS);
+
+    private static final int NO_RANK = Integer.MAX_VALUE;
+
+    private final String encoding;
+    private final RankTable ranks;
+    private final Pattern pattern;
+
+    private BpeTokenizer(String encoding, RankTable ranks, Pattern pattern) {
+        this.encoding = encoding;
+        this.ranks = ranks;
+        this.pattern = pattern;
+    }
+
+    /**
+     * .tiktoken 파일 읽기
+     *
+     * @param encoding 인코딩 이름 (o200k_base / cl100k_base) - 사전 분할 정규식 선택에 사용
+     * @throws IOException              읽기 실패
+     * @throws IllegalArgumentException 형식이 잘못된 줄이 있는 경우
+     */
+    public static BpeTokenizer load(String encoding, InputStream in) throws IOException {
+        List<byte[]> tokens = new ArrayList<>(262_144);
+        List<Integer> tokenRanks = new ArrayList<>(262_144);
+        Base64.Decoder decoder = Base64.getDecoder();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int space = line.indexOf(' ');
+                if (space <= 0) {
+                    throw new IllegalArgumentException("잘못된 BPE 테이블 형식 - line " + lineNumber);
+                }
+                tokens.add(decoder.decode(line.substring(0, space)));
+                tokenRanks.add(Integer.parseInt(line.substring(space + 1).trim()));
+            }
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("BPE 테이블이 비어 있습니다: " + encoding);
+        }
+        return new BpeTokenizer(encoding, new RankTable(tokens, tokenRanks), patternFor(encoding));
+    }
+
+    /**
+     * 인코딩 이름 → 사전 분할 정규식 (cl100k 외에는 o200k 규칙)
+     */
+    public static Pattern patternFor(String encoding) {
+        return "cl100k_base".equals(encoding) ? CL100K_PATTERN : O200K_PATTERN;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public int getVocabularySize() {
+        return ranks.size;
+    }
+
+    /**
+     * 토큰 수
+     */
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            byte[] piece = text.substring(matcher.start(), matcher.end()).getBytes(StandardCharsets.UTF_8);
+            count += countPiece(piece);
+        }
+        return count;
+    }
+
+    /**
+     * 사전 분할 조각 1개의 토큰 수 (tiktoken byte_pair_merge 와 같은 병합 순서)
+     */
+    private int countPiece(byte[] piece) {
+        int length = piece.length;
+        if (length <= 1 || rank(piece, 0, length) != NO_RANK) {
+            return 1;
+        }
+
+        // starts[i] = i 번째 조각의 시작 바이트, pairRanks[i] = i, i+1 조각을 합쳤을 때의 순위
+        int[] starts = new int[length + 1];
+        int[] pairRanks = new int[length + 1];
+        for (int i = 0; i <= length; i++) {
+            starts[i] = i;
+        }
+        for (int i = 0; i < length; i++) {
+            pairRanks[i] = (i + 2 <= length) ? rank(piece, i, i + 2) : NO_RANK;
+        }
+        pairRanks[length] = NO_RANK;
+        int size = length + 1;
+
+        while (size > 2) {
+            int minIndex = -1;
+            int minRank = NO_RANK;
+            for (int i = 0; i < size - 2; i++) {
+                if (pairRanks[i] < minRank) {
+                    minRank = pairRanks[i];
+                    minIndex = i;
+                }
+            }
+            if (minIndex < 0) {
+                break;
+            }
+
+            // minIndex + 1 경계 제거 = 두 조각 병합
+            System.arraycopy(starts, minIndex + 2, starts, minIndex + 1, size - minIndex - 2);
+            System.arraycopy(pairRanks, minIndex + 2, pairRanks, minIndex + 1, size - minIndex - 2);
+            size--;
+
+            pairRanks[minIndex] = pairRank(piece, starts, size, minIndex);
+            if (minIndex > 0) {
+                pairRanks[minIndex - 1] = pairRank(piece, starts, size, minIndex - 1);
+            }
+        }
+        return size - 1;
+    }
+
+    private int pairRank(byte[] piece, int[] starts, int size, int index) {
+        return (index + 2 < size) ? rank(piece, starts[index], starts[index + 2]) : NO_RANK;
+    }
+
+    private int rank(byte[] piece, int from, int to) {
+        return ranks.get(piece, from, to);
+    }
+
+    /**
+     * 토큰 바이트 → 순위 (open addressing, 선형 탐사)
+     * - 토큰 바이트는 pool 하나에 이어 붙이고 offset / length 로 가리킨다.
+     */
+    private static final class RankTable {
+
+        private final int size;
+        private final byte[] pool;
+        private final int[] offsets;
+        private final int[] lengths;
+        private final int[] values;
+        private final int[] slots;   // 엔트리 인덱스 + 1 (0 = 빈 칸)
+        private final int mask;
+
+        RankTable(List<byte[]> tokens, List<Integer> tokenRanks) {
+            this.size = tokens.size();
+            this.offsets = new int[size];
+            this.lengths = new int[size];
+            this.values = new int[size];
+
+            int poolSize = 0;
+            for (byte[] token : tokens) {
+                poolSize += token.length;
+            }
+            this.pool = new byte[poolSize];
+
+            int capacity = Integer.highestOneBit(Math.max(4, size * 2) - 1) << 1;
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                byte[] token = tokens.get(i);
+                System.arraycopy(token, 0, pool, offset, token.length);
+                offsets[i] = offset;
+                lengths[i] = token.length;
+                values[i] = tokenRanks.get(i);
+                offset += token.length;
+
+                int slot = hash(token, 0, token.length) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = i + 1;
+            }
+        }
+
+        int get(byte[] bytes, int from, int to) {
+            int length = to - from;
+            int slot = hash(bytes, from, to) & mask;
+            while (true) {
+                int entry = slots[slot] - 1;
+                if (entry < 0) {
+                    return NO_RANK;
+                }
+                if (lengths[entry] == length
+                        && Arrays.equals(pool, offsets[entry], offsets[entry] + length, bytes, from, to)) {
+                    return values[entry];
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private static int hash(byte[] bytes, int from, int to) {
+            int h = 0x811C9DC5;
+            for (int i = from; i < to; i++) {
+                h = (h ^ (bytes[i] & 0xFF)) * 0x01000193;
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+}
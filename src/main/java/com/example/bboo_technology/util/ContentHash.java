@@ -0,0 +1,61 @@
+package com.example.bboo_technology.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * (추가) 콘텐츠 해시(SHA-256) 유틸.
+ *
+ * - 업로드 파일을 디스크로 흘려 쓰면서 DigestInputStream 으로 해시를 같이 계산할 때 사용한다.
+ * - 같은 파일이 다시 올라오면 같은 해시가 나오므로 문서 ID / 캐시 키로 쓴다.
+ */
+public final class ContentHash {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ContentHash() {
+    }
+
+    /**
+     * 새 SHA-256 MessageDigest (MessageDigest 는 스레드 안전하지 않으므로 호출마다 새로 만든다)
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 은 모든 JDK 에 포함되어 있으므로 발생하지 않는다
+            throw new IllegalStateException(ALGORITHM + " 를 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 다이제스트 결과 → 소문자 16진수 문자열
+     */
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * 바이트 배열의 SHA-256 16진수 문자열
+     */
+    public static String sha256Hex(byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+
+    /**
+     * 스트림 전체를 읽으면서 SHA-256 계산 (스트림은 닫지 않는다)
+     */
+    public static String sha256Hex(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+}
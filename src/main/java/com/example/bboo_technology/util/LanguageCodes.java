@@ -0,0 +1,60 @@
+package com.example.bboo_technology.util;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * (추가) 언어 이름 → ISO-639-1 코드 변환 유틸.
+ *
+ * - Whisper verbose_json 의 language 는 "korean" 같은 영어 이름이라 요청 힌트("ko")와 형식이 다르다.
+ * - JDK 언어 목록의 영어 이름으로 찾고, Whisper 가 쓰는 다른 이름(myanmar, castilian 등)은 따로 맞춘다.
+ * - 이미 2글자 코드면 소문자로만 바꿔 그대로 쓴다.
+ */
+public final class LanguageCodes {
+
+    private static final Map<String, String> BY_NAME = new HashMap<>();
+
+    static {
+        for (String code : Locale.getISOLanguages()) {
+            String name = Locale.of(code).getDisplayLanguage(Locale.ENGLISH).toLowerCase(Locale.ROOT);
+            if (!name.isEmpty() && !name.equals(code)) {
+                BY_NAME.putIfAbsent(name, code);
+            }
+        }
+        // Whisper 언어 이름 중 JDK 표기와 다른 것
+        BY_NAME.put("myanmar", "my");
+        BY_NAME.put("burmese", "my");
+        BY_NAME.put("castilian", "es");
+        BY_NAME.put("valencian", "ca");
+        BY_NAME.put("flemish", "nl");
+        BY_NAME.put("haitian creole", "ht");
+        BY_NAME.put("letzeburgesch", "lb");
+        BY_NAME.put("luxembourgish", "lb");
+        BY_NAME.put("moldavian", "ro");
+        BY_NAME.put("moldovan", "ro");
+        BY_NAME.put("pushto", "ps");
+        BY_NAME.put("sinhalese", "si");
+        BY_NAME.put("mandarin", "zh");
+        BY_NAME.put("cantonese", "zh");
+    }
+
+    private LanguageCodes() {
+    }
+
+    /**
+     * 언어 이름 / 코드 → ISO-639-1 코드
+     *
+     * @return 알 수 없는 이름이거나 비어 있으면 null
+     */
+    public static String toIso639_1(String language) {
+        if (language == null || language.isBlank()) {
+            return null;
+        }
+        String value = language.trim().toLowerCase(Locale.ROOT);
+        if (value.length() == 2 && Character.isLetter(value.charAt(0)) && Character.isLetter(value.charAt(1))) {
+            return value;
+        }
+        return BY_NAME.get(value);
+    }
+}
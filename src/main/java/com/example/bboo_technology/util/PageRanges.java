@@ -0,0 +1,114 @@
+package com.example.bboo_technology.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * (추가) 페이지 범위 문자열 파싱 유틸.
+ *
+ * - 입력 예: "1-3,7", "5-", "-2", "4"  (1부터 시작하는 페이지 번호)
+ * - 결과는 0부터 시작하는 페이지 인덱스 (오름차순, 중복 제거)
+ * - 빈 문자열 / null 은 "전체 페이지" 로 취급한다.
+ */
+public final class PageRanges {
+
+    private PageRanges() {
+    }
+
+    /**
+     * 범위 문자열 → 0-based 페이지 인덱스 목록
+     *
+     * @param spec      범위 문자열 (null / 공백이면 전체)
+     * @param pageCount 문서 전체 페이지 수
+     * @throws IllegalArgumentException 형식이 잘못됐거나 범위를 벗어난 경우
+     */
+    public static List<Integer> parse(String spec, int pageCount) {
+        if (isAll(spec)) {
+            List<Integer> all = new ArrayList<>(pageCount);
+            for (int i = 0; i < pageCount; i++) {
+                all.add(i);
+            }
+            return all;
+        }
+
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String token : spec.split(",")) {
+            String part = token.trim();
+            if (part.isEmpty()) {
+                continue;
+            }
+
+            int dash = part.indexOf('-');
+            int from;
+            int to;
+            if (dash < 0) {
+                from = to = parsePage(part, spec);
+            } else {
+                String left = part.substring(0, dash).trim();
+                String right = part.substring(dash + 1).trim();
+                from = left.isEmpty() ? 1 : parsePage(left, spec);
+                to = right.isEmpty() ? pageCount : parsePage(right, spec);
+            }
+
+            if (from > to) {
+                throw new IllegalArgumentException("페이지 범위가 올바르지 않습니다: " + part);
+            }
+            if (from > pageCount) {
+                throw new IllegalArgumentException("페이지 범위가 문서 페이지 수(" + pageCount + ")를 벗어났습니다: " + part);
+            }
+
+            for (int page = from; page <= Math.min(to, pageCount); page++) {
+                indexes.add(page - 1);
+            }
+        }
+
+        if (indexes.isEmpty()) {
+            throw new IllegalArgumentException("선택된 페이지가 없습니다: " + spec);
+        }
+        return new ArrayList<>(indexes);
+    }
+
+    /**
+     * 0-based 인덱스 목록 → 정규화된 범위 문자열 (예: [0,1,2,6] → "1-3,7")
+     */
+    public static String format(List<Integer> pageIndexes) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < pageIndexes.size()) {
+            int start = pageIndexes.get(i);
+            int end = start;
+            while (i + 1 < pageIndexes.size() && pageIndexes.get(i + 1) == end + 1) {
+                end = pageIndexes.get(++i);
+            }
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(start + 1);
+            if (end > start) {
+                sb.append('-').append(end + 1);
+            }
+            i++;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 범위 문자열이 "전체 페이지" 를 의미하는지
+     */
+    public static boolean isAll(String spec) {
+        return spec == null || spec.isBlank();
+    }
+
+    private static int parsePage(String value, String spec) {
+        try {
+            int page = Integer.parseInt(value);
+            if (page < 1) {
+                throw new IllegalArgumentException("페이지 번호는 1 이상이어야 합니다: " + spec);
+            }
+            return page;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("페이지 범위 형식이 올바르지 않습니다: " + spec, e);
+        }
+    }
+}
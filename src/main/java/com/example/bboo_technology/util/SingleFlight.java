@@ -0,0 +1,138 @@
+package com.example.bboo_technology.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * (추가) 같은 키의 동시 요청 합치기 (single-flight).
+ *
+ * - 처음 들어온 요청만 작업을 실행하고, 끝나기 전에 들어온 같은 키 요청은 그 결과(Future)를 같이 기다린다.
+ * - 작업이 끝나면(성공/실패 모두) 키를 지운다 → 결과를 캐시하지는 않는다. (끝난 뒤에 온 요청은 새로 실행)
+ * - 실패하면 기다리던 요청도 같은 예외를 받는다.
+ * - (추가) 기다리는 요청은 followerTimeout 까지만 기다리고 WaitTimeoutException 으로 끝난다.
+ *   (실행 중인 요청이 멈춰도 같이 묶이지 않게. 실행 중인 작업과 키는 그대로 둔다)
+ * - LazyOcrServiceImpl 의 페이지 OCR 중복 방지와 같은 방식 (putIfAbsent + CompletableFuture)
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder followerTimeouts = new LongAdder();   // (추가)
+
+    private final long followerTimeoutMillis;   // (추가) 0 이하 = 제한 없음
+
+    public SingleFlight() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * (추가) 기다리는 요청의 최대 대기 시간 지정 (null / 0 이하 = 제한 없음)
+     */
+    public SingleFlight(Duration followerTimeout) {
+        this.followerTimeoutMillis = (followerTimeout != null) ? followerTimeout.toMillis() : 0;
+    }
+
+    /**
+     * 같은 키 작업이 진행 중이면 그 결과를 기다리고, 없으면 work 실행
+     */
+    public V execute(K key, Supplier<V> work) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return join(running);
+        }
+
+        executions.increment();
+        try {
+            V value = work.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 실제로 실행한 횟수
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * 진행 중인 작업에 합쳐진(실행하지 않은) 요청 수
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * (추가) 기다리다 시간 초과로 끝난 요청 수
+     */
+    public long getFollowerTimeouts() {
+        return followerTimeouts.sum();
+    }
+
+    /**
+     * 지금 진행 중인 키 수
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private V join(CompletableFuture<V> future) {
+        if (followerTimeoutMillis <= 0) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause(), e);
+            }
+        }
+        try {
+            return future.get(followerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause(), new CompletionException(e.getCause()));
+        } catch (TimeoutException e) {
+            followerTimeouts.increment();
+            throw new WaitTimeoutException("같은 요청이 " + followerTimeoutMillis + "ms 안에 끝나지 않았습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WaitTimeoutException("같은 요청 결과를 기다리던 중 중단되었습니다.");
+        }
+    }
+
+    // 실행한 요청이 던진 예외를 감싸지 않고 그대로
+    private static RuntimeException rethrow(Throwable cause, RuntimeException fallback) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return fallback;
+    }
+
+    /**
+     * (추가) 진행 중인 같은 키 작업을 기다리다 대기 시간을 넘김
+     */
+    public static final class WaitTimeoutException extends RuntimeException {
+
+        public WaitTimeoutException(String message) {
+            super(message);
+        }
+    }
+}
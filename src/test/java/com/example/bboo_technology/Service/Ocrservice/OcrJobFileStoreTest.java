@@ -0,0 +1,62 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrJobProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OcrJobFileStoreTest {
+
+    @TempDir
+    Path storageDir;
+
+    private OcrJobFileStore newStore(String dir) throws Exception {
+        OcrJobProperties properties = new OcrJobProperties();
+        properties.setStorageDir(dir);
+        OcrJobFileStore store = new OcrJobFileStore(properties);
+        store.init();
+        return store;
+    }
+
+    @Test
+    void storesByContentHashAndReusesSameFile() throws Exception {
+        OcrJobFileStore store = newStore(storageDir.toString());
+        byte[] pdf = "%PDF-1.4 test".getBytes(StandardCharsets.US_ASCII);
+
+        OcrJobFileStore.StoredFile first = store.store(new ByteArrayResource(pdf));
+        OcrJobFileStore.StoredFile second = store.store(new ByteArrayResource(pdf));
+
+        assertEquals(first.contentHash(), second.contentHash());
+        assertEquals(first.path(), second.path());
+        assertTrue(Files.exists(first.path()));
+        // 임시(.part) 파일이 남지 않아야 한다
+        try (var files = Files.list(storageDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void deleteRemovesStoredFile() throws Exception {
+        OcrJobFileStore store = newStore(storageDir.toString());
+        OcrJobFileStore.StoredFile stored = store.store(new ByteArrayResource(new byte[]{1, 2, 3}));
+
+        store.delete(stored.contentHash());
+
+        assertFalse(Files.exists(stored.path()));
+    }
+
+    @Test
+    void requiresConfiguredStorageDir() {
+        assertThrows(IllegalStateException.class, () -> newStore(" "));
+        assertThrows(IllegalStateException.class, () -> newStore(null));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import net.sourceforge.tess4j.Word;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OcrLineJoinerTest {
+
+    private static Word line(String text, int y) {
+        return new Word(text, 90f, new Rectangle(10, y, 200, 20));
+    }
+
+    @Test
+    void insertsBlankLineBetweenParagraphs() {
+        List<Word> lines = List.of(
+                line("제품명: 비타민C 1000", 10),
+                line("1일 1회 1정 섭취\n", 40),
+                line("주의사항", 120),
+                line("직사광선을 피해 보관", 150));
+        List<Rectangle> paragraphs = List.of(
+                new Rectangle(0, 0, 300, 70),
+                new Rectangle(0, 110, 300, 70));
+
+        assertEquals("제품명: 비타민C 1000\n1일 1회 1정 섭취\n\n주의사항\n직사광선을 피해 보관\n",
+                OcrLineJoiner.join(lines, paragraphs));
+    }
+
+    @Test
+    void keepsLineBreaksWithoutParagraphRegions() {
+        List<Word> lines = List.of(line("첫 줄", 10), line("둘째 줄", 40));
+
+        assertEquals("첫 줄\n둘째 줄\n", OcrLineJoiner.join(lines, List.of()));
+    }
+
+    @Test
+    void attachesLineOutsideRegionsToPreviousParagraph() {
+        List<Word> lines = List.of(line("A", 10), line("B", 500), line("C", 120));
+        List<Rectangle> paragraphs = List.of(
+                new Rectangle(0, 0, 300, 40),
+                new Rectangle(0, 110, 300, 40));
+
+        assertEquals("A\nB\n\nC\n", OcrLineJoiner.join(lines, paragraphs));
+    }
+}
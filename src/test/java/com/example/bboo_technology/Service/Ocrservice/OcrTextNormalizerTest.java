@@ -0,0 +1,166 @@
+package com.example.bboo_technology.Service.Ocrservice;
+
+import com.example.bboo_technology.Config.OcrNormalizeProperties;
+import com.example.bboo_technology.Config.OpenAiTokenizerProperties;
+import com.example.bboo_technology.Service.TokenCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 여러 페이지 상품기술서 OCR 결과(PdfOcrProcessor 출력 형식)로 정리 단계 확인
+ */
+class OcrTextNormalizerTest {
+
+    // 3쪽 상품기술서 - 머리말(브랜드/문서명), 꼬리말(쪽 번호), 표 선 잡음, 하이픈 줄바꿈, 반복 주의사항 포함
+    private static final String PRODUCT_SHEET = String.join("\n",
+            "=== PAGE 1 ===",
+            "뷰티랩 코리아 | 상품기술서 2024-03",
+            "방송용 상세 설명 자료",
+            "",
+            "[제품명] 뷰티랩 히알루론 수분 크림 50ml",
+            "피부 속 수분을 72시간 지켜주는 고보습 크림입니다.",
+            "The formula contains low-molecular hyalu-",
+            "ronic acid and ceramide NP.",
+            "",
+            "────────────────────",
+            "사용 방법",
+            "세안 후 적당량을 덜어 얼굴 전체에 부드럽게 펴 발라 줍니다.",
+            "",
+            "Page 1 / 3",
+            "=== PAGE 2 ===",
+            "뷰티랩 코리아 | 상품기술서 2024-03",
+            "방송용 상세 설명 자료",
+            "",
+            "[구성] 본품 50ml + 미니 10ml x 2",
+            "사용 방법",
+            "아침 저녁 스킨케어 마지막 단계에 사용합니다.",
+            "주의사항",
+            "상처가 있는 부위 등에는 사용을 자제하십시오.",
+            "직사광선을 피해서 서늘한 곳에 보관하십시오.",
+            "",
+            "Page 2 / 3",
+            "=== PAGE 3 ===",
+            "뷰티랩 코리아 | 상품기술서 2024-03",
+            "방송용 상세 설명 자료",
+            "",
+            "[방송 혜택] 구매 고객 전원 미니 2개 추가 증정",
+            "주의사항",
+            "상처가 있는 부위 등에는 사용을 자제하십시오.",
+            "직사광선을 피해서 서늘한 곳에 보관하십시오.",
+            "ARS 주문 시 3천원 추가 할인",
+            "",
+            "Page 3 / 3");
+
+    private final OcrNormalizeProperties properties = new OcrNormalizeProperties();
+
+    private OcrTextNormalizer.NormalizedText normalize(String text) {
+        TokenCounter tokenCounter = new TokenCounter(new OpenAiTokenizerProperties(), new DefaultResourceLoader());
+        OcrTextNormalizer normalizer = new OcrTextNormalizer(properties, new OcrNormalizationStats(properties), tokenCounter);
+        return normalizer.normalize(text, "ocr:test");
+    }
+
+    private static int occurrences(String text, String part) {
+        int count = 0;
+        for (int index = text.indexOf(part); index >= 0; index = text.indexOf(part, index + part.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void removesRepeatedHeadersAndPageNumberFooters() {
+        OcrTextNormalizer.NormalizedText result = normalize(PRODUCT_SHEET);
+        String text = result.text();
+
+        assertFalse(text.contains("=== PAGE"));
+        assertFalse(text.contains("뷰티랩 코리아 | 상품기술서"));   // 숫자(연도/월)가 있어도 같은 머리말
+        assertFalse(text.contains("방송용 상세 설명 자료"));
+        assertFalse(text.contains("Page 2 / 3"));                // 쪽 번호가 달라도 같은 꼬리말
+        assertEquals(3, result.report().pageMarkers());
+        assertEquals(9, result.report().headerFooterLines());
+
+        // 본문은 유지
+        assertTrue(text.startsWith("[제품명] 뷰티랩 히알루론 수분 크림 50ml"));
+        assertTrue(text.contains("[구성] 본품 50ml + 미니 10ml x 2"));
+        assertTrue(text.endsWith("ARS 주문 시 3천원 추가 할인"));
+    }
+
+    @Test
+    void headerZoneIsClampedOnShortPages() {
+        // 빈 줄 아닌 줄이 4개인 페이지 → 영역은 위/아래 1줄씩 (4 / 3)
+        // 두 번째 줄은 모든 페이지에 반복되지만 본문이므로 머리말로 지우면 안 됨
+        String text = String.join("\n",
+                "=== PAGE 1 ===", "브랜드 헤더", "세트 구성 안내", "첫째 쪽 내용", "쪽 1",
+                "=== PAGE 2 ===", "브랜드 헤더", "세트 구성 안내", "둘째 쪽 내용", "쪽 2",
+                "=== PAGE 3 ===", "브랜드 헤더", "세트 구성 안내", "셋째 쪽 내용", "쪽 3");
+
+        OcrTextNormalizer.NormalizedText result = normalize(text);
+
+        assertEquals(6, result.report().headerFooterLines());
+        assertEquals(3, occurrences(result.text(), "세트 구성 안내"));     // 짧은 줄이라 중복 제거 대상도 아님
+        assertFalse(result.text().contains("브랜드 헤더"));
+        assertFalse(result.text().contains("쪽 2"));
+    }
+
+    @Test
+    void joinsHyphenatedLatinWordsOnly() {
+        String text = String.join("\n",
+                "The formula contains low-molecular hyalu-",
+                "ronic acid and ceramide NP.",
+                "Certified by KFDA-",
+                "Approved lab",
+                "수분-",
+                "크림");
+
+        OcrTextNormalizer.NormalizedText result = normalize(text);
+
+        assertTrue(result.text().contains("low-molecular hyaluronic acid"));
+        assertTrue(result.text().contains("KFDA-\nApproved"));    // 다음 줄이 대문자면 복합어로 보고 유지
+        assertTrue(result.text().contains("수분-\n크림"));          // 영문이 아니면 유지
+        assertEquals(1, result.report().hyphenJoins());
+    }
+
+    @Test
+    void removesRepeatedWholeParagraphs() {
+        // 주의사항이 2쪽 / 3쪽에 따로 떨어진 문단으로 반복 → 뒤의 것만 제거
+        String notice = String.join("\n",
+                "주의사항",
+                "상처가 있는 부위 등에는 사용을 자제하십시오.",
+                "직사광선을 피해서 서늘한 곳에 보관하십시오.");
+        String text = String.join("\n",
+                "[구성] 본품 50ml + 미니 10ml x 2", "", notice, "",
+                "[방송 혜택] 구매 고객 전원 미니 2개 추가 증정", "", notice.toUpperCase(), "",
+                "ARS 주문 시 3천원 추가 할인");
+
+        OcrTextNormalizer.NormalizedText result = normalize(text);
+
+        assertEquals(1, result.report().duplicateParagraphs());
+        assertEquals(1, occurrences(result.text(), "상처가 있는 부위 등에는 사용을 자제하십시오."));
+        assertTrue(result.text().contains("추가 증정\n\nARS 주문 시"));
+    }
+
+    @Test
+    void keepsRepeatedLinesInsideDifferentParagraphs() {
+        OcrTextNormalizer.NormalizedText result = normalize(PRODUCT_SHEET);
+        String text = result.text();
+
+        // 2쪽 / 3쪽 주의사항은 같은 줄이지만 각각 다른 내용과 한 문단 → 문단이 달라서 둘 다 유지
+        assertEquals(0, result.report().duplicateParagraphs());
+        assertEquals(2, occurrences(text, "상처가 있는 부위 등에는 사용을 자제하십시오."));
+        assertEquals(2, occurrences(text, "직사광선을 피해서 서늘한 곳에 보관하십시오."));
+        assertTrue(text.contains("[방송 혜택] 구매 고객 전원 미니 2개 추가 증정\n주의사항"));
+        assertEquals(2, occurrences(text, "사용 방법"));
+    }
+
+    @Test
+    void keepsParagraphBreaksFromOcr() {
+        OcrTextNormalizer.NormalizedText result = normalize(PRODUCT_SHEET);
+
+        assertTrue(result.text().contains("ceramide NP.\n\n사용 방법"));
+        assertFalse(result.text().contains("\n\n\n"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.bboo_technology.Service.Sttservice;
+
+import com.example.bboo_technology.Config.SttBatchProperties;
+import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.Entiry.SttBatchItem;
+import com.example.bboo_technology.Entiry.SttBatchJob;
+import com.example.bboo_technology.Repository.SttBatchItemRepository;
+import com.example.bboo_technology.Repository.SttBatchJobRepository;
+import com.example.bboo_technology.Service.Sttservice.engine.RoutingSttEngine;
+import com.example.bboo_technology.enums.SttBatchItemStatus;
+import com.example.bboo_technology.enums.SttBatchJobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 취소 / 처리 / 완료가 겹칠 때 조건부 update 로 한쪽만 반영되는지 확인 (DB 는 mock)
+ */
+class SttBatchJobServiceImplTest {
+
+    private static final long JOB_ID = 1L;
+    private static final long ITEM_ID = 10L;
+
+    @TempDir
+    Path storageDir;
+
+    private final SttBatchJobRepository jobRepository = mock(SttBatchJobRepository.class);
+    private final SttBatchItemRepository itemRepository = mock(SttBatchItemRepository.class);
+    private final SttService sttService = mock(SttService.class);
+    private final RoutingSttEngine routingSttEngine = mock(RoutingSttEngine.class);
+
+    private SttBatchJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SttBatchProperties properties = new SttBatchProperties();
+        properties.setStorageDir(storageDir.toString());
+        properties.setPollIntervalMs(10);
+
+        service = new SttBatchJobServiceImpl(jobRepository, itemRepository, sttService, routingSttEngine, properties);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private SttBatchJob runningJob() {
+        return SttBatchJob.builder()
+                .id(JOB_ID)
+                .storageDir(storageDir.resolve("job").toString())
+                .totalItems(1)
+                .status(SttBatchJobStatus.RUNNING)
+                .build();
+    }
+
+    private SttBatchItem pendingItem(Path file) {
+        return SttBatchItem.builder()
+                .id(ITEM_ID)
+                .jobId(JOB_ID)
+                .seq(0)
+                .fileName("a.wav")
+                .filePath(file.toString())
+                .status(SttBatchItemStatus.PENDING)
+                .build();
+    }
+
+    // 재기동 재개 경로로 작업 1개 / 파일 1개를 디스패처에 올림
+    private void activate(SttBatchItem item) {
+        when(jobRepository.findAllByStatus(SttBatchJobStatus.RUNNING)).thenReturn(List.of(runningJob()));
+        when(itemRepository.findAllByJobIdAndStatusOrderBySeqAsc(JOB_ID, SttBatchItemStatus.PENDING)).thenReturn(List.of(item));
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(runningJob()));
+        service.resumeInterruptedJobs();
+    }
+
+    @Test
+    void skipsItemWhenClaimLosesToCancel() {
+        Path file = storageDir.resolve("a.wav");
+        // 선점 실패 = 그 사이 취소됨
+        when(itemRepository.updateStatusById(eq(ITEM_ID), eq(SttBatchItemStatus.PENDING), eq(SttBatchItemStatus.RUNNING), any()))
+                .thenReturn(0);
+
+        activate(pendingItem(file));
+
+        verify(jobRepository, timeout(2000)).markFinished(eq(JOB_ID), any());
+        verify(sttService, never()).transcribeStoredFile(any(), any(), any(), any());
+        verify(itemRepository, never()).save(any());
+    }
+
+    @Test
+    void processesClaimedItemAndCompletesJobConditionally() throws Exception {
+        Path file = Files.write(storageDir.resolve("a.wav"), new byte[]{1, 2, 3});
+        SttBatchItem item = pendingItem(file);
+        when(itemRepository.updateStatusById(eq(ITEM_ID), eq(SttBatchItemStatus.PENDING), eq(SttBatchItemStatus.RUNNING), any()))
+                .thenReturn(1);
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(sttService.transcribeStoredFile(eq(file), eq("a.wav"), any(), any()))
+                .thenReturn(SttResult.builder().success(true).transcript("안녕하세요").build());
+
+        activate(item);
+
+        verify(jobRepository, timeout(2000)).markFinished(eq(JOB_ID), any());
+        verify(itemRepository).save(argThat(saved -> saved.getStatus() == SttBatchItemStatus.COMPLETED));
+        verify(jobRepository).updateStatus(eq(JOB_ID), eq(SttBatchJobStatus.RUNNING), eq(SttBatchJobStatus.COMPLETED), any());
+        verify(jobRepository, never()).save(any());
+        assertEquals("안녕하세요", item.getTranscript());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void cancelLeavesAlreadyCompletedJobUntouched() {
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(runningJob()));
+        // 조회 후 취소 전에 완료됨
+        when(jobRepository.updateStatus(eq(JOB_ID), eq(SttBatchJobStatus.RUNNING), eq(SttBatchJobStatus.CANCELLED), any()))
+                .thenReturn(0);
+
+        service.cancel(JOB_ID);
+
+        verify(itemRepository, never()).updateStatus(JOB_ID, SttBatchItemStatus.PENDING, SttBatchItemStatus.CANCELLED);
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelUsesConditionalUpdatesInsteadOfSavingEntity() {
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(runningJob()));
+        when(jobRepository.updateStatus(eq(JOB_ID), eq(SttBatchJobStatus.RUNNING), eq(SttBatchJobStatus.CANCELLED), any()))
+                .thenReturn(1);
+
+        service.cancel(JOB_ID);
+
+        verify(itemRepository).updateStatus(JOB_ID, SttBatchItemStatus.PENDING, SttBatchItemStatus.CANCELLED);
+        verify(jobRepository, never()).save(any());
+    }
+}
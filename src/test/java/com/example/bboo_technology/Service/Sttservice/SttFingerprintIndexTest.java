@@ -0,0 +1,89 @@
+package com.example.bboo_technology.Service.Sttservice;
+
+import com.example.bboo_technology.Config.SttFingerprintProperties;
+import com.example.bboo_technology.DTO.Stt.SttResult;
+import com.example.bboo_technology.Service.Sttservice.audio.AudioFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SttFingerprintIndexTest {
+
+    // 지문 생성은 사용하지 않음 (find / add 만 확인)
+    private final SttFingerprintIndex index = new SttFingerprintIndex(new SttFingerprintProperties(), null);
+
+    private static AudioFingerprint fingerprint(int count, int repeat) {
+        int[] hashes = new int[count * repeat];
+        int[] anchors = new int[count * repeat];
+        for (int r = 0; r < repeat; r++) {
+            for (int i = 0; i < count; i++) {
+                hashes[r * count + i] = 1000 + i;
+                anchors[r * count + i] = i;
+            }
+        }
+        return new AudioFingerprint(hashes, anchors, 10.0);
+    }
+
+    private static SttResult result(String transcript, String engineName) {
+        return SttResult.builder()
+                .success(true)
+                .transcript(transcript)
+                .engineName(engineName)
+                .build();
+    }
+
+    @Test
+    void findsSameClipWithinScope() {
+        index.add(fingerprint(40, 1), "engine-x", "ko", result("광고 A", "engine-x"));
+
+        Optional<SttTranscriptCache.CachedTranscript> found = index.find(fingerprint(40, 1), "engine-x", "KO ");
+
+        assertTrue(found.isPresent());
+        assertEquals("광고 A", found.get().transcript());
+    }
+
+    @Test
+    void ignoresClipsFromOtherScopes() {
+        index.add(fingerprint(40, 1), "engine-y", "ko", result("광고 A", "engine-y"));
+
+        assertTrue(index.find(fingerprint(40, 1), "engine-x", "ko").isEmpty());
+        assertTrue(index.find(fingerprint(40, 1), "engine-y", "en").isEmpty());
+    }
+
+    @Test
+    void liveLookupNeedsCloserMatch() {
+        index.add(fingerprint(40, 1), "engine-x", "ko", result("광고 A", "engine-x"));
+
+        // 100개 중 25개만 일치 (일반 기준 0.05 는 넘지만 라이브 기준 0.3 미만)
+        int[] hashes = new int[100];
+        int[] anchors = new int[100];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = (i < 25) ? 1000 + i : 5000 + i;
+            anchors[i] = i;
+        }
+        AudioFingerprint partial = new AudioFingerprint(hashes, anchors, 10.0);
+        assertTrue(index.find(partial, "engine-x", "ko").isPresent());
+        assertTrue(index.findLive(partial, "engine-x", "ko").isEmpty());
+
+        // 전부 일치해도 길이가 5% 다르면 라이브에서는 재사용하지 않음
+        AudioFingerprint longer = new AudioFingerprint(fingerprint(40, 1).hashes(), fingerprint(40, 1).anchorFrames(), 10.5);
+        assertTrue(index.find(longer, "engine-x", "ko").isPresent());
+        assertTrue(index.findLive(longer, "engine-x", "ko").isEmpty());
+        assertTrue(index.findLive(fingerprint(40, 1), "engine-x", "ko").isPresent());
+    }
+
+    @Test
+    void otherScopeWithMoreVotesDoesNotHideMatch() {
+        // 다른 scope 클립이 같은 해시를 두 번씩 가져서 표를 더 많이 받음
+        index.add(fingerprint(40, 2), "engine-y", "ko", result("engine-y 결과", "engine-y"));
+        index.add(fingerprint(40, 1), "engine-x", "ko", result("engine-x 결과", "engine-x"));
+
+        Optional<SttTranscriptCache.CachedTranscript> found = index.find(fingerprint(40, 1), "engine-x", "ko");
+
+        assertTrue(found.isPresent());
+        assertEquals("engine-x 결과", found.get().transcript());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+import com.example.bboo_technology.Config.SttAudioProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AudioNormalizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AudioNormalizer normalizer = new AudioNormalizer(new SttAudioProperties());
+
+    @Test
+    void downmixesAndResamplesStereo48kTo16kMono() throws IOException {
+        Path wav = writeStereoTone(48000, 440, 0.5, 1.0);
+
+        try (AudioNormalizer.NormalizedAudio normalized = normalizer.normalize(wav, "source-hash")) {
+            assertTrue(normalized.converted());
+            assertNotEquals("source-hash", normalized.audioHash());
+            assertEquals(1.0, normalized.durationSeconds(), 0.001);
+
+            WavFormat format = WavFormat.read(normalized.path()).orElseThrow();
+            assertEquals(1, format.channels());
+            assertEquals(16000, format.sampleRate());
+            assertEquals(16, format.bitsPerSample());
+            assertEquals(16000, format.frameCount());
+
+            // 통과 대역(440Hz) 진폭 유지 (사인파 RMS = 진폭 / √2)
+            assertEquals(0.5 / Math.sqrt(2), rms(normalized.path(), format), 0.03);
+        }
+    }
+
+    @Test
+    void filtersToneAboveTargetNyquist() throws IOException {
+        // 12kHz 는 16kHz 샘플링의 나이퀴스트(8kHz) 위 → 저역통과로 제거되어야 한다 (엘리어싱 방지)
+        Path wav = writeStereoTone(48000, 12000, 0.5, 0.5);
+
+        try (AudioNormalizer.NormalizedAudio normalized = normalizer.normalize(wav, "hash")) {
+            WavFormat format = WavFormat.read(normalized.path()).orElseThrow();
+            assertTrue(rms(normalized.path(), format) < 0.02, "aliased energy should be filtered");
+        }
+    }
+
+    @Test
+    void deletesConvertedFileOnClose() throws IOException {
+        Path wav = writeStereoTone(44100, 440, 0.5, 0.2);
+
+        AudioNormalizer.NormalizedAudio normalized = normalizer.normalize(wav, "hash");
+        Path converted = normalized.path();
+        normalized.close();
+
+        assertFalse(Files.exists(converted));
+        assertTrue(Files.exists(wav));
+    }
+
+    @Test
+    void keepsAlreadyNormalizedAndNonWavInput() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WavFormat.writeHeader(out, WavFormat.FORMAT_PCM, 1, 16000, 16, 3200);
+        out.write(new byte[3200]);
+        Path mono16k = Files.write(tempDir.resolve("mono.wav"), out.toByteArray());
+
+        try (AudioNormalizer.NormalizedAudio normalized = normalizer.normalize(mono16k, "hash")) {
+            assertFalse(normalized.converted());
+            assertSame(mono16k, normalized.path());
+            assertEquals("hash", normalized.audioHash());
+            assertEquals(0.1, normalized.durationSeconds(), 0.0001);
+        }
+
+        Path mp3 = Files.write(tempDir.resolve("clip.mp3"), "ID3 not a wav".getBytes(StandardCharsets.US_ASCII));
+        try (AudioNormalizer.NormalizedAudio normalized = normalizer.normalize(mp3, "hash")) {
+            assertFalse(normalized.converted());
+            assertNull(normalized.durationSeconds());
+        }
+    }
+
+    // =========================
+    // 테스트 도우미
+    // =========================
+
+    private Path writeStereoTone(int sampleRate, double hz, double amplitude, double seconds) throws IOException {
+        int frames = (int) (sampleRate * seconds);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WavFormat.writeHeader(out, WavFormat.FORMAT_PCM, 2, sampleRate, 16, frames * 4L);
+        for (int i = 0; i < frames; i++) {
+            short sample = (short) Math.round(Math.sin(2 * Math.PI * hz * i / sampleRate) * amplitude * 32767);
+            for (int channel = 0; channel < 2; channel++) {
+                out.write(sample & 0xFF);
+                out.write((sample >>> 8) & 0xFF);
+            }
+        }
+        return Files.write(Files.createTempFile(tempDir, "tone-", ".wav"), out.toByteArray());
+    }
+
+    /**
+     * 가장자리(필터 과도 구간) 50ms 를 뺀 RMS
+     */
+    private double rms(Path file, WavFormat format) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int edge = format.sampleRate() / 20;
+        long frames = format.frameCount();
+        double sum = 0;
+        int count = 0;
+        for (long i = edge; i < frames - edge; i++) {
+            double value = format.monoSample(bytes, (int) (format.dataOffset() + i * format.blockAlign()));
+            sum += value * value;
+            count++;
+        }
+        return Math.sqrt(sum / count);
+    }
+}
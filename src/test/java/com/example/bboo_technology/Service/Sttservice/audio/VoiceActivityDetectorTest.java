@@ -0,0 +1,109 @@
+package com.example.bboo_technology.Service.Sttservice.audio;
+
+import com.example.bboo_technology.Config.SttVadProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoiceActivityDetectorTest {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    @TempDir
+    Path tempDir;
+
+    private final VoiceActivityDetector detector = new VoiceActivityDetector(new SttVadProperties());
+
+    @Test
+    void detectsToneBetweenSilencesWithPaddingAndHangover() throws IOException {
+        // 1초 무음 + 1초 440Hz(-12dBFS) + 1초 무음
+        Path wav = writeWav(concat(silence(1.0), tone(440, 0.25, 1.0), silence(1.0)));
+        WavFormat format = WavFormat.read(wav).orElseThrow();
+
+        List<double[]> regions = detector.detect(wav, format);
+
+        assertEquals(1, regions.size());
+        double[] region = regions.get(0);
+        // 앞: 1.0초 - padding(0.2) 근처 / 뒤: 2.0초 + hangover(0.3) + padding(0.2) 근처
+        assertTrue(region[0] >= 0.7 && region[0] <= 1.0, "start=" + region[0]);
+        assertTrue(region[1] >= 2.2 && region[1] <= 2.6, "end=" + region[1]);
+    }
+
+    @Test
+    void mergesRegionsSeparatedByShortGap() throws IOException {
+        // 두 음성 사이 무음 0.3초 → hangover / merge-gap 안이라 한 구간
+        Path wav = writeWav(concat(silence(0.5), tone(300, 0.25, 0.6), silence(0.3), tone(300, 0.25, 0.6), silence(0.5)));
+
+        List<double[]> regions = detector.detect(wav, WavFormat.read(wav).orElseThrow());
+
+        assertEquals(1, regions.size());
+    }
+
+    @Test
+    void dropsBurstShorterThanMinSpeech() throws IOException {
+        // 0.05초 클릭음은 min-speech-ms(250) 미만이지만 hangover 로 늘어나므로, hangover 를 끄고 확인
+        SttVadProperties properties = new SttVadProperties();
+        properties.setHangoverMs(0);
+        VoiceActivityDetector strict = new VoiceActivityDetector(properties);
+        Path wav = writeWav(concat(silence(1.0), tone(1000, 0.5, 0.05), silence(1.0)));
+
+        assertTrue(strict.detect(wav, WavFormat.read(wav).orElseThrow()).isEmpty());
+    }
+
+    @Test
+    void returnsNothingForSilence() throws IOException {
+        Path wav = writeWav(silence(2.0));
+
+        assertTrue(detector.detect(wav, WavFormat.read(wav).orElseThrow()).isEmpty());
+    }
+
+    // =========================
+    // 테스트용 16kHz 모노 16bit WAV
+    // =========================
+
+    private Path writeWav(short[] samples) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WavFormat.writeHeader(out, WavFormat.FORMAT_PCM, 1, SAMPLE_RATE, 16, samples.length * 2L);
+        for (short sample : samples) {
+            out.write(sample & 0xFF);
+            out.write((sample >>> 8) & 0xFF);
+        }
+        Path file = Files.createTempFile(tempDir, "vad-", ".wav");
+        Files.write(file, out.toByteArray());
+        return file;
+    }
+
+    private static short[] silence(double seconds) {
+        return new short[(int) (seconds * SAMPLE_RATE)];
+    }
+
+    private static short[] tone(double hz, double amplitude, double seconds) {
+        short[] samples = new short[(int) (seconds * SAMPLE_RATE)];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) Math.round(Math.sin(2 * Math.PI * hz * i / SAMPLE_RATE) * amplitude * 32767);
+        }
+        return samples;
+    }
+
+    private static short[] concat(short[]... parts) {
+        int length = 0;
+        for (short[] part : parts) {
+            length += part.length;
+        }
+        short[] result = new short[length];
+        int offset = 0;
+        for (short[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import com.example.bboo_technology.Config.PythonSttProperties;
+import com.example.bboo_technology.DTO.Stt.SttRequest;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 배치 엔드포인트를 흉내 내는 로컬 HTTP 서버로 묶음 전송 / 결과 분배 / 취소를 확인
+ */
+class PythonSttBatchDispatcherTest {
+
+    // multipart 의 sessionIds 파트 값 (파트 헤더 여러 줄 뒤 빈 줄 다음)
+    private static final Pattern SESSION_ID_PART =
+            Pattern.compile("name=\"sessionIds\"\r\n(?:[^\r\n]+\r\n)*\r\n([^\r\n]*)\r\n");
+
+    private HttpServer server;
+    private PythonSttBatchDispatcher dispatcher;
+
+    // 서버가 받은 배치별 sessionId 목록
+    private final List<List<String>> receivedBatches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/stt/batch", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+            List<String> sessionIds = new ArrayList<>();
+            Matcher matcher = SESSION_ID_PART.matcher(body);
+            while (matcher.find()) {
+                sessionIds.add(matcher.group(1));
+            }
+            receivedBatches.add(sessionIds);
+
+            String results = sessionIds.stream()
+                    .map(id -> "{\"success\":true,\"sessionId\":\"" + id + "\",\"transcript\":\"text-" + id + "\"}")
+                    .collect(Collectors.joining(","));
+            byte[] response = ("{\"results\":[" + results + "]}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+
+        PythonSttProperties properties = new PythonSttProperties();
+        properties.setBaseUrls(List.of("http://127.0.0.1:" + server.getAddress().getPort()));
+        properties.setHealthPath("");
+        properties.setReadTimeoutMs(5000);
+        properties.setBatchEnabled(true);
+        properties.setBatchMaxSize(8);
+        properties.setBatchMaxWaitMs(300);     // 테스트에서 여러 건을 한 배치로 모을 시간
+
+        PythonSttEndpointPool pool = new PythonSttEndpointPool(properties);
+        pool.init();
+        dispatcher = new PythonSttBatchDispatcher(properties, pool);
+        dispatcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+        server.stop(0);
+    }
+
+    private SttRequest request(String sessionId) {
+        byte[] audio = ("audio-" + sessionId).getBytes(StandardCharsets.UTF_8);
+        return SttRequest.builder()
+                .sessionId(sessionId)
+                .fileName(sessionId + ".wav")
+                .fileSize((long) audio.length)
+                .audioData(audio)
+                .build();
+    }
+
+    @Test
+    void sendsQueuedRequestsAsOneBatchAndSplitsResultsBackToCallers() throws Exception {
+        PythonSttBatchDispatcher.PendingRequest a = dispatcher.submit(request("a"));
+        PythonSttBatchDispatcher.PendingRequest b = dispatcher.submit(request("b"));
+        PythonSttBatchDispatcher.PendingRequest c = dispatcher.submit(request("c"));
+
+        assertEquals("text-a", a.future().get(5, TimeUnit.SECONDS).getTranscript());
+        assertEquals("text-b", b.future().get(5, TimeUnit.SECONDS).getTranscript());
+        assertEquals("text-c", c.future().get(5, TimeUnit.SECONDS).getTranscript());
+
+        assertEquals(List.of(List.of("a", "b", "c")), receivedBatches);
+        assertEquals(1, dispatcher.snapshot().batches());
+        assertEquals(3, dispatcher.snapshot().items());
+    }
+
+    @Test
+    void dropsRequestsCancelledBeforeDispatch() throws Exception {
+        PythonSttBatchDispatcher.PendingRequest a = dispatcher.submit(request("a"));
+        PythonSttBatchDispatcher.PendingRequest b = dispatcher.submit(request("b"));
+
+        assertTrue(b.cancel());
+        assertTrue(b.future().isCancelled());
+
+        assertEquals("text-a", a.future().get(5, TimeUnit.SECONDS).getTranscript());
+        assertEquals(List.of(List.of("a")), receivedBatches);
+    }
+
+    @Test
+    void cannotCancelOnceDispatched() throws Exception {
+        PythonSttBatchDispatcher.PendingRequest a = dispatcher.submit(request("a"));
+        a.future().get(5, TimeUnit.SECONDS);
+
+        // 이미 전송된 요청 → 호출자는 응답까지 오디오 파일을 유지해야 함
+        assertFalse(a.cancel());
+        assertFalse(a.future().isCancelled());
+    }
+}
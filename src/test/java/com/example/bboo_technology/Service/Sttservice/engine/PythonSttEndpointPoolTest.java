@@ -0,0 +1,73 @@
+package com.example.bboo_technology.Service.Sttservice.engine;
+
+import com.example.bboo_technology.Config.PythonSttProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PythonSttEndpointPoolTest {
+
+    private PythonSttEndpointPool newPool(long ejectCooldownMs) {
+        PythonSttProperties properties = new PythonSttProperties();
+        properties.setBaseUrls(List.of("http://127.0.0.1:1"));
+        properties.setHealthPath("");          // 헬스체크 끔 → 요청 결과로만 제외/복귀
+        properties.setUnhealthyThreshold(2);
+        properties.setEjectCooldownMs(ejectCooldownMs);
+        PythonSttEndpointPool pool = new PythonSttEndpointPool(properties);
+        pool.init();
+        return pool;
+    }
+
+    private void failOnce(PythonSttEndpointPool pool) {
+        PythonSttEndpointPool.Endpoint endpoint = pool.acquire().orElseThrow();
+        pool.release(endpoint, false);
+    }
+
+    @Test
+    void ejectsAfterConsecutiveFailuresAndWaitsForCooldown() {
+        PythonSttEndpointPool pool = newPool(60_000);
+
+        failOnce(pool);
+        failOnce(pool);
+
+        assertEquals(0, pool.healthyCount());
+        assertTrue(pool.acquire().isEmpty());
+    }
+
+    @Test
+    void readmitsAfterSuccessfulProbeWhenHealthCheckIsOff() {
+        PythonSttEndpointPool pool = newPool(0);
+        failOnce(pool);
+        failOnce(pool);
+        assertEquals(0, pool.healthyCount());
+
+        Optional<PythonSttEndpointPool.Endpoint> probe = pool.acquire();
+        assertTrue(probe.isPresent());
+        // 시험 요청은 서버당 1건만
+        assertTrue(pool.acquire().isEmpty());
+
+        pool.release(probe.get(), true);
+
+        assertEquals(1, pool.healthyCount());
+        assertFalse(pool.snapshot().get(0).consecutiveFailures() > 0);
+    }
+
+    @Test
+    void failedProbeKeepsEndpointEjected() {
+        PythonSttEndpointPool pool = newPool(0);
+        failOnce(pool);
+        failOnce(pool);
+
+        PythonSttEndpointPool.Endpoint probe = pool.acquire().orElseThrow();
+        pool.release(probe, false);
+
+        assertEquals(0, pool.healthyCount());
+        // 쿨다운(0ms)이 지나면 다시 시험 요청 가능
+        assertTrue(pool.acquire().isPresent());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.bboo_technology.Service.Sttservice.live;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LivePipelineStageTest {
+
+    private final AtomicInteger closedCount = new AtomicInteger();
+
+    private LivePipelineStage<String> newStage(int capacity, LivePipelineStage.OverflowPolicy policy) {
+        return new LivePipelineStage<>("translation", "s1", capacity, policy,
+                String::length, (a, b) -> a + " " + b, closedCount::incrementAndGet);
+    }
+
+    @Test
+    void dropOldestKeepsNewestItemsWithinCapacity() {
+        LivePipelineStage<String> stage = newStage(2, LivePipelineStage.OverflowPolicy.DROP_OLDEST);
+
+        assertTrue(stage.offer("a"));
+        assertTrue(stage.offer("b"));
+        assertTrue(stage.offer("c"));     // 가득 → 기다리지 않고 가장 오래된 "a" 를 버림
+
+        assertEquals(List.of("b", "c"), stage.drain(10));
+        LivePipelineStage.StageSnapshot snapshot = stage.snapshot();
+        assertEquals(3, snapshot.offered());
+        assertEquals(1, snapshot.dropped());
+        assertEquals(2, snapshot.drained());
+        assertEquals(2, snapshot.maxDepth());
+    }
+
+    @Test
+    void coalesceMergesOldestPairInsteadOfDropping() {
+        LivePipelineStage<String> stage = newStage(2, LivePipelineStage.OverflowPolicy.COALESCE);
+
+        stage.offer("one");
+        stage.offer("two");
+        stage.offer("three");
+
+        assertEquals(2, stage.size());
+        assertEquals("one two".length() + "three".length(), stage.weight());
+        assertEquals(List.of("one two", "three"), stage.drain(10));
+        assertEquals(0, stage.snapshot().dropped());
+        assertEquals(1, stage.snapshot().coalesced());
+    }
+
+    @Test
+    void drainStopsAtMaxWeightButAlwaysTakesFirstItem() {
+        LivePipelineStage<String> stage = newStage(10, LivePipelineStage.OverflowPolicy.DROP_OLDEST);
+        stage.offer("long-segment");
+        stage.offer("ab");
+        stage.offer("cd");
+
+        // 첫 항목은 maxWeight 보다 커도 꺼냄
+        assertEquals(List.of("long-segment"), stage.drain(10, 5));
+        assertEquals(List.of("ab", "cd"), stage.drain(10, 5));
+        assertTrue(stage.isEmpty());
+        assertEquals(0, stage.weight());
+    }
+
+    @Test
+    void requeuePutsItemsBackAtFrontInOrder() {
+        LivePipelineStage<String> stage = newStage(10, LivePipelineStage.OverflowPolicy.DROP_OLDEST);
+        stage.offer("c");
+
+        stage.requeue(List.of("a", "b"));
+
+        assertEquals(List.of("a", "b", "c"), stage.drain(10));
+    }
+
+    @Test
+    void closedStageRejectsOffersAndNotifiesOnce() {
+        LivePipelineStage<String> stage = newStage(10, LivePipelineStage.OverflowPolicy.COALESCE);
+        stage.offer("a");
+
+        stage.close();
+        stage.close();
+
+        assertFalse(stage.offer("b"));
+        assertTrue(stage.isEmpty());
+        assertEquals(1, closedCount.get());
+    }
+}
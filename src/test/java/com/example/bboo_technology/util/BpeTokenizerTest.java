@@ -0,0 +1,73 @@
+package com.example.bboo_technology.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * tiktoken 과 같은 토큰 수가 나오는지 확인 (기대값은 tiktoken 으로 센 공개 예시)
+ *
+ * - 병합 테이블은 -PdownloadTokenizer 빌드에서 downloadTokenizerTables 가 받아 둔다. 테이블이 없으면 건너뛴다.
+ */
+class BpeTokenizerTest {
+
+    // GPT-4o 발표 자료의 언어별 토크나이저 비교 예시 (cl100k_base → o200k_base)
+    private static final String ENGLISH =
+            "Hello, my name is GPT-4o. I'm a new type of language model, it's nice to meet you!";
+    private static final String KOREAN =
+            "안녕하세요, 제 이름은 GPT-4o입니다. 저는 새로운 유형의 언어 모델입니다. 만나서 반갑습니다!";
+
+    private static final Map<String, BpeTokenizer> TOKENIZERS = new ConcurrentHashMap<>();
+
+    private static BpeTokenizer tokenizer(String encoding) {
+        return TOKENIZERS.computeIfAbsent(encoding, key -> {
+            String resource = "tokenizer/" + key + ".tiktoken";
+            try (InputStream in = BpeTokenizerTest.class.getClassLoader().getResourceAsStream(resource)) {
+                assumeTrue(in != null, resource + " 가 없어 건너뜀");
+                return BpeTokenizer.load(key, in);
+            } catch (IOException e) {
+                throw new IllegalStateException(resource + " 읽기 실패", e);
+            }
+        });
+    }
+
+    private static void assertCounts(String text, int cl100k, int o200k) {
+        assertEquals(cl100k, tokenizer("cl100k_base").countTokens(text), () -> "cl100k_base: " + text);
+        assertEquals(o200k, tokenizer("o200k_base").countTokens(text), () -> "o200k_base: " + text);
+    }
+
+    @Test
+    void englishMatchesTiktoken() {
+        assertCounts("hello world", 2, 2);
+        assertCounts(ENGLISH, 27, 24);
+        // 사전에 통째로 없는 긴 단어 (병합 순서 확인)
+        assertCounts("antidisestablishmentarianism", 6, 6);
+        assertEquals(6, tokenizer("cl100k_base").countTokens("tiktoken is great!"));
+    }
+
+    @Test
+    void koreanMatchesTiktoken() {
+        // 한글 + 영문 모델명 + 숫자 + 문장부호가 섞인 문장 - o200k 에서 한글 병합이 크게 늘어난 것까지 확인
+        assertCounts(KOREAN, 45, 27);
+    }
+
+    @Test
+    void mixedScriptsAndDigitsMatchTiktoken() {
+        // 공백 / 숫자 1~3자리 분할
+        assertCounts("2 + 2 = 4", 7, 7);
+        // 한글 외 CJK (바이트 단위 병합)
+        assertCounts("お誕生日おめでとう", 9, 8);
+    }
+
+    @Test
+    void emptyTextHasNoTokens() {
+        assertEquals(0, tokenizer("o200k_base").countTokens(""));
+        assertEquals(0, tokenizer("o200k_base").countTokens(null));
+    }
+}
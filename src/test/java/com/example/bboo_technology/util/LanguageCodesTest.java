@@ -0,0 +1,31 @@
+package com.example.bboo_technology.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Whisper 감지 언어 이름 → ISO-639-1 코드
+ */
+class LanguageCodesTest {
+
+    @Test
+    void mapsWhisperLanguageNames() {
+        assertEquals("ko", LanguageCodes.toIso639_1("korean"));
+        assertEquals("en", LanguageCodes.toIso639_1("English"));
+        assertEquals("ja", LanguageCodes.toIso639_1("japanese"));
+        assertEquals("zh", LanguageCodes.toIso639_1("chinese"));
+        // JDK 표기와 다른 Whisper 이름
+        assertEquals("my", LanguageCodes.toIso639_1("myanmar"));
+        assertEquals("ht", LanguageCodes.toIso639_1("haitian creole"));
+    }
+
+    @Test
+    void keepsCodesAndRejectsUnknownNames() {
+        assertEquals("ko", LanguageCodes.toIso639_1(" KO "));
+        assertNull(LanguageCodes.toIso639_1("klingon"));
+        assertNull(LanguageCodes.toIso639_1(""));
+        assertNull(LanguageCodes.toIso639_1(null));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.bboo_technology.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 키 동시 요청이 한 번만 실행되고 결과 / 예외를 나눠 받는지 확인
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // 나머지 호출자가 모두 진행 중인 작업에 합쳐질 때까지 대기
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalesced() < expected) {
+            assertTrue(System.nanoTime() < deadline, "합쳐진 요청 수 " + singleFlight.getCoalesced() + " / " + expected);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("prompt", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return "요약 결과";
+            })));
+        }
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("요약 결과", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1, singleFlight.getExecutions());
+        assertEquals(CALLERS - 1, singleFlight.getCoalesced());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void waitersReceiveTheSameFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("OpenAI 호출 실패");
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("prompt", () -> {
+                await(release);
+                throw failure;
+            })));
+        }
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            // 감싸지 않은 원래 예외 그대로
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void finishedResultIsNotCached() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals("1", singleFlight.execute("prompt", () -> String.valueOf(runs.incrementAndGet())));
+        assertEquals("2", singleFlight.execute("prompt", () -> String.valueOf(runs.incrementAndGet())));
+
+        // 실패 후에도 키가 남지 않아 다시 실행
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("prompt", () -> {
+            throw new IllegalStateException("실패");
+        }));
+        assertEquals("3", singleFlight.execute("prompt", () -> String.valueOf(runs.incrementAndGet())));
+
+        assertEquals(4, singleFlight.getExecutions());
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void differentKeysRunIndependently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Future<String> a = executor.submit(() -> singleFlight.execute("a", () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return "A";
+        }));
+        Future<String> b = executor.submit(() -> singleFlight.execute("b", () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return "B";
+        }));
+
+        // 키가 다르면 서로 기다리지 않고 동시에 실행된다
+        assertEquals("A", a.get(5, TimeUnit.SECONDS));
+        assertEquals("B", b.get(5, TimeUnit.SECONDS));
+        assertEquals(2, singleFlight.getExecutions());
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void followerStopsWaitingWhenLeaderHangs() throws Exception {
+        SingleFlight<String, String> bounded = new SingleFlight<>(Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> bounded.execute("prompt", () -> {
+            started.countDown();
+            await(release);
+            return "요약 결과";
+        }));
+        await(started);
+
+        // 실행 중인 요청이 멈춰 있어도 기다리는 요청은 대기 시간 후 끝난다
+        assertThrows(SingleFlight.WaitTimeoutException.class, () -> bounded.execute("prompt", () -> "새로 실행"));
+        assertEquals(1, bounded.getFollowerTimeouts());
+        assertEquals(1, bounded.getInFlight());   // 실행 중인 작업의 키는 그대로
+
+        release.countDown();
+        assertEquals("요약 결과", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, bounded.getExecutions());
+        assertEquals(0, bounded.getInFlight());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "대기 시간 초과");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}